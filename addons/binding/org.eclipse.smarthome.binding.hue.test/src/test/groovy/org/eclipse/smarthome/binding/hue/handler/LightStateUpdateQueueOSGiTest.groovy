@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.binding.hue.handler
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+import nl.q42.jue.FullConfig
+import nl.q42.jue.FullLight
+import nl.q42.jue.HueBridge
+import nl.q42.jue.MockedHttpClient
+import nl.q42.jue.StateUpdate
+import nl.q42.jue.HttpClient.Result
+
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import com.google.gson.Gson
+
+/**
+ * Tests for the {@link LightStateUpdateQueue}, which sends its requests to a stub bridge.
+ *
+ * @author agent - Initial contribution
+ */
+class LightStateUpdateQueueOSGiTest extends OSGiTest {
+
+    def FULL_CONFIG = """
+        {
+          "lights": {
+            "1": { "name": "Hue Light 1", "modelid": "LCT001" },
+            "2": { "name": "Hue Light 2", "modelid": "LCT001" },
+            "3": { "name": "Hue Light 3", "modelid": "LCT001" }
+          },
+          "groups": {
+            "1": { "name": "Living Room", "lights": [ "1", "2" ] }
+          }
+        }
+    """
+
+    def DEVICE_OFF_ERROR = """
+        [ { "error": { "type": 201, "address": "/lights/1/state/bri",
+            "description": "parameter, bri, is not modifiable. Device is set to off." } } ]
+    """
+
+    ScheduledExecutorService scheduler
+    HueBridge bridge
+    List<Map> requests = new CopyOnWriteArrayList<Map>()
+    def responses = [:]
+    List<String> groupRequests = new CopyOnWriteArrayList<String>()
+    def groupLights = ["1", "2"]
+    FullConfig fullConfig
+    Map<String, FullLight> lights = [:]
+
+    @Before
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(1)
+
+        bridge = new HueBridge("1.2.3.4")
+        MockedHttpClient mockedHttpClient = [
+            put: { String address, String body ->
+                requests.add([address: address, body: body, time: System.currentTimeMillis()])
+                def response = responses.remove(requests.size())
+                new Result(response ?: "", 200)
+            },
+            get: { String address ->
+                groupRequests.add(address)
+                def lights = groupLights.collect { "\"$it\"" }.join(", ")
+                new Result("""{ "name": "Living Room", "lights": [ $lights ] }""", 200)
+            }
+        ] as MockedHttpClient
+
+        def httpClientField = HueBridge.getDeclaredField("http")
+        httpClientField.accessible = true
+        httpClientField.set(bridge, mockedHttpClient)
+        def usernameField = HueBridge.getDeclaredField("username")
+        usernameField.accessible = true
+        usernameField.set(bridge, "testUserName")
+
+        fullConfig = new Gson().fromJson(FULL_CONFIG, FullConfig)
+        fullConfig.getLights().each { lights[it.id] = it }
+    }
+
+    @After
+    void tearDown() {
+        scheduler.shutdownNow()
+    }
+
+    @Test
+    void 'assert that waiting updates of a light are merged'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 2)
+
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(10))
+        waitForAssert({ assertThat requests.size(), is(1) }, 5000)
+
+        // the next request is sent 500ms after the first one
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(20))
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(30))
+        queue.enqueue(lights["1"], new StateUpdate().setColorTemperature(200))
+        assertThat queue.size(), is(1)
+
+        waitForAssert({ assertThat requests.size(), is(2) }, 5000)
+        Thread.sleep(600)
+
+        assertThat requests.size(), is(2)
+        assertThat requests[0].address, is("http://1.2.3.4/api/testUserName/lights/1/state")
+        assertJson('{ "bri": 10 }', requests[0].body)
+        assertThat requests[1].address, is("http://1.2.3.4/api/testUserName/lights/1/state")
+        assertJson('{ "bri": 30, "ct": 200 }', requests[1].body)
+        queue.close()
+    }
+
+    @Test
+    void 'assert that a color replaces the color temperature of a waiting update'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 2)
+
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(10))
+        waitForAssert({ assertThat requests.size(), is(1) }, 5000)
+
+        // the bridge would prefer the color temperature over hue and saturation
+        queue.enqueue(lights["1"], new StateUpdate().setColorTemperature(200))
+        queue.enqueue(lights["1"], new StateUpdate().setHue(1000).setSat(200).setBrightness(50))
+
+        waitForAssert({ assertThat requests.size(), is(2) }, 5000)
+        assertJson('{ "bri": 50, "hue": 1000, "sat": 200 }', requests[1].body)
+        queue.close()
+    }
+
+    @Test
+    void 'assert that requests are sent with the configured rate'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 5)
+
+        (1..3).each { queue.enqueue(lights["$it"], new StateUpdate().setBrightness(it * 10)) }
+
+        waitForAssert({ assertThat requests.size(), is(3) }, 5000)
+        for (int i = 1; i < requests.size(); i++) {
+            assertTrue requests[i].time - requests[i - 1].time >= 190
+        }
+        queue.close()
+    }
+
+    @Test
+    void 'assert that identical updates are sent to a group'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 5)
+        queue.setLights(fullConfig.getLights())
+        queue.setGroups(fullConfig.getGroups())
+
+        // the following updates wait in the queue, while the first one is sent
+        queue.enqueue(lights["3"], new StateUpdate().setBrightness(100))
+        waitForAssert({ assertThat requests.size(), is(1) }, 5000)
+        queue.enqueue(lights["1"], new StateUpdate().turnOff())
+        queue.enqueue(lights["2"], new StateUpdate().turnOff())
+
+        waitForAssert({ assertThat requests.size(), is(2) }, 5000)
+        assertThat groupRequests, is(["http://1.2.3.4/api/testUserName/groups/1"])
+        assertThat requests[1].address, is("http://1.2.3.4/api/testUserName/groups/1/action")
+        assertJson('{ "on": false }', requests[1].body)
+
+        // a group request is sent at most once per second
+        Thread.sleep(1000)
+        queue.enqueue(lights["3"], new StateUpdate().setBrightness(200))
+        waitForAssert({ assertThat requests.size(), is(3) }, 5000)
+        queue.enqueue(lights["1"], new StateUpdate().turnOn())
+        queue.enqueue(lights["2"], new StateUpdate().turnOn())
+        queue.enqueue(lights["3"], new StateUpdate().turnOn())
+
+        waitForAssert({ assertThat requests.size(), is(4) }, 5000)
+        assertThat requests[3].address, is("http://1.2.3.4/api/testUserName/groups/0/action")
+        assertJson('{ "on": true }', requests[3].body)
+        Thread.sleep(300)
+        assertThat requests.size(), is(4)
+        // the lights of the group of all lights are not requested
+        assertThat groupRequests.size(), is(1)
+        queue.close()
+    }
+
+    @Test
+    void 'assert that the lights are updated one by one, if the lights of the group have changed'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 5)
+        queue.setLights(fullConfig.getLights())
+        queue.setGroups(fullConfig.getGroups())
+        groupLights = ["1", "2", "3"]
+
+        queue.enqueue(lights["3"], new StateUpdate().setBrightness(100))
+        waitForAssert({ assertThat requests.size(), is(1) }, 5000)
+        queue.enqueue(lights["1"], new StateUpdate().turnOff())
+        queue.enqueue(lights["2"], new StateUpdate().turnOff())
+
+        waitForAssert({ assertThat requests.size(), is(3) }, 5000)
+        assertThat groupRequests, is(["http://1.2.3.4/api/testUserName/groups/1"])
+        assertThat requests[1].address, is("http://1.2.3.4/api/testUserName/lights/1/state")
+        assertJson('{ "on": false }', requests[1].body)
+        assertThat requests[2].address, is("http://1.2.3.4/api/testUserName/lights/2/state")
+        assertJson('{ "on": false }', requests[2].body)
+        queue.close()
+    }
+
+    @Test
+    void 'assert that a light, which is off, is switched on before the update is sent again'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 10)
+        responses[1] = DEVICE_OFF_ERROR
+
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(100))
+
+        waitForAssert({ assertThat requests.size(), is(3) }, 5000)
+        assertJson('{ "bri": 100 }', requests[0].body)
+        assertJson('{ "on": true }', requests[1].body)
+        assertJson('{ "bri": 100 }', requests[2].body)
+        // the light is switched on by a request of its own, which is sent with the configured rate
+        (1..2).each { i ->
+            assertTrue requests[i].time - requests[i - 1].time >= 90
+        }
+        queue.close()
+    }
+
+    @Test
+    void 'assert that a light is switched on only once for an update'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 10)
+        responses[1] = DEVICE_OFF_ERROR
+        responses[3] = DEVICE_OFF_ERROR
+
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(100))
+
+        waitForAssert({ assertThat requests.size(), is(3) }, 5000)
+        Thread.sleep(300)
+        assertThat requests.size(), is(3)
+        queue.close()
+    }
+
+    @Test
+    void 'assert that a light is not switched on for an update, which sets the power state'() {
+        LightStateUpdateQueue queue = new LightStateUpdateQueue(bridge, scheduler, 10)
+        responses[1] = DEVICE_OFF_ERROR
+
+        queue.enqueue(lights["1"], new StateUpdate().setBrightness(100))
+        queue.enqueue(lights["1"], new StateUpdate().turnOff())
+
+        waitForAssert({ assertThat requests.size(), is(1) }, 5000)
+        Thread.sleep(300)
+        assertThat requests.size(), is(1)
+        assertJson('{ "bri": 100, "on": false }', requests[0].body)
+        queue.close()
+    }
+
+    private void assertJson(String expected, String actual) {
+        def jsonSlurper = Class.forName("groovy.json.JsonSlurper").newInstance()
+        assertThat jsonSlurper.parseText(actual), is(jsonSlurper.parseText(expected))
+    }
+}
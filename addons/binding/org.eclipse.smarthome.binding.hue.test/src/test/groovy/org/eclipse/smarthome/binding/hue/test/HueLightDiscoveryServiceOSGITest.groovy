@@ -152,7 +152,9 @@ class HueLightDiscoveryServiceOSGITest extends OSGiTest {
                 new Result("", 200)
             },
             get: { String address ->
-                if (address.endsWith("testUserName/")) {
+                if (address.endsWith("testUserName/lights")) {
+                    new Result("{}", 200)
+                } else if (address.endsWith("testUserName/")) {
                     def body = """
 						{"lights":{}}
 						"""
@@ -197,6 +199,14 @@ class HueLightDiscoveryServiceOSGITest extends OSGiTest {
         usernameField.accessible = true
         usernameField.set(hueBridgeValue, hueBridgeHandler.config.get(USER_NAME))
 
+        def lightsPollerField = hueBridgeHandler.getClass().getDeclaredField("lightsPoller")
+        lightsPollerField.accessible = true
+        def lightsPollerValue = lightsPollerField.get(hueBridgeHandler)
+
+        httpClientField = lightsPollerValue.getClass().getDeclaredField("http")
+        httpClientField.accessible = true
+        httpClientField.set(lightsPollerValue, mockedHttpClient)
+
         hueBridgeHandler.initialize()
     }
 }
@@ -302,16 +302,7 @@ class HueLightHandlerOSGiTest extends OSGiTest {
 	        def AsyncResultWrapper<String> addressWrapper = new AsyncResultWrapper<String>()
 	        def AsyncResultWrapper<String> bodyWrapper = new AsyncResultWrapper<String>()
 
-	        MockedHttpClient mockedHttpClient =  [
-	            put: { String address, String body ->
-	                addressWrapper.set(address)
-	                bodyWrapper.set(body)
-	                new Result("", 200)
-	            },
-	            get: { String address ->
-	                if (address.endsWith("testUserName/")) {
-	                    def body = """
-							{"lights":
+	        def lightsBody = """
 							  {
 							    "1": {
 								  "state": {
@@ -345,9 +336,19 @@ class HueLightHandlerOSGiTest extends OSGiTest {
 								  }
 							    }
 							  }
-							}
 						"""
-	                    new Result(body, 200)
+
+	        MockedHttpClient mockedHttpClient =  [
+	            put: { String address, String body ->
+	                addressWrapper.set(address)
+	                bodyWrapper.set(body)
+	                new Result("", 200)
+	            },
+	            get: { String address ->
+	                if (address.endsWith("testUserName/lights")) {
+	                    new Result(lightsBody, 200)
+	                } else if (address.endsWith("testUserName/")) {
+	                    new Result("""{"lights":${lightsBody}}""".toString(), 200)
 					}
 				}
 	        ] as MockedHttpClient
@@ -407,6 +408,14 @@ class HueLightHandlerOSGiTest extends OSGiTest {
 		def usernameField = hueBridgeValue.getClass().getDeclaredField("username")
 		usernameField.accessible = true
 		usernameField.set(hueBridgeValue, hueBridgeHandler.config.get(USER_NAME))
+
+		def lightsPollerField = hueBridgeHandler.getClass().getDeclaredField("lightsPoller")
+		lightsPollerField.accessible = true
+		def lightsPollerValue = lightsPollerField.get(hueBridgeHandler)
+
+		httpClientField = lightsPollerValue.getClass().getDeclaredField("http")
+		httpClientField.accessible = true
+		httpClientField.set(lightsPollerValue, mockedHttpClient)
 		
 		hueBridgeHandler.initialize()
     }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.binding.hue.test
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import nl.q42.jue.HueBridge
+import nl.q42.jue.LightsPoller
+import nl.q42.jue.MockedHttpClient
+import nl.q42.jue.HttpClient.Result
+import nl.q42.jue.exceptions.UnauthorizedException
+
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for the {@link LightsPoller}, which requests the lights from a stub bridge.
+ *
+ * @author agent - Initial contribution
+ */
+class LightsPollerOSGiTest extends OSGiTest {
+
+    def LIGHTS = """
+        {
+          "1": { "state": { "on": true, "bri": 200 }, "name": "Hue Light 1", "modelid": "LCT001" },
+          "2": { "state": { "on": false, "bri": 100 }, "name": "Hue Light 2", "modelid": "LCT001" }
+        }
+    """
+
+    def UNAUTHORIZED_ERROR = """
+        [ { "error": { "type": 1, "address": "/lights", "description": "unauthorized user" } } ]
+    """
+
+    LightsPoller lightsPoller
+    List<String> addresses = []
+    String response
+    int responseCode = 200
+
+    @Before
+    void setUp() {
+        HueBridge bridge = new HueBridge("1.2.3.4")
+        def usernameField = HueBridge.getDeclaredField("username")
+        usernameField.accessible = true
+        usernameField.set(bridge, "testUserName")
+
+        MockedHttpClient mockedHttpClient = [
+            get: { String address ->
+                addresses.add(address)
+                new Result(response, responseCode)
+            }
+        ] as MockedHttpClient
+
+        lightsPoller = new LightsPoller(bridge)
+        def httpClientField = LightsPoller.getDeclaredField("http")
+        httpClientField.accessible = true
+        httpClientField.set(lightsPoller, mockedHttpClient)
+    }
+
+    @Test
+    void 'assert that the lights are requested and parsed'() {
+        response = LIGHTS
+
+        def lights = lightsPoller.getLights()
+
+        assertThat addresses, is(["http://1.2.3.4/api/testUserName/lights"])
+        assertThat lights.keySet() as List, is(["1", "2"])
+        assertThat lights["1"].id, is("1")
+        assertThat lights["1"].state.brightness, is(200)
+        assertThat lights["2"].state.on, is(false)
+    }
+
+    @Test
+    void 'assert that an unchanged response is not parsed again'() {
+        response = LIGHTS
+        def lights = lightsPoller.getLights()
+
+        assertThat lightsPoller.getLights(), is(sameInstance(lights))
+
+        response = LIGHTS.replace('"bri": 200', '"bri": 150')
+        def changedLights = lightsPoller.getLights()
+        assertThat changedLights, is(not(sameInstance(lights)))
+        assertThat changedLights["1"].state.brightness, is(150)
+        assertThat addresses.size(), is(3)
+    }
+
+    @Test
+    void 'assert that the status code of a failed request is reported'() {
+        response = ""
+        responseCode = 503
+
+        try {
+            lightsPoller.getLights()
+            fail "The failed request has not been reported."
+        } catch (IOException e) {
+            assertTrue e.message.contains("503")
+        }
+    }
+
+    @Test(expected = UnauthorizedException)
+    void 'assert that an error response is reported'() {
+        response = UNAUTHORIZED_ERROR
+
+        lightsPoller.getLights()
+    }
+}
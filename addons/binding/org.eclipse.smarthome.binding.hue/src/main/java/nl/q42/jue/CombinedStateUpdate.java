@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package nl.q42.jue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * A {@link CombinedStateUpdate} combines several {@link StateUpdate}s into a single one. If a value is set by more than
+ * one update, the value of the update, which has been added last, is used.
+ * <p>
+ * The bridge uses only one of the color modes of an update, it prefers xy over the color temperature over hue and
+ * saturation. Therefore the values of the other color modes are dropped, when an update with a color is added, so that
+ * the color of the update, which has been added last, is used.
+ * <p>
+ * The class is part of the jue package, as the json of a {@link StateUpdate} is not accessible from outside of it.
+ *
+ * @author agent - Initial contribution
+ */
+public class CombinedStateUpdate extends StateUpdate {
+
+    /* the names of the values of each color mode */
+    private static final String[][] COLOR_MODES = { { "xy" }, { "ct" }, { "hue", "sat" } };
+
+    private final Map<String, JsonElement> values = new LinkedHashMap<>();
+
+    public CombinedStateUpdate() {
+    }
+
+    public CombinedStateUpdate(StateUpdate stateUpdate) {
+        add(stateUpdate);
+    }
+
+    /**
+     * Adds the values of the given update, they replace the values of the previously added updates.
+     *
+     * @param stateUpdate the update to add
+     * @return this update
+     */
+    public CombinedStateUpdate add(StateUpdate stateUpdate) {
+        JsonObject json = new JsonParser().parse(stateUpdate.toJson()).getAsJsonObject();
+        for (String[] colorMode : COLOR_MODES) {
+            if (hasAny(json, colorMode)) {
+                for (String[] otherColorMode : COLOR_MODES) {
+                    if (otherColorMode != colorMode) {
+                        for (String name : otherColorMode) {
+                            values.remove(name);
+                        }
+                    }
+                }
+            }
+        }
+        putAll(values, json);
+        return this;
+    }
+
+    /**
+     * Checks, if a value is set by this update.
+     *
+     * @param name the name of the value in the json of the update (e.g. "on")
+     * @return true, if the value is set
+     */
+    public boolean contains(String name) {
+        return new JsonParser().parse(toJson()).getAsJsonObject().has(name);
+    }
+
+    @Override
+    public String toJson() {
+        Map<String, JsonElement> combinedValues = new LinkedHashMap<>(values);
+        // the values, which have been set through the methods of this update itself
+        putAll(combinedValues, super.toJson());
+
+        JsonObject json = new JsonObject();
+        for (Entry<String, JsonElement> entry : combinedValues.entrySet()) {
+            json.add(entry.getKey(), entry.getValue());
+        }
+        return json.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static boolean hasAny(JsonObject json, String[] names) {
+        for (String name : names) {
+            if (json.has(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void putAll(Map<String, JsonElement> values, String json) {
+        putAll(values, new JsonParser().parse(json).getAsJsonObject());
+    }
+
+    private static void putAll(Map<String, JsonElement> values, JsonObject json) {
+        for (Entry<String, JsonElement> entry : json.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+    }
+}
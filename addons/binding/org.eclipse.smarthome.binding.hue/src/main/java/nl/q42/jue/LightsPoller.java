@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package nl.q42.jue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import nl.q42.jue.HttpClient.Result;
+import nl.q42.jue.exceptions.ApiException;
+import nl.q42.jue.exceptions.UnauthorizedException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The {@link LightsPoller} requests the lights resource of a hue bridge. It contains the state of all lights, but none
+ * of the other resources, which are part of {@link HueBridge#getFullConfig()}. As the lights rarely change between
+ * two requests, a response is only parsed, if it differs from the previous one.
+ * <p>
+ * The class is part of the jue package, as it uses the http client and the error responses of the jue library.
+ *
+ * @author agent - Initial contribution
+ */
+public class LightsPoller {
+
+    private static final Type LIGHTS_TYPE = new TypeToken<Map<String, FullLight>>() {
+    }.getType();
+
+    private final HueBridge bridge;
+    private final Gson gson = new Gson();
+
+    private HttpClient http = new HttpClient();
+
+    private String lastBody;
+    private Map<String, FullLight> lastLights;
+
+    public LightsPoller(HueBridge bridge) {
+        this.bridge = bridge;
+    }
+
+    public void setTimeout(int timeout) {
+        http.setTimeout(timeout);
+    }
+
+    /**
+     * Requests the lights of the bridge.
+     *
+     * @return the lights by their id, the same instance is returned as long as the response of the bridge does not
+     *         change
+     * @throws IOException if the bridge could not be reached
+     * @throws ApiException if the bridge returned an error
+     * @throws IllegalStateException if the bridge has not been linked
+     */
+    public synchronized Map<String, FullLight> getLights() throws IOException, ApiException {
+        if (bridge.getUsername() == null) {
+            throw new IllegalStateException("linking is required before interacting with the bridge");
+        }
+
+        Result result = http.get("http://" + bridge.getIPAddress() + "/api/" + bridge.getUsername() + "/lights");
+        if (result.getResponseCode() != 200) {
+            throw new IOException("The bridge responded with status code " + result.getResponseCode());
+        }
+
+        String body = result.getBody();
+        if (lastLights != null && body.equals(lastBody)) {
+            return lastLights;
+        }
+
+        Map<String, FullLight> lights;
+        try {
+            if (body.trim().startsWith("[")) {
+                List<ErrorResponse> errors = gson.fromJson(body, ErrorResponse.gsonType);
+                throw createException(errors);
+            }
+            lights = gson.fromJson(body, LIGHTS_TYPE);
+        } catch (JsonParseException e) {
+            throw new ApiException("Invalid response: " + e.getMessage());
+        }
+
+        Map<String, FullLight> lightsById = new LinkedHashMap<>();
+        if (lights != null) {
+            for (Entry<String, FullLight> entry : lights.entrySet()) {
+                entry.getValue().setId(entry.getKey());
+                lightsById.put(entry.getKey(), entry.getValue());
+            }
+        }
+        lastBody = body;
+        lastLights = Collections.unmodifiableMap(lightsById);
+        return lastLights;
+    }
+
+    private ApiException createException(List<ErrorResponse> errors) {
+        if (errors == null || errors.isEmpty()) {
+            return new ApiException("Unknown error response");
+        }
+        ErrorResponse error = errors.get(0);
+        if (error.getType() != null && error.getType() == 1) {
+            return new UnauthorizedException(error.getDescription());
+        }
+        return new ApiException(error.getDescription());
+    }
+}
@@ -48,6 +48,7 @@ public class HueBindingConstants {
     public static final String HOST = "ipAddress";
     public static final String USER_NAME = "userName";
     public static final String SERIAL_NUMBER = "serialNumber";
+    public static final String MAX_REQUESTS_PER_SECOND = "maxRequestsPerSecond";
 
     // Light config properties
     public static final String LIGHT_ID = "lightId";
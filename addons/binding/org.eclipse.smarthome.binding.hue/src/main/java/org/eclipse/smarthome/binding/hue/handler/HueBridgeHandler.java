@@ -8,12 +8,13 @@
 package org.eclipse.smarthome.binding.hue.handler;
 
 import static org.eclipse.smarthome.binding.hue.HueBindingConstants.HOST;
+import static org.eclipse.smarthome.binding.hue.HueBindingConstants.MAX_REQUESTS_PER_SECOND;
 import static org.eclipse.smarthome.binding.hue.HueBindingConstants.THING_TYPE_BRIDGE;
 import static org.eclipse.smarthome.binding.hue.HueBindingConstants.USER_NAME;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,13 +27,12 @@ import nl.q42.jue.Config;
 import nl.q42.jue.FullConfig;
 import nl.q42.jue.FullLight;
 import nl.q42.jue.HueBridge;
+import nl.q42.jue.LightsPoller;
 import nl.q42.jue.State;
 import nl.q42.jue.StateUpdate;
 import nl.q42.jue.exceptions.ApiException;
-import nl.q42.jue.exceptions.DeviceOffException;
 import nl.q42.jue.exceptions.UnauthorizedException;
 
-import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -62,83 +62,41 @@ public class HueBridgeHandler extends BaseBridgeHandler {
 
     private static final int POLLING_FREQUENCY = 10; // in seconds
 
+    private static final int CONFIG_POLLING_FREQUENCY = 60; // in seconds
+
     private static final String DEFAULT_USERNAME = "EclipseSmartHome";
 
+    private static final double DEFAULT_MAX_REQUESTS_PER_SECOND = 10;
+
     private Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
 
-    private Map<String, FullLight> lastLightStates = new HashMap<>();
+    /* the lights of the last poll, the map is replaced as a whole and never modified */
+    private volatile Map<String, FullLight> lastLightStates = Collections.emptyMap();
 
-    private boolean lastBridgeConnectionState = false;
+    private volatile boolean lastBridgeConnectionState = false;
 
     private List<LightStatusListener> lightStatusListeners = new CopyOnWriteArrayList<>();
 
     private ScheduledFuture<?> pollingJob;
 
+    private ScheduledFuture<?> configPollingJob;
+
     private Runnable pollingRunnable = new Runnable() {
 
         @Override
         public void run() {
             try {
                 try {
-                    FullConfig fullConfig = bridge.getFullConfig();
+                    Map<String, FullLight> lights = lightsPoller.getLights();
                     if (!lastBridgeConnectionState) {
                         logger.debug("Connection to Hue Bridge {} established.", bridge.getIPAddress());
                         lastBridgeConnectionState = true;
+                        updateBridgeConfig();
                         onConnectionResumed(bridge);
                     }
-                    if (lastBridgeConnectionState) {
-                        Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-                        for (final FullLight fullLight : fullConfig.getLights()) {
-                            final String lightId = fullLight.getId();
-                            if (lastLightStateCopy.containsKey(lightId)) {
-                                final FullLight lastFullLight = lastLightStateCopy.remove(lightId);
-                                final State lastFullLightState = lastFullLight.getState();
-                                lastLightStates.put(lightId, fullLight);
-                                if (!isEqual(lastFullLightState, fullLight.getState())) {
-                                    logger.debug("Status update for Hue light {} detected.", lightId);
-                                    for (LightStatusListener lightStatusListener : lightStatusListeners) {
-                                        try {
-                                            lightStatusListener.onLightStateChanged(bridge, fullLight);
-                                        } catch (Exception e) {
-                                            logger.error(
-                                                    "An exception occurred while calling the BridgeHeartbeatListener",
-                                                    e);
-                                        }
-                                    }
-                                }
-                            } else {
-                                lastLightStates.put(lightId, fullLight);
-                                logger.debug("Hue light {} added.", lightId);
-                                for (LightStatusListener lightStatusListener : lightStatusListeners) {
-                                    try {
-                                        lightStatusListener.onLightAdded(bridge, fullLight);
-                                    } catch (Exception e) {
-                                        logger.error("An exception occurred while calling the BridgeHeartbeatListener",
-                                                e);
-                                    }
-                                }
-                            }
-                        }
-                        // Check for removed lights
-                        for (Entry<String, FullLight> fullLightEntry : lastLightStateCopy.entrySet()) {
-                            lastLightStates.remove(fullLightEntry.getKey());
-                            logger.debug("Hue light {} removed.", fullLightEntry.getKey());
-                            for (LightStatusListener lightStatusListener : lightStatusListeners) {
-                                try {
-                                    lightStatusListener.onLightRemoved(bridge, fullLightEntry.getValue());
-                                } catch (Exception e) {
-                                    logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
-                                }
-                            }
-                        }
-
-                        final Config config = fullConfig.getConfig();
-                        if (config != null) {
-                            Map<String, String> properties = editProperties();
-                            properties.put(Thing.PROPERTY_SERIAL_NUMBER, config.getMACAddress());
-                            properties.put(Thing.PROPERTY_FIRMWARE_VERSION, config.getSoftwareVersion());
-                            updateProperties(properties);
-                        }
+                    // the poller returns the same instance, as long as the response of the bridge does not change
+                    if (lastBridgeConnectionState && lights != lastLightStates) {
+                        updateLights(lights);
                     }
                 } catch (UnauthorizedException | IllegalStateException e) {
                     if (isReachable(bridge.getIPAddress())) {
@@ -184,10 +142,77 @@ public class HueBridgeHandler extends BaseBridgeHandler {
             }
             return true;
         }
+
+        private void updateLights(Map<String, FullLight> lights) {
+            Map<String, FullLight> lastLights = lastLightStates;
+            lastLightStates = lights;
+            LightStateUpdateQueue lightStateUpdateQueue = HueBridgeHandler.this.lightStateUpdateQueue;
+            if (lightStateUpdateQueue != null) {
+                lightStateUpdateQueue.setLights(lights.values());
+            }
+
+            for (FullLight fullLight : lights.values()) {
+                String lightId = fullLight.getId();
+                FullLight lastFullLight = lastLights.get(lightId);
+                if (lastFullLight != null) {
+                    if (!isEqual(lastFullLight.getState(), fullLight.getState())) {
+                        logger.debug("Status update for Hue light {} detected.", lightId);
+                        for (LightStatusListener lightStatusListener : lightStatusListeners) {
+                            try {
+                                lightStatusListener.onLightStateChanged(bridge, fullLight);
+                            } catch (Exception e) {
+                                logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+                            }
+                        }
+                    }
+                } else {
+                    logger.debug("Hue light {} added.", lightId);
+                    for (LightStatusListener lightStatusListener : lightStatusListeners) {
+                        try {
+                            lightStatusListener.onLightAdded(bridge, fullLight);
+                        } catch (Exception e) {
+                            logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+                        }
+                    }
+                }
+            }
+            // Check for removed lights
+            for (Entry<String, FullLight> fullLightEntry : lastLights.entrySet()) {
+                if (!lights.containsKey(fullLightEntry.getKey())) {
+                    logger.debug("Hue light {} removed.", fullLightEntry.getKey());
+                    for (LightStatusListener lightStatusListener : lightStatusListeners) {
+                        try {
+                            lightStatusListener.onLightRemoved(bridge, fullLightEntry.getValue());
+                        } catch (Exception e) {
+                            logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+                        }
+                    }
+                }
+            }
+        }
+    };
+
+    /* the groups and the configuration of the bridge change rarely, so they are requested less often than the lights */
+    private Runnable configPollingRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            try {
+                if (lastBridgeConnectionState) {
+                    updateBridgeConfig();
+                }
+            } catch (Throwable t) {
+                logger.error("An unexpected error occurred: {}", t.getMessage(), t);
+            }
+        }
     };
 
     private HueBridge bridge = null;
 
+    private LightsPoller lightsPoller = null;
+
+    private LightStateUpdateQueue lightStateUpdateQueue = null;
+
     public HueBridgeHandler(Bridge hueBridge) {
         super(hueBridge);
     }
@@ -197,19 +222,17 @@ public class HueBridgeHandler extends BaseBridgeHandler {
         // not needed
     }
 
+    /**
+     * Queues the given update of a light. The update is sent asynchronously, while updates of the same light, which
+     * have not been sent yet, are merged and the requests to the bridge are limited to the configured rate.
+     *
+     * @param light the light to update
+     * @param stateUpdate the update
+     */
     public void updateLightState(FullLight light, StateUpdate stateUpdate) {
-
-        if (bridge != null) {
-            try {
-                bridge.setLightState(light, stateUpdate);
-            } catch (DeviceOffException e) {
-                updateLightState(light, LightStateConverter.toColorLightState(OnOffType.ON));
-                updateLightState(light, stateUpdate);
-            } catch (IOException | ApiException e) {
-                throw new RuntimeException(e);
-            } catch (IllegalStateException e) {
-                logger.trace("Error while accessing light: {}", e.getMessage());
-            }
+        LightStateUpdateQueue lightStateUpdateQueue = this.lightStateUpdateQueue;
+        if (bridge != null && lightStateUpdateQueue != null) {
+            lightStateUpdateQueue.enqueue(light, stateUpdate);
         } else {
             logger.warn("No bridge connected or selected. Cannot set light state.");
         }
@@ -222,8 +245,17 @@ public class HueBridgeHandler extends BaseBridgeHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
+        if (configPollingJob != null && !configPollingJob.isCancelled()) {
+            configPollingJob.cancel(true);
+            configPollingJob = null;
+        }
+        if (lightStateUpdateQueue != null) {
+            lightStateUpdateQueue.close();
+            lightStateUpdateQueue = null;
+        }
         if (bridge != null) {
             bridge = null;
+            lightsPoller = null;
         }
     }
 
@@ -239,6 +271,9 @@ public class HueBridgeHandler extends BaseBridgeHandler {
             if (bridge == null) {
                 bridge = new HueBridge((String) getConfig().get(HOST));
                 bridge.setTimeout(5000);
+                lightsPoller = new LightsPoller(bridge);
+                lightsPoller.setTimeout(5000);
+                lightStateUpdateQueue = new LightStateUpdateQueue(bridge, scheduler, getMaxRequestsPerSecond());
             }
             onUpdate();
         } else {
@@ -247,11 +282,50 @@ public class HueBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Requests the configuration and the groups of the bridge, which are not part of the polled lights.
+     */
+    private void updateBridgeConfig() {
+        HueBridge bridge = this.bridge;
+        if (bridge == null) {
+            return;
+        }
+        try {
+            FullConfig fullConfig = bridge.getFullConfig();
+            LightStateUpdateQueue lightStateUpdateQueue = this.lightStateUpdateQueue;
+            if (lightStateUpdateQueue != null) {
+                lightStateUpdateQueue.setGroups(fullConfig.getGroups());
+            }
+            final Config config = fullConfig.getConfig();
+            if (config != null) {
+                Map<String, String> properties = editProperties();
+                properties.put(Thing.PROPERTY_SERIAL_NUMBER, config.getMACAddress());
+                properties.put(Thing.PROPERTY_FIRMWARE_VERSION, config.getSoftwareVersion());
+                updateProperties(properties);
+            }
+        } catch (IOException | ApiException | RuntimeException e) {
+            logger.debug("Failed to request the configuration of Hue Bridge {}: {}", bridge.getIPAddress(),
+                    e.getMessage());
+        }
+    }
+
+    private double getMaxRequestsPerSecond() {
+        Object maxRequestsPerSecond = getConfig().get(MAX_REQUESTS_PER_SECOND);
+        if (maxRequestsPerSecond instanceof Number && ((Number) maxRequestsPerSecond).doubleValue() > 0) {
+            return ((Number) maxRequestsPerSecond).doubleValue();
+        }
+        return DEFAULT_MAX_REQUESTS_PER_SECOND;
+    }
+
     private synchronized void onUpdate() {
         if (bridge != null) {
             if (pollingJob == null || pollingJob.isCancelled()) {
                 pollingJob = scheduler.scheduleAtFixedRate(pollingRunnable, 1, POLLING_FREQUENCY, TimeUnit.SECONDS);
             }
+            if (configPollingJob == null || configPollingJob.isCancelled()) {
+                configPollingJob = scheduler.scheduleAtFixedRate(configPollingRunnable, CONFIG_POLLING_FREQUENCY,
+                        CONFIG_POLLING_FREQUENCY, TimeUnit.SECONDS);
+            }
         }
     }
 
@@ -333,7 +407,17 @@ public class HueBridgeHandler extends BaseBridgeHandler {
         return lastLightStates.get(lightId);
     }
 
+    /**
+     * Returns the lights of the bridge. If the lights have already been polled, they are returned without a request to
+     * the bridge.
+     *
+     * @return the lights or null, if they could not be requested
+     */
     public List<FullLight> getFullLights() {
+        Map<String, FullLight> lastLightStates = this.lastLightStates;
+        if (!lastLightStates.isEmpty()) {
+            return new ArrayList<>(lastLightStates.values());
+        }
         List<FullLight> lights = null;
         if (bridge != null) {
             try {
@@ -79,6 +79,11 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
     private Integer lastSentColorTemp;
     private Integer lastSentBrightness;
 
+    /* the states, which have been posted to the channels since the last command */
+    private HSBType lastColor;
+    private PercentType lastColorTemperature;
+    private PercentType lastBrightness;
+
     private Logger logger = LoggerFactory.getLogger(HueLightHandler.class);
 
     private HueBridgeHandler bridgeHandler;
@@ -93,6 +98,7 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
         final String configLightId = (String) getConfig().get(LIGHT_ID);
         if (configLightId != null) {
             lightId = configLightId;
+            clearChannelStates();
             // note: this call implicitly registers our handler as a listener on the bridge
             if (getHueBridgeHandler() != null) {
                 ThingStatusInfo statusInfo = getBridge().getStatusInfo();
@@ -117,6 +123,12 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
         }
     }
 
+    private void clearChannelStates() {
+        lastColor = null;
+        lastColorTemperature = null;
+        lastBrightness = null;
+    }
+
     private FullLight getLight() {
         HueBridgeHandler bridgeHandler = getHueBridgeHandler();
         if (bridgeHandler != null) {
@@ -251,6 +263,8 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
                 break;
         }
         if (lightState != null) {
+            // the items may have been changed by the command, so that the next state of the light is posted again
+            clearChannelStates();
             hueBridge.updateLightState(light, lightState);
         } else {
             logger.warn("Command send to an unknown channel id: " + channelUID);
@@ -280,20 +294,30 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
             lastSentColorTemp = null;
             lastSentBrightness = null;
 
+            // only the channels, whose values have changed, are updated
             HSBType hsbType = LightStateConverter.toHSBType(fullLight.getState());
             if (!fullLight.getState().isOn()) {
                 hsbType = new HSBType(hsbType.getHue(), hsbType.getSaturation(), new PercentType(0));
             }
-            updateState(new ChannelUID(getThing().getUID(), CHANNEL_COLOR), hsbType);
+            if (!hsbType.equals(lastColor)) {
+                lastColor = hsbType;
+                updateState(new ChannelUID(getThing().getUID(), CHANNEL_COLOR), hsbType);
+            }
 
             PercentType percentType = LightStateConverter.toColorTemperaturePercentType(fullLight.getState());
-            updateState(new ChannelUID(getThing().getUID(), CHANNEL_COLORTEMPERATURE), percentType);
+            if (!percentType.equals(lastColorTemperature)) {
+                lastColorTemperature = percentType;
+                updateState(new ChannelUID(getThing().getUID(), CHANNEL_COLORTEMPERATURE), percentType);
+            }
 
             percentType = LightStateConverter.toBrightnessPercentType(fullLight.getState());
             if (!fullLight.getState().isOn()) {
                 percentType = new PercentType(0);
             }
-            updateState(new ChannelUID(getThing().getUID(), CHANNEL_BRIGHTNESS), percentType);
+            if (!percentType.equals(lastBrightness)) {
+                lastBrightness = percentType;
+                updateState(new ChannelUID(getThing().getUID(), CHANNEL_BRIGHTNESS), percentType);
+            }
         }
 
     }
@@ -309,6 +333,7 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
     public void onLightAdded(HueBridge bridge, FullLight light) {
         if (light.getId().equals(lightId)) {
             updateStatus(ThingStatus.ONLINE);
+            clearChannelStates();
             onLightStateChanged(bridge, light);
         }
     }
@@ -0,0 +1,423 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.binding.hue.handler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import nl.q42.jue.CombinedStateUpdate;
+import nl.q42.jue.FullGroup;
+import nl.q42.jue.FullLight;
+import nl.q42.jue.Group;
+import nl.q42.jue.HueBridge;
+import nl.q42.jue.Light;
+import nl.q42.jue.StateUpdate;
+import nl.q42.jue.exceptions.ApiException;
+import nl.q42.jue.exceptions.DeviceOffException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LightStateUpdateQueue} sends the state updates of the lights of a hue bridge asynchronously and with a
+ * limited rate, as the bridge only processes about 10 requests per second.
+ * <p>
+ * While an update of a light waits in the queue, further updates of the same light are merged into it, so that only
+ * the latest values are sent (e.g. while a slider is moved). If several lights wait for the same update, they are
+ * updated by a single request to a group of the bridge, which consists of these lights (e.g. if a group item switches
+ * off all lights). As the groups can be changed on the bridge at any time, the lights of a group are requested again,
+ * before the update is sent to it. If they have changed, the lights are updated one by one.
+ * <p>
+ * If an update cannot be applied, because a light is off, the update is put back to the front of the queue and the
+ * light is switched on by a request of its own before, so that all requests are sent with the limited rate.
+ *
+ * @author agent - Initial contribution
+ */
+class LightStateUpdateQueue {
+
+    /** the bridge processes at most one group request per second */
+    private static final long GROUP_REQUEST_INTERVAL = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(LightStateUpdateQueue.class);
+
+    private final HueBridge bridge;
+    private final ScheduledExecutorService scheduler;
+    private final long requestInterval;
+
+    /* the waiting updates by light id in the order they have been queued */
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+
+    private volatile Set<String> lightIds = Collections.emptySet();
+    private volatile List<FullGroup> groups = Collections.emptyList();
+
+    private ScheduledFuture<?> job;
+    private long lastRequestTime;
+    private long lastGroupRequestTime;
+    private boolean closed;
+
+    private final Runnable sendRunnable = new Runnable() {
+        @Override
+        public void run() {
+            sendNextRequest();
+        }
+    };
+
+    /**
+     * Creates a new queue.
+     *
+     * @param bridge the bridge to send the updates to
+     * @param scheduler the scheduler, which sends the updates
+     * @param maxRequestsPerSecond the maximum number of requests, which are sent to the bridge per second
+     */
+    LightStateUpdateQueue(HueBridge bridge, ScheduledExecutorService scheduler, double maxRequestsPerSecond) {
+        if (maxRequestsPerSecond <= 0) {
+            throw new IllegalArgumentException("The maximum number of requests per second must be positive.");
+        }
+        this.bridge = bridge;
+        this.scheduler = scheduler;
+        this.requestInterval = (long) Math.ceil(1000 / maxRequestsPerSecond);
+    }
+
+    /**
+     * Updates the lights of the bridge, which are used to combine identical updates of all lights.
+     *
+     * @param lights the lights of the bridge
+     */
+    void setLights(Collection<FullLight> lights) {
+        Set<String> lightIds = new HashSet<>();
+        for (FullLight light : lights) {
+            lightIds.add(light.getId());
+        }
+        this.lightIds = lightIds;
+    }
+
+    /**
+     * Updates the groups of the bridge, which are used to combine identical updates of several lights.
+     *
+     * @param groups the groups of the bridge or null
+     */
+    void setGroups(List<FullGroup> groups) {
+        this.groups = (groups != null) ? groups : Collections.<FullGroup> emptyList();
+    }
+
+    /**
+     * Queues the given update of a light. If there is already an update of the light in the queue, the update is
+     * merged into it: the values of the given update replace the values of the waiting update, the other values of
+     * the waiting update are kept and the merged update keeps the position of the waiting update in the queue.
+     *
+     * @param light the light to update
+     * @param stateUpdate the update
+     */
+    synchronized void enqueue(FullLight light, StateUpdate stateUpdate) {
+        if (closed) {
+            logger.debug("Update of light {} is discarded, as the queue has been closed.", light.getId());
+            return;
+        }
+        PendingUpdate pendingUpdate = pendingUpdates.get(light.getId());
+        if (pendingUpdate != null) {
+            pendingUpdate.stateUpdate.add(stateUpdate);
+        } else {
+            pendingUpdates.put(light.getId(), new PendingUpdate(light, new CombinedStateUpdate(stateUpdate)));
+        }
+        schedule();
+    }
+
+    /**
+     * Discards all waiting updates and stops sending updates.
+     */
+    synchronized void close() {
+        closed = true;
+        pendingUpdates.clear();
+        if (job != null) {
+            job.cancel(false);
+            job = null;
+        }
+    }
+
+    /**
+     * Returns the number of lights, which wait for an update.
+     *
+     * @return the number of waiting updates
+     */
+    synchronized int size() {
+        return pendingUpdates.size();
+    }
+
+    private void schedule() {
+        // a request, which is currently sent, keeps the job, so that the requests are not sent concurrently
+        if (job == null && !closed && !pendingUpdates.isEmpty()) {
+            long delay = Math.max(0, lastRequestTime + requestInterval - System.currentTimeMillis());
+            job = scheduler.schedule(sendRunnable, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendNextRequest() {
+        Request request;
+        synchronized (this) {
+            request = nextRequest();
+            lastRequestTime = System.currentTimeMillis();
+            if (request != null && request.group != null) {
+                lastGroupRequestTime = lastRequestTime;
+            }
+        }
+        try {
+            if (request != null) {
+                send(request);
+            }
+        } catch (Throwable t) {
+            logger.error("An unexpected error occurred while updating the light state: {}", t.getMessage(), t);
+        } finally {
+            synchronized (this) {
+                job = null;
+                schedule();
+            }
+        }
+    }
+
+    private Request nextRequest() {
+        Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        PendingUpdate first = iterator.next();
+        iterator.remove();
+
+        if (first.turnOn) {
+            first.turnOn = false;
+            if (!first.stateUpdate.contains("on")) {
+                // the update waits at the front of the queue, until the light has been switched on
+                first.switchedOn = true;
+                requeue(Collections.singletonList(first), false);
+                return new Request(first.light, new CombinedStateUpdate(new StateUpdate().turnOn()));
+            }
+        }
+
+        if (System.currentTimeMillis() - lastGroupRequestTime >= GROUP_REQUEST_INTERVAL) {
+            // collect all lights, which wait for the same update
+            String json = first.stateUpdate.toJson();
+            Map<String, PendingUpdate> identicalUpdates = new LinkedHashMap<>();
+            identicalUpdates.put(first.light.getId(), first);
+            for (PendingUpdate pendingUpdate : pendingUpdates.values()) {
+                if (!pendingUpdate.turnOn && json.equals(pendingUpdate.stateUpdate.toJson())) {
+                    identicalUpdates.put(pendingUpdate.light.getId(), pendingUpdate);
+                }
+            }
+            if (identicalUpdates.size() > 1) {
+                Request groupRequest = findGroupRequest(first, identicalUpdates);
+                if (groupRequest != null) {
+                    return groupRequest;
+                }
+            }
+        }
+        return new Request(first);
+    }
+
+    /**
+     * Finds the group with the most lights, which contains the light of the given update and otherwise only lights,
+     * which wait for the same update. The updates of its lights are removed from the queue.
+     */
+    private Request findGroupRequest(PendingUpdate first, Map<String, PendingUpdate> identicalUpdates) {
+        String lightId = first.light.getId();
+        Set<String> identicalLightIds = identicalUpdates.keySet();
+        Group bestGroup = null;
+        Set<String> bestGroupLightIds = Collections.emptySet();
+
+        Set<String> lightIds = this.lightIds;
+        if (lightIds.contains(lightId) && identicalLightIds.containsAll(lightIds)) {
+            bestGroup = bridge.getAllGroup();
+            bestGroupLightIds = lightIds;
+        } else {
+            for (FullGroup group : groups) {
+                Set<String> groupLightIds = new HashSet<>();
+                for (Light light : group.getLights()) {
+                    groupLightIds.add(light.getId());
+                }
+                if (groupLightIds.size() > Math.max(bestGroupLightIds.size(), 1) && groupLightIds.contains(lightId)
+                        && identicalLightIds.containsAll(groupLightIds)) {
+                    bestGroup = group;
+                    bestGroupLightIds = groupLightIds;
+                }
+            }
+        }
+
+        if (bestGroup == null) {
+            return null;
+        }
+        List<PendingUpdate> groupUpdates = new ArrayList<>();
+        for (PendingUpdate pendingUpdate : identicalUpdates.values()) {
+            if (bestGroupLightIds.contains(pendingUpdate.light.getId())) {
+                groupUpdates.add(pendingUpdate);
+                pendingUpdates.remove(pendingUpdate.light.getId());
+            }
+        }
+        return new Request(bestGroup, bestGroupLightIds, groupUpdates, first.stateUpdate);
+    }
+
+    /**
+     * Checks, if the group of the given request still consists of the lights, which wait for the update. The group of
+     * all lights is not requested, as the lights are polled regularly. If the group has changed, it replaces the group
+     * of the last configuration of the bridge.
+     */
+    private boolean isGroupUnchanged(Request request) throws IOException, ApiException {
+        if ("0".equals(request.group.getId())) {
+            return true;
+        }
+        FullGroup currentGroup = bridge.getGroup(request.group);
+        Set<String> currentLightIds = new HashSet<>();
+        for (Light light : currentGroup.getLights()) {
+            currentLightIds.add(light.getId());
+        }
+        if (currentLightIds.equals(request.groupLightIds)) {
+            return true;
+        }
+        List<FullGroup> groups = new ArrayList<>(this.groups);
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i).getId().equals(currentGroup.getId())) {
+                groups.set(i, currentGroup);
+            }
+        }
+        this.groups = groups;
+        return false;
+    }
+
+    /**
+     * Puts the updates of a request back to the front of the queue, so that the lights are updated one by one. The
+     * values of updates, which have been queued in the meantime, are merged into them.
+     *
+     * @param updates the updates to put back
+     * @param turnOn true, if the lights have to be switched on before the updates are sent again
+     */
+    private synchronized void requeue(List<PendingUpdate> updates, boolean turnOn) {
+        if (closed) {
+            return;
+        }
+        Map<String, PendingUpdate> queuedUpdates = new LinkedHashMap<>(pendingUpdates);
+        pendingUpdates.clear();
+        for (PendingUpdate update : updates) {
+            update.turnOn |= turnOn;
+            pendingUpdates.put(update.light.getId(), update);
+        }
+        for (PendingUpdate queuedUpdate : queuedUpdates.values()) {
+            PendingUpdate update = pendingUpdates.get(queuedUpdate.light.getId());
+            if (update != null) {
+                update.stateUpdate.add(queuedUpdate.stateUpdate);
+            } else {
+                pendingUpdates.put(queuedUpdate.light.getId(), queuedUpdate);
+            }
+        }
+    }
+
+    private void send(Request request) {
+        try {
+            if (request.group != null && !isGroupUnchanged(request)) {
+                logger.debug("The lights of {} have changed, the lights are updated one by one.", request);
+                requeue(request.updates, false);
+                return;
+            }
+            try {
+                request.send(request.stateUpdate);
+            } catch (DeviceOffException e) {
+                if (request.stateUpdate.contains("on")) {
+                    // the update sets the power state itself, switching the light on would override it
+                    throw e;
+                }
+                for (PendingUpdate update : request.updates) {
+                    if (update.switchedOn) {
+                        // the light is still off, although it has been switched on for this update
+                        throw e;
+                    }
+                }
+                // the lights have to be switched on, before their other values can be set
+                logger.debug("The lights of {} are off, they are switched on before the update is sent again.",
+                        request);
+                requeue(request.updates, true);
+            }
+        } catch (IOException | ApiException e) {
+            logger.warn("Failed to update the state of {}: {}", request, e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.trace("Error while accessing light: {}", e.getMessage());
+        }
+    }
+
+    private static class PendingUpdate {
+
+        private final FullLight light;
+        private final CombinedStateUpdate stateUpdate;
+
+        // guarded by the queue
+        private boolean turnOn;
+        private boolean switchedOn;
+
+        private PendingUpdate(FullLight light, CombinedStateUpdate stateUpdate) {
+            this.light = light;
+            this.stateUpdate = stateUpdate;
+        }
+    }
+
+    /**
+     * A request to the bridge, which either updates a single light or a group of lights.
+     */
+    private class Request {
+
+        private final Light light;
+        private final Group group;
+        private final Set<String> groupLightIds;
+        /* the queued updates, which are sent by this request */
+        private final List<PendingUpdate> updates;
+        private final CombinedStateUpdate stateUpdate;
+
+        private Request(PendingUpdate update) {
+            this.light = update.light;
+            this.group = null;
+            this.groupLightIds = null;
+            this.updates = Collections.singletonList(update);
+            this.stateUpdate = update.stateUpdate;
+        }
+
+        private Request(Light light, CombinedStateUpdate stateUpdate) {
+            this.light = light;
+            this.group = null;
+            this.groupLightIds = null;
+            this.updates = Collections.emptyList();
+            this.stateUpdate = stateUpdate;
+        }
+
+        private Request(Group group, Set<String> groupLightIds, List<PendingUpdate> updates,
+                CombinedStateUpdate stateUpdate) {
+            this.light = null;
+            this.group = group;
+            this.groupLightIds = groupLightIds;
+            this.updates = updates;
+            this.stateUpdate = stateUpdate;
+        }
+
+        private void send(StateUpdate stateUpdate) throws IOException, ApiException {
+            if (group != null) {
+                bridge.setGroupState(group, stateUpdate);
+            } else {
+                bridge.setLightState(light, stateUpdate);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return (group != null) ? "group " + group.getId() : "light " + light.getId();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation;
+
+import org.eclipse.smarthome.core.common.registry.Provider;
+
+/**
+ * This interface has to be implemented by all providers of {@link Rule}s. The {@link RuleRegistry} tracks the
+ * registered providers and passes their {@link Rule}s to the RuleEngine.
+ *
+ * @author agent - Initial contribution
+ */
+public interface RuleProvider extends Provider<Rule> {
+
+}
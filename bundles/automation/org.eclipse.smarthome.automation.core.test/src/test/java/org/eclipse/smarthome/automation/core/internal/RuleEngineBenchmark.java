@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.ACTION_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.CONDITION_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.TRIGGER_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.action;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.condition;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.trigger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.automation.Connection;
+import org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.TestActionHandler;
+
+/**
+ * Measures the throughput of the {@link RuleEngine} by firing 100,000 trigger events across 1,000 rules. It is not
+ * part of the test suite, as its duration depends on the machine. Run it as a Java application with the test classes
+ * on the classpath.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleEngineBenchmark {
+
+    private static final int RULES = 1000;
+
+    private static final int EVENTS = 100000;
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 1; round <= ROUNDS; round++) {
+            long millis = run();
+            System.out.println("Round " + round + ": executed " + EVENTS + " trigger events across " + RULES
+                    + " rules in " + millis + "ms.");
+        }
+    }
+
+    private static long run() throws InterruptedException {
+        RuleEngine ruleEngine = new RuleEngine(Integer.getInteger(RuleEngine.THREADS_PROPERTY, 8), EVENTS);
+        try {
+            TestHandlerFactory factory = new TestHandlerFactory();
+            ruleEngine.addModuleHandlerFactory(factory);
+
+            final CountDownLatch latch = new CountDownLatch(EVENTS);
+            factory.actionHandler = new TestActionHandler() {
+                @Override
+                public Map<String, Object> execute(Map<String, ?> inputs) {
+                    latch.countDown();
+                    return null;
+                }
+            };
+            List<Map<String, Object>> outputs = new ArrayList<>(RULES);
+            for (int i = 0; i < RULES; i++) {
+                Map<String, Object> outputsOfRule = new HashMap<>();
+                outputsOfRule.put("value", i);
+                outputsOfRule.put("satisfied", true);
+                outputs.add(outputsOfRule);
+                ruleEngine.addRule(new TestRule("rule" + i, trigger("t" + i, TRIGGER_TYPE), condition("c" + i,
+                        CONDITION_TYPE, new Connection("satisfied", "t" + i, "satisfied")), action("a" + i,
+                        ACTION_TYPE, new Connection("in", "t" + i, "value"))));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                int rule = i % RULES;
+                factory.fire("t" + rule, outputs.get(rule));
+            }
+            if (!latch.await(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Not all trigger events have been executed.");
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            ruleEngine.dispose();
+        }
+    }
+
+}
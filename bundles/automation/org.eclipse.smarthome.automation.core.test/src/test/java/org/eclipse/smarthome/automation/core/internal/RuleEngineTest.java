@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.ACTION_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.CONDITION_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.TRIGGER_TYPE;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.action;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.condition;
+import static org.eclipse.smarthome.automation.core.internal.TestRule.trigger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.smarthome.automation.Connection;
+import org.eclipse.smarthome.automation.core.internal.TestHandlerFactory.TestActionHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link RuleEngine}. The throughput of the engine is measured by the {@link RuleEngineBenchmark}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleEngineTest {
+
+    private RuleEngine ruleEngine;
+
+    private TestHandlerFactory factory;
+
+    @Before
+    public void setUp() {
+        ruleEngine = new RuleEngine(4, 100000);
+        factory = new TestHandlerFactory();
+        ruleEngine.addModuleHandlerFactory(factory);
+    }
+
+    @After
+    public void tearDown() {
+        ruleEngine.dispose();
+    }
+
+    @Test
+    public void testActionsAreExecutedInTheOrderOfTheirConnections() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Object[] result = new Object[1];
+        factory.actionHandler = new TestActionHandler() {
+            @Override
+            public Map<String, Object> execute(Map<String, ?> inputs) {
+                if (inputs.containsKey("sum")) {
+                    result[0] = inputs.get("sum");
+                    latch.countDown();
+                    return null;
+                }
+                return Collections.<String, Object> singletonMap("out", (Integer) inputs.get("in") + 1);
+            }
+        };
+        ruleEngine.addRule(new TestRule("rule", trigger("t", TRIGGER_TYPE), action("a2", ACTION_TYPE,
+                new Connection("sum", "a1", "out")), action("a1", ACTION_TYPE, new Connection("in", "t", "value"))));
+
+        factory.fire("t", Collections.singletonMap("value", 1));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, result[0]);
+    }
+
+    @Test
+    public void testActionsAreNotExecutedIfAConditionIsNotSatisfied() throws InterruptedException {
+        final List<Object> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        factory.actionHandler = new TestActionHandler() {
+            @Override
+            public Map<String, Object> execute(Map<String, ?> inputs) {
+                executed.add(inputs.get("in"));
+                latch.countDown();
+                return null;
+            }
+        };
+        ruleEngine.addRule(new TestRule("rule", trigger("t", TRIGGER_TYPE), condition("c", CONDITION_TYPE,
+                new Connection("satisfied", "t", "value")), action("a", ACTION_TYPE, new Connection("in", "t",
+                "value"))));
+
+        // the executions of a rule are serialized, so the first one has finished as soon as the second one has
+        factory.fire("t", Collections.singletonMap("value", false));
+        factory.fire("t", Collections.singletonMap("value", true));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.<Object> asList(true), executed);
+    }
+
+    @Test
+    public void testRuleWithCyclicConnectionsIsNotActivated() {
+        ruleEngine.addRule(new TestRule("rule", trigger("t", TRIGGER_TYPE), action("a1", ACTION_TYPE,
+                new Connection("in", "a2", "out")), action("a2", ACTION_TYPE, new Connection("in", "a1", "out"))));
+
+        assertNull(factory.callbacks.get("t"));
+        assertEquals(0, factory.activeHandlers.size());
+    }
+
+    @Test
+    public void testRuleIsActivatedWhenItsFactoryIsAdded() {
+        ruleEngine.removeModuleHandlerFactory(factory);
+        ruleEngine.addRule(new TestRule("rule", trigger("t", TRIGGER_TYPE)));
+        assertNull(factory.callbacks.get("t"));
+
+        ruleEngine.addModuleHandlerFactory(factory);
+        assertTrue(factory.callbacks.get("t") != null);
+
+        ruleEngine.setEnabled("rule", false);
+        assertFalse(ruleEngine.isEnabled("rule"));
+        assertEquals(0, factory.activeHandlers.size());
+    }
+
+    @Test
+    public void testExecutionsOfARuleDoNotOverlap() throws InterruptedException {
+        final int rules = 10;
+        final int events = 1000;
+        final CountDownLatch latch = new CountDownLatch(events);
+        final Map<Object, AtomicBoolean> executing = new ConcurrentHashMap<>();
+        final AtomicBoolean overlapping = new AtomicBoolean(false);
+        factory.actionHandler = new TestActionHandler() {
+            @Override
+            public Map<String, Object> execute(Map<String, ?> inputs) {
+                AtomicBoolean executingRule = executing.get(inputs.get("in"));
+                if (!executingRule.compareAndSet(false, true)) {
+                    overlapping.set(true);
+                }
+                try {
+                    // hold the flag for a while, so that an overlapping execution would see it
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    executingRule.set(false);
+                    latch.countDown();
+                }
+                return null;
+            }
+        };
+        List<Map<String, Object>> outputs = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            Map<String, Object> outputsOfRule = new HashMap<>();
+            outputsOfRule.put("value", i);
+            outputs.add(outputsOfRule);
+            executing.put(i, new AtomicBoolean(false));
+            ruleEngine.addRule(new TestRule("rule" + i, trigger("t" + i, TRIGGER_TYPE), action("a" + i, ACTION_TYPE,
+                    new Connection("in", "t" + i, "value"))));
+        }
+
+        for (int i = 0; i < events; i++) {
+            int rule = i % rules;
+            factory.fire("t" + rule, outputs.get(rule));
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertFalse(overlapping.get());
+    }
+
+    @Test
+    public void testQueuedRuleIsNotRunning() throws InterruptedException {
+        RuleEngine singleThreadedEngine = new RuleEngine(1, 100);
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch released = new CountDownLatch(1);
+            factory.actionHandler = new BlockingActionHandler(started, released);
+            singleThreadedEngine.addModuleHandlerFactory(factory);
+            singleThreadedEngine.addRule(new TestRule("blocking", trigger("t1", TRIGGER_TYPE), action("a1",
+                    ACTION_TYPE)));
+            singleThreadedEngine.addRule(new TestRule("queued", trigger("t2", TRIGGER_TYPE), action("a2",
+                    ACTION_TYPE)));
+
+            factory.fire("t1", Collections.<String, Object> emptyMap());
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // the only thread of the engine is blocked, so the second rule has to wait
+            factory.fire("t2", Collections.<String, Object> emptyMap());
+
+            assertTrue(singleThreadedEngine.isRunning("blocking"));
+            assertFalse(singleThreadedEngine.isRunning("queued"));
+            released.countDown();
+        } finally {
+            singleThreadedEngine.dispose();
+        }
+    }
+
+    @Test
+    public void testHandlersAreDisposedAfterTheCurrentExecution() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch disposed = new CountDownLatch(1);
+        final AtomicBoolean disposedWhileExecuting = new AtomicBoolean(false);
+        factory.actionHandler = new BlockingActionHandler(started, released) {
+            @Override
+            public void dispose() {
+                if (released.getCount() > 0) {
+                    disposedWhileExecuting.set(true);
+                }
+                disposed.countDown();
+            }
+        };
+        ruleEngine.addRule(new TestRule("rule", trigger("t", TRIGGER_TYPE), action("a", ACTION_TYPE)));
+
+        factory.fire("t", Collections.<String, Object> emptyMap());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ruleEngine.setEnabled("rule", false);
+
+        // the handlers of the trigger and the action are still in use by the execution
+        assertTrue(ruleEngine.isRunning("rule"));
+        assertEquals(2, factory.activeHandlers.size());
+        released.countDown();
+
+        assertTrue(disposed.await(5, TimeUnit.SECONDS));
+        assertFalse(disposedWhileExecuting.get());
+    }
+
+    private static class BlockingActionHandler extends TestActionHandler {
+
+        private final CountDownLatch started;
+        private final CountDownLatch released;
+
+        private BlockingActionHandler(CountDownLatch started, CountDownLatch released) {
+            this.started = started;
+            this.released = released;
+        }
+
+        @Override
+        public Map<String, Object> execute(Map<String, ?> inputs) {
+            started.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.ActionHandler;
+import org.eclipse.smarthome.automation.handler.ConditionHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.automation.handler.RuleEngineCallback;
+import org.eclipse.smarthome.automation.handler.TriggerHandler;
+
+/**
+ * {@link ModuleHandlerFactory} for the tests of the {@link RuleEngine}. Its triggers are fired by the tests, its
+ * conditions are satisfied by the input <code>satisfied</code> and its actions delegate to the {@link #actionHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+class TestHandlerFactory implements ModuleHandlerFactory {
+
+    static final String TRIGGER_TYPE = "TestTrigger";
+    static final String CONDITION_TYPE = "TestCondition";
+    static final String ACTION_TYPE = "TestAction";
+
+    final Map<String, RuleEngineCallback> callbacks = new ConcurrentHashMap<>();
+
+    final Map<ModuleHandler, Boolean> activeHandlers = new ConcurrentHashMap<>();
+
+    volatile ActionHandler actionHandler;
+
+    private final Map<String, Trigger> triggers = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<String> getTypes() {
+        return Arrays.asList(TRIGGER_TYPE, CONDITION_TYPE, ACTION_TYPE);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends ModuleHandler> T create(Module module) {
+        ModuleHandler handler;
+        switch (module.getTypeUID()) {
+            case TRIGGER_TYPE:
+                handler = new TestTriggerHandler((Trigger) module);
+                break;
+            case CONDITION_TYPE:
+                handler = new TestConditionHandler();
+                break;
+            default:
+                handler = new TestActionHandler() {
+                    @Override
+                    public Map<String, Object> execute(Map<String, ?> inputs) {
+                        return actionHandler.execute(inputs);
+                    }
+
+                    @Override
+                    public void dispose() {
+                        activeHandlers.remove(this);
+                        ActionHandler delegate = actionHandler;
+                        if (delegate != null) {
+                            delegate.dispose();
+                        }
+                    }
+                };
+                break;
+        }
+        activeHandlers.put(handler, true);
+        return (T) handler;
+    }
+
+    void fire(String triggerId, Map<String, ?> outputs) {
+        callbacks.get(triggerId).triggered(triggers.get(triggerId), outputs);
+    }
+
+    abstract static class TestActionHandler implements ActionHandler {
+
+        @Override
+        public void setConfiguration(Map<String, ?> configuration) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+    }
+
+    private class TestTriggerHandler implements TriggerHandler {
+
+        private final Trigger trigger;
+
+        private TestTriggerHandler(Trigger trigger) {
+            this.trigger = trigger;
+            triggers.put(trigger.getId(), trigger);
+        }
+
+        @Override
+        public void setRuleEngineCallback(RuleEngineCallback ruleCallback) {
+            callbacks.put(trigger.getId(), ruleCallback);
+        }
+
+        @Override
+        public void setConfiguration(Map<String, ?> configuration) {
+        }
+
+        @Override
+        public void dispose() {
+            callbacks.remove(trigger.getId());
+            activeHandlers.remove(this);
+        }
+
+    }
+
+    private class TestConditionHandler implements ConditionHandler {
+
+        @Override
+        public boolean isSatisfied(Map<String, ?> inputs) {
+            return Boolean.TRUE.equals(inputs.get("satisfied"));
+        }
+
+        @Override
+        public void setConfiguration(Map<String, ?> configuration) {
+        }
+
+        @Override
+        public void dispose() {
+            activeHandlers.remove(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.automation.Action;
+import org.eclipse.smarthome.automation.Condition;
+import org.eclipse.smarthome.automation.Connection;
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.config.core.ConfigDescriptionParameter;
+
+/**
+ * Simple {@link Rule} implementation for the tests of the {@link RuleEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+class TestRule implements Rule {
+
+    private final String uid;
+
+    private final List<Module> modules;
+
+    TestRule(String uid, Module... modules) {
+        this.uid = uid;
+        this.modules = Arrays.asList(modules);
+    }
+
+    static Trigger trigger(String id, String typeUID) {
+        return new TestTrigger(id, typeUID);
+    }
+
+    static Condition condition(String id, String typeUID, Connection... connections) {
+        return new TestCondition(id, typeUID, connections);
+    }
+
+    static Action action(String id, String typeUID, Connection... connections) {
+        return new TestAction(id, typeUID, connections);
+    }
+
+    @Override
+    public String getUID() {
+        return uid;
+    }
+
+    @Override
+    public String getName() {
+        return uid;
+    }
+
+    @Override
+    public void setName(String ruleName) {
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void setTags(Set<String> ruleTags) {
+    }
+
+    @Override
+    public String getDescription() {
+        return null;
+    }
+
+    @Override
+    public void setDescription(String ruleDescription) {
+    }
+
+    @Override
+    public Set<ConfigDescriptionParameter> getConfigurationDescriptions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Map<String, Object> getConfiguration() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void setConfiguration(Map<String, ?> ruleConfiguration) {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Module> T getModule(String moduleId) {
+        for (Module module : modules) {
+            if (module.getId().equals(moduleId)) {
+                return (T) module;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Module> List<T> getModules(Class<T> moduleClazz) {
+        List<T> result = new ArrayList<>();
+        for (Module module : modules) {
+            if (moduleClazz == null || moduleClazz.isInstance(module)) {
+                result.add((T) module);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getScopeIdentifier() {
+        return null;
+    }
+
+    private static class TestModule implements Module {
+
+        private final String id;
+        private final String typeUID;
+        private Map<String, Object> configuration = new HashMap<>();
+
+        private TestModule(String id, String typeUID) {
+            this.id = id;
+            this.typeUID = typeUID;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getTypeUID() {
+            return typeUID;
+        }
+
+        @Override
+        public String getLabel() {
+            return null;
+        }
+
+        @Override
+        public void setLabel(String label) {
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public void setDescription(String description) {
+        }
+
+        @Override
+        public Map<String, Object> getConfiguration() {
+            return configuration;
+        }
+
+        @Override
+        public void setConfiguration(Map<String, ?> configuration) {
+            this.configuration = new HashMap<>(configuration);
+        }
+
+    }
+
+    private static class TestTrigger extends TestModule implements Trigger {
+
+        private TestTrigger(String id, String typeUID) {
+            super(id, typeUID);
+        }
+
+    }
+
+    private static class TestConnectedModule extends TestModule {
+
+        private Set<Connection> connections;
+
+        private TestConnectedModule(String id, String typeUID, Connection... connections) {
+            super(id, typeUID);
+            this.connections = new LinkedHashSet<>(Arrays.asList(connections));
+        }
+
+        public Set<Connection> getConnections() {
+            return connections;
+        }
+
+        public void setConnections(Set<Connection> connections) {
+            this.connections = connections;
+        }
+
+    }
+
+    private static class TestCondition extends TestConnectedModule implements Condition {
+
+        private TestCondition(String id, String typeUID, Connection... connections) {
+            super(id, typeUID, connections);
+        }
+
+    }
+
+    private static class TestAction extends TestConnectedModule implements Action {
+
+        private TestAction(String id, String typeUID, Connection... connections) {
+            super(id, typeUID, connections);
+        }
+
+    }
+
+}
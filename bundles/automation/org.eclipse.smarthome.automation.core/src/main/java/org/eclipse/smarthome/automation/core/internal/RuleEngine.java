@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.automation.Action;
+import org.eclipse.smarthome.automation.Condition;
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.automation.handler.TriggerHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RuleEngine} executes the {@link Rule}s. A rule is activated as soon as it is enabled and a
+ * {@link ModuleHandlerFactory} is available for each of its module types: the handlers of its modules are created,
+ * its connections are compiled into a {@link RulePlan} and the {@link RuntimeRule} is set as callback of its trigger
+ * handlers.
+ * <p>
+ * The rules are executed on a pool of threads, whose size can be configured by the system property
+ * {@value #THREADS_PROPERTY}. The executions of a single rule are serialized by its {@link RuntimeRule}, so that at
+ * most one task per rule is queued at the pool.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleEngine {
+
+    /** the system property that contains the number of threads which execute the rules */
+    public static final String THREADS_PROPERTY = "smarthome.automation.threads";
+
+    private static final int DEFAULT_THREADS = 8;
+
+    private static final int MAX_PENDING_EXECUTIONS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(RuleEngine.class);
+
+    private final Map<String, RuntimeRule> runtimeRules = new ConcurrentHashMap<>();
+
+    private final Set<String> disabledRuleUIDs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private final Map<String, ModuleHandlerFactory> factories = new ConcurrentHashMap<>();
+
+    private final int maxPendingExecutions;
+
+    private final ThreadPoolExecutor executor;
+
+    public RuleEngine() {
+        this(Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS), MAX_PENDING_EXECUTIONS);
+    }
+
+    /**
+     * Creates a rule engine.
+     *
+     * @param threads the number of threads which execute the rules
+     * @param maxPendingExecutions the maximum number of queued executions of a single rule, further triggerings of
+     *            the rule are dropped
+     */
+    public RuleEngine(int threads, int maxPendingExecutions) {
+        this.maxPendingExecutions = maxPendingExecutions;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "ESH-rule-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Adds the given rule and activates it, if it is enabled.
+     *
+     * @param rule the rule (must not be null and must have an UID)
+     */
+    public synchronized void addRule(Rule rule) {
+        String uid = rule.getUID();
+        if (uid == null) {
+            throw new IllegalArgumentException("The rule has no UID.");
+        }
+        if (runtimeRules.containsKey(uid)) {
+            throw new IllegalArgumentException("A rule with UID '" + uid + "' has already been added.");
+        }
+        RuntimeRule runtimeRule = new RuntimeRule(rule, executor, maxPendingExecutions);
+        runtimeRules.put(uid, runtimeRule);
+        if (!disabledRuleUIDs.contains(uid)) {
+            activate(runtimeRule);
+        }
+    }
+
+    /**
+     * Replaces the rule with the UID of the given rule.
+     *
+     * @param rule the updated rule
+     */
+    public synchronized void updateRule(Rule rule) {
+        removeRule(rule.getUID());
+        addRule(rule);
+    }
+
+    /**
+     * Deactivates and removes the rule with the given UID.
+     *
+     * @param uid the UID of the rule
+     */
+    public synchronized void removeRule(String uid) {
+        RuntimeRule runtimeRule = runtimeRules.remove(uid);
+        if (runtimeRule != null) {
+            deactivate(runtimeRule);
+        }
+    }
+
+    /**
+     * Enables or disables the rule with the given UID. The state is kept, even if the rule is removed.
+     *
+     * @param uid the UID of the rule
+     * @param isEnabled <code>true</code> to enable the rule
+     */
+    public synchronized void setEnabled(String uid, boolean isEnabled) {
+        RuntimeRule runtimeRule = runtimeRules.get(uid);
+        if (isEnabled) {
+            if (disabledRuleUIDs.remove(uid) && runtimeRule != null) {
+                activate(runtimeRule);
+            }
+        } else {
+            if (disabledRuleUIDs.add(uid) && runtimeRule != null) {
+                deactivate(runtimeRule);
+            }
+        }
+    }
+
+    /**
+     * Returns the rule with the given UID.
+     *
+     * @param uid the UID of the rule
+     * @return the rule or <code>null</code>, if no such rule has been added
+     */
+    public Rule getRule(String uid) {
+        RuntimeRule runtimeRule = runtimeRules.get(uid);
+        return runtimeRule != null ? runtimeRule.getRule() : null;
+    }
+
+    public boolean isEnabled(String uid) {
+        return !disabledRuleUIDs.contains(uid);
+    }
+
+    public boolean isRunning(String uid) {
+        RuntimeRule runtimeRule = runtimeRules.get(uid);
+        return runtimeRule != null && runtimeRule.isRunning();
+    }
+
+    /**
+     * Adds the given factory and activates the enabled rules, which have been waiting for handlers of its types.
+     *
+     * @param factory the factory
+     */
+    public synchronized void addModuleHandlerFactory(ModuleHandlerFactory factory) {
+        for (String type : factory.getTypes()) {
+            factories.put(type, factory);
+        }
+        for (RuntimeRule runtimeRule : runtimeRules.values()) {
+            if (!runtimeRule.isActive() && !disabledRuleUIDs.contains(runtimeRule.getRule().getUID())) {
+                activate(runtimeRule);
+            }
+        }
+    }
+
+    /**
+     * Removes the given factory and deactivates the rules, which use handlers created by it.
+     *
+     * @param factory the factory
+     */
+    public synchronized void removeModuleHandlerFactory(ModuleHandlerFactory factory) {
+        factories.values().removeAll(Collections.singleton(factory));
+        for (RuntimeRule runtimeRule : runtimeRules.values()) {
+            if (runtimeRule.uses(factory)) {
+                deactivate(runtimeRule);
+                // another factory might provide the types as well
+                activate(runtimeRule);
+            }
+        }
+    }
+
+    /**
+     * Deactivates all rules and stops the threads of the engine.
+     */
+    public synchronized void dispose() {
+        for (RuntimeRule runtimeRule : runtimeRules.values()) {
+            deactivate(runtimeRule);
+        }
+        runtimeRules.clear();
+        executor.shutdownNow();
+    }
+
+    private void activate(RuntimeRule runtimeRule) {
+        Rule rule = runtimeRule.getRule();
+        List<Module> modules = new ArrayList<>();
+        modules.addAll(rule.getModules(Trigger.class));
+        modules.addAll(rule.getModules(Condition.class));
+        modules.addAll(rule.getModules(Action.class));
+
+        Map<String, ModuleHandler> handlers = new HashMap<>();
+        Set<ModuleHandlerFactory> usedFactories = new HashSet<>();
+        for (Module module : modules) {
+            ModuleHandlerFactory factory = getFactory(module.getTypeUID());
+            ModuleHandler handler = factory != null ? factory.<ModuleHandler> create(module) : null;
+            if (handler == null) {
+                logger.debug("Rule '{}' is waiting for a handler of module type '{}'.", rule.getUID(),
+                        module.getTypeUID());
+                dispose(handlers);
+                return;
+            }
+            handlers.put(module.getId(), handler);
+            usedFactories.add(factory);
+        }
+
+        RulePlan plan;
+        try {
+            plan = new RulePlan(rule, handlers);
+        } catch (IllegalArgumentException e) {
+            logger.error("Rule '{}' cannot be activated: {}", rule.getUID(), e.getMessage());
+            dispose(handlers);
+            return;
+        }
+
+        runtimeRule.activate(plan, handlers, usedFactories);
+        for (Trigger trigger : rule.getModules(Trigger.class)) {
+            ((TriggerHandler) handlers.get(trigger.getId())).setRuleEngineCallback(runtimeRule);
+        }
+        logger.debug("Rule '{}' has been activated.", rule.getUID());
+    }
+
+    private void deactivate(RuntimeRule runtimeRule) {
+        if (runtimeRule.deactivate()) {
+            logger.debug("Rule '{}' has been deactivated.", runtimeRule.getRule().getUID());
+        }
+    }
+
+    private void dispose(Map<String, ModuleHandler> handlers) {
+        for (ModuleHandler handler : handlers.values()) {
+            try {
+                handler.dispose();
+            } catch (Exception e) {
+                logger.warn("Error while disposing module handler '{}': {}", handler, e.getMessage());
+            }
+        }
+    }
+
+    private ModuleHandlerFactory getFactory(String typeUID) {
+        ModuleHandlerFactory factory = factories.get(typeUID);
+        if (factory == null) {
+            // a module type might extend another type like 'ItemTrigger:MotionTrigger'
+            int index = typeUID.indexOf(':');
+            if (index > 0) {
+                factory = factories.get(typeUID.substring(0, index));
+            }
+        }
+        return factory;
+    }
+
+}
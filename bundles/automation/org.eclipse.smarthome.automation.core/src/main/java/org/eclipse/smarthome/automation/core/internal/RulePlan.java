@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.automation.Action;
+import org.eclipse.smarthome.automation.Condition;
+import org.eclipse.smarthome.automation.Connection;
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.ActionHandler;
+import org.eclipse.smarthome.automation.handler.ConditionHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.TriggerHandler;
+
+/**
+ * The {@link RulePlan} is the compiled form of a {@link Rule}. The {@link Connection}s of the rule are resolved once
+ * when the plan is compiled: each module output, which is connected to an input, gets a slot in a value array, and
+ * each module step knows the slots of its inputs and outputs. The actions are sorted so that an action is executed
+ * after the actions it is connected to. An execution of the plan therefore only copies values between array slots.
+ *
+ * @author agent - Initial contribution
+ */
+class RulePlan {
+
+    private final int slotCount;
+
+    private final Map<String, TriggerStep> triggerSteps;
+
+    private final ConditionStep[] conditionSteps;
+
+    private final ActionStep[] actionSteps;
+
+    /**
+     * Compiles the plan of the given rule.
+     *
+     * @param rule the rule
+     * @param handlers the handlers of the modules of the rule by module id
+     * @throws IllegalArgumentException if the modules of the rule are not connected correctly
+     */
+    RulePlan(Rule rule, Map<String, ModuleHandler> handlers) throws IllegalArgumentException {
+        List<Trigger> triggers = rule.getModules(Trigger.class);
+        List<Condition> conditions = rule.getModules(Condition.class);
+        List<Action> actions = rule.getModules(Action.class);
+
+        Map<String, Module> modules = new HashMap<>();
+        addModules(modules, triggers);
+        addModules(modules, conditions);
+        addModules(modules, actions);
+
+        // conditions can only be connected to triggers, actions to triggers and preceding actions
+        Map<String, Map<String, Integer>> outputSlots = new HashMap<>();
+        int slots = 0;
+        for (Condition condition : conditions) {
+            slots = allocateSlots(outputSlots, slots, condition, condition.getConnections(), modules, Trigger.class);
+        }
+        for (Action action : actions) {
+            slots = allocateSlots(outputSlots, slots, action, action.getConnections(), modules, Module.class);
+        }
+        this.slotCount = slots;
+
+        this.triggerSteps = new HashMap<>();
+        for (Trigger trigger : triggers) {
+            getHandler(handlers, trigger, TriggerHandler.class);
+            Map<String, Integer> slotsOfTrigger = getSlots(outputSlots, trigger.getId());
+            triggerSteps.put(trigger.getId(), new TriggerStep(toNames(slotsOfTrigger), toSlots(slotsOfTrigger)));
+        }
+
+        this.conditionSteps = new ConditionStep[conditions.size()];
+        for (int i = 0; i < conditionSteps.length; i++) {
+            Condition condition = conditions.get(i);
+            Map<String, Integer> inputSlots = getInputSlots(condition.getConnections(), outputSlots);
+            conditionSteps[i] = new ConditionStep(getHandler(handlers, condition, ConditionHandler.class),
+                    toNames(inputSlots), toSlots(inputSlots));
+        }
+
+        List<Action> sortedActions = sortActions(actions);
+        this.actionSteps = new ActionStep[sortedActions.size()];
+        for (int i = 0; i < actionSteps.length; i++) {
+            Action action = sortedActions.get(i);
+            Map<String, Integer> inputSlots = getInputSlots(action.getConnections(), outputSlots);
+            Map<String, Integer> slotsOfAction = getSlots(outputSlots, action.getId());
+            actionSteps[i] = new ActionStep(getHandler(handlers, action, ActionHandler.class), toNames(inputSlots),
+                    toSlots(inputSlots), toNames(slotsOfAction), toSlots(slotsOfAction));
+        }
+    }
+
+    /**
+     * Returns the step of the trigger with the given id.
+     *
+     * @param triggerId the id of the trigger
+     * @return the step or <code>null</code>, if the rule has no such trigger
+     */
+    TriggerStep getTriggerStep(String triggerId) {
+        return triggerSteps.get(triggerId);
+    }
+
+    /**
+     * Executes the rule for a triggered trigger: the conditions are checked and if all of them are satisfied, the
+     * actions are executed.
+     *
+     * @param triggerStep the step of the triggered trigger
+     * @param outputs the outputs of the triggered trigger
+     * @return <code>true</code> if the actions have been executed, <code>false</code> if a condition was not satisfied
+     */
+    boolean execute(TriggerStep triggerStep, Map<String, ?> outputs) {
+        Object[] values = new Object[slotCount];
+        if (outputs != null) {
+            triggerStep.copyOutputs(outputs, values);
+        }
+        for (ConditionStep conditionStep : conditionSteps) {
+            if (!conditionStep.handler.isSatisfied(new SlotMap(conditionStep.inputNames, conditionStep.inputSlots,
+                    values))) {
+                return false;
+            }
+        }
+        for (ActionStep actionStep : actionSteps) {
+            Map<String, Object> actionOutputs = actionStep.handler.execute(new SlotMap(actionStep.inputNames,
+                    actionStep.inputSlots, values));
+            if (actionOutputs != null) {
+                actionStep.copyOutputs(actionOutputs, values);
+            }
+        }
+        return true;
+    }
+
+    private static void addModules(Map<String, Module> modules, List<? extends Module> modulesToAdd) {
+        for (Module module : modulesToAdd) {
+            if (modules.put(module.getId(), module) != null) {
+                throw new IllegalArgumentException("Duplicate module id '" + module.getId() + "'.");
+            }
+        }
+    }
+
+    private static int allocateSlots(Map<String, Map<String, Integer>> outputSlots, int slots, Module module,
+            Set<Connection> connections, Map<String, Module> modules, Class<? extends Module> outputModuleClass) {
+        if (connections == null) {
+            return slots;
+        }
+        int allocatedSlots = slots;
+        for (Connection connection : connections) {
+            Module outputModule = modules.get(connection.getOuputModuleId());
+            if (outputModule == null || outputModule == module || !outputModuleClass.isInstance(outputModule)
+                    || outputModule instanceof Condition) {
+                throw new IllegalArgumentException("Input '" + connection.getInputName() + "' of module '"
+                        + module.getId() + "' is connected to invalid module '" + connection.getOuputModuleId()
+                        + "'.");
+            }
+            Map<String, Integer> slotsOfModule = outputSlots.get(outputModule.getId());
+            if (slotsOfModule == null) {
+                slotsOfModule = new LinkedHashMap<>();
+                outputSlots.put(outputModule.getId(), slotsOfModule);
+            }
+            if (!slotsOfModule.containsKey(connection.getOutputName())) {
+                slotsOfModule.put(connection.getOutputName(), allocatedSlots++);
+            }
+        }
+        return allocatedSlots;
+    }
+
+    private static Map<String, Integer> getSlots(Map<String, Map<String, Integer>> outputSlots, String moduleId) {
+        Map<String, Integer> slotsOfModule = outputSlots.get(moduleId);
+        return slotsOfModule != null ? slotsOfModule : Collections.<String, Integer> emptyMap();
+    }
+
+    private static Map<String, Integer> getInputSlots(Set<Connection> connections,
+            Map<String, Map<String, Integer>> outputSlots) {
+        if (connections == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> inputSlots = new LinkedHashMap<>();
+        for (Connection connection : connections) {
+            inputSlots.put(connection.getInputName(),
+                    outputSlots.get(connection.getOuputModuleId()).get(connection.getOutputName()));
+        }
+        return inputSlots;
+    }
+
+    private static List<Action> sortActions(List<Action> actions) {
+        Set<String> actionIds = new HashSet<>();
+        for (Action action : actions) {
+            actionIds.add(action.getId());
+        }
+        List<Action> sortedActions = new ArrayList<>(actions.size());
+        Set<String> sortedActionIds = new HashSet<>();
+        List<Action> remainingActions = new ArrayList<>(actions);
+        while (!remainingActions.isEmpty()) {
+            boolean progress = false;
+            for (int i = 0; i < remainingActions.size(); i++) {
+                Action action = remainingActions.get(i);
+                if (isReady(action.getConnections(), actionIds, sortedActionIds)) {
+                    sortedActions.add(action);
+                    sortedActionIds.add(action.getId());
+                    remainingActions.remove(i--);
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                throw new IllegalArgumentException("The connections of the actions " + getIds(remainingActions)
+                        + " form a cycle.");
+            }
+        }
+        return sortedActions;
+    }
+
+    private static boolean isReady(Set<Connection> connections, Set<String> actionIds, Set<String> sortedActionIds) {
+        if (connections != null) {
+            for (Connection connection : connections) {
+                String outputModuleId = connection.getOuputModuleId();
+                if (actionIds.contains(outputModuleId) && !sortedActionIds.contains(outputModuleId)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<String> getIds(Collection<? extends Module> modules) {
+        List<String> ids = new ArrayList<>(modules.size());
+        for (Module module : modules) {
+            ids.add(module.getId());
+        }
+        return ids;
+    }
+
+    private static <T extends ModuleHandler> T getHandler(Map<String, ModuleHandler> handlers, Module module,
+            Class<T> handlerClass) {
+        ModuleHandler handler = handlers.get(module.getId());
+        if (!handlerClass.isInstance(handler)) {
+            throw new IllegalArgumentException("The handler of module '" + module.getId() + "' is no "
+                    + handlerClass.getSimpleName() + ".");
+        }
+        return handlerClass.cast(handler);
+    }
+
+    private static String[] toNames(Map<String, Integer> slots) {
+        return slots.keySet().toArray(new String[slots.size()]);
+    }
+
+    private static int[] toSlots(Map<String, Integer> slots) {
+        int[] slotArray = new int[slots.size()];
+        int i = 0;
+        for (Integer slot : slots.values()) {
+            slotArray[i++] = slot;
+        }
+        return slotArray;
+    }
+
+    /**
+     * The {@link TriggerStep} copies the connected outputs of a trigger into their slots.
+     */
+    static class TriggerStep {
+
+        private final String[] outputNames;
+        private final int[] outputSlots;
+
+        private TriggerStep(String[] outputNames, int[] outputSlots) {
+            this.outputNames = outputNames;
+            this.outputSlots = outputSlots;
+        }
+
+        void copyOutputs(Map<String, ?> outputs, Object[] values) {
+            for (int i = 0; i < outputNames.length; i++) {
+                values[outputSlots[i]] = outputs.get(outputNames[i]);
+            }
+        }
+
+    }
+
+    private static class ConditionStep {
+
+        private final ConditionHandler handler;
+        private final String[] inputNames;
+        private final int[] inputSlots;
+
+        private ConditionStep(ConditionHandler handler, String[] inputNames, int[] inputSlots) {
+            this.handler = handler;
+            this.inputNames = inputNames;
+            this.inputSlots = inputSlots;
+        }
+
+    }
+
+    private static class ActionStep extends TriggerStep {
+
+        private final ActionHandler handler;
+        private final String[] inputNames;
+        private final int[] inputSlots;
+
+        private ActionStep(ActionHandler handler, String[] inputNames, int[] inputSlots, String[] outputNames,
+                int[] outputSlots) {
+            super(outputNames, outputSlots);
+            this.handler = handler;
+            this.inputNames = inputNames;
+            this.inputSlots = inputSlots;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleProvider;
+import org.eclipse.smarthome.automation.RuleRegistry;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
+
+/**
+ * The {@link RuleRegistryImpl} collects the {@link Rule}s of all {@link RuleProvider}s and passes them to the
+ * {@link RuleEngine}, which executes them with the handlers of the registered {@link ModuleHandlerFactory}s.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleRegistryImpl extends AbstractRegistry<Rule, String> implements RuleRegistry {
+
+    private final RuleEngine ruleEngine;
+
+    public RuleRegistryImpl() {
+        this(new RuleEngine());
+    }
+
+    RuleRegistryImpl(RuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    protected void deactivate() {
+        ruleEngine.dispose();
+    }
+
+    @Override
+    public Rule get(String uid) {
+        return ruleEngine.getRule(uid);
+    }
+
+    @Override
+    public Collection<Rule> getByTag(String tag) {
+        Collection<Rule> rules = new ArrayList<>();
+        for (Rule rule : getAll()) {
+            Set<String> tags = rule.getTags();
+            if (tags != null && tags.contains(tag)) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    @Override
+    public void setEnabled(String uid, boolean isEnabled) {
+        ruleEngine.setEnabled(uid, isEnabled);
+    }
+
+    @Override
+    public boolean isEnabled(String uid) {
+        return ruleEngine.isEnabled(uid);
+    }
+
+    @Override
+    public boolean isRunning(String uid) {
+        return ruleEngine.isRunning(uid);
+    }
+
+    @Override
+    protected void onAddElement(Rule rule) throws IllegalArgumentException {
+        ruleEngine.addRule(rule);
+    }
+
+    @Override
+    protected void onRemoveElement(Rule rule) {
+        ruleEngine.removeRule(rule.getUID());
+    }
+
+    @Override
+    protected void onUpdateElement(Rule oldRule, Rule rule) throws IllegalArgumentException {
+        ruleEngine.updateRule(rule);
+    }
+
+    protected void addModuleHandlerFactory(ModuleHandlerFactory factory) {
+        ruleEngine.addModuleHandlerFactory(factory);
+    }
+
+    protected void removeModuleHandlerFactory(ModuleHandlerFactory factory) {
+        ruleEngine.removeModuleHandlerFactory(factory);
+    }
+
+}
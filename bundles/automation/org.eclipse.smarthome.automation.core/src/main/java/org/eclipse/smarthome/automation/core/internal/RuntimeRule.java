@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.core.internal.RulePlan.TriggerStep;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.automation.handler.RuleEngineCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RuntimeRule} holds the runtime state of a {@link Rule} in the {@link RuleEngine}: the handlers of its
+ * modules, its compiled {@link RulePlan} and the queue of its pending executions. It is the {@link RuleEngineCallback}
+ * of the trigger handlers of the rule.
+ * <p>
+ * The executions of a rule are serialized: the triggerings are queued in the order of their appearance and a single
+ * task on the executor of the engine works off the queue. Different rules are executed in parallel. If the rule is
+ * deactivated during an execution, its handlers are disposed by the executing thread as soon as the execution has
+ * finished.
+ *
+ * @author agent - Initial contribution
+ */
+class RuntimeRule implements RuleEngineCallback {
+
+    private final Logger logger = LoggerFactory.getLogger(RuntimeRule.class);
+
+    private final Rule rule;
+
+    private final Executor executor;
+
+    private final int maxPendingExecutions;
+
+    private final Queue<Execution> pendingExecutions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingExecutionCount = new AtomicInteger();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    // guards the activation state against the executions
+    private final Object lock = new Object();
+
+    private volatile RulePlan plan;
+
+    private Map<String, ModuleHandler> handlers;
+
+    private volatile boolean executing = false;
+
+    // the handlers of a deactivated plan, which is still executed
+    private Map<String, ModuleHandler> handlersToDispose;
+
+    private Set<ModuleHandlerFactory> factories = Collections.emptySet();
+
+    RuntimeRule(Rule rule, Executor executor, int maxPendingExecutions) {
+        this.rule = rule;
+        this.executor = executor;
+        this.maxPendingExecutions = maxPendingExecutions;
+    }
+
+    Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Returns if the rule is active, i.e. its handlers have been created and its plan has been compiled.
+     *
+     * @return <code>true</code> if the rule is active
+     */
+    boolean isActive() {
+        return plan != null;
+    }
+
+    /**
+     * Returns if the rule is executed at the moment. A rule, whose execution is queued, is not running yet.
+     *
+     * @return <code>true</code> if the rule is running
+     */
+    boolean isRunning() {
+        return executing;
+    }
+
+    /**
+     * Returns if the handlers of the rule have been created by the given factory.
+     *
+     * @param factory the factory
+     * @return <code>true</code> if the rule uses handlers of the factory
+     */
+    boolean uses(ModuleHandlerFactory factory) {
+        return factories.contains(factory);
+    }
+
+    /**
+     * Activates the rule with the given handlers.
+     *
+     * @param plan the compiled plan of the rule
+     * @param handlers the handlers of the modules of the rule by module id
+     * @param factories the factories, which have created the handlers
+     */
+    void activate(RulePlan plan, Map<String, ModuleHandler> handlers, Set<ModuleHandlerFactory> factories) {
+        synchronized (lock) {
+            this.handlers = handlers;
+            this.factories = factories;
+            this.plan = plan;
+        }
+    }
+
+    /**
+     * Deactivates the rule, drops its pending executions and disposes its handlers. If the rule is executed at the
+     * moment, the handlers are disposed after the execution.
+     *
+     * @return <code>true</code> if the rule has been active
+     */
+    boolean deactivate() {
+        Map<String, ModuleHandler> oldHandlers;
+        synchronized (lock) {
+            oldHandlers = handlers;
+            plan = null;
+            handlers = null;
+            factories = Collections.emptySet();
+            while (pendingExecutions.poll() != null) {
+                pendingExecutionCount.decrementAndGet();
+            }
+            if (oldHandlers != null && executing && handlersToDispose == null) {
+                // the handlers of an active rule are only used by the current execution
+                handlersToDispose = oldHandlers;
+                return true;
+            }
+        }
+        if (oldHandlers != null) {
+            dispose(oldHandlers);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void triggered(Trigger trigger, Map<String, ?> outputs) {
+        RulePlan currentPlan = plan;
+        if (currentPlan == null) {
+            logger.debug("Rule '{}' is not active, trigger '{}' is ignored.", rule.getUID(), trigger.getId());
+            return;
+        }
+        TriggerStep triggerStep = currentPlan.getTriggerStep(trigger.getId());
+        if (triggerStep == null) {
+            logger.warn("Rule '{}' has no trigger '{}'.", rule.getUID(), trigger.getId());
+            return;
+        }
+        if (pendingExecutionCount.incrementAndGet() > maxPendingExecutions) {
+            pendingExecutionCount.decrementAndGet();
+            logger.warn("Rule '{}' has too many pending executions, trigger '{}' is dropped.", rule.getUID(),
+                    trigger.getId());
+            return;
+        }
+        pendingExecutions.add(new Execution(currentPlan, triggerStep, outputs));
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                logger.warn("Execution of rule '{}' has been rejected: {}", rule.getUID(), e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        for (;;) {
+            Execution execution;
+            while ((execution = pendingExecutions.poll()) != null) {
+                pendingExecutionCount.decrementAndGet();
+                synchronized (lock) {
+                    if (execution.plan != plan) {
+                        // the rule has been deactivated or updated in the meantime
+                        continue;
+                    }
+                    executing = true;
+                }
+                try {
+                    execution.plan.execute(execution.triggerStep, execution.outputs);
+                } catch (Exception e) {
+                    logger.error("Error while executing rule '{}': {}", rule.getUID(), e.getMessage(), e);
+                } finally {
+                    Map<String, ModuleHandler> deactivatedHandlers;
+                    synchronized (lock) {
+                        executing = false;
+                        deactivatedHandlers = handlersToDispose;
+                        handlersToDispose = null;
+                    }
+                    if (deactivatedHandlers != null) {
+                        dispose(deactivatedHandlers);
+                    }
+                }
+            }
+            scheduled.set(false);
+            if (pendingExecutions.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void dispose(Map<String, ModuleHandler> handlers) {
+        for (ModuleHandler handler : handlers.values()) {
+            try {
+                handler.dispose();
+            } catch (Exception e) {
+                logger.warn("Error while disposing module handler '{}': {}", handler, e.getMessage());
+            }
+        }
+    }
+
+    private static class Execution {
+
+        private final RulePlan plan;
+        private final TriggerStep triggerStep;
+        private final Map<String, ?> outputs;
+
+        private Execution(RulePlan plan, TriggerStep triggerStep, Map<String, ?> outputs) {
+            this.plan = plan;
+            this.triggerStep = triggerStep;
+            this.outputs = outputs;
+        }
+
+    }
+
+}
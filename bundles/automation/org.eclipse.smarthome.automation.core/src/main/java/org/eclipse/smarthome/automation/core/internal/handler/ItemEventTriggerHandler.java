@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal.handler;
+
+import java.util.Map;
+
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.RuleEngineCallback;
+import org.eclipse.smarthome.automation.handler.TriggerHandler;
+
+/**
+ * The {@link ItemEventTriggerHandler} is the handler of an {@value ItemEventTriggerHandlerFactory#TYPE_UID} trigger.
+ * It is indexed by its {@link ItemEventTriggerHandlerFactory}, which calls {@link #fire(Map)} for the matching item
+ * events.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemEventTriggerHandler implements TriggerHandler {
+
+    private final Trigger trigger;
+
+    private final ItemEventTriggerHandlerFactory factory;
+
+    private volatile String itemName;
+
+    private volatile String eventType;
+
+    private volatile RuleEngineCallback ruleCallback;
+
+    ItemEventTriggerHandler(Trigger trigger, ItemEventTriggerHandlerFactory factory) {
+        this.trigger = trigger;
+        this.factory = factory;
+    }
+
+    String getItemName() {
+        return itemName;
+    }
+
+    String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public synchronized void setConfiguration(Map<String, ?> configuration) {
+        factory.unindex(this);
+        itemName = getString(configuration, ItemEventTriggerHandlerFactory.CONFIG_ITEM_NAME);
+        eventType = getString(configuration, ItemEventTriggerHandlerFactory.CONFIG_EVENT_TYPE);
+        factory.index(this);
+    }
+
+    @Override
+    public void setRuleEngineCallback(RuleEngineCallback ruleCallback) {
+        this.ruleCallback = ruleCallback;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        factory.unindex(this);
+        ruleCallback = null;
+    }
+
+    void fire(Map<String, ?> outputs) {
+        RuleEngineCallback callback = ruleCallback;
+        if (callback != null) {
+            callback.triggered(trigger, outputs);
+        }
+    }
+
+    private static String getString(Map<String, ?> configuration, String key) {
+        Object value = configuration != null ? configuration.get(key) : null;
+        return value != null ? value.toString() : null;
+    }
+
+}
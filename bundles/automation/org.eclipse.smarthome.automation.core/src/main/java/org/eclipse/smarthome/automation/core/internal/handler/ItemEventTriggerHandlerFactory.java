@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH
+ * http://www.prosyst.com
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ProSyst Software GmbH - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.smarthome.automation.core.internal.handler;
+
+import static org.eclipse.smarthome.core.events.EventConstants.TOPIC_PREFIX;
+import static org.eclipse.smarthome.core.events.EventConstants.TOPIC_SEPERATOR;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.core.types.EventType;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * The {@link ItemEventTriggerHandlerFactory} creates the handlers of the {@value #TYPE_UID} triggers, which fire on
+ * state updates or commands of an item. The factory subscribes once to the item events and keeps an index of the
+ * trigger handlers by event type and item name, so that an event is dispatched to the interested triggers with a
+ * single lookup instead of asking every trigger.
+ * <p>
+ * The configuration of a trigger contains the item name ({@value #CONFIG_ITEM_NAME}) and optionally the event type
+ * ({@value #CONFIG_EVENT_TYPE}, either <code>update</code> or <code>command</code>). The outputs of a trigger are the
+ * item name, the event type and the state or command ({@value #OUTPUT_VALUE}).
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemEventTriggerHandlerFactory implements ModuleHandlerFactory, EventHandler {
+
+    public static final String TYPE_UID = "ItemEventTrigger";
+
+    public static final String CONFIG_ITEM_NAME = "itemName";
+    public static final String CONFIG_EVENT_TYPE = "eventType";
+
+    public static final String OUTPUT_ITEM_NAME = "itemName";
+    public static final String OUTPUT_EVENT_TYPE = "eventType";
+    public static final String OUTPUT_VALUE = "value";
+
+    private final Map<String, List<ItemEventTriggerHandler>> handlerIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<String> getTypes() {
+        return Collections.singleton(TYPE_UID);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends ModuleHandler> T create(Module module) {
+        if (!(module instanceof Trigger)) {
+            return null;
+        }
+        ItemEventTriggerHandler handler = new ItemEventTriggerHandler((Trigger) module, this);
+        handler.setConfiguration(module.getConfiguration());
+        return (T) handler;
+    }
+
+    @Override
+    public void handleEvent(Event event) {
+        String[] topicParts = event.getTopic().split(TOPIC_SEPERATOR);
+        if (topicParts.length <= 2 || !TOPIC_PREFIX.equals(topicParts[0])) {
+            return;
+        }
+        Object itemName = event.getProperty("item");
+        if (!(itemName instanceof String)) {
+            return;
+        }
+        String eventType = topicParts[1];
+        List<ItemEventTriggerHandler> handlers = handlerIndex.get(getKey(eventType, (String) itemName));
+        if (handlers == null || handlers.isEmpty()) {
+            return;
+        }
+
+        Object value = EventType.COMMAND.toString().equals(eventType) ? event.getProperty("command") : event
+                .getProperty("state");
+        Map<String, Object> outputs = new HashMap<>(4);
+        outputs.put(OUTPUT_ITEM_NAME, itemName);
+        outputs.put(OUTPUT_EVENT_TYPE, eventType);
+        outputs.put(OUTPUT_VALUE, value);
+        outputs = Collections.unmodifiableMap(outputs);
+        for (ItemEventTriggerHandler handler : handlers) {
+            handler.fire(outputs);
+        }
+    }
+
+    // the index is only modified while holding the lock of the factory, events are dispatched without locking
+    synchronized void index(ItemEventTriggerHandler handler) {
+        for (String key : getKeys(handler)) {
+            List<ItemEventTriggerHandler> handlers = handlerIndex.get(key);
+            if (handlers == null) {
+                handlers = new CopyOnWriteArrayList<>();
+                handlerIndex.put(key, handlers);
+            }
+            handlers.add(handler);
+        }
+    }
+
+    synchronized void unindex(ItemEventTriggerHandler handler) {
+        for (String key : getKeys(handler)) {
+            List<ItemEventTriggerHandler> handlers = handlerIndex.get(key);
+            if (handlers != null && handlers.remove(handler) && handlers.isEmpty()) {
+                // do not keep the keys of items, which are not triggering any rule anymore
+                handlerIndex.remove(key);
+            }
+        }
+    }
+
+    private String[] getKeys(ItemEventTriggerHandler handler) {
+        String itemName = handler.getItemName();
+        if (itemName == null) {
+            return new String[0];
+        }
+        String eventType = handler.getEventType();
+        if (eventType == null) {
+            return new String[] { getKey(EventType.UPDATE.toString(), itemName),
+                    getKey(EventType.COMMAND.toString(), itemName) };
+        }
+        return new String[] { getKey(eventType, itemName) };
+    }
+
+    private static String getKey(String eventType, String itemName) {
+        return eventType + TOPIC_SEPERATOR + itemName;
+    }
+
+}
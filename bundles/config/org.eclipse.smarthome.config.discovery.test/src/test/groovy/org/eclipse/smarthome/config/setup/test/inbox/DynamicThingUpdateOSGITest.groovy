@@ -63,6 +63,7 @@ class DynamicThingUpdateOSGITest extends OSGiTest {
 
     ThingHandler thingHandler
 
+    boolean handlerRegistered
     boolean thingUpdated
     Thing updatedThing
 
@@ -75,6 +76,7 @@ class DynamicThingUpdateOSGITest extends OSGiTest {
         discoveryServiceRegistry = getService DiscoveryServiceRegistry
         managedThingProvider = getService ManagedThingProvider
 
+        handlerRegistered = false
         thingUpdated = false
         updatedThing = null
     }
@@ -118,6 +120,7 @@ class DynamicThingUpdateOSGITest extends OSGiTest {
                     'thing.id': THING_UID, 'thing.type' : THING_TYPE_UID.toString() ]
 
                 registerService(thingHandler, ThingHandler.class.name, properties)
+                handlerRegistered = true
             },
             'unregisterHandler' : { Thing thing ->
                 unregisterService(thingHandler)
@@ -140,6 +143,7 @@ class DynamicThingUpdateOSGITest extends OSGiTest {
         registerService(thingHandlerFactory, ThingHandlerFactory.class.name)
 
         managedThingProvider.add ThingBuilder.create(THING_TYPE_UID, THING_ID).build()
+        waitForAssert { assertThat handlerRegistered, is(true) }
 
         Hashtable discoveryResultProps = [ "ipAddress" : "127.0.0.1" ]
         DiscoveryResult discoveryResult = new DiscoveryResultImpl(THING_UID, null, discoveryResultProps, "ipAddress", "DummyLabel1", DEFAULT_TTL)
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.config.xml.osgi
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.config.core.ConfigDescription
+import org.eclipse.smarthome.config.core.ConfigDescriptionParameter
+import org.eclipse.smarthome.config.core.ConfigDescriptionParameter.Type
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+/**
+ * The XmlDocumentCacheTest is a test for storing the conversion results of XML documents in a directory.
+ *
+ * @author agent - Initial contribution
+ */
+class XmlDocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder()
+
+    XmlDocumentCache<ConfigDescription> cache
+
+    @Before
+    void setUp() {
+        cache = new XmlDocumentCache<>(new File(folder.getRoot(), "cache"), "1.0.0", ConfigDescription.getClassLoader())
+    }
+
+    @Test
+    void 'assert that stored results are loaded for the same modification time'() {
+        def parameter = new ConfigDescriptionParameter("name", Type.TEXT)
+        cache.store(42, 1000, [
+            new ConfigDescription(new URI("test:cache"), [parameter])
+        ])
+
+        def objects = cache.load(42, 1000)
+        assertThat objects.size(), is(1)
+        assertThat objects[0].getURI(), is(new URI("test:cache"))
+        assertThat objects[0].getParameters()[0].getName(), is("name")
+        assertThat objects[0].getParameters()[0].getType(), is(Type.TEXT)
+
+        // a module, which has been updated, has to be parsed again
+        assertThat cache.load(42, 2000), is(nullValue())
+        assertThat cache.load(43, 1000), is(nullValue())
+    }
+
+    @Test
+    void 'assert that results of another version are not loaded'() {
+        cache.store(42, 1000, [
+            new ConfigDescription(new URI("test:cache"))
+        ])
+
+        def updatedCache = new XmlDocumentCache<>(new File(folder.getRoot(), "cache"), "1.1.0",
+                ConfigDescription.getClassLoader())
+        assertThat updatedCache.load(42, 1000), is(nullValue())
+    }
+
+    @Test
+    void 'assert that the results of uninstalled modules are removed'() {
+        cache.store(1, 1000, [
+            new ConfigDescription(new URI("test:one"))
+        ])
+        cache.store(2, 1000, [
+            new ConfigDescription(new URI("test:two"))
+        ])
+        cache.store(3, 1000, [
+            new ConfigDescription(new URI("test:three"))
+        ])
+
+        cache.remove(1)
+        cache.retainAll([2L] as Set)
+
+        assertThat cache.load(1, 1000), is(nullValue())
+        assertThat cache.load(2, 1000)[0].getURI(), is(new URI("test:two"))
+        assertThat cache.load(3, 1000), is(nullValue())
+    }
+
+    @Test
+    void 'assert that a corrupt file is ignored and removed'() {
+        def directory = new File(folder.getRoot(), "cache")
+        directory.mkdirs()
+        new File(directory, "7.bin").withDataOutputStream { stream ->
+            stream.writeInt(1)
+            stream.writeUTF("1.0.0")
+            stream.writeLong(1000)
+            stream.write([1, 2, 3] as byte[])
+        }
+
+        assertThat cache.load(7, 1000), is(nullValue())
+        assertThat new File(directory, "7.bin").exists(), is(false)
+    }
+}
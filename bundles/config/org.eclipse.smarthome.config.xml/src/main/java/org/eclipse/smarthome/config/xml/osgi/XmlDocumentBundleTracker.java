@@ -7,15 +7,29 @@
  */
 package org.eclipse.smarthome.config.xml.osgi;
 
+import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.smarthome.config.xml.util.XmlDocumentReader;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.util.tracker.BundleTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +40,12 @@ import org.slf4j.LoggerFactory;
  * XML files are assigned to its according bundle and added to an {@link XmlDocumentProvider} for further processing.
  * For each module an own {@link XmlDocumentProvider} is created by
  * using the specified {@link XmlDocumentProviderFactory}.
+ * <p>
+ * When the tracker is opened, the XML documents of all already active modules are parsed in parallel before they are
+ * handed over to their {@link XmlDocumentProvider}s in the usual order. The conversion results are kept per module
+ * (identified by its bundle ID and its last modification time) in memory and in the data area of the tracking bundle,
+ * so that a module which has not been updated does not need to be parsed again, neither when it is started again nor
+ * after a restart. The results of a module are removed when it is uninstalled.
  *
  * @author Michael Grammling - Initial Contribution
  *
@@ -33,6 +53,10 @@ import org.slf4j.LoggerFactory;
  */
 public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
 
+    private static final int MAX_PARSER_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private static final String CACHE_DIRECTORY = "xml-documents";
+
     private Logger logger = LoggerFactory.getLogger(XmlDocumentBundleTracker.class);
 
     private String xmlDirectory;
@@ -42,6 +66,20 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
 
     private Map<Bundle, XmlDocumentProvider<T>> bundleDocumentProviderMap;
 
+    private Map<Long, ParsedXmlDocuments<T>> parsedXmlDocumentsCache;
+    private Map<Long, Future<ParsedXmlDocuments<T>>> pendingXmlDocuments;
+
+    private XmlDocumentCache<T> xmlDocumentCache;
+
+    private BundleListener uninstallListener = new BundleListener() {
+        @Override
+        public void bundleChanged(BundleEvent event) {
+            if (event.getType() == BundleEvent.UNINSTALLED) {
+                removeParsedXmlDocuments(event.getBundle().getBundleId());
+            }
+        }
+    };
+
     /**
      * Creates a new instance of this class with the specified parameters.
      *
@@ -80,17 +118,74 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
         this.xmlDocumentProviderFactory = xmlDocumentProviderFactory;
 
         this.bundleDocumentProviderMap = new HashMap<>();
+
+        this.parsedXmlDocumentsCache = new ConcurrentHashMap<>();
+        this.pendingXmlDocuments = new HashMap<>();
+
+        // the data area is not available, if the framework has no file system support
+        File cacheDirectory = bundleContext.getDataFile(CACHE_DIRECTORY + File.separator
+                + xmlDirectory.replaceAll("[^A-Za-z0-9_-]+", "_"));
+
+        if (cacheDirectory != null) {
+            this.xmlDocumentCache = new XmlDocumentCache<>(cacheDirectory, getReaderVersion(bundleContext),
+                    xmlDocumentTypeReader.getClass().getClassLoader());
+        }
+    }
+
+    /**
+     * Returns the version of the classes, which read and convert the XML documents, i.e. the version of this module
+     * and of the module, which uses this tracker. The cached results of another version are not used.
+     */
+    private String getReaderVersion(BundleContext bundleContext) {
+        Bundle xmlBundle = FrameworkUtil.getBundle(XmlDocumentBundleTracker.class);
+        String xmlBundleVersion = (xmlBundle != null) ? xmlBundle.getVersion().toString() : "";
+
+        return xmlBundleVersion + "/" + bundleContext.getBundle().getVersion();
     }
 
     @Override
     public final synchronized void open() {
-        super.open();
+        this.context.addBundleListener(this.uninstallListener);
+
+        if (this.xmlDocumentCache != null) {
+            // remove the results of modules, which have been uninstalled in the meantime
+            Set<Long> bundleIds = new HashSet<>();
+
+            for (Bundle bundle : this.context.getBundles()) {
+                bundleIds.add(bundle.getBundleId());
+            }
+
+            this.xmlDocumentCache.retainAll(bundleIds);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, MAX_PARSER_THREADS));
+
+        try {
+            for (final Bundle bundle : this.context.getBundles()) {
+                if (bundle.getState() == Bundle.ACTIVE) {
+                    this.pendingXmlDocuments.put(bundle.getBundleId(),
+                            executor.submit(new Callable<ParsedXmlDocuments<T>>() {
+                                @Override
+                                public ParsedXmlDocuments<T> call() throws Exception {
+                                    return parseXmlDocuments(bundle);
+                                }
+                            }));
+                }
+            }
+
+            super.open();
+        } finally {
+            executor.shutdownNow();
+            this.pendingXmlDocuments.clear();
+        }
     }
 
     @Override
     public final synchronized void close() {
+        this.context.removeBundleListener(this.uninstallListener);
         super.close();
         this.bundleDocumentProviderMap.clear();
+        this.parsedXmlDocumentsCache.clear();
     }
 
     private XmlDocumentProvider<T> acquireXmlDocumentProvider(Bundle bundle) {
@@ -152,15 +247,54 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
         }
     }
 
-    @Override
-    public final synchronized Bundle addingBundle(Bundle bundle, BundleEvent event) {
+    private ParsedXmlDocuments<T> acquireParsedXmlDocuments(Bundle bundle) {
+        Future<ParsedXmlDocuments<T>> pendingDocuments = this.pendingXmlDocuments.remove(bundle.getBundleId());
+
+        if (pendingDocuments != null) {
+            try {
+                return pendingDocuments.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                this.logger.warn("The XML documents in module '" + bundle.getSymbolicName()
+                        + "' could not be parsed in the background!", ex.getCause());
+            }
+        }
+
+        return parseXmlDocuments(bundle);
+    }
+
+    private ParsedXmlDocuments<T> parseXmlDocuments(Bundle bundle) {
+        String moduleName = bundle.getSymbolicName();
+        long lastModified = bundle.getLastModified();
+
+        ParsedXmlDocuments<T> parsedXmlDocuments = this.parsedXmlDocumentsCache.get(bundle.getBundleId());
+
+        if ((parsedXmlDocuments != null) && (parsedXmlDocuments.lastModified == lastModified)) {
+            this.logger.debug("Reusing the already parsed XML documents of module '{}'.", moduleName);
+
+            return parsedXmlDocuments;
+        }
+
+        if (this.xmlDocumentCache != null) {
+            List<T> cachedObjects = this.xmlDocumentCache.load(bundle.getBundleId(), lastModified);
+
+            if (cachedObjects != null) {
+                this.logger.debug("Reusing the cached XML documents of module '{}'.", moduleName);
+
+                parsedXmlDocuments = new ParsedXmlDocuments<>(lastModified, cachedObjects);
+                this.parsedXmlDocumentsCache.put(bundle.getBundleId(), parsedXmlDocuments);
+
+                return parsedXmlDocuments;
+            }
+        }
+
+        List<T> objects = new ArrayList<>();
+        boolean complete = true;
         Enumeration<String> xmlDocumentPaths = bundle.getEntryPaths(this.xmlDirectory);
 
         if (xmlDocumentPaths != null) {
-            int numberOfParsedXmlDocuments = 0;
-
             while (xmlDocumentPaths.hasMoreElements()) {
-                String moduleName = bundle.getSymbolicName();
                 String xmlDocumentPath = xmlDocumentPaths.nextElement();
                 URL xmlDocumentURL = bundle.getEntry(xmlDocumentPath);
                 String xmlDocumentFile = xmlDocumentURL.getFile();
@@ -168,21 +302,48 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
                 try {
                     this.logger.debug("Reading the XML document '{}' in module '{}'...", xmlDocumentFile, moduleName);
 
-                    T object = this.xmlDocumentTypeReader.readFromXML(xmlDocumentURL);
-                    addingObject(bundle, object);
-
-                    numberOfParsedXmlDocuments++;
+                    objects.add(this.xmlDocumentTypeReader.readFromXML(xmlDocumentURL));
                 } catch (Exception ex) {
                     this.logger.warn(String.format("The XML document '%s' in module '%s' could not be parsed: %s",
                             xmlDocumentFile, moduleName, ex.getLocalizedMessage()), ex);
+
+                    complete = false;
                 }
             }
+        }
+
+        parsedXmlDocuments = new ParsedXmlDocuments<>(lastModified, objects);
+        this.parsedXmlDocumentsCache.put(bundle.getBundleId(), parsedXmlDocuments);
+
+        // documents, which could not be parsed, are tried again on the next start,
+        // modules without any documents are not worth a file
+        if ((this.xmlDocumentCache != null) && complete && !objects.isEmpty()) {
+            this.xmlDocumentCache.store(bundle.getBundleId(), lastModified, objects);
+        }
+
+        return parsedXmlDocuments;
+    }
 
-            if (numberOfParsedXmlDocuments > 0) {
-                addingFinished(bundle);
+    private void removeParsedXmlDocuments(long bundleId) {
+        this.parsedXmlDocumentsCache.remove(bundleId);
 
-                return bundle;
+        if (this.xmlDocumentCache != null) {
+            this.xmlDocumentCache.remove(bundleId);
+        }
+    }
+
+    @Override
+    public final synchronized Bundle addingBundle(Bundle bundle, BundleEvent event) {
+        List<T> objects = acquireParsedXmlDocuments(bundle).objects;
+
+        if (!objects.isEmpty()) {
+            for (T object : objects) {
+                addingObject(bundle, object);
             }
+
+            addingFinished(bundle);
+
+            return bundle;
         }
 
         return null;
@@ -195,4 +356,22 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
         releaseXmlDocumentProvider(bundle);
     }
 
+    /**
+     * The {@link ParsedXmlDocuments} holds the conversion results of all XML documents of a module together with the
+     * last modification time of the module at the time the documents were parsed.
+     *
+     * @param <T> the result type of the conversion
+     */
+    private static class ParsedXmlDocuments<T> {
+
+        private final long lastModified;
+        private final List<T> objects;
+
+        private ParsedXmlDocuments(long lastModified, List<T> objects) {
+            this.lastModified = lastModified;
+            this.objects = Collections.unmodifiableList(objects);
+        }
+
+    }
+
 }
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.config.xml.osgi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+
+/**
+ * The {@link XmlDocumentCache} stores the conversion results of the XML documents of modules in a directory, so that
+ * the documents of a module, which has not been updated, do not need to be parsed again after a restart.
+ * <p>
+ * The results are written in the compact binary format of {@code XStream}, which does not require the result types to
+ * be {@link java.io.Serializable}. There is one file per module, which starts with the version of the file format, the
+ * version of the classes, which have written the results, and the last modification time of the module at the time
+ * the documents were parsed. Results, which have been written by another version (e.g. before an update of the
+ * readers or of the result classes), are ignored. Each thread uses its own {@code XStream} instance.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> the result type of the conversion
+ */
+class XmlDocumentCache<T> {
+
+    private static final String FILE_EXTENSION = ".bin";
+
+    /** the version of the file format, which has to be increased, whenever the format changes */
+    private static final int FORMAT_VERSION = 1;
+
+    private Logger logger = LoggerFactory.getLogger(XmlDocumentCache.class);
+
+    private final File directory;
+    private final String version;
+    private final ClassLoader classLoader;
+
+    private final ThreadLocal<XStream> xstream = new ThreadLocal<XStream>() {
+        @Override
+        protected XStream initialValue() {
+            XStream xstream = new XStream(new BinaryStreamDriver());
+            xstream.setClassLoader(XmlDocumentCache.this.classLoader);
+            return xstream;
+        }
+    };
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param directory the directory to store the conversion results in (must not be null)
+     * @param version the version of the classes, which read and convert the documents (must not be null)
+     * @param classLoader the classloader, which is able to load the result types (must not be null)
+     */
+    XmlDocumentCache(File directory, String version, ClassLoader classLoader) {
+        this.directory = directory;
+        this.version = version;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the stored conversion results of the specified module.
+     *
+     * @param bundleId the ID of the module
+     * @param lastModified the current last modification time of the module
+     *
+     * @return the conversion results, or null if no results are stored for the module or if they were stored for
+     *         another modification time or by another version
+     */
+    @SuppressWarnings("unchecked")
+    List<T> load(long bundleId, long lastModified) {
+        File file = getFile(bundleId);
+
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if ((inputStream.readInt() != FORMAT_VERSION) || !this.version.equals(inputStream.readUTF())
+                    || (inputStream.readLong() != lastModified)) {
+                return null;
+            }
+
+            HierarchicalStreamReader reader = new BinaryStreamDriver().createReader(inputStream);
+
+            try {
+                return (List<T>) this.xstream.get().unmarshal(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (Exception ex) {
+            this.logger.debug("The cached XML documents in '{}' could not be read: {}", file, ex.getMessage());
+
+            file.delete();
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores the conversion results of the specified module. Any previously stored results of the module are
+     * replaced. If the results cannot be stored, the module is parsed again on the next start.
+     *
+     * @param bundleId the ID of the module
+     * @param lastModified the last modification time of the module at the time the documents were parsed
+     * @param objects the conversion results
+     */
+    void store(long bundleId, long lastModified, List<T> objects) {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            this.logger.debug("The cache directory '{}' could not be created.", this.directory);
+            return;
+        }
+
+        File file = getFile(bundleId);
+        File tempFile = new File(this.directory, bundleId + FILE_EXTENSION + ".tmp");
+
+        try {
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(
+                    tempFile)))) {
+                outputStream.writeInt(FORMAT_VERSION);
+                outputStream.writeUTF(this.version);
+                outputStream.writeLong(lastModified);
+
+                HierarchicalStreamWriter writer = new BinaryStreamDriver().createWriter(outputStream);
+
+                this.xstream.get().marshal(objects, writer);
+                writer.flush();
+            }
+
+            if (file.exists() && !file.delete()) {
+                throw new IOException("The file '" + file + "' could not be replaced.");
+            }
+
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("The file '" + tempFile + "' could not be renamed.");
+            }
+        } catch (Exception ex) {
+            this.logger.debug("The XML documents of the module with ID '{}' could not be cached: {}", bundleId,
+                    ex.getMessage());
+
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Removes the stored conversion results of the specified module.
+     *
+     * @param bundleId the ID of the module
+     */
+    void remove(long bundleId) {
+        getFile(bundleId).delete();
+    }
+
+    /**
+     * Removes the stored conversion results of all modules, which are not contained in the specified set.
+     *
+     * @param bundleIds the IDs of the installed modules
+     */
+    void retainAll(Set<Long> bundleIds) {
+        File[] files = this.directory.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+
+                try {
+                    long bundleId = Long.parseLong(name.substring(0, name.indexOf('.')));
+
+                    if (bundleIds.contains(bundleId) && name.endsWith(FILE_EXTENSION)) {
+                        continue;
+                    }
+                } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                    // not a cache file, remove it as well
+                }
+
+                file.delete();
+            }
+        }
+    }
+
+    private File getFile(long bundleId) {
+        return new File(this.directory, bundleId + FILE_EXTENSION);
+    }
+
+}
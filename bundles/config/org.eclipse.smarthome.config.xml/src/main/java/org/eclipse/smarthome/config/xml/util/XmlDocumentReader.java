@@ -18,7 +18,9 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
  * The {@link XmlDocumentReader} is an abstract class used to read XML documents
  * of a certain type and converts them to its according objects.
  * <p>
- * This class uses {@code XStream} and {@code StAX} to parse and convert the XML document.
+ * This class uses {@code XStream} and {@code StAX} to parse and convert the XML document. Each thread, which calls
+ * {@link #readFromXML(URL)}, uses its own {@code XStream} instance, which is created and configured on first use.
+ * Therefore the documents may be read concurrently by multiple threads.
  *
  * @author Michael Grammling - Initial Contribution
  *
@@ -26,19 +28,33 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
  */
 public abstract class XmlDocumentReader<T> {
 
-    private XStream xstream;
+    private volatile ClassLoader classLoader;
+
+    private final ThreadLocal<XStream> xstream = new ThreadLocal<XStream>() {
+        @Override
+        protected XStream initialValue() {
+            return createXStream();
+        }
+    };
 
     /**
-     * The default constructor of this class initializes the {@code XStream} object, and calls
-     * the abstract methods {@link #registerConverters()} and {@link #registerAliases()}.
+     * The default constructor of this class initializes the {@code XStream} object of the calling thread, and calls
+     * the abstract methods {@link #registerConverters(XStream)} and {@link #registerAliases(XStream)}. The abstract
+     * methods are called again for each further thread, which reads documents.
      */
     public XmlDocumentReader() {
+        this.xstream.get();
+    }
+
+    private XStream createXStream() {
         StaxDriver driver = new StaxDriver();
 
-        this.xstream = new XStream(driver);
+        XStream xstream = new XStream(driver);
 
-        registerConverters(this.xstream);
-        registerAliases(this.xstream);
+        registerConverters(xstream);
+        registerAliases(xstream);
+
+        return xstream;
     }
 
     /**
@@ -47,7 +63,8 @@ public abstract class XmlDocumentReader<T> {
      * @param classLoader the classloader to set (must not be null)
      */
     public void setClassLoader(ClassLoader classLoader) {
-        this.xstream.setClassLoader(classLoader);
+        this.classLoader = classLoader;
+        this.xstream.get().setClassLoader(classLoader);
     }
 
     /**
@@ -79,7 +96,14 @@ public abstract class XmlDocumentReader<T> {
     @SuppressWarnings("unchecked")
     public T readFromXML(URL xmlURL) throws ConversionException {
         if (xmlURL != null) {
-            return (T) this.xstream.fromXML(xmlURL);
+            XStream xstream = this.xstream.get();
+            ClassLoader classLoader = this.classLoader;
+
+            if ((classLoader != null) && (xstream.getClassLoader() != classLoader)) {
+                xstream.setClassLoader(classLoader);
+            }
+
+            return (T) xstream.fromXML(xmlURL);
         }
 
         return null;
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.autoupdate.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.autoupdate.AutoUpdateBindingConfigProvider;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests, that the {@link AutoUpdateBinding} caches the autoupdate configuration of existing items only and asks the
+ * providers again after the items or the providers have changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class AutoUpdateBindingTest {
+
+    private AutoUpdateBinding autoUpdateBinding;
+    private TestItemRegistry itemRegistry;
+    private CountingConfigProvider configProvider;
+    private List<String> updates;
+
+    @Before
+    public void setUp() {
+        updates = new ArrayList<>();
+        itemRegistry = new TestItemRegistry();
+        itemRegistry.items.put("Switch", new SwitchItem("Switch"));
+        configProvider = new CountingConfigProvider();
+
+        autoUpdateBinding = new AutoUpdateBinding();
+        autoUpdateBinding.setItemRegistry(itemRegistry);
+        autoUpdateBinding.addBindingConfigProvider(configProvider);
+        autoUpdateBinding.setEventPublisher(new RecordingEventPublisher());
+    }
+
+    @Test
+    public void testConfigurationIsCachedForExistingItems() {
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.ON);
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.OFF);
+
+        assertEquals(1, configProvider.calls);
+        assertEquals("[Switch=ON, Switch=OFF]", updates.toString());
+    }
+
+    @Test
+    public void testConfigurationIsNotCachedForUnknownItems() {
+        autoUpdateBinding.receiveCommand("Unknown", OnOffType.ON);
+        autoUpdateBinding.receiveCommand("Unknown", OnOffType.ON);
+
+        assertEquals(2, configProvider.calls);
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    public void testConfigurationIsReadAgainAfterItemChanges() {
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.ON);
+
+        configProvider.autoUpdate = Boolean.FALSE;
+        SwitchItem updatedItem = new SwitchItem("Switch");
+        Item oldItem = itemRegistry.items.put("Switch", updatedItem);
+        itemRegistry.listener.updated(oldItem, updatedItem);
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.OFF);
+
+        assertEquals(2, configProvider.calls);
+        assertEquals("[Switch=ON]", updates.toString());
+    }
+
+    @Test
+    public void testConfigurationIsReadAgainAfterProviderChanges() {
+        configProvider.autoUpdate = Boolean.FALSE;
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.ON);
+
+        autoUpdateBinding.removeBindingConfigProvider(configProvider);
+        autoUpdateBinding.receiveCommand("Switch", OnOffType.OFF);
+
+        assertEquals("[Switch=OFF]", updates.toString());
+    }
+
+    @Test
+    public void testNotAcceptedStateIsNotPosted() {
+        autoUpdateBinding.receiveCommand("Switch", new StringType("ON"));
+
+        assertTrue(updates.isEmpty());
+    }
+
+    private static class CountingConfigProvider implements AutoUpdateBindingConfigProvider {
+
+        private Boolean autoUpdate;
+        private int calls;
+
+        @Override
+        public Boolean autoUpdate(String itemName) {
+            calls++;
+            return autoUpdate;
+        }
+    }
+
+    private class RecordingEventPublisher implements EventPublisher {
+
+        @Override
+        public void sendCommand(String itemName, Command command) {
+        }
+
+        @Override
+        public void sendCommand(String itemName, Command command, String source) {
+        }
+
+        @Override
+        public void postCommand(String itemName, Command command) {
+        }
+
+        @Override
+        public void postCommand(String itemName, Command command, String source) {
+        }
+
+        @Override
+        public void postUpdate(String itemName, State newState) {
+            updates.add(itemName + "=" + newState);
+        }
+
+        @Override
+        public void postUpdate(String itemName, State newState, String source) {
+            updates.add(itemName + "=" + newState);
+        }
+    }
+
+    private static class TestItemRegistry implements ItemRegistry {
+
+        private final Map<String, Item> items = new HashMap<>();
+        private RegistryChangeListener<Item> listener;
+
+        @Override
+        public void addRegistryChangeListener(RegistryChangeListener<Item> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void removeRegistryChangeListener(RegistryChangeListener<Item> listener) {
+            this.listener = null;
+        }
+
+        @Override
+        public Collection<Item> getAll() {
+            return items.values();
+        }
+
+        @Override
+        public Item get(String key) {
+            return items.get(key);
+        }
+
+        @Override
+        public void add(Item element) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Item update(Item element) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Item remove(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Item getItem(String name) throws ItemNotFoundException {
+            Item item = items.get(name);
+            if (item == null) {
+                throw new ItemNotFoundException(name);
+            }
+            return item;
+        }
+
+        @Override
+        public Item getItemByPattern(String name) throws ItemNotFoundException {
+            return getItem(name);
+        }
+
+        @Override
+        public Collection<Item> getItems() {
+            return getAll();
+        }
+
+        @Override
+        public Collection<Item> getItemsOfType(String type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<Item> getItems(String pattern) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isValidItemName(String itemName) {
+            return true;
+        }
+
+        @Override
+        public Collection<Item> getItemsByTag(String... tags) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<Item> getItemsByTagAndType(String type, String... tags) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends GenericItem> Collection<T> getItemsByTag(Class<T> typeFilter, String... tags) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void remove(String itemName, boolean recursive) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
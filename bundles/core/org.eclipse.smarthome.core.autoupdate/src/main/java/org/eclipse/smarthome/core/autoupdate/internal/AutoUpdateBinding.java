@@ -8,14 +8,19 @@
 package org.eclipse.smarthome.core.autoupdate.internal;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.autoupdate.AutoUpdateBindingConfigProvider;
 import org.eclipse.smarthome.core.events.AbstractEventSubscriber;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.items.ItemUtil;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.slf4j.Logger;
@@ -46,12 +51,44 @@ public class AutoUpdateBinding extends AbstractEventSubscriber {
 
     protected EventPublisher eventPublisher = null;
 
+    /**
+     * the combined autoupdate configuration of the providers by the names of existing items, it is only modified while
+     * holding its lock, so that an invalidation cannot be overwritten by a configuration computed before
+     */
+    private final Map<String, Boolean> autoUpdates = new ConcurrentHashMap<>();
+
+    private final ItemRegistryChangeListener itemRegistryChangeListener = new ItemRegistryChangeListener() {
+
+        @Override
+        public void added(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidate(oldElement.getName());
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void allItemsChanged(Collection<String> oldItemNames) {
+            invalidateAll();
+        }
+    };
+
     public void addBindingConfigProvider(AutoUpdateBindingConfigProvider provider) {
         providers.add(provider);
+        invalidateAll();
     }
 
     public void removeBindingConfigProvider(AutoUpdateBindingConfigProvider provider) {
         providers.remove(provider);
+        invalidateAll();
     }
 
     public void setEventPublisher(EventPublisher eventPublisher) {
@@ -64,10 +101,14 @@ public class AutoUpdateBinding extends AbstractEventSubscriber {
 
     public void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        itemRegistry.addRegistryChangeListener(itemRegistryChangeListener);
+        invalidateAll();
     }
 
     public void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(itemRegistryChangeListener);
         this.itemRegistry = null;
+        invalidateAll();
     }
 
     /**
@@ -82,12 +123,50 @@ public class AutoUpdateBinding extends AbstractEventSubscriber {
      * <code>true</code> and an update is posted for the corresponding {@link State}.
      * </p>
      * 
+     * <p>
+     * The combined configuration of an existing item is cached until the item or the set of providers changes. The
+     * providers read their configuration together with the items, so that a configuration change comes along with an
+     * item change.
+     * </p>
+     * 
      * @param itemName the item for which to find an autoupdate configuration
      * @param command the command being received and posted as {@link State} update if <code>command</code> is instance
      *            of {@link State} as well.
      */
     @Override
     public void receiveCommand(String itemName, Command command) {
+        Boolean autoUpdate = autoUpdates.get(itemName);
+        if (autoUpdate == null) {
+            synchronized (autoUpdates) {
+                autoUpdate = getAutoUpdate(itemName);
+                // commands for unknown items must not fill the cache
+                ItemRegistry itemRegistry = this.itemRegistry;
+                if (itemRegistry != null && itemRegistry.get(itemName) != null) {
+                    autoUpdates.put(itemName, autoUpdate);
+                }
+            }
+        }
+
+        if (autoUpdate && command instanceof State) {
+            postUpdate(itemName, (State) command);
+        } else {
+            logger.trace("Won't update item '{}' as it is not configured to update its state automatically.", itemName);
+        }
+    }
+
+    private void invalidate(String itemName) {
+        synchronized (autoUpdates) {
+            autoUpdates.remove(itemName);
+        }
+    }
+
+    private void invalidateAll() {
+        synchronized (autoUpdates) {
+            autoUpdates.clear();
+        }
+    }
+
+    private Boolean getAutoUpdate(String itemName) {
         Boolean autoUpdate = null;
         for (AutoUpdateBindingConfigProvider provider : providers) {
             Boolean au = provider.autoUpdate(itemName);
@@ -103,36 +182,14 @@ public class AutoUpdateBinding extends AbstractEventSubscriber {
         if (autoUpdate == null) {
             autoUpdate = Boolean.TRUE;
         }
-
-        if (autoUpdate && command instanceof State) {
-            postUpdate(itemName, (State) command);
-        } else {
-            logger.trace("Won't update item '{}' as it is not configured to update its state automatically.", itemName);
-        }
+        return autoUpdate;
     }
 
     private void postUpdate(String itemName, State newState) {
         if (itemRegistry != null) {
             try {
                 GenericItem item = (GenericItem) itemRegistry.getItem(itemName);
-                boolean isAccepted = false;
-                if (item.getAcceptedDataTypes().contains(newState.getClass())) {
-                    isAccepted = true;
-                } else {
-                    // Look for class hierarchy
-                    for (Class<? extends State> state : item.getAcceptedDataTypes()) {
-                        try {
-                            if (!state.isEnum() && state.newInstance().getClass().isAssignableFrom(newState.getClass())) {
-                                isAccepted = true;
-                                break;
-                            }
-                        } catch (InstantiationException e) {
-                            logger.warn("InstantiationException on ", e.getMessage()); // Should never happen
-                        } catch (IllegalAccessException e) {
-                            logger.warn("IllegalAccessException on ", e.getMessage()); // Should never happen
-                        }
-                    }
-                }
+                boolean isAccepted = ItemUtil.isAcceptedState(item, newState);
                 if (isAccepted) {
                     eventPublisher.postUpdate(itemName, newState, "org.eclipse.smarthome.core.autoupdate");
                 } else {
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.library.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.items.ColorItem;
+import org.eclipse.smarthome.core.library.items.DimmerItem;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.IncreaseDecreaseType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TypeValueParsers}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TypeValueParsersTest {
+
+    @Before
+    public void setUp() {
+        TypeValueParsers.register();
+    }
+
+    @After
+    public void tearDown() {
+        TypeValueParsers.unregister();
+    }
+
+    @Test
+    public void testIsDecimal() {
+        assertTrue(TypeValueParsers.isDecimal("0"));
+        assertTrue(TypeValueParsers.isDecimal("-12.5"));
+        assertTrue(TypeValueParsers.isDecimal("+.5"));
+        assertTrue(TypeValueParsers.isDecimal("1."));
+        assertTrue(TypeValueParsers.isDecimal("1.5E-3"));
+
+        assertFalse(TypeValueParsers.isDecimal(null));
+        assertFalse(TypeValueParsers.isDecimal(""));
+        assertFalse(TypeValueParsers.isDecimal("."));
+        assertFalse(TypeValueParsers.isDecimal("ON"));
+        assertFalse(TypeValueParsers.isDecimal("1.2.3"));
+        assertFalse(TypeValueParsers.isDecimal("1e"));
+        assertFalse(TypeValueParsers.isDecimal("1 "));
+    }
+
+    @Test
+    public void testParseState() {
+        List<Class<? extends State>> types = new NumberItem("number").getAcceptedDataTypes();
+        assertEquals(new DecimalType("12.5"), TypeParser.parseState(types, "12.5"));
+        assertEquals(UnDefType.UNDEF, TypeParser.parseState(types, "UNDEF"));
+        assertNull(TypeParser.parseState(types, "ON"));
+
+        types = new ColorItem("color").getAcceptedDataTypes();
+        assertEquals(OnOffType.ON, TypeParser.parseState(types, "ON"));
+        assertEquals(new HSBType("120,100,50"), TypeParser.parseState(types, "120,100,50"));
+        assertEquals(new PercentType("50"), TypeParser.parseState(types, "50"));
+        assertNull(TypeParser.parseState(types, "120,100"));
+    }
+
+    @Test
+    public void testParseCommand() {
+        List<Class<? extends Command>> types = new DimmerItem("dimmer").getAcceptedCommandTypes();
+        assertEquals(OnOffType.OFF, TypeParser.parseCommand(types, "OFF"));
+        assertEquals(IncreaseDecreaseType.INCREASE, TypeParser.parseCommand(types, "INCREASE"));
+        assertEquals(new PercentType("42"), TypeParser.parseCommand(types, "42"));
+        assertNull(TypeParser.parseCommand(types, "142"));
+        assertNull(TypeParser.parseCommand(types, "on"));
+    }
+
+    @Test
+    public void testParseWithModifiedTypeList() {
+        List<Class<? extends State>> types = new ArrayList<>();
+        types.add(DecimalType.class);
+        assertNull(TypeParser.parseState(types, "ON"));
+
+        types.add(0, OnOffType.class);
+        assertEquals(OnOffType.ON, TypeParser.parseState(types, "ON"));
+    }
+
+}
@@ -7,6 +7,7 @@
  */
 package org.eclipse.smarthome.core.library.types;
 
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -201,6 +202,55 @@ public class ArithmeticGroupFunctionTest {
         Assert.assertEquals(new DecimalType("234.95"), state);
     }
 
+    @Test
+    public void testSumFunction_longOverflow() {
+        items.add(new TestItem("TestItem1", new DecimalType(Long.MAX_VALUE)));
+        items.add(new TestItem("TestItem2", new DecimalType(1)));
+
+        function = new ArithmeticGroupFunction.Sum();
+        State state = function.calculate(items);
+
+        Assert.assertEquals(new DecimalType(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE)), state);
+    }
+
+    @Test
+    public void testAvgFunction() {
+        items.add(new TestItem("TestItem1", new DecimalType("3")));
+        items.add(new TestItem("TestItem2", UnDefType.NULL));
+        items.add(new TestItem("TestItem3", new DecimalType(-8)));
+
+        function = new ArithmeticGroupFunction.Avg();
+        State state = function.calculate(items);
+
+        // -2.5 is rounded half up like the BigDecimal division
+        Assert.assertEquals(new DecimalType("-3"), state);
+        Assert.assertEquals("-3", state.toString());
+
+        items.add(new TestItem("TestItem4", new DecimalType("2.0")));
+        state = function.calculate(items);
+
+        // the scale of the values is kept
+        Assert.assertEquals("-1.0", state.toString());
+    }
+
+    @Test
+    public void testMinMaxFunction() {
+        items.add(new TestItem("TestItem1", new DecimalType("23.54")));
+        items.add(new TestItem("TestItem2", new DecimalType(-4)));
+        items.add(new TestItem("TestItem3", new PercentType(80)));
+        items.add(new TestItem("TestItem4", UnDefType.UNDEF));
+
+        function = new ArithmeticGroupFunction.Min();
+        State state = function.calculate(items);
+        Assert.assertEquals(new DecimalType(-4), state);
+        Assert.assertEquals(DecimalType.class, state.getClass());
+
+        function = new ArithmeticGroupFunction.Max();
+        state = function.calculate(items);
+        Assert.assertEquals(new DecimalType("80"), state);
+        Assert.assertEquals(DecimalType.class, state.getClass());
+    }
+
     class TestItem extends GenericItem {
 
         public TestItem(String name, State state) {
@@ -10,6 +10,7 @@ package org.eclipse.smarthome.core.library.types;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
 import java.text.DecimalFormatSymbols;
 
 import org.junit.Test;
@@ -32,6 +33,32 @@ public class DecimalTypeTest {
         assertEquals(false, dt1.equals(pt));
     }
 
+    @Test
+    public void testPrimitiveValues() {
+        // types created from primitives have to behave like the ones created from BigDecimal
+        assertEquals(new DecimalType(new BigDecimal(42)), new DecimalType(42));
+        assertEquals(new DecimalType(new BigDecimal(42)).hashCode(), new DecimalType(42).hashCode());
+        assertEquals(new BigDecimal(42), new DecimalType(42).toBigDecimal());
+        assertEquals("42", new DecimalType(42.0).toString());
+        assertEquals(new BigDecimal(0.1).toPlainString(), new DecimalType(0.1).toString());
+        assertEquals(new DecimalType(new BigDecimal(0.1)), new DecimalType(0.1));
+        assertEquals(0.1, new DecimalType(0.1).doubleValue(), 0);
+        assertEquals(true, new DecimalType("42").equals(new DecimalType(42)));
+        assertEquals(true, new DecimalType("42.0").equals(new DecimalType(42)));
+        assertEquals(false, new DecimalType("42.5").equals(new DecimalType(42)));
+        assertEquals(-1, new DecimalType(41).compareTo(new DecimalType("41.5")));
+        assertEquals(1, new DecimalType(42).compareTo(new DecimalType(41)));
+        assertEquals("0x2a", new DecimalType(42).format("%#x"));
+        assertEquals(true, new PercentType(50).equals(new DecimalType("50")));
+
+        try {
+            new DecimalType(Double.NaN);
+            fail();
+        } catch (NumberFormatException e) {
+            // That's what we expect.
+        }
+    }
+
     @Test
     public void testIntFormat() {
         DecimalType dt;
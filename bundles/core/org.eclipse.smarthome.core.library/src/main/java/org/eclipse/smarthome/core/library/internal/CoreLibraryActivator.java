@@ -19,6 +19,7 @@ public class CoreLibraryActivator implements BundleActivator {
      */
     @Override
     public void start(BundleContext context) throws Exception {
+        TypeValueParsers.register();
     }
 
     /*
@@ -28,6 +29,7 @@ public class CoreLibraryActivator implements BundleActivator {
      */
     @Override
     public void stop(BundleContext context) throws Exception {
+        TypeValueParsers.unregister();
     }
 
 }
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.library.internal;
+
+import java.math.BigDecimal;
+
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.TypeValueParser;
+
+/**
+ * The {@link TypeValueParsers} are the {@link TypeValueParser}s of the library types, which are registered at the
+ * {@link TypeParser}. Each parser checks the syntax of the string before the value is created, so that strings that do
+ * not match the type (like "ON" for a {@link DecimalType}) are rejected without an exception. The enumeration types of
+ * the library do not need a parser, they are handled by the {@link TypeParser} itself.
+ *
+ * @author agent - Initial contribution
+ */
+public final class TypeValueParsers {
+
+    private static final BigDecimal HUNDRED = new BigDecimal(100);
+
+    private TypeValueParsers() {
+    }
+
+    /**
+     * Registers the parsers of the library types at the {@link TypeParser}.
+     */
+    public static void register() {
+        TypeParser.registerParser(DecimalType.class, new TypeValueParser<DecimalType>() {
+            @Override
+            public DecimalType parse(String value) {
+                BigDecimal decimal = parseDecimal(value);
+                return decimal != null ? new DecimalType(decimal) : null;
+            }
+        });
+        TypeParser.registerParser(PercentType.class, new TypeValueParser<PercentType>() {
+            @Override
+            public PercentType parse(String value) {
+                BigDecimal decimal = parseDecimal(value);
+                return isPercent(decimal) ? new PercentType(decimal) : null;
+            }
+        });
+        TypeParser.registerParser(HSBType.class, new TypeValueParser<HSBType>() {
+            @Override
+            public HSBType parse(String value) {
+                if (value == null || value.indexOf(',') < 0) {
+                    return null;
+                }
+                String[] constituents = value.split(",");
+                if (constituents.length != 3) {
+                    return null;
+                }
+                for (String constituent : constituents) {
+                    if (!isDecimal(constituent)) {
+                        return null;
+                    }
+                }
+                return new HSBType(value);
+            }
+        });
+        TypeParser.registerParser(DateTimeType.class, new TypeValueParser<DateTimeType>() {
+            @Override
+            public DateTimeType parse(String value) {
+                // the format is yyyy-MM-dd'T'HH:mm:ss, so there must be a digit and a 'T'
+                if (value == null || value.isEmpty() || !Character.isDigit(value.charAt(0))
+                        || value.indexOf('T') < 0) {
+                    return null;
+                }
+                try {
+                    return new DateTimeType(value);
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        });
+        TypeParser.registerParser(StringType.class, new TypeValueParser<StringType>() {
+            @Override
+            public StringType parse(String value) {
+                return new StringType(value);
+            }
+        });
+    }
+
+    /**
+     * Removes the parsers of the library types from the {@link TypeParser}.
+     */
+    public static void unregister() {
+        TypeParser.unregisterParser(DecimalType.class);
+        TypeParser.unregisterParser(PercentType.class);
+        TypeParser.unregisterParser(HSBType.class);
+        TypeParser.unregisterParser(DateTimeType.class);
+        TypeParser.unregisterParser(StringType.class);
+    }
+
+    private static boolean isPercent(BigDecimal decimal) {
+        return decimal != null && decimal.signum() >= 0 && decimal.compareTo(HUNDRED) <= 0;
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        if (!isDecimal(value)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            // the exponent is out of range
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the given string matches the syntax of {@link BigDecimal#BigDecimal(String)}, i.e. an optional
+     * sign, digits with an optional decimal point and an optional exponent.
+     */
+    static boolean isDecimal(String value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        boolean digits = false;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+}
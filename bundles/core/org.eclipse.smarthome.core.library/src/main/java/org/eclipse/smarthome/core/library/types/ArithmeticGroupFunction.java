@@ -7,8 +7,6 @@
  */
 package org.eclipse.smarthome.core.library.types;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Set;
 
 import org.eclipse.smarthome.core.items.GroupFunction;
@@ -231,19 +229,17 @@ public interface ArithmeticGroupFunction extends GroupFunction {
          */
         @Override
         public State calculate(Set<Item> items) {
-            BigDecimal sum = BigDecimal.ZERO;
-            int count = 0;
+            DecimalSum sum = new DecimalSum();
             if (items != null) {
                 for (Item item : items) {
                     DecimalType itemState = (DecimalType) item.getStateAs(DecimalType.class);
                     if (itemState != null) {
-                        sum = sum.add(itemState.toBigDecimal());
-                        count++;
+                        sum.add(itemState);
                     }
                 }
             }
-            if (count > 0) {
-                return new DecimalType(sum.divide(new BigDecimal(count), RoundingMode.HALF_UP));
+            if (sum.getCount() > 0) {
+                return sum.getAverage();
             } else {
                 return UnDefType.UNDEF;
             }
@@ -279,16 +275,16 @@ public interface ArithmeticGroupFunction extends GroupFunction {
          */
         @Override
         public State calculate(Set<Item> items) {
-            BigDecimal sum = BigDecimal.ZERO;
+            DecimalSum sum = new DecimalSum();
             if (items != null) {
                 for (Item item : items) {
                     DecimalType itemState = (DecimalType) item.getStateAs(DecimalType.class);
                     if (itemState != null) {
-                        sum = sum.add(itemState.toBigDecimal());
+                        sum.add(itemState);
                     }
                 }
             }
-            return new DecimalType(sum);
+            return sum.getSum();
         }
 
         /**
@@ -322,17 +318,17 @@ public interface ArithmeticGroupFunction extends GroupFunction {
         @Override
         public State calculate(Set<Item> items) {
             if (items != null && items.size() > 0) {
-                BigDecimal min = null;
+                DecimalType min = null;
                 for (Item item : items) {
                     DecimalType itemState = (DecimalType) item.getStateAs(DecimalType.class);
                     if (itemState != null) {
-                        if (min == null || min.compareTo(itemState.toBigDecimal()) > 0) {
-                            min = itemState.toBigDecimal();
+                        if (min == null || min.compareTo(itemState) > 0) {
+                            min = itemState;
                         }
                     }
                 }
                 if (min != null) {
-                    return new DecimalType(min);
+                    return min.isExactLong() ? new DecimalType(min.longValue()) : new DecimalType(min.toBigDecimal());
                 }
             }
             return UnDefType.UNDEF;
@@ -369,17 +365,17 @@ public interface ArithmeticGroupFunction extends GroupFunction {
         @Override
         public State calculate(Set<Item> items) {
             if (items != null && items.size() > 0) {
-                BigDecimal max = null;
+                DecimalType max = null;
                 for (Item item : items) {
                     DecimalType itemState = (DecimalType) item.getStateAs(DecimalType.class);
                     if (itemState != null) {
-                        if (max == null || max.compareTo(itemState.toBigDecimal()) < 0) {
-                            max = itemState.toBigDecimal();
+                        if (max == null || max.compareTo(itemState) < 0) {
+                            max = itemState;
                         }
                     }
                 }
                 if (max != null) {
-                    return new DecimalType(max);
+                    return max.isExactLong() ? new DecimalType(max.longValue()) : new DecimalType(max.toBigDecimal());
                 }
             }
             return UnDefType.UNDEF;
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The {@link DecimalSum} sums up {@link DecimalType}s for the arithmetic group functions. As long as all values are
+ * exact longs, the sum is kept as primitive and only if a fractional value is added or the sum overflows, it
+ * continues with BigDecimal. The results are the same as if all values had been added as BigDecimal.
+ *
+ * @author agent - Initial contribution
+ */
+class DecimalSum {
+
+    private long longSum;
+    private BigDecimal sum;
+    private int count;
+
+    void add(DecimalType value) {
+        count++;
+        if (sum == null && value.isExactLong()) {
+            long addend = value.longValue();
+            long result = longSum + addend;
+            // the sum overflows, if both operands have the same sign, which differs from the sign of the result
+            if (((longSum ^ result) & (addend ^ result)) >= 0) {
+                longSum = result;
+                return;
+            }
+        }
+        if (sum == null) {
+            sum = BigDecimal.valueOf(longSum);
+        }
+        sum = sum.add(value.toBigDecimal());
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    DecimalType getSum() {
+        return sum == null ? new DecimalType(longSum) : new DecimalType(sum);
+    }
+
+    DecimalType getAverage() {
+        if (sum == null) {
+            // same as a division of the BigDecimal with scale 0 and RoundingMode.HALF_UP
+            long quotient = longSum / count;
+            long remainder = longSum % count;
+            if (2 * Math.abs(remainder) >= count) {
+                quotient += longSum < 0 ? -1 : 1;
+            }
+            return new DecimalType(quotient);
+        }
+        return new DecimalType(sum.divide(new BigDecimal(count), RoundingMode.HALF_UP));
+    }
+
+}
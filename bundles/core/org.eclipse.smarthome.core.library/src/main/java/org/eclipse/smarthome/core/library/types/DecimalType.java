@@ -7,6 +7,8 @@
  */
 package org.eclipse.smarthome.core.library.types;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.util.IllegalFormatConversionException;
 
@@ -17,6 +19,10 @@ import org.eclipse.smarthome.core.types.State;
 /**
  * The decimal type uses a BigDecimal internally and thus can be used for
  * integers, longs and floating point numbers alike.
+ * <p>
+ * If the type is created from a primitive value, the primitive is kept and the BigDecimal is only materialized when it
+ * is actually needed. Integral values with a scale of 0 additionally carry their long value, so that comparisons and
+ * the arithmetic of the group functions do not need to go through BigDecimal.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -27,31 +33,60 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
 
     final static public DecimalType ZERO = new DecimalType(0);
 
+    // the maximum precision of a BigDecimal, which is always representable as long
+    private static final int MAX_LONG_PRECISION = 18;
+
+    /**
+     * The value of this type. It is <code>null</code> as long as the type has been created from a primitive and the
+     * BigDecimal has not been materialized yet, so it should be accessed through {@link #toBigDecimal()}.
+     */
     protected BigDecimal value;
 
+    private transient boolean hasLong;
+    private transient long longValue;
+    private transient boolean hasDouble;
+    private transient double doubleValue;
+
     public DecimalType() {
         this.value = BigDecimal.ZERO;
     }
 
     public DecimalType(BigDecimal value) {
         this.value = value;
+        if (value != null && value.scale() == 0 && value.precision() <= MAX_LONG_PRECISION) {
+            this.hasLong = true;
+            this.longValue = value.longValue();
+        }
     }
 
     public DecimalType(long value) {
-        this.value = new BigDecimal(value);
+        this.hasLong = true;
+        this.longValue = value;
     }
 
     public DecimalType(double value) {
-        this.value = new BigDecimal(value);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // fail as early as the BigDecimal would do
+            throw new NumberFormatException("Infinite or NaN");
+        }
+        this.hasDouble = true;
+        this.doubleValue = value;
+        if (value == Math.rint(value) && Math.abs(value) < 1e18) {
+            this.hasLong = true;
+            this.longValue = (long) value;
+        }
     }
 
     public DecimalType(String value) {
-        this.value = new BigDecimal(value);
+        this(new BigDecimal(value));
     }
 
     @Override
     public String toString() {
-        return value.toPlainString();
+        if (hasLong) {
+            return Long.toString(longValue);
+        }
+        return toBigDecimal().toPlainString();
     }
 
     public static DecimalType valueOf(String value) {
@@ -63,7 +98,7 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
         // The value could be an integer value. Try to convert to BigInteger in
         // order to have access to more conversion formats.
         try {
-            return String.format(pattern, value.toBigIntegerExact());
+            return String.format(pattern, toBigDecimal().toBigIntegerExact());
         } catch (ArithmeticException ae) {
             // Could not convert to integer value without loss of
             // information. Fall through to default behavior.
@@ -73,17 +108,33 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
             // integer. Fall through to default behavior.
         }
 
-        return String.format(pattern, value);
+        return String.format(pattern, toBigDecimal());
     }
 
     public BigDecimal toBigDecimal() {
+        BigDecimal value = this.value;
+        if (value == null && (hasLong || hasDouble)) {
+            // BigDecimal is immutable, so a concurrent materialization does no harm
+            value = hasLong ? BigDecimal.valueOf(longValue) : new BigDecimal(doubleValue);
+            this.value = value;
+        }
         return value;
     }
 
+    /**
+     * Returns whether the value is an integer with a scale of 0, which is exactly represented by {@link #longValue()}.
+     *
+     * @return true, if the long value is exact
+     */
+    boolean isExactLong() {
+        return hasLong;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
+        BigDecimal value = toBigDecimal();
         result = prime * result + ((value == null) ? 0 : value.hashCode());
         return result;
     }
@@ -97,36 +148,63 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
         if (!(obj instanceof DecimalType))
             return false;
         DecimalType other = (DecimalType) obj;
+        if (hasLong && other.hasLong) {
+            return longValue == other.longValue;
+        }
+        BigDecimal value = toBigDecimal();
         if (value == null) {
-            if (other.value != null)
+            if (other.toBigDecimal() != null)
                 return false;
-        } else if (value.compareTo(other.value) != 0)
+        } else if (value.compareTo(other.toBigDecimal()) != 0)
             return false;
         return true;
     }
 
     @Override
     public int compareTo(DecimalType o) {
-        return value.compareTo(o.toBigDecimal());
+        if (hasLong && o.hasLong) {
+            return longValue < o.longValue ? -1 : (longValue == o.longValue ? 0 : 1);
+        }
+        return toBigDecimal().compareTo(o.toBigDecimal());
     }
 
     @Override
     public double doubleValue() {
-        return value.doubleValue();
+        if (hasDouble) {
+            return doubleValue;
+        } else if (hasLong) {
+            return longValue;
+        }
+        return toBigDecimal().doubleValue();
     }
 
     @Override
     public float floatValue() {
-        return value.floatValue();
+        if (hasLong) {
+            return longValue;
+        }
+        return toBigDecimal().floatValue();
     }
 
     @Override
     public int intValue() {
-        return value.intValue();
+        if (hasLong) {
+            return (int) longValue;
+        }
+        return toBigDecimal().intValue();
     }
 
     @Override
     public long longValue() {
-        return value.longValue();
+        if (hasLong) {
+            return longValue;
+        }
+        return toBigDecimal().longValue();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // the primitives are transient, so the BigDecimal has to be serialized
+        toBigDecimal();
+        out.defaultWriteObject();
     }
 }
@@ -42,6 +42,12 @@ public class HSBType extends PercentType implements ComplexType, State, Command
     protected BigDecimal hue;
     protected BigDecimal saturation;
 
+    // the constituents and the RGB values are created on first access, the type is immutable
+    private transient DecimalType hueType;
+    private transient PercentType saturationType;
+    private transient PercentType brightnessType;
+    private transient PercentType[] rgb;
+
     public HSBType(DecimalType h, PercentType s, PercentType b) {
         this.hue = h.toBigDecimal();
         this.saturation = s.toBigDecimal();
@@ -77,27 +83,42 @@ public class HSBType extends PercentType implements ComplexType, State, Command
     }
 
     public DecimalType getHue() {
-        return new DecimalType(hue);
+        DecimalType hueType = this.hueType;
+        if (hueType == null) {
+            hueType = new DecimalType(hue);
+            this.hueType = hueType;
+        }
+        return hueType;
     }
 
     public PercentType getSaturation() {
-        return new PercentType(saturation);
+        PercentType saturationType = this.saturationType;
+        if (saturationType == null) {
+            saturationType = new PercentType(saturation);
+            this.saturationType = saturationType;
+        }
+        return saturationType;
     }
 
     public PercentType getBrightness() {
-        return new PercentType(value);
+        PercentType brightnessType = this.brightnessType;
+        if (brightnessType == null) {
+            brightnessType = new PercentType(value);
+            this.brightnessType = brightnessType;
+        }
+        return brightnessType;
     }
 
     public PercentType getRed() {
-        return toRGB()[0];
+        return getRGBValues()[0];
     }
 
     public PercentType getGreen() {
-        return toRGB()[1];
+        return getRGBValues()[1];
     }
 
     public PercentType getBlue() {
-        return toRGB()[2];
+        return getRGBValues()[2];
     }
 
     /**
@@ -108,7 +129,7 @@ public class HSBType extends PercentType implements ComplexType, State, Command
      * @return the RGB value of the color in the default sRGB color model
      */
     public int getRGB() {
-        PercentType[] rgb = toRGB();
+        PercentType[] rgb = getRGBValues();
         return ((0xFF) << 24) | ((convertPercentToByte(rgb[0]) & 0xFF) << 16)
                 | ((convertPercentToByte(rgb[1]) & 0xFF) << 8) | ((convertPercentToByte(rgb[2]) & 0xFF) << 0);
     }
@@ -150,6 +171,19 @@ public class HSBType extends PercentType implements ComplexType, State, Command
     }
 
     public PercentType[] toRGB() {
+        return getRGBValues().clone();
+    }
+
+    private PercentType[] getRGBValues() {
+        PercentType[] rgb = this.rgb;
+        if (rgb == null) {
+            rgb = calculateRGB();
+            this.rgb = rgb;
+        }
+        return rgb;
+    }
+
+    private PercentType[] calculateRGB() {
         PercentType red = null;
         PercentType green = null;
         PercentType blue = null;
@@ -196,7 +230,7 @@ public class HSBType extends PercentType implements ComplexType, State, Command
     }
 
     private int convertPercentToByte(PercentType percent) {
-        return percent.value.multiply(BigDecimal.valueOf(255))
+        return percent.toBigDecimal().multiply(BigDecimal.valueOf(255))
                 .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP).intValue();
     }
 
@@ -28,7 +28,7 @@ public class PercentType extends DecimalType {
 
     public PercentType(int value) {
         super(value);
-        validateValue(this.value);
+        validateValue(value);
     }
 
     public PercentType(String value) {
@@ -47,6 +47,12 @@ public class PercentType extends DecimalType {
         }
     }
 
+    private void validateValue(int value) {
+        if (value < 0 || value > 100) {
+            throw new IllegalArgumentException("Value must be between 0 and 100");
+        }
+    }
+
     public static PercentType valueOf(String value) {
         return new PercentType(value);
     }
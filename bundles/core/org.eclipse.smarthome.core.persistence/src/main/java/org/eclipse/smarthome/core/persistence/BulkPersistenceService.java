@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.util.Collection;
+
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * A persistence service which can store the values of several items at once. This is used by periodic persistence
+ * strategies, which store many items at the same time, so that e.g. a database can write them in a single batch.
+ * <p>
+ * For {@link PersistenceService}s, which do not implement this interface, the items are stored one by one.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+public interface BulkPersistenceService extends PersistenceService {
+
+    /**
+     * Stores the current values of the given items under a specified alias.
+     * <p>
+     * Implementors should keep in mind that all registered {@link PersistenceService}s are called synchronously. Hence
+     * long running operations should be processed asynchronously.
+     * </p>
+     *
+     * @param items the items which states should be persisted.
+     * @param alias the alias under which the items should be persisted or null, if they are persisted under their
+     *            names.
+     */
+    void store(Collection<Item> items, String alias);
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.smarthome.core.scheduler.ScheduledTimer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link HashedWheelTimerScheduler} with a small wheel of 8 buckets and ticks of 10 milliseconds, so that
+ * one revolution of the wheel takes 80 milliseconds.
+ *
+ * @author agent - Initial contribution
+ */
+public class HashedWheelTimerSchedulerTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private HashedWheelTimerScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new HashedWheelTimerScheduler(TICK_MILLIS, 8);
+        scheduler.start();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testTimersAreExecutedInTheOrderOfTheirDeadlines() throws InterruptedException {
+        final List<Integer> executions = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        scheduler.schedule(new RecordingTask(1, executions, latch), 150, TimeUnit.MILLISECONDS);
+        scheduler.schedule(new RecordingTask(2, executions, latch), 30, TimeUnit.MILLISECONDS);
+        scheduler.schedule(new RecordingTask(3, executions, latch), 90, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList(2, 3, 1), executions);
+    }
+
+    @Test
+    public void testCancelledTimerIsNotExecuted() throws InterruptedException {
+        final AtomicInteger executions = new AtomicInteger();
+        ScheduledTimer timer = scheduler.schedule(new CountingTask(executions), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timer.cancel());
+        assertTrue(timer.isCancelled());
+
+        Thread.sleep(200);
+        assertEquals(0, executions.get());
+        assertFalse(timer.hasTerminated());
+    }
+
+    @Test
+    public void testRescheduledTimerIsExecutedOnceAtTheNewDeadline() throws InterruptedException {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                executions.incrementAndGet();
+                latch.countDown();
+            }
+        };
+
+        long start = System.nanoTime();
+        ScheduledTimer timer = scheduler.schedule(task, 30, TimeUnit.MILLISECONDS);
+        assertTrue(timer.reschedule(200, TimeUnit.MILLISECONDS));
+
+        assertTrue(latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        // timers are executed with a precision of one tick
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200 - TICK_MILLIS);
+
+        Thread.sleep(100);
+        assertEquals(1, executions.get());
+        assertTrue(timer.hasTerminated());
+
+        // a terminated timer can be rescheduled for another execution
+        assertTrue(timer.reschedule(20, TimeUnit.MILLISECONDS));
+        Thread.sleep(200);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testTimerBeyondOneRevolutionWaitsForItsDeadline() throws InterruptedException {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                executions.incrementAndGet();
+                latch.countDown();
+            }
+        };
+
+        // the bucket of the timer is passed three times, before the deadline tick is reached
+        long start = System.nanoTime();
+        scheduler.schedule(task, 250, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250 - TICK_MILLIS);
+
+        Thread.sleep(200);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testTimerIsRunningWhileItsTaskReschedulesIt() throws InterruptedException {
+        final AtomicReference<ScheduledTimer> timer = new AtomicReference<>();
+        final AtomicBoolean runningAfterReschedule = new AtomicBoolean();
+        final CountDownLatch latch = new CountDownLatch(1);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                timer.get().reschedule(1, TimeUnit.HOURS);
+                runningAfterReschedule.set(timer.get().isRunning());
+                latch.countDown();
+            }
+        };
+
+        timer.set(scheduler.schedule(task, 50, TimeUnit.MILLISECONDS));
+
+        assertTrue(latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(runningAfterReschedule.get());
+
+        Thread.sleep(50);
+        assertFalse(timer.get().isRunning());
+        assertFalse(timer.get().hasTerminated());
+        assertTrue(timer.get().cancel());
+    }
+
+    private static class RecordingTask implements Runnable {
+
+        private final int id;
+        private final List<Integer> executions;
+        private final CountDownLatch latch;
+
+        private RecordingTask(int id, List<Integer> executions, CountDownLatch latch) {
+            this.id = id;
+            this.executions = executions;
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            executions.add(id);
+            latch.countDown();
+        }
+
+    }
+
+    private static class CountingTask implements Runnable {
+
+        private final AtomicInteger executions;
+
+        private CountingTask(AtomicInteger executions) {
+            this.executions = executions;
+        }
+
+        @Override
+        public void run() {
+            executions.incrementAndGet();
+        }
+
+    }
+
+}
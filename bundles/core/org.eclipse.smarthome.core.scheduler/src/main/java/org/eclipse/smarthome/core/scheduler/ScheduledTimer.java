@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ScheduledTimer} is the handle of a task that has been scheduled by a {@link TimerScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface ScheduledTimer {
+
+    /**
+     * Cancels the timer, if its task has not been started yet.
+     *
+     * @return true, if the timer has been cancelled, false if the task is running or has already terminated
+     */
+    boolean cancel();
+
+    /**
+     * Reschedules the timer to execute its task after the given delay. This can also be called after the task has
+     * terminated or the timer has been cancelled, which results in another execution of the task.
+     *
+     * @param delay the new delay (a negative value is treated as 0)
+     * @param unit the time unit of the delay (must not be null)
+     * @return true, if the timer has been rescheduled, false if the scheduler has already been shut down
+     */
+    boolean reschedule(long delay, TimeUnit unit);
+
+    /**
+     * Determines whether the task is currently executed.
+     *
+     * @return true, if the task is being executed, false otherwise
+     */
+    boolean isRunning();
+
+    /**
+     * Determines whether the scheduled execution of the task has already terminated.
+     *
+     * @return true, if the execution has terminated, false otherwise
+     */
+    boolean hasTerminated();
+
+    /**
+     * Determines whether the timer has been cancelled.
+     *
+     * @return true, if the timer has been cancelled, false otherwise
+     */
+    boolean isCancelled();
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+/**
+ * The {@link SchedulerStatistics} is the common instrumentation surface of the schedulers of the system, i.e. the
+ * {@link TimerScheduler} for one-shot timers and the Quartz scheduler for cron expressions. An instance is registered
+ * as OSGi service for each scheduler, the {@link #SCHEDULER_PROPERTY} service property names the scheduler.
+ * <p>
+ * All counters are accumulated since the scheduler has been started.
+ *
+ * @author agent - Initial contribution
+ */
+public interface SchedulerStatistics {
+
+    /** the service property which contains the name of the scheduler */
+    static final String SCHEDULER_PROPERTY = "scheduler";
+
+    /**
+     * Returns the name of the scheduler.
+     *
+     * @return the name of the scheduler (not null)
+     */
+    String getSchedulerName();
+
+    /**
+     * Returns the number of tasks that have been scheduled or rescheduled.
+     *
+     * @return the number of scheduled tasks
+     */
+    long getScheduledCount();
+
+    /**
+     * Returns the number of scheduled tasks that have been cancelled before their execution.
+     *
+     * @return the number of cancelled tasks
+     */
+    long getCancelledCount();
+
+    /**
+     * Returns the number of task executions, including the failed ones.
+     *
+     * @return the number of executed tasks
+     */
+    long getExecutedCount();
+
+    /**
+     * Returns the number of task executions that have failed with an exception.
+     *
+     * @return the number of failed tasks
+     */
+    long getFailedCount();
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link TimerScheduler} is a lightweight in-memory scheduler for one-shot timers. Creating, cancelling and
+ * rescheduling a timer are constant time operations, which makes it suitable for timers that are created and
+ * cancelled very often, like the timers of rules that debounce sensor values.
+ * <p>
+ * Recurring and cron based schedules are not supported by this scheduler, Quartz should be used for these instead.
+ * The scheduler is registered as OSGi service.
+ *
+ * @author agent - Initial contribution
+ */
+public interface TimerScheduler {
+
+    /**
+     * Schedules the given task for a single execution after the given delay.
+     *
+     * @param task the task to execute (must not be null)
+     * @param delay the delay after which the task is executed (a negative value is treated as 0)
+     * @param unit the time unit of the delay (must not be null)
+     * @return the handle of the scheduled timer (not null)
+     * @throws IllegalStateException if the scheduler has already been shut down
+     */
+    ScheduledTimer schedule(Runnable task, long delay, TimeUnit unit) throws IllegalStateException;
+
+    /**
+     * Returns the statistics of this scheduler.
+     *
+     * @return the statistics of this scheduler (not null)
+     */
+    SchedulerStatistics getStatistics();
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.scheduler.SchedulerStatistics;
+
+/**
+ * The {@link DefaultSchedulerStatistics} keeps the counters of a scheduler in atomic longs, so that they can be updated
+ * from any thread without locking.
+ *
+ * @author agent - Initial contribution
+ */
+public class DefaultSchedulerStatistics implements SchedulerStatistics {
+
+    private final String schedulerName;
+
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public DefaultSchedulerStatistics(String schedulerName) {
+        this.schedulerName = schedulerName;
+    }
+
+    void scheduled() {
+        scheduledCount.incrementAndGet();
+    }
+
+    void cancelled() {
+        cancelledCount.incrementAndGet();
+    }
+
+    void executed(boolean failed) {
+        executedCount.incrementAndGet();
+        if (failed) {
+            failedCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String getSchedulerName() {
+        return schedulerName;
+    }
+
+    @Override
+    public long getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    @Override
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    @Override
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return schedulerName + " [scheduled=" + getScheduledCount() + ", cancelled=" + getCancelledCount()
+                + ", executed=" + getExecutedCount() + ", failed=" + getFailedCount() + "]";
+    }
+
+}
@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.scheduler.ScheduledTimer;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HashedWheelTimerScheduler} is a {@link TimerScheduler} based on a hashed timer wheel. The wheel consists
+ * of {@link #WHEEL_SIZE} buckets, each holding a doubly linked list of the timers whose deadline falls into this
+ * bucket. A worker thread advances the wheel every {@link #TICK_MILLIS} milliseconds and hands the expired timers over
+ * to a fixed thread pool, so that long running tasks do not delay other timers. Timers whose deadline is more than one
+ * revolution of the wheel ahead stay in their bucket until the wheel reaches their deadline tick.
+ * <p>
+ * Inserting and removing a timer is done in constant time under a single lock. Timers are executed with a precision
+ * of one tick.
+ *
+ * @author agent - Initial contribution
+ */
+public class HashedWheelTimerScheduler implements TimerScheduler {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+    private static final int THREAD_POOL_SIZE = 10;
+
+    private enum TimerState {
+        PENDING, DUE, RUNNING, TERMINATED, CANCELLED
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HashedWheelTimerScheduler.class);
+
+    private final Object lock = new Object();
+
+    private final long tickMillis;
+
+    private final WheelTimer[] buckets;
+
+    private final long startTime = System.nanoTime();
+
+    private final DefaultSchedulerStatistics statistics = new DefaultSchedulerStatistics("timer");
+
+    private long currentTick = 0;
+
+    private boolean shutdown = false;
+
+    private Thread worker;
+
+    private ExecutorService executor;
+
+    public HashedWheelTimerScheduler() {
+        this(TICK_MILLIS, WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a scheduler with a wheel of the given dimensions.
+     *
+     * @param tickMillis the duration of a tick in milliseconds
+     * @param wheelSize the number of buckets of the wheel
+     */
+    HashedWheelTimerScheduler(long tickMillis, int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.buckets = new WheelTimer[wheelSize];
+    }
+
+    /**
+     * Starts the worker thread and the thread pool of this scheduler.
+     */
+    public void start() {
+        executor = Executors.newFixedThreadPool(THREAD_POOL_SIZE, new NamedThreadFactory("ESH-timer"));
+        worker = new Thread(new Worker(), "ESH-timer-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Shuts this scheduler down. All pending timers are dropped.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = null;
+            }
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public ScheduledTimer schedule(Runnable task, long delay, TimeUnit unit) throws IllegalStateException {
+        if (task == null) {
+            throw new IllegalArgumentException("The task must not be null!");
+        }
+        WheelTimer timer = new WheelTimer(task);
+        synchronized (lock) {
+            if (shutdown) {
+                throw new IllegalStateException("The scheduler has already been shut down!");
+            }
+            insert(timer, delay, unit);
+        }
+        statistics.scheduled();
+        return timer;
+    }
+
+    @Override
+    public DefaultSchedulerStatistics getStatistics() {
+        return statistics;
+    }
+
+    private long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    // must be called while holding the lock
+    private void insert(WheelTimer timer, long delay, TimeUnit unit) {
+        long deadline = getElapsedMillis() + Math.max(0, unit.toMillis(delay));
+        long tick = (deadline + tickMillis - 1) / tickMillis;
+        if (tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+
+        int bucket = (int) (tick % buckets.length);
+        timer.deadlineTick = tick;
+        timer.bucket = bucket;
+        timer.state = TimerState.PENDING;
+        timer.prev = null;
+        timer.next = buckets[bucket];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        buckets[bucket] = timer;
+    }
+
+    // must be called while holding the lock
+    private void remove(WheelTimer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    /**
+     * The {@link Worker} advances the wheel tick by tick and dispatches the expired timers.
+     */
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            List<WheelTimer> expiredTimers = new ArrayList<>();
+            while (true) {
+                long nextTick;
+                synchronized (lock) {
+                    if (shutdown) {
+                        return;
+                    }
+                    nextTick = currentTick + 1;
+                }
+
+                long sleepMillis = nextTick * tickMillis - getElapsedMillis();
+                if (sleepMillis > 0) {
+                    try {
+                        Thread.sleep(sleepMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+
+                synchronized (lock) {
+                    if (shutdown) {
+                        return;
+                    }
+                    currentTick = nextTick;
+                    WheelTimer timer = buckets[(int) (nextTick % buckets.length)];
+                    while (timer != null) {
+                        WheelTimer next = timer.next;
+                        if (timer.deadlineTick <= nextTick) {
+                            remove(timer);
+                            timer.state = TimerState.DUE;
+                            expiredTimers.add(timer);
+                        }
+                        timer = next;
+                    }
+                }
+
+                for (WheelTimer timer : expiredTimers) {
+                    try {
+                        executor.execute(timer);
+                    } catch (RejectedExecutionException e) {
+                        logger.debug("Timer could not be executed, the scheduler has been shut down.");
+                    }
+                }
+                expiredTimers.clear();
+            }
+        }
+
+    }
+
+    /**
+     * The {@link WheelTimer} is an entry of the wheel and the handle which is returned to the caller.
+     */
+    private class WheelTimer implements ScheduledTimer, Runnable {
+
+        private final Runnable task;
+
+        // all fields below are guarded by the lock
+        private TimerState state;
+        private int executions;
+        private long deadlineTick;
+        private int bucket;
+        private WheelTimer prev;
+        private WheelTimer next;
+
+        private WheelTimer(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (lock) {
+                if (state == TimerState.PENDING) {
+                    remove(this);
+                } else if (state != TimerState.DUE) {
+                    return state == TimerState.CANCELLED;
+                }
+                state = TimerState.CANCELLED;
+            }
+            statistics.cancelled();
+            return true;
+        }
+
+        @Override
+        public boolean reschedule(long delay, TimeUnit unit) {
+            synchronized (lock) {
+                if (shutdown) {
+                    return false;
+                }
+                if (state == TimerState.PENDING) {
+                    remove(this);
+                }
+                insert(this, delay, unit);
+            }
+            statistics.scheduled();
+            return true;
+        }
+
+        @Override
+        public boolean isRunning() {
+            synchronized (lock) {
+                // the state is PENDING again, if the task has rescheduled its own timer
+                return executions > 0;
+            }
+        }
+
+        @Override
+        public boolean hasTerminated() {
+            synchronized (lock) {
+                return state == TimerState.TERMINATED;
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            synchronized (lock) {
+                return state == TimerState.CANCELLED;
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (lock) {
+                if (state != TimerState.DUE) {
+                    // cancelled or rescheduled in the meantime
+                    return;
+                }
+                state = TimerState.RUNNING;
+                executions++;
+            }
+            try {
+                task.run();
+                statistics.executed(false);
+            } catch (Throwable t) {
+                statistics.executed(true);
+                logger.error("Error during the execution of a timer: {}", t.getMessage(), t);
+            } finally {
+                synchronized (lock) {
+                    executions--;
+                    if (state == TimerState.RUNNING) {
+                        state = TimerState.TERMINATED;
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A {@link ThreadFactory} creating daemon threads with a common name prefix.
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
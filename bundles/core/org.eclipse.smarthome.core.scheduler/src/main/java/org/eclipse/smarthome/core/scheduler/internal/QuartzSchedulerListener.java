@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler.internal;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.listeners.SchedulerListenerSupport;
+
+/**
+ * The {@link QuartzSchedulerListener} collects the {@link DefaultSchedulerStatistics} of the Quartz scheduler, which
+ * is used for the cron based schedules of the system.
+ *
+ * @author agent - Initial contribution
+ */
+public class QuartzSchedulerListener extends SchedulerListenerSupport implements JobListener {
+
+    private final DefaultSchedulerStatistics statistics = new DefaultSchedulerStatistics("quartz");
+
+    public DefaultSchedulerStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String getName() {
+        return QuartzSchedulerListener.class.getName();
+    }
+
+    @Override
+    public void jobScheduled(Trigger trigger) {
+        statistics.scheduled();
+    }
+
+    @Override
+    public void jobUnscheduled(TriggerKey triggerKey) {
+        statistics.cancelled();
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        statistics.executed(jobException != null);
+    }
+
+}
@@ -7,8 +7,16 @@
  */
 package org.eclipse.smarthome.core.scheduler.internal;
 
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import org.eclipse.smarthome.core.scheduler.SchedulerStatistics;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.quartz.ListenerManager;
+import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
@@ -25,6 +33,12 @@ public final class SchedulerActivator implements BundleActivator {
 
     private static BundleContext context;
 
+    private HashedWheelTimerScheduler timerScheduler;
+
+    private ServiceRegistration<?> timerSchedulerRegistration;
+    private ServiceRegistration<?> timerStatisticsRegistration;
+    private ServiceRegistration<?> quartzStatisticsRegistration;
+
     /**
      * Called whenever the OSGi framework starts our bundle
      */
@@ -34,10 +48,23 @@ public final class SchedulerActivator implements BundleActivator {
         logger.debug("Scheduler has been started.");
 
         try {
-            StdSchedulerFactory.getDefaultScheduler().start();
+            Scheduler scheduler = StdSchedulerFactory.getDefaultScheduler();
+            QuartzSchedulerListener quartzListener = new QuartzSchedulerListener();
+            ListenerManager listenerManager = scheduler.getListenerManager();
+            listenerManager.addSchedulerListener(quartzListener);
+            listenerManager.addJobListener(quartzListener);
+            scheduler.start();
+            quartzStatisticsRegistration = bc.registerService(SchedulerStatistics.class.getName(),
+                    quartzListener.getStatistics(), getServiceProperties("quartz"));
         } catch (SchedulerException se) {
             logger.error("initializing scheduler throws exception", se);
         }
+
+        timerScheduler = new HashedWheelTimerScheduler();
+        timerScheduler.start();
+        timerSchedulerRegistration = bc.registerService(TimerScheduler.class.getName(), timerScheduler, null);
+        timerStatisticsRegistration = bc.registerService(SchedulerStatistics.class.getName(),
+                timerScheduler.getStatistics(), getServiceProperties("timer"));
     }
 
     /**
@@ -48,6 +75,18 @@ public final class SchedulerActivator implements BundleActivator {
         context = null;
         logger.debug("Scheduler has been stopped.");
 
+        unregister(timerStatisticsRegistration);
+        unregister(timerSchedulerRegistration);
+        unregister(quartzStatisticsRegistration);
+        timerStatisticsRegistration = null;
+        timerSchedulerRegistration = null;
+        quartzStatisticsRegistration = null;
+
+        if (timerScheduler != null) {
+            timerScheduler.shutdown();
+            timerScheduler = null;
+        }
+
         try {
             StdSchedulerFactory.getDefaultScheduler().shutdown();
         } catch (SchedulerException se) {
@@ -56,6 +95,18 @@ public final class SchedulerActivator implements BundleActivator {
 
     }
 
+    private Dictionary<String, Object> getServiceProperties(String schedulerName) {
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(SchedulerStatistics.SCHEDULER_PROPERTY, schedulerName);
+        return properties;
+    }
+
+    private void unregister(ServiceRegistration<?> registration) {
+        if (registration != null) {
+            registration.unregister();
+        }
+    }
+
     /**
      * Returns the bundle context of this bundle
      * 
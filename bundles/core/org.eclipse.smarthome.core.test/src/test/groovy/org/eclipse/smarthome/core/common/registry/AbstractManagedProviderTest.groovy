@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.common.registry
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.storage.Storage
+import org.eclipse.smarthome.core.storage.StorageService
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The AbstractManagedProviderTest tests, that the managed provider keeps its elements in sync with the storage, reads
+ * each element only once from the storage and does not hand out the cached elements.
+ *
+ * @author agent - Initial contribution
+ */
+class AbstractManagedProviderTest {
+
+    ConvertingProvider convertingProvider
+    DefaultProvider defaultProvider
+
+    TestStorage convertingStorage
+    TestStorage defaultStorage
+
+    List<String> events
+
+    @Before
+    void setUp() {
+        events = []
+        def listener = [
+            added: { provider, element -> events << "added " + element.key },
+            removed: { provider, element -> events << "removed " + element.key },
+            updated: { provider, oldElement, element ->
+                events << "updated " + oldElement.value + " -> " + element.value
+            }] as ProviderChangeListener
+
+        convertingStorage = new TestStorage(copy: { it })
+        convertingProvider = new ConvertingProvider()
+        convertingProvider.setStorageService([getStorage: { name, classLoader -> convertingStorage }] as StorageService)
+        convertingProvider.addProviderChangeListener(listener)
+
+        // the elements are stored as they are, so that the storage has to return copies like a serializing storage
+        defaultStorage = new TestStorage(copy: { new TestElement(key: it.key, value: it.value) })
+        defaultProvider = new DefaultProvider()
+        defaultProvider.setStorageService([getStorage: { name, classLoader -> defaultStorage }] as StorageService)
+    }
+
+    @Test
+    void 'assert that added, updated and removed elements are written to the storage'() {
+        convertingProvider.add(new TestElement(key: "one", value: "1"))
+        convertingProvider.add(new TestElement(key: "two", value: "2"))
+        assertThat convertingStorage.get("one"), is(equalTo("1"))
+        assertThat convertingProvider.get("one").value, is(equalTo("1"))
+
+        def oldElement = convertingProvider.update(new TestElement(key: "one", value: "updated"))
+        assertThat oldElement.value, is(equalTo("1"))
+        assertThat convertingStorage.get("one"), is(equalTo("updated"))
+        assertThat convertingProvider.get("one").value, is(equalTo("updated"))
+
+        def removedElement = convertingProvider.remove("two")
+        assertThat removedElement.value, is(equalTo("2"))
+        assertThat convertingStorage.getKeys(), is(equalTo(["one"] as Set))
+        assertThat convertingProvider.get("two"), is(nullValue())
+        assertThat convertingProvider.getAll().collect { it.key }, is(equalTo(["one"]))
+
+        assertThat events, is(equalTo([
+            "added one",
+            "added two",
+            "updated 1 -> updated",
+            "removed two"
+        ]))
+    }
+
+    @Test(expected = IllegalArgumentException)
+    void 'assert that an element cannot be added twice'() {
+        convertingProvider.add(new TestElement(key: "one", value: "1"))
+        convertingProvider.add(new TestElement(key: "one", value: "2"))
+    }
+
+    @Test
+    void 'assert that the stored elements are read only once'() {
+        convertingStorage.put("one", "1")
+        convertingStorage.put("two", "2")
+
+        3.times {
+            assertThat convertingProvider.getAll().size(), is(2)
+            assertThat convertingProvider.get("one").value, is(equalTo("1"))
+        }
+
+        assertThat convertingStorage.gets, is(2)
+    }
+
+    @Test
+    void 'assert that the elements are returned in the order of the storage'() {
+        ["c", "a", "b"].each { convertingStorage.put(it, it) }
+
+        assertThat convertingProvider.getAll().collect { it.key }, is(equalTo(["c", "a", "b"]))
+
+        convertingProvider.add(new TestElement(key: "0", value: "0"))
+        assertThat convertingProvider.getAll().collect { it.key }, is(equalTo(["c", "a", "b", "0"]))
+    }
+
+    @Test
+    void 'assert that a modification of a returned element does not change the provided elements'() {
+        convertingProvider.add(new TestElement(key: "one", value: "1"))
+        convertingProvider.get("one").value = "modified"
+        convertingProvider.getAll().first().value = "modified"
+        assertThat convertingProvider.get("one").value, is(equalTo("1"))
+
+        def element = new TestElement(key: "one", value: "1")
+        defaultProvider.add(element)
+        element.value = "modified"
+        defaultProvider.get("one").value = "modified"
+        defaultProvider.getAll().first().value = "modified"
+        assertThat defaultProvider.get("one").value, is(equalTo("1"))
+        assertThat defaultProvider.getAll().first().value, is(equalTo("1"))
+    }
+
+    static class TestElement {
+        String key
+        String value
+    }
+
+    static class TestStorage implements Storage<Object> {
+
+        private final Map<String, Object> values = new LinkedHashMap<>()
+
+        Closure copy
+        int gets
+
+        @Override
+        Object put(String key, Object value) {
+            return values.put(key, copy(value))
+        }
+
+        @Override
+        Object remove(String key) {
+            return values.remove(key)
+        }
+
+        @Override
+        Object get(String key) {
+            gets++
+            def value = values.get(key)
+            return value != null ? copy(value) : null
+        }
+
+        @Override
+        Collection<String> getKeys() {
+            return values.keySet()
+        }
+
+        @Override
+        Collection<Object> getValues() {
+            return values.values().collect { copy(it) }
+        }
+    }
+
+    static class ConvertingProvider extends AbstractManagedProvider<TestElement, String, String> {
+
+        @Override
+        protected String getKey(TestElement element) {
+            return element.key
+        }
+
+        @Override
+        protected String getStorageName() {
+            return "converting"
+        }
+
+        @Override
+        protected String keyToString(String key) {
+            return key
+        }
+
+        @Override
+        protected TestElement toElement(String key, String persistableElement) {
+            return new TestElement(key: key, value: persistableElement)
+        }
+
+        @Override
+        protected String toPersistableElement(TestElement element) {
+            return element.value
+        }
+    }
+
+    static class DefaultProvider extends DefaultAbstractManagedProvider<TestElement, String> {
+
+        @Override
+        protected String getKey(TestElement element) {
+            return element.key
+        }
+
+        @Override
+        protected String getStorageName() {
+            return "default"
+        }
+
+        @Override
+        protected String keyToString(String key) {
+            return key
+        }
+    }
+}
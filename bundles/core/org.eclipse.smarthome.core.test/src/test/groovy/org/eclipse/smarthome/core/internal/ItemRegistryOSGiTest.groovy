@@ -205,6 +205,57 @@ class ItemRegistryOSGiTest extends OSGiTest {
 		assertThat groupItem3.members.contains(updatedSwitchItem), is(true)
 	}
 	
+	@Test
+	void 'assert itemRegistry sets members of GroupItems when a provider is added'() {
+		registerService itemProvider
+
+		// the member is provided before its group
+		def memberItem = new SwitchItem("member")
+		memberItem.addGroupName("bulkGroup")
+		memberItem.addGroupName("existingGroup")
+		def groupItem = new GroupItem("bulkGroup")
+		itemsChangeListener.added(itemProvider, new GroupItem("existingGroup"))
+		def existingMemberItem = new SwitchItem("existingMember")
+		existingMemberItem.addGroupName("bulkGroup")
+		itemsChangeListener.added(itemProvider, existingMemberItem)
+
+		def bulkItemProvider = [
+			getAll: {[memberItem, groupItem]},
+			addProviderChangeListener: {},
+			removeProviderChangeListener: {},
+			allItemsChanged: {}] as ItemProvider
+		def registration = bundleContext.registerService(ItemProvider.class.name, bulkItemProvider, null)
+
+		assertThat itemRegistry.getItem("bulkGroup"), is(groupItem)
+		assertThat groupItem.members.contains(memberItem), is(true)
+		assertThat groupItem.members.contains(existingMemberItem), is(true)
+		assertThat (itemRegistry.getItem("existingGroup") as GroupItem).members.contains(memberItem), is(true)
+
+		registration.unregister()
+	}
+
+    @Test
+    void 'assert that an item of another provider with the same name is found after the item has been removed'() {
+        registerService itemProvider
+        def item = itemRegistry.getItem(ITEM_NAME)
+
+        def otherItem = new SwitchItem(ITEM_NAME)
+        def otherItemProvider = [
+            getAll: {[otherItem]},
+            addProviderChangeListener: {},
+            removeProviderChangeListener: {},
+            allItemsChanged: {}] as ItemProvider
+        def registration = bundleContext.registerService(ItemProvider.class.name, otherItemProvider, null)
+
+        // the item, which has been added at last, is found
+        assertThat itemRegistry.getItem(ITEM_NAME), is(sameInstance(otherItem))
+
+        registration.unregister()
+
+        // the item of the first provider is found again
+        assertThat itemRegistry.getItem(ITEM_NAME), is(sameInstance(item))
+    }
+
 	@Test
 	void 'assert itemRegistryChangeListeners are informed about item changes'() {
 		registerService itemProvider
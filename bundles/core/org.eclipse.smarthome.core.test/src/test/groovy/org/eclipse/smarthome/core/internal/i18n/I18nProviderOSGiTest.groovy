@@ -35,6 +35,7 @@ class I18nProviderOSGiTest extends OSGiTest {
 
     def HELLO_WORLD_DEFAULT = "Hallo Welt!"
     def HELLO_WORLD_EN = "Hello World!"
+    def HELLO_WORLD_EN_US = "Howdy World!"
     def HELLO_WORLD_FR = "Bonjour le monde!"
     def BYE_DEFAULT = "Tschuess!"
 
@@ -108,4 +109,29 @@ class I18nProviderOSGiTest extends OSGiTest {
         assertThat text, is(equalTo(BYE_DEFAULT))
     }
 
+    @Test
+    void 'assert that getText falls back to the less specific locales'() {
+        def text
+
+        Bundle bundle = getBundleContext().bundle
+
+        text = i18nProvider.getText(bundle, KEY_HELLO, "default", Locale.US)
+        assertThat text, is(equalTo(HELLO_WORLD_EN_US))
+
+        text = i18nProvider.getText(bundle, KEY_HELLO, "default", Locale.UK)
+        assertThat text, is(equalTo(HELLO_WORLD_EN))
+
+        text = i18nProvider.getText(bundle, KEY_HELLO, "default", Locale.CANADA_FRENCH)
+        assertThat text, is(equalTo(HELLO_WORLD_FR))
+
+        text = i18nProvider.getText(bundle, KEY_HELLO, "default", Locale.ITALIAN)
+        assertThat text, is(equalTo(HELLO_WORLD_DEFAULT))
+
+        text = i18nProvider.getText(bundle, KEY_BYE, "default", Locale.US)
+        assertThat text, is(equalTo(BYE_DEFAULT))
+
+        text = i18nProvider.getText(bundle, KEY_BYE, "default", Locale.ITALIAN)
+        assertThat text, is(equalTo("default"))
+    }
+
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.items
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.library.items.DimmerItem
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.library.types.PercentType
+import org.eclipse.smarthome.core.types.UnDefType
+import org.junit.Test
+
+/**
+ * The ItemUtilTest tests, that the accepted states are decided by the item type and, for group items without a base
+ * item, by the current members.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemUtilTest {
+
+    @Test
+    void 'assert that a state is accepted by its class or a super class'() {
+        assertThat ItemUtil.isAcceptedState(new SwitchItem("switch"), OnOffType.ON), is(true)
+        assertThat ItemUtil.isAcceptedState(new SwitchItem("switch"), UnDefType.UNDEF), is(true)
+        assertThat ItemUtil.isAcceptedState(new SwitchItem("switch"), new DecimalType(1)), is(false)
+
+        // a percent type is a decimal type
+        assertThat ItemUtil.isAcceptedState(new NumberItem("number"), new PercentType(50)), is(true)
+        assertThat ItemUtil.isAcceptedState(new NumberItem("number"), OnOffType.ON), is(false)
+    }
+
+    @Test
+    void 'assert that the decision is the same for all items of a type'() {
+        2.times {
+            assertThat ItemUtil.isAcceptedState(new DimmerItem("dimmer" + it), new PercentType(it)), is(true)
+            assertThat ItemUtil.isAcceptedState(new DimmerItem("dimmer" + it), new DecimalType(it)), is(false)
+        }
+    }
+
+    @Test
+    void 'assert that a group item without base item accepts the states of its members'() {
+        def groupItem = new GroupItem("group")
+        groupItem.addMember(new NumberItem("number"))
+        assertThat ItemUtil.isAcceptedState(groupItem, new DecimalType(1)), is(true)
+
+        groupItem.addMember(new SwitchItem("switch"))
+        assertThat ItemUtil.isAcceptedState(groupItem, new DecimalType(1)), is(false)
+        assertThat ItemUtil.isAcceptedState(groupItem, UnDefType.UNDEF), is(true)
+    }
+
+    @Test
+    void 'assert that a group item with base item accepts the states of its base item'() {
+        def groupItem = new GroupItem("group", new SwitchItem("base"))
+        groupItem.addMember(new NumberItem("number"))
+
+        assertThat ItemUtil.isAcceptedState(groupItem, OnOffType.ON), is(true)
+        assertThat ItemUtil.isAcceptedState(groupItem, new DecimalType(1)), is(false)
+    }
+}
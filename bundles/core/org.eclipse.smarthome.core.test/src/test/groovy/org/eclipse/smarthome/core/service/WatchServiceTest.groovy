@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.service
+
+import static java.nio.file.StandardWatchEventKinds.*
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.nio.file.Path
+import java.nio.file.WatchEvent
+import java.nio.file.WatchService
+import java.nio.file.WatchEvent.Kind
+
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+/**
+ * The {@link WatchServiceTest} tests the dispatching of the events of the {@link SharedWatchService} to the readers
+ * of the {@link AbstractWatchService}s.
+ *
+ * @author agent - Initial contribution
+ */
+class WatchServiceTest extends OSGiTest {
+
+    // the events are debounced and the watch service may poll the file system
+    def TIMEOUT = 15000
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder()
+
+    TestWatchService watchService
+
+    @Before
+    void setUp() {
+        watchService = new TestWatchService(folder.getRoot().getAbsolutePath())
+        watchService.activate()
+    }
+
+    @After
+    void tearDown() {
+        watchService.deactivate()
+    }
+
+    @Test
+    void 'assert that the events of a file are coalesced'() {
+        def file = folder.newFile("test.txt")
+        file.text = "first"
+        file.text = "second"
+
+        waitForAssert({
+            assertThat watchService.events, is(["ENTRY_CREATE:test.txt"])
+        }, TIMEOUT)
+    }
+
+    @Test
+    void 'assert that a file is not dispatched again if its content has not changed'() {
+        def file = folder.newFile("test.txt")
+        file.text = "content"
+        waitForAssert({
+            assertThat watchService.events, is(["ENTRY_CREATE:test.txt"])
+        }, TIMEOUT)
+
+        file.text = "content"
+        // longer than the debounce window
+        sleep 2000
+        assertThat watchService.events, is(["ENTRY_CREATE:test.txt"])
+
+        file.text = "changed"
+        waitForAssert({
+            assertThat watchService.events, is([
+                "ENTRY_CREATE:test.txt",
+                "ENTRY_MODIFY:test.txt"
+            ])
+        }, TIMEOUT)
+    }
+
+    @Test
+    void 'assert that directories created after the activation are watched'() {
+        def directory = folder.newFolder("created")
+        new File(directory, "early.txt").text = "early"
+
+        waitForAssert({
+            assertThat watchService.events, hasItems("ENTRY_CREATE:created", "ENTRY_CREATE:early.txt")
+        }, TIMEOUT)
+
+        new File(directory, "late.txt").text = "late"
+        def subDirectory = new File(directory, "sub")
+        subDirectory.mkdir()
+        new File(subDirectory, "nested.txt").text = "nested"
+
+        waitForAssert({
+            assertThat watchService.events, hasItems("ENTRY_CREATE:late.txt", "ENTRY_CREATE:nested.txt")
+        }, TIMEOUT)
+    }
+
+    @Test
+    void 'assert that no events are dispatched after the watch service has been stopped'() {
+        watchService.deactivate()
+        folder.newFile("test.txt").text = "content"
+
+        // longer than the debounce window
+        sleep 2000
+        assertThat watchService.events.isEmpty(), is(true)
+    }
+
+    static class TestWatchService extends AbstractWatchService {
+
+        String path
+
+        List<String> events = Collections.synchronizedList([])
+
+        TestWatchService(String path) {
+            this.path = path
+        }
+
+        @Override
+        protected AbstractWatchQueueReader buildWatchQueueReader(WatchService watchService, Path toWatch) {
+            return new AbstractWatchQueueReader(watchService, toWatch) {
+                        @Override
+                        protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
+                            events.add(kind.name() + ":" + path)
+                        }
+                    }
+        }
+
+        @Override
+        protected String getSourcePath() {
+            return path
+        }
+
+        @Override
+        protected boolean watchSubDirectories() {
+            return true
+        }
+
+        @Override
+        protected void registerDirectory(Path subDir) throws IOException {
+            subDir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY)
+        }
+    }
+}
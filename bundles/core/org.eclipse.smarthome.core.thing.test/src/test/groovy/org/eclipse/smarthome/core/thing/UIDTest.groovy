@@ -36,4 +36,28 @@ class UIDTest {
         assertThat channelUID.getId(), is("group#id")
         assertThat channelUID.getIdWithoutGroup(), is("id")
     }
+
+    @Test(expected=IllegalArgumentException)
+    void 'channel UID cannot be constructed with invalid characters in its id'() {
+        new ChannelUID("binding:thing-type:thing:id.1")
+    }
+
+    @Test
+    void 'equal UIDs are interned to the same instance'() {
+        def channelUID = UID.intern(new ChannelUID("binding:thing-type:thing:id"))
+        def otherChannelUID = new ChannelUID(new ThingUID("binding:thing-type:thing"), "id")
+        assertThat otherChannelUID, is(equalTo(channelUID))
+        assertThat otherChannelUID.hashCode(), is(channelUID.hashCode())
+        assertThat UID.intern(otherChannelUID), is(sameInstance(channelUID))
+        assertThat UID.intern(new ThingUID("binding:thing-type:thing:id")), is(not(sameInstance(channelUID)))
+    }
+
+    @Test
+    void 'UID caches its derived values'() {
+        def channelUID = new ChannelUID("binding:thing-type:thing:id")
+        assertThat channelUID.toString(), is(sameInstance(channelUID.toString()))
+        assertThat channelUID.getThingUID(), is(equalTo(new ThingUID("binding:thing-type:thing")))
+        assertThat channelUID.getThingUID(), is(sameInstance(channelUID.getThingUID()))
+        assertThat channelUID.getThingUID().getThingTypeUID(), is(equalTo(new ThingTypeUID("binding:thing-type")))
+    }
 }
@@ -104,8 +104,8 @@ class BindingBaseClassesOSGiTest extends OSGiTest {
         managedThingProvider.add(bridge)
         managedThingProvider.add(thing)
 
+        waitForAssert { assertThat thing.getHandler(), is(not(null)) }
         def handler = thing.getHandler()
-        assertThat handler, is(not(null))
 
         // check that the handler is registered as OSGi service
         def handlerOsgiService = getService(ThingHandler, {
@@ -172,7 +172,7 @@ class BindingBaseClassesOSGiTest extends OSGiTest {
         managedThingProvider.add(thing)
         managedThingProvider.add(bridge)
         
-        assertThat bridgeInitCalled, is(true)
+        waitForAssert { assertThat bridgeInitCalled, is(true) }
         assertThat bridgeDisposedCalled, is(false)
         
         // remove bridge
@@ -188,7 +188,7 @@ class BindingBaseClassesOSGiTest extends OSGiTest {
         managedThingProvider.add(bridge)
         managedThingProvider.add(thing)
         
-        assertThat bridgeInitCalled, is(true)
+        waitForAssert { assertThat bridgeInitCalled, is(true) }
     }
     
     class YetAnotherThingHandlerFactory extends BaseThingHandlerFactory {
@@ -261,8 +261,9 @@ class BindingBaseClassesOSGiTest extends OSGiTest {
             def thing = ThingBuilder.create(new ThingUID("bindingId:type:thingId")).build()
             assertThat thing.channels.size(), is(0)
             managedThingProvider.add(thing)
-            assertThat thingUpdated, is(true)
+            waitForAssert { assertThat thingUpdated, is(true) }
             assertThat updatedThing.channels.size(), is(1)
+            waitForAssert { assertThat updatedThing.getHandler(), is(notNullValue()) }
             
             updatedThing.getHandler().updateConfig()
             assertThat updatedThing.getConfiguration().get("key"), is("value")
@@ -292,6 +293,7 @@ class BindingBaseClassesOSGiTest extends OSGiTest {
             def thing = ThingBuilder.create(new ThingUID("bindingId:type:thingId")).build()
             
             managedThingProvider.add(thing)
+            waitForAssert { assertThat updatedThing?.getHandler(), is(notNullValue()) }
             
             assertThat updatedThing.getProperties().get(Thing.PROPERTY_MODEL_ID), is(null)
             assertThat updatedThing.getProperties().get(Thing.PROPERTY_VENDOR), is(null)
@@ -14,6 +14,7 @@ import static org.junit.matchers.JUnitMatchers.*
 import org.eclipse.smarthome.config.core.Configuration
 import org.eclipse.smarthome.core.items.GenericItem
 import org.eclipse.smarthome.core.items.ItemRegistry
+import org.eclipse.smarthome.core.items.ManagedItemProvider
 import org.eclipse.smarthome.core.thing.ChannelUID
 import org.eclipse.smarthome.core.thing.Thing
 import org.eclipse.smarthome.core.thing.ThingTypeUID
@@ -23,6 +24,8 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory
 import org.eclipse.smarthome.core.thing.binding.ThingHandler
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory
 import org.eclipse.smarthome.core.thing.binding.ThingTypeProvider
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry
+import org.eclipse.smarthome.core.thing.link.ManagedItemChannelLinkProvider
 import org.eclipse.smarthome.core.thing.setup.ThingSetupManager
 import org.eclipse.smarthome.core.thing.type.ChannelDefinition
 import org.eclipse.smarthome.core.thing.type.ChannelType
@@ -35,6 +38,8 @@ import org.eclipse.smarthome.core.types.StateOption
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.Before
 import org.junit.Test
+import org.osgi.framework.Bundle
+import org.osgi.framework.BundleEvent
 import org.osgi.service.component.ComponentContext
 
 /**
@@ -102,9 +107,83 @@ class ChannelStateDescriptionProviderOSGiTest extends OSGiTest {
         } 
     }
     
+    @Test
+    void 'assert that cached state description is dropped when the link is removed'() {
+        thingSetupManager.addThing(new ThingUID("hue:lamp:lamp1"), new Configuration(), /* bridge */ null)
+        def GenericItem numberItem = itemRegistry.getItems().find { "Number" == it.getType() }
+        assertThat numberItem.getStateDescription(), is(notNullValue())
+
+        def itemChannelLinkRegistry = getService(ItemChannelLinkRegistry)
+        def managedItemChannelLinkProvider = getService(ManagedItemChannelLinkProvider)
+        itemChannelLinkRegistry.getAll().findAll { it.itemName == numberItem.name }.each {
+            managedItemChannelLinkProvider.remove(it.getID())
+        }
+
+        assertThat numberItem.getStateDescription(), is(nullValue())
+    }
+
+    @Test
+    void 'assert that state descriptions are only cached for existing items'() {
+        thingSetupManager.addThing(new ThingUID("hue:lamp:lamp1"), new Configuration(), /* bridge */ null)
+        def GenericItem numberItem = itemRegistry.getItems().find { "Number" == it.getType() }
+        assertThat numberItem.getStateDescription(), is(notNullValue())
+
+        def provider = bundleContext.getServiceReferences(StateDescriptionProvider.class.getName(), null).collect {
+            bundleContext.getService(it)
+        }.find { it instanceof ChannelStateDescriptionProvider }
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(true)
+
+        getService(ManagedItemProvider).remove(numberItem.name)
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(false)
+
+        provider.getStateDescription(numberItem.name, null)
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(false)
+    }
+
+    @Test
+    void 'assert that cached state descriptions are only dropped for bundles of the binding'() {
+        thingSetupManager.addThing(new ThingUID("hue:lamp:lamp1"), new Configuration(), /* bridge */ null)
+        def GenericItem numberItem = itemRegistry.getItems().find { "Number" == it.getType() }
+        assertThat numberItem.getStateDescription(), is(notNullValue())
+
+        def provider = bundleContext.getServiceReferences(StateDescriptionProvider.class.getName(), null).collect {
+            bundleContext.getService(it)
+        }.find { it instanceof ChannelStateDescriptionProvider }
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(true)
+
+        // a bundle without thing descriptions does not affect the cache
+        provider.bundleListener.bundleChanged(new BundleEvent(BundleEvent.STARTED, createBundle(null)))
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(true)
+
+        provider.bundleListener.bundleChanged(new BundleEvent(BundleEvent.STARTED, createBundle("yahooweather")))
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(true)
+
+        provider.bundleListener.bundleChanged(new BundleEvent(BundleEvent.UPDATED, createBundle("hue")))
+        assertThat provider.stateDescriptions.containsKey(numberItem.name), is(false)
+        assertThat numberItem.getStateDescription(), is(notNullValue())
+    }
+
     /*
      * Helper
      */
+
+    def Bundle createBundle(String bindingId) {
+        def entries = []
+        if (bindingId != null) {
+            def file = File.createTempFile("thing-types", ".xml")
+            file.deleteOnExit()
+            file.text = """<?xml version="1.0" encoding="UTF-8"?>
+<thing:thing-descriptions bindingId="${bindingId}"
+    xmlns:thing="http://eclipse.org/smarthome/schemas/thing-description/v1.0.0">
+</thing:thing-descriptions>"""
+            entries << file.toURI().toURL()
+        }
+        return [
+            getSymbolicName: { -> "test.bundle" },
+            getHeaders: { -> new Hashtable() },
+            findEntries: { String path, String pattern, boolean recurse -> entries ? Collections.enumeration(entries) : null }
+        ] as Bundle
+    }
     
     class TestThingHandlerFactory extends BaseThingHandlerFactory {
         @Override
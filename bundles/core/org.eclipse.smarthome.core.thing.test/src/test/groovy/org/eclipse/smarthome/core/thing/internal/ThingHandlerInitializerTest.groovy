@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.eclipse.smarthome.core.thing.Bridge
+import org.eclipse.smarthome.core.thing.Thing
+import org.eclipse.smarthome.core.thing.ThingStatus
+import org.eclipse.smarthome.core.thing.ThingStatusDetail
+import org.eclipse.smarthome.core.thing.ThingTypeUID
+import org.eclipse.smarthome.core.thing.ThingUID
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder
+import org.junit.After
+import org.junit.Test
+
+/**
+ * Tests for the {@link ThingHandlerInitializer}.
+ *
+ * @author agent - Initial contribution
+ */
+class ThingHandlerInitializerTest {
+
+    def THING_TYPE_UID = new ThingTypeUID("binding:type")
+
+    ThingHandlerInitializer initializer
+
+    @After
+    void tearDown() {
+        initializer?.dispose()
+    }
+
+    @Test
+    void 'assert that things of a bridge are initialized after the bridge'() {
+        initializer = new ThingHandlerInitializer(4, 10000, null)
+        Bridge bridge = BridgeBuilder.create(new ThingUID(THING_TYPE_UID, "bridge")).build()
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).withBridge(bridge.getUID()).build()
+
+        def order = new CopyOnWriteArrayList()
+        def bridgeStarted = new CountDownLatch(1)
+        def releaseBridge = new CountDownLatch(1)
+        def done = new CountDownLatch(2)
+
+        initializer.initialize(bridge, {
+            bridgeStarted.countDown()
+            releaseBridge.await()
+            order.add("bridge")
+            done.countDown()
+        } as Runnable)
+        initializer.initialize(thing, {
+            order.add("thing")
+            done.countDown()
+        } as Runnable)
+
+        assertThat bridgeStarted.await(5, TimeUnit.SECONDS), is(true)
+        Thread.sleep(100)
+        assertThat order.isEmpty(), is(true)
+        assertThat initializer.isPending(thing.getUID()), is(true)
+
+        releaseBridge.countDown()
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat order, is([ "bridge", "thing" ])
+    }
+
+    @Test
+    void 'assert that things of a bridge wait for the bridge, which has been added after them'() {
+        initializer = new ThingHandlerInitializer(1, 10000, null)
+        Thing blocking = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "blocking")).build()
+        Bridge bridge = BridgeBuilder.create(new ThingUID(THING_TYPE_UID, "bridge")).build()
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).withBridge(bridge.getUID()).build()
+
+        def order = new CopyOnWriteArrayList()
+        def release = new CountDownLatch(1)
+        def done = new CountDownLatch(2)
+
+        initializer.initialize(blocking, { release.await() } as Runnable)
+        initializer.initialize(thing, {
+            order.add("thing")
+            done.countDown()
+        } as Runnable)
+        initializer.initialize(bridge, {
+            order.add("bridge")
+            done.countDown()
+        } as Runnable)
+
+        release.countDown()
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat order, is([ "bridge", "thing" ])
+        waitUntilReady()
+        assertThat initializer.getInitializedCount(), is(3)
+    }
+
+    @Test
+    void 'assert that the number of parallel initializations is bounded'() {
+        initializer = new ThingHandlerInitializer(2, 10000, null)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def done = new CountDownLatch(6)
+
+        6.times { i ->
+            Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing" + i)).build()
+            initializer.initialize(thing, {
+                def current = running.incrementAndGet()
+                synchronized (maxRunning) {
+                    maxRunning.set(Math.max(maxRunning.get(), current))
+                }
+                Thread.sleep(50)
+                running.decrementAndGet()
+                done.countDown()
+            } as Runnable)
+        }
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat maxRunning.get(), is(2)
+        waitUntilReady()
+        assertThat initializer.getInitializedCount(), is(6)
+    }
+
+    @Test
+    void 'assert that a hanging initialization is interrupted and reported'() {
+        initializer = new ThingHandlerInitializer(2, 100, null)
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "hanging")).build()
+        def interrupted = new CountDownLatch(1)
+
+        initializer.initialize(thing, {
+            try {
+                Thread.sleep(10000)
+            } catch (InterruptedException e) {
+                interrupted.countDown()
+            }
+        } as Runnable)
+
+        assertThat interrupted.await(5, TimeUnit.SECONDS), is(true)
+        waitUntilReady()
+        assertThat thing.getStatusInfo().getStatus(), is(ThingStatus.UNINITIALIZED)
+        assertThat thing.getStatusInfo().getStatusDetail(), is(ThingStatusDetail.HANDLER_INITIALIZING_ERROR)
+        assertThat initializer.getTimedOutCount(), is(1)
+        assertThat initializer.getInitializedCount(), is(0)
+    }
+
+    @Test
+    void 'assert that a hanging initialization, which ignores the interruption, does not block the others'() {
+        initializer = new ThingHandlerInitializer(1, 100, null)
+        Thing hanging = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "hanging")).build()
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).build()
+        def release = new CountDownLatch(1)
+        def initialized = new CountDownLatch(1)
+
+        initializer.initialize(hanging, {
+            while (release.getCount() > 0) {
+                try {
+                    release.await()
+                } catch (InterruptedException e) {
+                    // ignored like by a handler, which blocks in a non-interruptible call
+                }
+            }
+        } as Runnable)
+        initializer.initialize(thing, { initialized.countDown() } as Runnable)
+
+        assertThat initialized.await(5, TimeUnit.SECONDS), is(true)
+        assertThat initializer.isPending(hanging.getUID()), is(true)
+
+        release.countDown()
+        waitUntilReady()
+        assertThat initializer.getTimedOutCount(), is(1)
+        assertThat initializer.getInitializedCount(), is(1)
+        assertThat initializer.executor.getMaximumPoolSize(), is(1)
+    }
+
+    @Test
+    void 'assert that a queued initialization can be cancelled'() {
+        initializer = new ThingHandlerInitializer(1, 10000, null)
+        Thing blocking = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "blocking")).build()
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).build()
+        def release = new CountDownLatch(1)
+        def initialized = false
+
+        initializer.initialize(blocking, { release.await() } as Runnable)
+        initializer.initialize(thing, { initialized = true } as Runnable)
+        initializer.cancel(thing.getUID())
+        assertThat initializer.isPending(thing.getUID()), is(false)
+
+        release.countDown()
+        waitUntilReady()
+        assertThat initialized, is(false)
+    }
+
+    @Test
+    void 'assert that a thing updated during the initialization is passed to the listener afterwards'() {
+        def updates = new CopyOnWriteArrayList()
+        def ready = new CountDownLatch(1)
+        def listener = [
+            updatedWhileInitializing: { Thing thing -> updates.add(thing) },
+            initialized: { int initialized, int failed, int timedOut, long duration ->
+                assertThat initialized, is(1)
+                ready.countDown()
+            }
+        ] as ThingHandlerInitializer.Listener
+        initializer = new ThingHandlerInitializer(1, 10000, listener)
+
+        Thing thing = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).build()
+        Thing firstUpdate = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).build()
+        Thing secondUpdate = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "thing")).build()
+        def release = new CountDownLatch(1)
+
+        initializer.initialize(thing, { release.await() } as Runnable)
+        assertThat initializer.queueUpdate(firstUpdate), is(true)
+        assertThat initializer.queueUpdate(secondUpdate), is(true)
+        assertThat updates.isEmpty(), is(true)
+
+        release.countDown()
+        assertThat ready.await(5, TimeUnit.SECONDS), is(true)
+        assertThat updates.size(), is(1)
+        assertThat updates[0], is(sameInstance(secondUpdate))
+
+        // without a pending initialization the update is not queued
+        assertThat initializer.queueUpdate(thing), is(false)
+    }
+
+    private void waitUntilReady() {
+        def end = System.currentTimeMillis() + 5000
+        while (!initializer.isReady() && System.currentTimeMillis() < end) {
+            Thread.sleep(10)
+        }
+        assertThat initializer.isReady(), is(true)
+    }
+}
@@ -112,6 +112,7 @@ class ThingManagerOSGiTest extends OSGiTest {
 		registerService(thingHandlerFactory)
 
 		managedThingProvider.add(THING)
+		waitForAssert {assertThat THING.getHandler(), is(notNullValue())}
 
 		managedThingProvider.remove(THING.getUID())
 
@@ -280,6 +281,7 @@ class ThingManagerOSGiTest extends OSGiTest {
         statusInfo = ThingStatusInfoBuilder.create(ThingStatus.INITIALIZING, ThingStatusDetail.NONE).build()
         assertThat THING.statusInfo, is(statusInfo)
         
+        waitForAssert { assertThat THING.getHandler(), is(notNullValue()) }
         unregisterService(THING.getHandler())
         statusInfo = ThingStatusInfoBuilder.create(ThingStatus.UNINITIALIZED, ThingStatusDetail.HANDLER_MISSING_ERROR).build()
         assertThat THING.statusInfo, is(statusInfo)
@@ -306,7 +308,7 @@ class ThingManagerOSGiTest extends OSGiTest {
         def statusInfo = ThingStatusInfoBuilder.create(ThingStatus.UNINITIALIZED,
                 ThingStatusDetail.HANDLER_INITIALIZING_ERROR).withDescription(exceptionMsg).build()
         managedThingProvider.add(THING)
-        assertThat THING.statusInfo, is(statusInfo)
+        waitForAssert { assertThat THING.statusInfo, is(statusInfo) }
     }
 
     @Test
@@ -10,6 +10,7 @@ package org.eclipse.smarthome.core.thing;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * {@link ChannelUID} represents a unique identifier for channels.
@@ -22,6 +23,10 @@ public class ChannelUID extends UID {
 
     private static final String CHANNEL_GROUP_SEPERATOR = "#";
 
+    private static final Pattern CHANNEL_SEGMENT_VALIDATOR = Pattern.compile("[A-Za-z0-9_#-]*");
+
+    private transient ThingUID thingUID;
+
     /**
      * Default constructor in package scope only. Will allow to instantiate this
      * class by reflection. Not intended to be used for normal instantiation.
@@ -192,7 +197,7 @@ public class ChannelUID extends UID {
         if (index < length - 1) {
             super.validateSegment(segment, index, length);
         } else {
-            if (!segment.matches("[A-Za-z0-9_#-]*")) {
+            if (!CHANNEL_SEGMENT_VALIDATOR.matcher(segment).matches()) {
                 throw new IllegalArgumentException(
                         "UID segment '"
                                 + segment
@@ -207,7 +212,12 @@ public class ChannelUID extends UID {
      * @return the thing UID
      */
     public ThingUID getThingUID() {
-        return new ThingUID(Arrays.copyOfRange(getSegments(), 0, getSegments().length - 1));
+        ThingUID thingUID = this.thingUID;
+        if (thingUID == null) {
+            thingUID = intern(new ThingUID(Arrays.copyOfRange(getSegments(), 0, getSegments().length - 1)));
+            this.thingUID = thingUID;
+        }
+        return thingUID;
     }
 
     /**
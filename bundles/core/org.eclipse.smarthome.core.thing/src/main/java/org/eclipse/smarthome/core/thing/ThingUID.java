@@ -18,6 +18,8 @@ import java.util.List;
  */
 public class ThingUID extends UID {
 
+    private transient ThingTypeUID thingTypeUID;
+
     /**
      * Default constructor in package scope only. Will allow to instantiate this
      * class by reflection. Not intended to be used for normal instantiation.
@@ -136,7 +138,12 @@ public class ThingUID extends UID {
      * @return thing type uid
      */
     public ThingTypeUID getThingTypeUID() {
-        return new ThingTypeUID(getSegment(0), getSegment(1));
+        ThingTypeUID thingTypeUID = this.thingTypeUID;
+        if (thingTypeUID == null) {
+            thingTypeUID = new ThingTypeUID(getSegment(0), getSegment(1));
+            this.thingTypeUID = thingTypeUID;
+        }
+        return thingTypeUID;
     }
 
     /**
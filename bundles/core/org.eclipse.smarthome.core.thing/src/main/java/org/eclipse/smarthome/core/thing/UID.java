@@ -8,12 +8,19 @@
 package org.eclipse.smarthome.core.thing;
 
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
  * {@link UID} is the base class for unique identifiers within the SmartHome
  * framework. A UID must always start with a binding ID.
+ * <p>
+ * UIDs are compared by value. The string representation and the hash code are computed only once, and
+ * {@link #intern(UID)} gives access to a canonical instance per value, so that long living UIDs can be shared and
+ * compared by identity in the common case.
  *
  * @author Dennis Nobel - Initial contribution
  * @author Oliver Libutzki - Added possibility to define UIDs with variable amount of segments
@@ -23,8 +30,17 @@ public abstract class UID {
 
     public static final String SEGMENT_PATTERN = "[A-Za-z0-9_-]*";
     public static final String SEPARATOR = ":";
+
+    private static final Pattern SEGMENT_VALIDATOR = Pattern.compile(SEGMENT_PATTERN);
+
+    private static final Interner<UID> INTERNER = Interners.newWeakInterner();
+
     private String[] segments;
 
+    // lazily computed, the UID may have been instantiated by reflection
+    private transient String asString;
+    private transient int hash;
+
     /**
      * Default constructor in package scope only. Will allow to instantiate this
      * class by reflection. Not intended to be used for normal instantiation.
@@ -88,7 +104,7 @@ public abstract class UID {
     }
 
     protected void validateSegment(String segment, int index, int length) {
-        if (!segment.matches(SEGMENT_PATTERN)) {
+        if (!SEGMENT_VALIDATOR.matcher(segment).matches()) {
             throw new IllegalArgumentException("UID segment '" + segment
                     + "' contains invalid characters. Each segment of the UID must match the pattern [A-Za-z0-9_-]*.");
         }
@@ -109,15 +125,37 @@ public abstract class UID {
     }
 
     public String getAsString() {
-        return Joiner.on(SEPARATOR).join(segments);
+        String asString = this.asString;
+        if (asString == null) {
+            asString = Joiner.on(SEPARATOR).join(segments);
+            this.asString = asString;
+        }
+        return asString;
+    }
+
+    /**
+     * Returns the canonical instance for the given UID. Two UIDs, which are equal, are interned to the same instance
+     * as long as the canonical instance is referenced. The canonical instances are held weakly.
+     *
+     * @param uid
+     *            the UID (must not be null)
+     * @return the canonical instance, which is equal to the given UID
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends UID> T intern(T uid) {
+        return (T) INTERNER.intern(uid);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(segments);
-        return result;
+        int hash = this.hash;
+        if (hash == 0) {
+            final int prime = 31;
+            hash = 1;
+            hash = prime * hash + Arrays.hashCode(segments);
+            this.hash = hash;
+        }
+        return hash;
     }
 
     @Override
@@ -129,6 +167,8 @@ public abstract class UID {
         if (getClass() != obj.getClass())
             return false;
         UID other = (UID) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash)
+            return false;
         if (!Arrays.equals(segments, other.segments))
             return false;
         return true;
@@ -229,8 +229,7 @@ public abstract class BaseThingHandler implements ThingHandler {
      *             if handler is not initialized correctly, because no callback is present
      */
     protected void updateState(String channelID, State state) {
-        ChannelUID channelUID = new ChannelUID(this.getThing().getUID(), channelID);
-        updateState(channelUID, state);
+        updateState(getChannelUID(channelID), state);
     }
 
     /**
@@ -244,8 +243,13 @@ public abstract class BaseThingHandler implements ThingHandler {
      *             if handler is not initialized correctly, because no callback is present
      */
     protected void postCommand(String channelID, Command command) {
-        ChannelUID channelUID = new ChannelUID(this.getThing().getUID(), channelID);
-        postCommand(channelUID, command);
+        postCommand(getChannelUID(channelID), command);
+    }
+
+    private ChannelUID getChannelUID(String channelID) {
+        // reuse the UID of the channel instead of creating and validating a new one for every state update
+        Channel channel = this.getThing().getChannel(channelID);
+        return channel != null ? channel.getUID() : new ChannelUID(this.getThing().getUID(), channelID);
     }
 
     /**
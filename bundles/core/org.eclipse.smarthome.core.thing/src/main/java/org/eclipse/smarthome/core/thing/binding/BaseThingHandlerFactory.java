@@ -8,10 +8,10 @@
 package org.eclipse.smarthome.core.thing.binding;
 
 import java.util.Dictionary;
-import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.config.core.ConfigDescriptionRegistry;
 import org.eclipse.smarthome.config.core.Configuration;
@@ -39,7 +39,8 @@ public abstract class BaseThingHandlerFactory implements ThingHandlerFactory {
 
     protected BundleContext bundleContext;
 
-    private Map<String, ServiceRegistration<ThingHandler>> thingHandlers = new HashMap<>();
+    // handlers are registered by the threads of the thing handler initialization in parallel
+    private Map<String, ServiceRegistration<ThingHandler>> thingHandlers = new ConcurrentHashMap<>();
     private ServiceTracker<ThingTypeRegistry, ThingTypeRegistry> thingTypeRegistryServiceTracker;
     private ServiceTracker<ConfigDescriptionRegistry, ConfigDescriptionRegistry> configDescritpionRegistryServiceTracker;
 
@@ -68,12 +69,14 @@ public abstract class BaseThingHandlerFactory implements ThingHandlerFactory {
      *            component context (must not be null)
      */
     protected void deactivate(ComponentContext componentContext) {
-        for (ServiceRegistration<ThingHandler> serviceRegistration : this.thingHandlers.values()) {
-            unregisterHandler(serviceRegistration);
+        for (String thingUID : this.thingHandlers.keySet()) {
+            ServiceRegistration<ThingHandler> serviceRegistration = this.thingHandlers.remove(thingUID);
+            if (serviceRegistration != null) {
+                unregisterHandler(serviceRegistration);
+            }
         }
         thingTypeRegistryServiceTracker.close();
         configDescritpionRegistryServiceTracker.close();
-        this.thingHandlers.clear();
         this.bundleContext = null;
     }
 
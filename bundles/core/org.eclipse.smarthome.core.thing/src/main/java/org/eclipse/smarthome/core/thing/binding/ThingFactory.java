@@ -19,6 +19,7 @@ import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.UID;
 import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder;
 import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
 import org.eclipse.smarthome.core.thing.binding.builder.GenericThingBuilder;
@@ -156,8 +157,8 @@ public class ThingFactory {
             ConfigDescriptionRegistry configDescriptionRegistry) {
         ChannelType type = channelDefinition.getType();
 
-        ChannelBuilder channelBuilder = ChannelBuilder.create(
-                new ChannelUID(thingUID, groupId, channelDefinition.getId()), type.getItemType()).withDefaultTags(
+        ChannelUID channelUID = UID.intern(new ChannelUID(thingUID, groupId, channelDefinition.getId()));
+        ChannelBuilder channelBuilder = ChannelBuilder.create(channelUID, type.getItemType()).withDefaultTags(
                 type.getTags());
 
         // initializing channels with default-values
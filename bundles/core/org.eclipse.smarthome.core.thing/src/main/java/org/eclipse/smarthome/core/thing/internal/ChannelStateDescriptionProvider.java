@@ -7,39 +7,269 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.binding.ThingTypeProvider;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.type.ChannelType;
 import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.eclipse.smarthome.core.types.StateDescription;
 import org.eclipse.smarthome.core.types.StateDescriptionProvider;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.Constants;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.service.component.ComponentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A {@link ChannelStateDescriptionProvider} provides localized {@link StateDescription}s from the type of a
  * {@link Channel} bounded to an {@link Item}.
+ * <p>
+ * The state descriptions are cached per item and locale, but only for items, which exist in the {@link ItemRegistry}.
+ * The cache entries of an item are dropped when the item or its links change and the whole cache is cleared when a
+ * {@link ThingTypeProvider} is added or removed. The thing types and their translations are read from the bundles
+ * without any notification, therefore the entries of a binding are dropped when a bundle with thing descriptions of
+ * the binding is started, stopped or updated.
+ * <p>
+ * A state description, which has been looked up while the cache was invalidated, is not kept in the cache.
  *
  * @author Dennis Nobel - Initial contribution
  */
 public class ChannelStateDescriptionProvider implements StateDescriptionProvider {
 
+    // marks an item without state description in the cache
+    private static final StateDescription NO_STATE_DESCRIPTION = new StateDescription(null, null, null, null, false,
+            null);
+
+    private static final String THING_DESCRIPTIONS_PATH = "ESH-INF/thing";
+
+    private static final Pattern BINDING_ID_PATTERN = Pattern.compile("bindingId\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    private final Logger logger = LoggerFactory.getLogger(ChannelStateDescriptionProvider.class);
+
+    private ItemRegistry itemRegistry;
     private ItemChannelLinkRegistry itemChannelLinkRegistry;
     private ThingTypeRegistry thingTypeRegistry;
 
+    private final ConcurrentMap<String, CacheEntry> stateDescriptions = new ConcurrentHashMap<>();
+
+    // incremented before entries are dropped, so that a concurrent lookup does not add a stale entry
+    private final AtomicLong version = new AtomicLong();
+
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidate(element.getItemName());
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidate(element.getItemName());
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidate(oldElement.getItemName());
+            invalidate(element.getItemName());
+        }
+    };
+
+    private final ItemRegistryChangeListener itemListener = new ItemRegistryChangeListener() {
+
+        @Override
+        public void added(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidate(oldElement.getName());
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void allItemsChanged(Collection<String> oldItemNames) {
+            clear();
+        }
+    };
+
+    private final BundleListener bundleListener = new SynchronousBundleListener() {
+
+        @Override
+        public void bundleChanged(BundleEvent event) {
+            switch (event.getType()) {
+                case BundleEvent.STARTED:
+                case BundleEvent.STOPPED:
+                case BundleEvent.UPDATED:
+                case BundleEvent.UNRESOLVED:
+                    invalidate(event.getBundle());
+                    break;
+                default:
+                    break;
+            }
+        }
+    };
+
+    protected void activate(ComponentContext componentContext) {
+        itemRegistry.addRegistryChangeListener(itemListener);
+        itemChannelLinkRegistry.addRegistryChangeListener(linkListener);
+        componentContext.getBundleContext().addBundleListener(bundleListener);
+    }
+
+    protected void deactivate(ComponentContext componentContext) {
+        componentContext.getBundleContext().removeBundleListener(bundleListener);
+        itemChannelLinkRegistry.removeRegistryChangeListener(linkListener);
+        itemRegistry.removeRegistryChangeListener(itemListener);
+        clear();
+    }
+
     @Override
     public StateDescription getStateDescription(String itemName, Locale locale) {
-        Set<ChannelUID> boundChannels = itemChannelLinkRegistry.getBoundChannels(itemName);
-        if (!boundChannels.isEmpty()) {
-            ChannelUID channelUID = boundChannels.iterator().next();
-            ChannelType channelType = thingTypeRegistry.getChannelType(channelUID, locale);
-            return channelType != null ? channelType.getState() : null;
-        } else {
+        CacheEntry entry = stateDescriptions.get(itemName);
+        StateDescription stateDescription = entry != null ? entry.get(locale) : null;
+        if (stateDescription == null) {
+            long currentVersion = version.get();
+            String bindingId = null;
+            Set<ChannelUID> boundChannels = itemChannelLinkRegistry.getBoundChannels(itemName);
+            if (!boundChannels.isEmpty()) {
+                ChannelUID channelUID = boundChannels.iterator().next();
+                ChannelType channelType = thingTypeRegistry.getChannelType(channelUID, locale);
+                if (channelType == null) {
+                    // the thing type might not have been registered yet, so this result is not cached
+                    return null;
+                }
+                bindingId = channelUID.getBindingId();
+                stateDescription = channelType.getState() != null ? channelType.getState() : NO_STATE_DESCRIPTION;
+            } else {
+                stateDescription = NO_STATE_DESCRIPTION;
+            }
+            put(itemName, bindingId, locale, stateDescription, currentVersion);
+        }
+        return stateDescription != NO_STATE_DESCRIPTION ? stateDescription : null;
+    }
+
+    private void put(String itemName, String bindingId, Locale locale, StateDescription stateDescription,
+            long lookupVersion) {
+        if (itemRegistry.get(itemName) == null) {
+            // the entry of an unknown item would never be dropped, as there is no item to be removed
+            return;
+        }
+        CacheEntry entry = stateDescriptions.get(itemName);
+        if (entry == null) {
+            if (lookupVersion != version.get()) {
+                return;
+            }
+            CacheEntry newEntry = new CacheEntry(bindingId);
+            entry = stateDescriptions.putIfAbsent(itemName, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        entry.put(locale, stateDescription);
+        if (lookupVersion != version.get()) {
+            // the cache has been invalidated during the lookup, which might not have seen the change
+            stateDescriptions.remove(itemName, entry);
+        }
+    }
+
+    private void invalidate(String itemName) {
+        version.incrementAndGet();
+        stateDescriptions.remove(itemName);
+    }
+
+    private void invalidate(Bundle bundle) {
+        Set<String> bindingIds = getBindingIds(bundle);
+        if (bindingIds == null) {
+            clear();
+        } else if (!bindingIds.isEmpty()) {
+            version.incrementAndGet();
+            Iterator<CacheEntry> iterator = stateDescriptions.values().iterator();
+            while (iterator.hasNext()) {
+                String bindingId = iterator.next().bindingId;
+                if (bindingId != null && bindingIds.contains(bindingId)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        version.incrementAndGet();
+        stateDescriptions.clear();
+    }
+
+    /**
+     * Returns the IDs of the bindings, whose thing descriptions are contained in the given bundle.
+     *
+     * @param bundle the bundle
+     * @return the binding IDs, or null if they cannot be determined, e.g. for a fragment, which might contain
+     *         translations for any binding
+     */
+    private Set<String> getBindingIds(Bundle bundle) {
+        if (bundle.getHeaders().get(Constants.FRAGMENT_HOST) != null) {
             return null;
         }
+        Set<String> bindingIds = new HashSet<>();
+        try {
+            Enumeration<URL> entries = bundle.findEntries(THING_DESCRIPTIONS_PATH, "*.xml", true);
+            while (entries != null && entries.hasMoreElements()) {
+                URL entry = entries.nextElement();
+                try (InputStream inputStream = entry.openStream();
+                        Scanner scanner = new Scanner(inputStream, "UTF-8")) {
+                    String bindingId = scanner.findWithinHorizon(BINDING_ID_PATTERN, 0) != null ? scanner.match()
+                            .group(1) : null;
+                    if (bindingId == null) {
+                        return null;
+                    }
+                    bindingIds.add(bindingId);
+                }
+            }
+        } catch (IllegalStateException | IOException e) {
+            logger.debug("Cannot read the thing descriptions of bundle '{}': {}", bundle.getSymbolicName(),
+                    e.getMessage());
+            return null;
+        }
+        return bindingIds;
+    }
+
+    protected void setItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry = itemRegistry;
+    }
+
+    protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry = null;
     }
 
     protected void setThingTypeRegistry(ThingTypeRegistry thingTypeRegistry) {
@@ -58,4 +288,35 @@ public class ChannelStateDescriptionProvider implements StateDescriptionProvider
         this.itemChannelLinkRegistry = null;
     }
 
+    protected void addThingTypeProvider(ThingTypeProvider thingTypeProvider) {
+        clear();
+    }
+
+    protected void removeThingTypeProvider(ThingTypeProvider thingTypeProvider) {
+        clear();
+    }
+
+    /**
+     * The {@link CacheEntry} holds the state descriptions of an item by locale.
+     */
+    private static final class CacheEntry {
+
+        // the binding of the linked channel, null if the item is not linked
+        private final String bindingId;
+
+        private final Map<Locale, StateDescription> stateDescriptions = new HashMap<>(4);
+
+        private CacheEntry(String bindingId) {
+            this.bindingId = bindingId;
+        }
+
+        private synchronized StateDescription get(Locale locale) {
+            return stateDescriptions.get(locale);
+        }
+
+        private synchronized void put(Locale locale, StateDescription stateDescription) {
+            stateDescriptions.put(locale, stateDescription);
+        }
+    }
+
 }
@@ -0,0 +1,463 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingStatusInfoBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ThingHandlerInitializer} creates and initializes the {@link ThingHandler}s of the things in the
+ * background, so that handlers which do network I/O in their initialization do not block the thread that adds the
+ * things.
+ * <p>
+ * The number of handlers, which are initialized in parallel, can be configured by the system property
+ * {@value #THREADS_PROPERTY}. The handler of a thing with a bridge is only initialized after the handler of its
+ * bridge, if the initialization of the bridge is pending, regardless of which of them has been added first. An
+ * initialization, which takes longer than the timeout configured in seconds by the system property
+ * {@value #TIMEOUT_PROPERTY}, is interrupted and the thing is set to {@link ThingStatus#UNINITIALIZED} with
+ * {@link ThingStatusDetail#HANDLER_INITIALIZING_ERROR}. As a handler might not react to the interruption, an additional
+ * thread is started for each timed out initialization until it has returned, so that the other things are still
+ * initialized in parallel.
+ * <p>
+ * Whenever all pending initializations are done, the time it took and the number of initialized, failed and timed out
+ * handlers are logged, provided by the getters of this class and passed to the {@link Listener}.
+ * <p>
+ * A thing, which is updated while the initialization of its handler is pending, can be queued by
+ * {@link #queueUpdate(Thing)}. The latest queued thing is passed to the {@link Listener} after the initialization, so
+ * that the update can be delivered to the handler.
+ *
+ * @author agent - Initial contribution
+ */
+class ThingHandlerInitializer {
+
+    /** the system property that contains the number of handlers which are initialized in parallel */
+    static final String THREADS_PROPERTY = "smarthome.thing.init.threads";
+
+    /** the system property that contains the timeout in seconds for the initialization of a single handler */
+    static final String TIMEOUT_PROPERTY = "smarthome.thing.init.timeout";
+
+    private static final int DEFAULT_THREADS = 5;
+
+    private static final int DEFAULT_TIMEOUT = 120;
+
+    private final Logger logger = LoggerFactory.getLogger(ThingHandlerInitializer.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    private final long timeout;
+
+    private final Listener listener;
+
+    // the pending initializations and the statistics are guarded by this
+    private final Map<ThingUID, Initialization> initializations = new HashMap<>();
+    private long startTime;
+    private long duration;
+    private int initializedCount;
+    private int failedCount;
+    private int timedOutCount;
+
+    ThingHandlerInitializer(Listener listener) {
+        this(Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS),
+                TimeUnit.SECONDS.toMillis(Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT)), listener);
+    }
+
+    /**
+     * Creates an initializer.
+     *
+     * @param threads the number of handlers which are initialized in parallel
+     * @param timeout the timeout in milliseconds for the initialization of a single handler
+     * @param listener the listener, which is notified about queued updates and finished initializations (may be null)
+     */
+    ThingHandlerInitializer(int threads, long timeout, Listener listener) {
+        this.timeout = timeout;
+        this.listener = listener;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "ESH-thing-init-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.watchdog = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ESH-thing-init-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Schedules the registration of the handler for the given thing. The registration is skipped, if the
+     * initialization of a handler for this thing is already pending.
+     *
+     * @param thing the thing (must not be null)
+     * @param registration the registration of the handler, which has to handle its exceptions itself
+     */
+    synchronized void initialize(Thing thing, Runnable registration) {
+        ThingUID thingUID = thing.getUID();
+        if (initializations.containsKey(thingUID)) {
+            logger.debug("Initialization of the handler for thing '{}' is already pending.", thingUID);
+            return;
+        }
+        if (initializations.isEmpty()) {
+            startTime = System.currentTimeMillis();
+            initializedCount = 0;
+            failedCount = 0;
+            timedOutCount = 0;
+        }
+
+        Initialization initialization = new Initialization(thing, registration);
+        initializations.put(thingUID, initialization);
+
+        // things of this bridge, which have been added before, must wait for it, if they have not started yet
+        for (Initialization dependent : initializations.values()) {
+            if (thingUID.equals(dependent.thing.getBridgeUID()) && !dependent.started && !dependent.waiting) {
+                logger.debug("Initialization of the handler for thing '{}' waits for its bridge.",
+                        dependent.thing.getUID());
+                dependent.waiting = true;
+                if (dependent.future != null) {
+                    dependent.future.cancel(false);
+                    dependent.future = null;
+                }
+                initialization.dependents.add(dependent);
+            }
+        }
+
+        Initialization bridgeInitialization = thing.getBridgeUID() != null ? initializations.get(thing
+                .getBridgeUID()) : null;
+        if (bridgeInitialization != null && !bridgeInitialization.timedOut) {
+            logger.debug("Initialization of the handler for thing '{}' waits for its bridge.", thingUID);
+            initialization.waiting = true;
+            bridgeInitialization.dependents.add(initialization);
+        } else {
+            submit(initialization);
+        }
+    }
+
+    /**
+     * Returns whether the initialization of a handler for the given thing is pending.
+     *
+     * @param thingUID the UID of the thing
+     * @return true, if the initialization is queued or running
+     */
+    synchronized boolean isPending(ThingUID thingUID) {
+        return initializations.containsKey(thingUID);
+    }
+
+    /**
+     * Queues an update of the given thing, if the initialization of its handler is pending. A previously queued
+     * update of the thing is replaced.
+     *
+     * @param thing the updated thing (must not be null)
+     * @return true, if the update has been queued, false if no initialization is pending for the thing
+     */
+    synchronized boolean queueUpdate(Thing thing) {
+        Initialization initialization = initializations.get(thing.getUID());
+        if (initialization == null) {
+            return false;
+        }
+        logger.debug("Update of thing '{}' is queued until its handler has been initialized.", thing.getUID());
+        initialization.update = thing;
+        return true;
+    }
+
+    /**
+     * Cancels the initialization of the handler for the given thing, if it has not started yet. A running
+     * initialization is not affected.
+     *
+     * @param thingUID the UID of the thing
+     */
+    void cancel(ThingUID thingUID) {
+        Initialization initialization;
+        boolean ready;
+        synchronized (this) {
+            initialization = initializations.get(thingUID);
+            if (initialization == null || initialization.started) {
+                return;
+            }
+            logger.debug("Initialization of the handler for thing '{}' cancelled.", thingUID);
+            initialization.cancelled = true;
+            initialization.update = null;
+            if (initialization.future != null) {
+                initialization.future.cancel(false);
+            }
+            ready = finished(initialization);
+        }
+        notifyListener(initialization, ready);
+    }
+
+    /**
+     * Cancels all pending initializations and stops the threads.
+     */
+    synchronized void dispose() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+        initializations.clear();
+    }
+
+    synchronized boolean isReady() {
+        return initializations.isEmpty();
+    }
+
+    synchronized int getPendingCount() {
+        return initializations.size();
+    }
+
+    synchronized int getInitializedCount() {
+        return initializedCount;
+    }
+
+    synchronized int getFailedCount() {
+        return failedCount;
+    }
+
+    synchronized int getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    /**
+     * Returns the time in milliseconds it took until the last pending initializations were done.
+     *
+     * @return the duration or 0, if no initialization has been done yet
+     */
+    synchronized long getDuration() {
+        return duration;
+    }
+
+    private void submit(Initialization initialization) {
+        try {
+            initialization.future = executor.submit(initialization);
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Initialization of the handler for thing '{}' rejected, the initializer is disposed.",
+                    initialization.thing.getUID());
+        }
+    }
+
+    private synchronized boolean start(Initialization initialization) {
+        if (initialization.done || initialization.waiting) {
+            return false;
+        }
+        initialization.started = true;
+        return true;
+    }
+
+    private void timeout(Initialization initialization) {
+        synchronized (this) {
+            if (initialization.done) {
+                return;
+            }
+            initialization.timedOut = true;
+            // the thread might not react to the interruption, so it is replaced until the registration returns
+            resizePool(1);
+            releaseDependents(initialization);
+        }
+        logger.warn("Initialization of the handler for thing '{}' did not finish within {} ms and is interrupted.",
+                initialization.thing.getUID(), timeout);
+        setTimedOutStatus(initialization.thing);
+        if (initialization.future != null) {
+            initialization.future.cancel(true);
+        }
+    }
+
+    private synchronized boolean finished(Initialization initialization) {
+        if (initialization.done) {
+            return false;
+        }
+        initialization.done = true;
+
+        ThingUID thingUID = initialization.thing.getUID();
+        if (initializations.get(thingUID) == initialization) {
+            initializations.remove(thingUID);
+        }
+        if (initialization.timedOut) {
+            timedOutCount++;
+            resizePool(-1);
+        } else if (!initialization.cancelled) {
+            ThingStatusDetail statusDetail = initialization.thing.getStatusInfo().getStatusDetail();
+            if (statusDetail == ThingStatusDetail.HANDLER_INITIALIZING_ERROR) {
+                failedCount++;
+            } else {
+                initializedCount++;
+            }
+        }
+        releaseDependents(initialization);
+
+        if (initializations.isEmpty()) {
+            duration = System.currentTimeMillis() - startTime;
+            logger.info("Initialized {} thing handlers in {} ms ({} failed, {} timed out).", initializedCount,
+                    duration, failedCount, timedOutCount);
+            return true;
+        }
+        return false;
+    }
+
+    private void notifyListener(Initialization initialization, boolean ready) {
+        if (listener == null) {
+            return;
+        }
+        Thing update;
+        int initialized, failed, timedOut;
+        long duration;
+        synchronized (this) {
+            update = initialization.update;
+            initialization.update = null;
+            initialized = this.initializedCount;
+            failed = this.failedCount;
+            timedOut = this.timedOutCount;
+            duration = this.duration;
+        }
+        try {
+            if (update != null) {
+                listener.updatedWhileInitializing(update);
+            }
+            if (ready) {
+                listener.initialized(initialized, failed, timedOut, duration);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Exception occured while notifying the initialization listener: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void releaseDependents(Initialization initialization) {
+        for (Initialization dependent : initialization.dependents) {
+            dependent.waiting = false;
+            if (!dependent.done) {
+                submit(dependent);
+            }
+        }
+        initialization.dependents.clear();
+    }
+
+    private void resizePool(int delta) {
+        // the maximum pool size must not be lower than the core pool size
+        if (delta > 0) {
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+        } else {
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void setTimedOutStatus(Thing thing) {
+        ThingStatus status = thing.getStatusInfo().getStatus();
+        if (status == ThingStatus.UNINITIALIZED || status == ThingStatus.INITIALIZING) {
+            thing.setStatusInfo(ThingStatusInfoBuilder
+                    .create(ThingStatus.UNINITIALIZED, ThingStatusDetail.HANDLER_INITIALIZING_ERROR)
+                    .withDescription("Handler initialization timed out after " + timeout + " ms.").build());
+        }
+    }
+
+    /**
+     * The {@link Listener} is notified by the initializer. It is called by the initializing threads, after a handler
+     * has been registered.
+     */
+    interface Listener {
+
+        /**
+         * Called with the latest thing, which has been queued while its handler was initialized.
+         *
+         * @param thing the updated thing
+         */
+        void updatedWhileInitializing(Thing thing);
+
+        /**
+         * Called whenever all pending initializations are done.
+         *
+         * @param initialized the number of initialized handlers
+         * @param failed the number of handlers, which failed to initialize
+         * @param timedOut the number of handlers, whose initialization timed out
+         * @param duration the time in milliseconds it took to initialize the handlers
+         */
+        void initialized(int initialized, int failed, int timedOut, long duration);
+
+    }
+
+    /**
+     * The {@link Initialization} is the task, which registers the handler of a thing.
+     */
+    private class Initialization implements Runnable {
+
+        private final Thing thing;
+        private final Runnable registration;
+        private final List<Initialization> dependents = new ArrayList<>();
+
+        // the state is guarded by the enclosing initializer
+        private volatile Future<?> future;
+        private boolean started;
+        private boolean waiting;
+        private boolean cancelled;
+        private boolean done;
+        private volatile boolean timedOut;
+        private Thing update;
+
+        private Initialization(Thing thing, Runnable registration) {
+            this.thing = thing;
+            this.registration = registration;
+        }
+
+        @Override
+        public void run() {
+            if (!start(this)) {
+                return;
+            }
+            ScheduledFuture<?> timeoutTask = watchdog.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    timeout(Initialization.this);
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+            try {
+                logger.debug("Initializing the handler for thing '{}'.", thing.getUID());
+                registration.run();
+            } catch (RuntimeException ex) {
+                logger.error("Exception occured while initializing the handler for thing '" + thing.getUID() + "': "
+                        + ex.getMessage(), ex);
+            } finally {
+                timeoutTask.cancel(false);
+                if (timedOut) {
+                    // the registration might have overwritten the status when it was interrupted
+                    setTimedOutStatus(thing);
+                }
+                notifyListener(this, finished(this));
+            }
+        }
+
+    }
+
+}
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +41,8 @@ import org.eclipse.smarthome.core.types.State;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.util.tracker.ServiceTracker;
 import org.slf4j.Logger;
@@ -52,6 +56,11 @@ import org.slf4j.LoggerFactory;
  * added to the {@link ThingRegistry}. In addition the {@link ThingManager} acts
  * as an {@link EventHandler} and subscribes to smarthome update and command
  * events.
+ * <p>
+ * The handlers are registered in the background by the {@link ThingHandlerInitializer}, the things are
+ * {@link ThingStatus#INITIALIZING} until their handler has been initialized. A thing, which is updated in the
+ * meantime, is passed to its handler after the initialization. Whenever all pending handlers have been initialized, an
+ * event with the topic {@value #THING_HANDLERS_INITIALIZED_TOPIC} is posted.
  *
  * @author Dennis Nobel - Initial contribution
  * @author Michael Grammling - Added dynamic configuration update
@@ -59,6 +68,13 @@ import org.slf4j.LoggerFactory;
  */
 public class ThingManager extends AbstractEventSubscriber implements ThingTracker {
 
+    /**
+     * The topic of the event, which is posted whenever all pending thing handlers have been initialized. The event
+     * contains the number of initialized, failed and timed out handlers and the duration in milliseconds as the
+     * properties "initialized", "failed", "timedOut" and "duration".
+     */
+    public static final String THING_HANDLERS_INITIALIZED_TOPIC = "smarthome/things/handlers/initialized";
+
     private final class ThingHandlerTracker extends ServiceTracker<ThingHandler, ThingHandler> {
 
         public ThingHandlerTracker(BundleContext context) {
@@ -107,6 +123,8 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     private EventPublisher eventPublisher;
 
+    private volatile EventAdmin eventAdmin;
+
     private ItemChannelLinkRegistry itemChannelLinkRegistry;
 
     private ItemThingLinkRegistry itemThingLinkRegistry;
@@ -175,8 +193,9 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     private ThingLinkManager thingLinkManager;
 
-    private Set<ThingUID> registerHandlerLock = new HashSet<>();
-    private Set<ThingUID> thingUpdatedLock = new HashSet<>();
+    private ThingHandlerInitializer thingHandlerInitializer;
+
+    private Set<ThingUID> thingUpdatedLock = Collections.newSetFromMap(new ConcurrentHashMap<ThingUID, Boolean>());
 
     /**
      * Method is called when a {@link ThingHandler} is added.
@@ -287,6 +306,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     @Override
     public void thingRemoved(Thing thing, ThingTrackerEvent thingTrackerEvent) {
+        this.thingHandlerInitializer.cancel(thing.getUID());
         this.thingLinkManager.thingRemoved(thing);
         if (thingTrackerEvent == ThingTrackerEvent.THING_REMOVED) {
             ThingUID thingId = thing.getUID();
@@ -331,6 +351,8 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
             } catch (Exception ex) {
                 logger.error("Cannot send Thing updated event to ThingHandler '" + thingHandler + "'!", ex);
             }
+        } else if (!thingUpdatedLock.contains(thingUID) && thingHandlerInitializer.queueUpdate(thing)) {
+            logger.debug("Thing '{}' will be passed to its handler after the initialization.", thingUID);
         } else {
             registerHandler(thing);
         }
@@ -341,19 +363,12 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     }
 
     private void registerHandler(Thing thing) {
-        ThingUID thingUID = thing.getUID();
-
-        // this check is needed to prevent infinite loops while a handler is initialized
-        if (!registerHandlerLock.contains(thingUID)) {
-            registerHandlerLock.add(thingUID);
-            ThingHandlerFactory thingHandlerFactory = findThingHandlerFactory(thing);
-            if (thingHandlerFactory != null) {
-                registerHandler(thing, thingHandlerFactory);
-            } else {
-                logger.debug("Not registering a handler at this point since no handler factory for thing '{}' found.",
-                        thingUID);
-            }
-            registerHandlerLock.remove(thingUID);
+        ThingHandlerFactory thingHandlerFactory = findThingHandlerFactory(thing);
+        if (thingHandlerFactory != null) {
+            registerHandler(thing, thingHandlerFactory);
+        } else {
+            logger.debug("Not registering a handler at this point since no handler factory for thing '{}' found.",
+                    thing.getUID());
         }
     }
 
@@ -376,11 +391,26 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         return null;
     }
 
-    private void registerHandler(Thing thing, ThingHandlerFactory thingHandlerFactory) {
-        logger.debug("Creating handler for thing '{}'.", thing.getUID());
+    private void registerHandler(final Thing thing, final ThingHandlerFactory thingHandlerFactory) {
+        // a pending initialization must not be triggered again, e.g. by a thing update from the initializing handler
+        if (thingHandlerInitializer.isPending(thing.getUID())) {
+            logger.debug("Handler for thing '{}' is already being initialized.", thing.getUID());
+            return;
+        }
+        ThingStatusInfo statusInfo = buildStatusInfo(ThingStatus.INITIALIZING, ThingStatusDetail.NONE);
+        thing.setStatusInfo(statusInfo);
+        thingHandlerInitializer.initialize(thing, new Runnable() {
+            @Override
+            public void run() {
+                doRegisterHandler(thing, thingHandlerFactory);
+            }
+        });
+    }
+
+    private void doRegisterHandler(Thing thing, ThingHandlerFactory thingHandlerFactory) {
+        ThingUID thingUID = thing.getUID();
+        logger.debug("Creating handler for thing '{}'.", thingUID);
         try {
-            ThingStatusInfo statusInfo = buildStatusInfo(ThingStatus.INITIALIZING, ThingStatusDetail.NONE);
-            thing.setStatusInfo(statusInfo);
             thingHandlerFactory.registerHandler(thing, this.thingHandlerCallback);
         } catch (Exception ex) {
             ThingStatusInfo statusInfo = buildStatusInfo(ThingStatus.UNINITIALIZED,
@@ -388,8 +418,37 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
             thing.setStatusInfo(statusInfo);
             logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
         }
+        if (getThing(thingUID) == null && thingHandlers.containsKey(thingUID)) {
+            logger.debug("Thing '{}' has been removed while its handler was initialized.", thingUID);
+            unregisterHandler(thing, thingHandlerFactory);
+            thingHandlerFactory.removeThing(thingUID);
+        }
     }
 
+    private final ThingHandlerInitializer.Listener initializerListener = new ThingHandlerInitializer.Listener() {
+
+        @Override
+        public void updatedWhileInitializing(Thing thing) {
+            // the thing might have been removed or updated again in the meantime
+            if (getThing(thing.getUID()) == thing) {
+                thingUpdated(thing, ThingTrackerEvent.THING_UPDATED);
+            }
+        }
+
+        @Override
+        public void initialized(int initialized, int failed, int timedOut, long duration) {
+            EventAdmin eventAdmin = ThingManager.this.eventAdmin;
+            if (eventAdmin != null) {
+                Dictionary<String, Object> properties = new Hashtable<String, Object>(4);
+                properties.put("initialized", initialized);
+                properties.put("failed", failed);
+                properties.put("timedOut", timedOut);
+                properties.put("duration", duration);
+                eventAdmin.postEvent(new Event(THING_HANDLERS_INITIALIZED_TOPIC, properties));
+            }
+        }
+    };
+
     private void unregisterHandler(Thing thing, ThingHandlerFactory thingHandlerFactory) {
         logger.debug("Removing handler for thing '{}'.", thing.getUID());
         try {
@@ -403,6 +462,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         this.thingLinkManager = new ThingLinkManager(itemRegistry, thingRegistry, itemChannelLinkRegistry,
                 itemThingLinkRegistry);
         this.thingLinkManager.startListening();
+        this.thingHandlerInitializer = new ThingHandlerInitializer(initializerListener);
         this.thingRegistry.addThingTracker(this);
         this.bundleContext = componentContext.getBundleContext();
         this.thingHandlerTracker = new ThingHandlerTracker(this.bundleContext);
@@ -429,6 +489,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     }
 
     protected void deactivate(ComponentContext componentContext) {
+        this.thingHandlerInitializer.dispose();
         this.thingHandlerTracker.close();
         this.thingRegistry.removeThingTracker(this);
         this.thingLinkManager.stopListening();
@@ -444,6 +505,14 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         this.eventPublisher = eventPublisher;
     }
 
+    protected void setEventAdmin(EventAdmin eventAdmin) {
+        this.eventAdmin = eventAdmin;
+    }
+
+    protected void unsetEventAdmin(EventAdmin eventAdmin) {
+        this.eventAdmin = null;
+    }
+
     protected void setItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
         this.itemChannelLinkRegistry = itemChannelLinkRegistry;
     }
@@ -9,6 +9,7 @@ package org.eclipse.smarthome.core.thing.link;
 
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.UID;
 
 /**
  * {@link ItemChannelLink} defines a link between an {@link Item} and a {@link Channel}.
@@ -31,7 +32,8 @@ public class ItemChannelLink extends AbstractLink {
 
     public ItemChannelLink(String itemName, ChannelUID channelUID) {
         super(itemName);
-        this.channelUID = channelUID;
+        // share the instance with the channel, so that lookups by channel UID mostly compare by identity
+        this.channelUID = channelUID != null ? UID.intern(channelUID) : null;
     }
 
     @Override
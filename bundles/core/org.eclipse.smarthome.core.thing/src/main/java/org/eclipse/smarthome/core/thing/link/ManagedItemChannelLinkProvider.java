@@ -37,6 +37,12 @@ public class ManagedItemChannelLinkProvider extends DefaultAbstractManagedProvid
         return element.getID();
     }
 
+    @Override
+    protected boolean isCacheable() {
+        // links cannot be modified, so the stored links can be handed out
+        return true;
+    }
+
     public void removeLinksForThing(ThingUID thingUID) {
         Collection<ItemChannelLink> itemChannelLinks = getAll();
         for (ItemChannelLink itemChannelLink : itemChannelLinks) {
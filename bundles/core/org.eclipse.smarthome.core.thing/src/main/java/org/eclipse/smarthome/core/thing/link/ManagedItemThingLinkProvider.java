@@ -24,6 +24,12 @@ public class ManagedItemThingLinkProvider extends DefaultAbstractManagedProvider
         return element.getID();
     }
 
+    @Override
+    protected boolean isCacheable() {
+        // links cannot be modified, so the stored links can be handed out
+        return true;
+    }
+
     @Override
     protected String getStorageName() {
         return ItemThingLink.class.getName();
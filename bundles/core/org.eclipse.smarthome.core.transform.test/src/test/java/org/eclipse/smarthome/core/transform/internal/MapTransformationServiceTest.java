@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.transform.internal;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import junit.framework.Assert;
+
+import org.eclipse.smarthome.core.transform.internal.service.MapTransformationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class MapTransformationServiceTest {
+
+    // the events are debounced and the watch service may poll the file system
+    private static final long TIMEOUT = 15000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File transformFolder;
+
+    private MapTransformationService processor;
+
+    @Before
+    public void init() {
+        transformFolder = new File(folder.getRoot(), "transform");
+        processor = new MapTransformationService() {
+            @Override
+            protected String getSourcePath() {
+                return transformFolder.getAbsolutePath();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        processor.deactivate();
+    }
+
+    @Test
+    public void testTransformByMap() throws Exception {
+        transformFolder.mkdirs();
+        writeMapping("ON=an");
+        processor.activate();
+
+        Assert.assertEquals("an", processor.transform("test.map", "ON"));
+        Assert.assertEquals("", processor.transform("test.map", "OFF"));
+    }
+
+    @Test
+    public void testChangedFileIsReadAgainIfTheFolderIsCreatedAfterTheActivation() throws Exception {
+        // the folder does not exist yet and cannot be watched
+        processor.activate();
+
+        transformFolder.mkdirs();
+        writeMapping("ON=an");
+        Assert.assertEquals("an", processor.transform("test.map", "ON"));
+
+        writeMapping("ON=ein");
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (!"ein".equals(processor.transform("test.map", "ON")) && System.currentTimeMillis() < end) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals("ein", processor.transform("test.map", "ON"));
+    }
+
+    private void writeMapping(String mapping) throws IOException {
+        try (Writer writer = new FileWriter(new File(transformFolder, "test.map"))) {
+            writer.write(mapping);
+        }
+    }
+
+}
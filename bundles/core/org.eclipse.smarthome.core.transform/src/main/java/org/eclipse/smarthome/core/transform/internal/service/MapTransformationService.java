@@ -7,56 +7,45 @@
  */
 package org.eclipse.smarthome.core.transform.internal.service;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
+import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchService;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.service.AbstractWatchQueueReader;
+import org.eclipse.smarthome.core.service.AbstractWatchService;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.transform.internal.TransformationActivator;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * <p>
- * The implementation of {@link TransformationService} which simply maps strings to other strings
+ * The implementation of {@link TransformationService} which simply maps strings to other strings. The mapping files
+ * are cached and removed from the cache as soon as they are changed in the transformation folder.
  * </p>
  *
  * @author Kai Kreuzer - Initial contribution and API
  */
-public class MapTransformationService implements TransformationService {
-
-    private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
-
-    protected WatchService watchService = null;
+public class MapTransformationService extends AbstractWatchService implements TransformationService {
 
     protected final Map<String, Properties> cachedProperties = new ConcurrentHashMap<>();
 
-    protected void deactivate() {
+    @Override
+    public synchronized void deactivate() {
+        super.deactivate();
         cachedProperties.clear();
-        if (watchService != null) {
-            try {
-                watchService.close();
-            } catch (IOException e) {
-                logger.debug("Cannot cancel watch service for folder '{}'", getSourcePath());
-            }
-            watchService = null;
-        }
     }
 
     /**
@@ -83,15 +72,9 @@ public class MapTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        if (watchService == null) {
-            try {
-                initializeWatchService();
-            } catch (IOException e) {
-                // we cannot watch the folder, so let's at least clear the cache
-                cachedProperties.clear();
-            }
-        } else {
-            processFolderEvents();
+        if (!isWatching()) {
+            // we cannot watch the folder, so let's at least clear the cache
+            cachedProperties.clear();
         }
         Properties properties = cachedProperties.get(filename);
         if (properties == null) {
@@ -116,33 +99,43 @@ public class MapTransformationService implements TransformationService {
         }
     }
 
-    private void processFolderEvents() {
-        WatchKey key = watchService.poll();
-        if (key != null) {
-            for (WatchEvent<?> e : key.pollEvents()) {
-                if (e.kind() == OVERFLOW) {
-                    continue;
-                }
-
-                // Context for directory entry event is the file name of entry
-                @SuppressWarnings("unchecked")
-                WatchEvent<Path> ev = (WatchEvent<Path>) e;
-                Path path = ev.context();
-                logger.debug("Refreshing transformation file '{}'", path);
-                cachedProperties.remove(path.getFileName().toString());
-            }
-            key.reset();
+    /**
+     * Checks whether the transformation folder is watched. If the folder did not exist, when the service was activated,
+     * it is tried to watch it again.
+     *
+     * @return true if the folder is watched, false otherwise
+     */
+    private synchronized boolean isWatching() {
+        if (watchQueueReader == null && new File(getSourcePath()).isDirectory()) {
+            initializeWatchService();
         }
+        return watchQueueReader != null;
     }
 
-    private void initializeWatchService() throws IOException {
-        watchService = FileSystems.getDefault().newWatchService();
-        Path transformFilePath = Paths.get(getSourcePath());
-        transformFilePath.register(watchService, ENTRY_DELETE, ENTRY_MODIFY);
-    }
-
+    @Override
     protected String getSourcePath() {
         return ConfigConstants.getConfigFolder() + File.separator + TransformationActivator.TRANSFORM_FOLDER_NAME;
     }
 
+    @Override
+    protected boolean watchSubDirectories() {
+        return false;
+    }
+
+    @Override
+    protected void registerDirectory(Path subDir) throws IOException {
+        subDir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+    }
+
+    @Override
+    protected AbstractWatchQueueReader buildWatchQueueReader(WatchService watchService, Path toWatch) {
+        return new AbstractWatchQueueReader(watchService, toWatch) {
+            @Override
+            protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
+                logger.debug("Refreshing transformation file '{}'", path);
+                cachedProperties.remove(path.getFileName().toString());
+            }
+        };
+    }
+
 }
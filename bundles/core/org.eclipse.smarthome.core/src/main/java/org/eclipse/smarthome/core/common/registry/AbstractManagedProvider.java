@@ -8,15 +8,14 @@
 package org.eclipse.smarthome.core.common.registry;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.storage.StorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Function;
-import com.google.common.base.Predicates;
-import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 
 /**
@@ -30,6 +29,15 @@ import com.google.common.collect.ImmutableList;
  * {@link DefaultAbstractManagedProvider} can be used as base class.
  * </p>
  *
+ * <p>
+ * The persistable elements are kept in memory as write-through cache of the storage. The cache is filled from the
+ * storage on the first read access, afterwards elements are only read from the storage when they are updated or
+ * removed, so that the elements are not deserialized over and over again. Since the cached persistable elements are
+ * converted into new elements on each read, callers cannot modify the cache. If the persistable element is the element
+ * itself (see {@link #isCacheable()}), the elements are read from the storage on each access instead. The elements are
+ * returned in the order of the keys of the storage.
+ * </p>
+ *
  * @author Dennis Nobel - Initial contribution
  *
  * @param <E>
@@ -42,6 +50,9 @@ import com.google.common.collect.ImmutableList;
 public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider<E> implements ManagedProvider<E, K> {
 
     private Storage<PE> storage;
+
+    private volatile Map<String, PE> persistableElements;
+
     protected final Logger logger = LoggerFactory.getLogger(AbstractManagedProvider.class);
 
     @Override
@@ -52,34 +63,34 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         }
 
         String keyAsString = getKeyAsString(element);
-        if (storage.get(keyAsString) != null) {
+        Map<String, PE> persistableElements = getPersistableElements();
+        if (persistableElements.containsKey(keyAsString)) {
             throw new IllegalArgumentException("Cannot add element, because an element with same UID (" + keyAsString
                     + ") already exists.");
         }
 
-        storage.put(keyAsString, toPersistableElement(element));
+        PE persistableElement = toPersistableElement(element);
+        storage.put(keyAsString, persistableElement);
+        persistableElements.put(keyAsString, persistableElement);
         notifyListenersAboutAddedElement(element);
         logger.debug("Added new element to {}.", this.getClass().getSimpleName());
     }
 
     @Override
     public Collection<E> getAll() {
-        final Function<String, E> toElementList = new Function<String, E>() {
-            @Override
-            public E apply(String elementKey) {
-                PE persistableElement = storage.get(elementKey);
-                if (persistableElement != null) {
-                    return toElement(elementKey, persistableElement);
-                } else {
-                    return null;
+        Map<String, PE> persistableElements = getPersistableElements();
+        ImmutableList.Builder<E> elements = ImmutableList.builder();
+        // the keys are taken from the storage, so that the order of the elements does not depend on the cache
+        for (String key : storage.getKeys()) {
+            PE persistableElement = getPersistableElement(key, persistableElements);
+            if (persistableElement != null) {
+                E element = toElement(key, persistableElement);
+                if (element != null) {
+                    elements.add(element);
                 }
             }
-        };
-
-        Collection<String> keys = storage.getKeys();
-        Collection<E> elements = Collections2.filter(Collections2.transform(keys, toElementList), Predicates.notNull());
-
-        return ImmutableList.copyOf(elements);
+        }
+        return elements.build();
     }
 
     @Override
@@ -91,7 +102,7 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
 
         String keyAsString = keyToString(key);
 
-        PE persistableElement = storage.get(keyAsString);
+        PE persistableElement = getPersistableElement(keyAsString, getPersistableElements());
         if (persistableElement != null) {
             return toElement(keyAsString, persistableElement);
         } else {
@@ -107,6 +118,7 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         }
 
         String keyAsString = keyToString(key);
+        getPersistableElements().remove(keyAsString);
         PE persistableElement = storage.remove(keyAsString);
         if (persistableElement != null) {
             E element = toElement(keyAsString, persistableElement);
@@ -128,8 +140,12 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         }
 
         String key = getKeyAsString(element);
-        if (storage.get(key) != null) {
-            PE persistableElement = storage.put(key, toPersistableElement(element));
+        Map<String, PE> persistableElements = getPersistableElements();
+        if (persistableElements.containsKey(key)) {
+            PE newPersistableElement = toPersistableElement(element);
+            // the old element is read from the storage, since the cached one might have been modified
+            PE persistableElement = storage.put(key, newPersistableElement);
+            persistableElements.put(key, newPersistableElement);
             E oldElement = toElement(key, persistableElement);
             notifyListenersAboutUpdatedElement(oldElement, element);
             logger.debug("Updated element in {}.", this.getClass().getSimpleName());
@@ -142,6 +158,44 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         return null;
     }
 
+    private Map<String, PE> getPersistableElements() {
+        Map<String, PE> elements = persistableElements;
+        if (elements == null) {
+            synchronized (this) {
+                elements = persistableElements;
+                if (elements == null) {
+                    elements = new ConcurrentHashMap<>();
+                    for (String key : storage.getKeys()) {
+                        PE persistableElement = storage.get(key);
+                        if (persistableElement != null) {
+                            elements.put(key, persistableElement);
+                        }
+                    }
+                    persistableElements = elements;
+                }
+            }
+        }
+        return elements;
+    }
+
+    private PE getPersistableElement(String key, Map<String, PE> persistableElements) {
+        if (isCacheable()) {
+            return persistableElements.get(key);
+        }
+        return persistableElements.containsKey(key) ? storage.get(key) : null;
+    }
+
+    /**
+     * Returns whether the persistable elements may be kept in memory and converted into the elements on each read.
+     * This is only the case, if {@link #toElement(String, Object)} creates a new element, as otherwise callers could
+     * modify the cached elements.
+     *
+     * @return true, if the persistable elements are cached
+     */
+    protected boolean isCacheable() {
+        return true;
+    }
+
     private String getKeyAsString(E element) {
         return keyToString(getKey(element));
     }
@@ -173,6 +227,7 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
 
     protected void setStorageService(StorageService storageService) {
         this.storage = storageService.getStorage(getStorageName(), this.getClass().getClassLoader());
+        this.persistableElements = null;
     }
 
     /**
@@ -196,6 +251,7 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
 
     protected void unsetStorageService(StorageService storageService) {
         this.storage = null;
+        this.persistableElements = null;
     }
 
 }
@@ -7,9 +7,13 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.slf4j.Logger;
@@ -46,7 +50,9 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         if (elements != null) {
             try {
                 onAddElement(element);
-                elements.add(element);
+                if (!elements.contains(element)) {
+                    elements.add(element);
+                }
                 notifyListenersAboutAddedElement(element);
             } catch (Exception ex) {
                 logger.warn("Could not add element: " + ex.getMessage(), ex);
@@ -168,20 +174,19 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
     protected void addProvider(Provider<E> provider) {
         // only add this provider if it does not already exist
         if (!elementMap.containsKey(provider)) {
+            long startTime = System.currentTimeMillis();
             Collection<E> elementsOfProvider = provider.getAll();
-            Collection<E> elements = new CopyOnWriteArraySet<E>();
+            Collection<E> elements = new CopyOnWriteArrayList<E>();
             provider.addProviderChangeListener(this);
             elementMap.put(provider, elements);
-            for (E element : elementsOfProvider) {
-                try {
-                    onAddElement(element);
-                    elements.add(element);
-                    notifyListenersAboutAddedElement(element);
-                } catch (Exception ex) {
-                    logger.warn("Could not add element: " + ex.getMessage(), ex);
-                }
+            // the elements are added at once, so that they are wired before any listener is notified
+            Collection<E> addedElements = onAddElements(new LinkedHashSet<E>(elementsOfProvider));
+            elements.addAll(addedElements);
+            for (E element : addedElements) {
+                notifyListenersAboutAddedElement(element);
             }
-            logger.debug("Provider '{}' has been added.", provider.getClass().getName());
+            logger.debug("Provider '{}' with {} elements has been added in {}ms.", provider.getClass().getName(),
+                    addedElements.size(), System.currentTimeMillis() - startTime);
             if (provider instanceof ManagedProvider) {
                 this.managedProvider = (ManagedProvider<E, K>) provider;
             }
@@ -206,6 +211,28 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         // can be overridden by sub classes
     }
 
+    /**
+     * This method is called before the elements of a provider are added at once, e.g. when a provider is added. The
+     * default implementation calls {@link #onAddElement(Object)} for each element. The implementing class can override
+     * this method to initialize all elements in a single pass.
+     *
+     * @param elements
+     *            elements to be added
+     * @return the elements which are valid and should be added
+     */
+    protected Collection<E> onAddElements(Collection<E> elements) {
+        List<E> addedElements = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            try {
+                onAddElement(element);
+                addedElements.add(element);
+            } catch (Exception ex) {
+                logger.warn("Could not add element: " + ex.getMessage(), ex);
+            }
+        }
+        return addedElements;
+    }
+
     /**
      * This method is called before an element is removed. The implementing
      * class can override this method to perform specific logic.
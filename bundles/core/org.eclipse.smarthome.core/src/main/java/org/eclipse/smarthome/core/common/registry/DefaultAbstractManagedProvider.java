@@ -11,7 +11,8 @@ package org.eclipse.smarthome.core.common.registry;
  * {@link DefaultAbstractManagedProvider} is a specific {@link AbstractManagedProvider} implementation, where the stored
  * element is
  * the same as the element of the provider. So no transformation is needed.
- * Therefore only two generic parameters are needed instead of three.
+ * Therefore only two generic parameters are needed instead of three. As the stored elements are handed out to the
+ * callers, they are read from the storage on each access and not cached.
  *
  * @author Dennis Nobel - Initial contribution
  *
@@ -32,4 +33,9 @@ public abstract class DefaultAbstractManagedProvider<E, K> extends AbstractManag
         return element;
     }
 
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
 }
@@ -7,6 +7,7 @@
  */
 package org.eclipse.smarthome.core.internal;
 
+import org.eclipse.smarthome.core.service.SharedWatchService;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@ public class CoreActivator implements BundleActivator {
      */
     @Override
     public void stop(BundleContext bc) throws Exception {
+        SharedWatchService.getInstance().shutdown();
         context = null;
         logger.debug("Core bundle has been stopped.");
     }
@@ -8,25 +8,37 @@
 package org.eclipse.smarthome.core.internal.i18n;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.eclipse.smarthome.core.common.osgi.ResourceBundleClassLoader;
 import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link LanguageResourceBundleManager} class manages all available i18n resources for one
  * specific <i>OSGi</i> bundle. Any i18n resource is searched within the {@link RESOURCE_DIRECTORY} of the bundle and
  * <i>not</i> within the general bundle classpath. For the translation, the
- * i18n mechanism of Java ({@link ResourceBundle}) is used.
+ * i18n mechanism of Java ({@link ResourceBundle}) is followed.
  * <p>
- * This implementation uses the user defined {@link ResourceBundleClassLoader} to map the bundle resource files to usual
- * URLs which the Java {@link ResourceBundle} can handle.
+ * The resource files are read only once. For each requested locale, the translations of all resources are flattened
+ * into one immutable table, which already contains the texts of the fallback locales. A look-up therefore neither
+ * searches for resource files nor has to deal with missing keys. Since an instance of this class only lives as long as
+ * its bundle is resolved, the tables are rebuilt whenever the bundle changes.
  *
  * @author Michael Grammling - Initial Contribution
  */
@@ -38,10 +50,26 @@ public class LanguageResourceBundleManager {
     /** The file pattern to filter out resource files. */
     private static final String RESOURCE_FILE_PATTERN = "*.properties";
 
+    /** The file extension of resource files. */
+    private static final String RESOURCE_FILE_EXTENSION = ".properties";
+
+    /** The search order of the locales, see {@link #getTranslationTable(Locale)}. */
+    private static final Control CONTROL = Control.getNoFallbackControl(Control.FORMAT_PROPERTIES);
+
+    private final Logger logger = LoggerFactory.getLogger(LanguageResourceBundleManager.class);
+
     private Bundle bundle;
-    private ClassLoader resourceClassLoader;
     private List<String> resourceNames;
 
+    /** The resource files of the bundle by their bundle name, e.g. {@code resourceName_en}. */
+    private Map<String, URL> resourceFiles;
+
+    /** The loaded resource files by their bundle name, files which could not be read are contained as empty map. */
+    private final ConcurrentMap<String, Map<String, String>> resourceFileContents = new ConcurrentHashMap<>();
+
+    /** The flattened translations by locale and resource name. */
+    private final ConcurrentMap<Locale, Map<String, Map<String, String>>> translationTables = new ConcurrentHashMap<>();
+
     public LanguageResourceBundleManager(Bundle bundle) {
         if (bundle == null) {
             throw new IllegalArgumentException("The Bundle must not be null!");
@@ -49,8 +77,7 @@ public class LanguageResourceBundleManager {
 
         this.bundle = bundle;
 
-        this.resourceClassLoader = new ResourceBundleClassLoader(bundle, RESOURCE_DIRECTORY, RESOURCE_FILE_PATTERN);
-
+        this.resourceFiles = determineResourceFiles();
         this.resourceNames = determineResourceNames();
     }
 
@@ -59,10 +86,11 @@ public class LanguageResourceBundleManager {
     }
 
     /**
-     * Releases any cached resources which were managed by this class from the {@link ResourceBundle}.
+     * Releases any cached translations which were managed by this class.
      */
     public void clearCache() {
-        ResourceBundle.clearCache(this.resourceClassLoader);
+        this.translationTables.clear();
+        this.resourceFileContents.clear();
     }
 
     /**
@@ -91,25 +119,41 @@ public class LanguageResourceBundleManager {
         return (this.resourceNames.size() > 0);
     }
 
-    private List<String> determineResourceNames() {
-        List<String> resourceNames = new ArrayList<>();
+    private Map<String, URL> determineResourceFiles() {
+        Map<String, URL> resourceFiles = new LinkedHashMap<>();
 
-        Enumeration<URL> resourceFiles = this.bundle.findEntries(RESOURCE_DIRECTORY, RESOURCE_FILE_PATTERN, true);
+        Enumeration<URL> resourceURLs = this.bundle.findEntries(RESOURCE_DIRECTORY, RESOURCE_FILE_PATTERN, true);
 
-        if (resourceFiles != null) {
-            while (resourceFiles.hasMoreElements()) {
-                URL resourceURL = resourceFiles.nextElement();
+        if (resourceURLs != null) {
+            while (resourceURLs.hasMoreElements()) {
+                URL resourceURL = resourceURLs.nextElement();
                 String resourcePath = resourceURL.getFile();
                 File resourceFile = new File(resourcePath);
                 String resourceFileName = resourceFile.getName();
-                String baseName = resourceFileName.replaceFirst("[._]+.*", "");
+                String bundleName = resourceFileName.substring(0,
+                        resourceFileName.length() - RESOURCE_FILE_EXTENSION.length());
 
-                if (!resourceNames.contains(baseName)) {
-                    resourceNames.add(baseName);
+                // the first file with a given name wins, as it did for the class loader based look-up
+                if (!resourceFiles.containsKey(bundleName)) {
+                    resourceFiles.put(bundleName, resourceURL);
                 }
             }
         }
 
+        return resourceFiles;
+    }
+
+    private List<String> determineResourceNames() {
+        List<String> resourceNames = new ArrayList<>();
+
+        for (String bundleName : this.resourceFiles.keySet()) {
+            String baseName = bundleName.replaceFirst("[._]+.*", "");
+
+            if (!resourceNames.contains(baseName)) {
+                resourceNames.add(baseName);
+            }
+        }
+
         return resourceNames;
     }
 
@@ -134,11 +178,14 @@ public class LanguageResourceBundleManager {
                 locale = Locale.getDefault();
             }
 
+            Map<String, Map<String, String>> translationTable = getTranslationTable(locale);
+
             if (resource != null) {
-                return getTranslatedText(resource, key, locale);
+                Map<String, String> translations = translationTable.get(resource);
+                return (translations != null) ? translations.get(key) : null;
             } else {
                 for (String resourceName : this.resourceNames) {
-                    String text = getTranslatedText(resourceName, key, locale);
+                    String text = translationTable.get(resourceName).get(key);
 
                     if (text != null) {
                         return text;
@@ -166,26 +213,78 @@ public class LanguageResourceBundleManager {
         return getText(null, key, locale);
     }
 
-    private String getTranslatedText(String resourceName, String key, Locale locale) {
-        try {
-            // Modify the search order so that the following applies:
-            // 1.) baseName + "_" + language + "_" + country
-            // 2.) baseName + "_" + language
-            // 3.) baseName
-            // 4.) null -> leads to a default text
-            // Not using the default fallback strategy helps that not the default locale
-            // search order is applied between 2.) and 3.).
-            ResourceBundle resourceBundle = ResourceBundle.getBundle(resourceName, locale, this.resourceClassLoader,
-                    Control.getNoFallbackControl(Control.FORMAT_PROPERTIES));
-
-            if (resourceBundle != null) {
-                return resourceBundle.getString(key);
+    private Map<String, Map<String, String>> getTranslationTable(Locale locale) {
+        Map<String, Map<String, String>> translationTable = this.translationTables.get(locale);
+
+        if (translationTable == null) {
+            Map<String, Map<String, String>> newTranslationTable = new HashMap<>();
+            for (String resourceName : this.resourceNames) {
+                newTranslationTable.put(resourceName, flattenTranslations(resourceName, locale));
+            }
+            newTranslationTable = Collections.unmodifiableMap(newTranslationTable);
+
+            translationTable = this.translationTables.putIfAbsent(locale, newTranslationTable);
+            if (translationTable == null) {
+                translationTable = newTranslationTable;
+            }
+        }
+
+        return translationTable;
+    }
+
+    private Map<String, String> flattenTranslations(String resourceName, Locale locale) {
+        // The search order is the following:
+        // 1.) baseName + "_" + language + "_" + country
+        // 2.) baseName + "_" + language
+        // 3.) baseName
+        // 4.) null -> leads to a default text
+        // Not using the default fallback strategy helps that not the default locale
+        // search order is applied between 2.) and 3.).
+        // The candidates are ordered from the most specific to the root locale, so they are
+        // merged in reverse order to let the more specific translations win.
+        List<Locale> candidateLocales = CONTROL.getCandidateLocales(resourceName, locale);
+
+        Map<String, String> translations = new HashMap<>();
+        for (int i = candidateLocales.size() - 1; i >= 0; i--) {
+            String bundleName = CONTROL.toBundleName(resourceName, candidateLocales.get(i));
+            translations.putAll(getResourceFileContent(bundleName));
+        }
+
+        return Collections.unmodifiableMap(translations);
+    }
+
+    private Map<String, String> getResourceFileContent(String bundleName) {
+        Map<String, String> content = this.resourceFileContents.get(bundleName);
+
+        if (content == null) {
+            content = loadResourceFile(bundleName);
+            this.resourceFileContents.putIfAbsent(bundleName, content);
+        }
+
+        return content;
+    }
+
+    private Map<String, String> loadResourceFile(String bundleName) {
+        URL resourceURL = this.resourceFiles.get(bundleName);
+
+        if (resourceURL != null) {
+            Properties properties = new Properties();
+            try (InputStream inputStream = resourceURL.openStream()) {
+                properties.load(inputStream);
+            } catch (IOException ex) {
+                logger.warn("Cannot read the resource file '" + resourceURL + "': " + ex.getMessage());
+                return Collections.emptyMap();
+            }
+
+            Map<String, String> content = new HashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                content.put(key, properties.getProperty(key));
             }
-        } catch (Exception ex) {
-            // nothing to do
+
+            return content;
         }
 
-        return null;
+        return Collections.emptyMap();
     }
 
 }
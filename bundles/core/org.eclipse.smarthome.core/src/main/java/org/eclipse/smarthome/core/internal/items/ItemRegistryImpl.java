@@ -13,6 +13,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
@@ -52,9 +54,13 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
 
     protected StateDescriptionProvider stateDescriptionProvider;
 
+    /** the index of all registered items by their name */
+    private final ConcurrentMap<String, Item> itemsByName = new ConcurrentHashMap<>();
+
     @Override
     public void allItemsChanged(ItemProvider provider, Collection<String> oldItemNames) {
-    	
+        long startTime = System.currentTimeMillis();
+
     	Map<String, Item> oldItemsMap = new HashMap<>();
         Collection<Item> oldItems = elementMap.get(provider);
     	
@@ -77,14 +83,12 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
 
         List<Item> items = new CopyOnWriteArrayList<Item>();
         elementMap.put(provider, items);
-        for (Item item : provider.getAll()) {
-            try {
-                onAddElement(item);
-                items.add(item);
-            } catch (IllegalArgumentException ex) {
-                logger.warn("Could not add item: " + ex.getMessage(), ex);
+        if (oldItems != null) {
+            for (Item oldItem : oldItems) {
+                removeFromIndex(oldItem);
             }
         }
+        items.addAll(onAddElements(provider.getAll()));
 
     	for(Item item : items) {
             Item oldItem = oldItemsMap.get(item.getName());
@@ -106,6 +110,8 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
             }
     	}
 
+        logger.debug("All {} items of provider '{}' have been reloaded in {}ms.", items.size(),
+                provider.getClass().getName(), System.currentTimeMillis() - startTime);
     }
 
     /*
@@ -117,14 +123,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
      */
     @Override
     public Item getItem(String name) throws ItemNotFoundException {
-
-        for (Item item : getItems()) {
-            if (item.getName().equals(name)) {
-                return item;
-            }
+        Item item = name != null ? itemsByName.get(name) : null;
+        if (item == null) {
+            throw new ItemNotFoundException(name);
         }
-
-        throw new ItemNotFoundException(name);
+        return item;
     }
 
     @Override
@@ -231,6 +234,74 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
      * @throws IllegalArgumentException if the item has no valid name
      */
     private void initializeItem(Item item) throws IllegalArgumentException {
+        prepareItem(item);
+
+        if (item instanceof GroupItem) {
+            // fill group with its members
+            addMembersToGroupItem((GroupItem) item);
+        }
+
+        // add the item to all relevant groups
+        addToGroupItems(item, item.getGroupNames());
+
+        itemsByName.put(item.getName(), item);
+    }
+
+    /**
+     * Initializes all given items in a single pass. In contrast to {@link #initializeItem(Item)} the group members are
+     * not looked up by iterating over all items for each group, but the items are added to their groups by a lookup
+     * of the group names.
+     *
+     * @param items
+     *            the items to initialize
+     * @return the items which have been initialized, i.e. which have a valid name
+     */
+    private List<Item> initializeItems(Collection<Item> items) {
+        List<Item> initializedItems = new ArrayList<>(items.size());
+        for (Item item : items) {
+            try {
+                prepareItem(item);
+                initializedItems.add(item);
+            } catch (IllegalArgumentException ex) {
+                logger.warn("Could not add item: " + ex.getMessage(), ex);
+            }
+        }
+
+        // add the already registered items to the new groups
+        Map<String, GroupItem> newGroupItems = new HashMap<>();
+        for (Item item : initializedItems) {
+            if (item instanceof GroupItem) {
+                newGroupItems.put(item.getName(), (GroupItem) item);
+            }
+        }
+        if (!newGroupItems.isEmpty()) {
+            for (Item existingItem : itemsByName.values()) {
+                for (String groupName : existingItem.getGroupNames()) {
+                    GroupItem groupItem = newGroupItems.get(groupName);
+                    if (groupItem != null) {
+                        groupItem.addMember(existingItem);
+                    }
+                }
+            }
+        }
+
+        for (Item item : initializedItems) {
+            itemsByName.put(item.getName(), item);
+        }
+        for (Item item : initializedItems) {
+            addToGroupItems(item, item.getGroupNames());
+        }
+        return initializedItems;
+    }
+
+    /**
+     * Injects the services into the item and notifies its implementation that it has just been created.
+     *
+     * @param item
+     *            the item to prepare
+     * @throws IllegalArgumentException if the item has no valid name
+     */
+    private void prepareItem(Item item) throws IllegalArgumentException {
         if (isValidItemName(item.getName())) {
             if (item instanceof GenericItem) {
                 GenericItem genericItem = (GenericItem) item;
@@ -238,14 +309,6 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
                 genericItem.setStateDescriptionProvider(stateDescriptionProvider);
                 genericItem.initialize();
             }
-
-            if (item instanceof GroupItem) {
-                // fill group with its members
-                addMembersToGroupItem((GroupItem) item);
-            }
-
-            // add the item to all relevant groups
-            addToGroupItems(item, item.getGroupNames());
         } else {
             throw new IllegalArgumentException("Ignoring item '" + item.getName() + "' as it does not comply with"
                     + " the naming convention.");
@@ -278,13 +341,22 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
         initializeItem(element);
     }
 
+    @Override
+    protected Collection<Item> onAddElements(Collection<Item> elements) {
+        return initializeItems(elements);
+    }
+
     @Override
     protected void onRemoveElement(Item element) {
         removeFromGroupItems(element, element.getGroupNames());
+        removeFromIndex(element);
     }
 
     @Override
     protected void onUpdateElement(Item oldItem, Item item) {
+        prepareItem(item);
+        removeFromIndex(oldItem);
+        itemsByName.put(item.getName(), item);
         removeFromGroupItems(oldItem, oldItem.getGroupNames());
         addToGroupItems(item, item.getGroupNames());
         if (item instanceof GroupItem) {
@@ -292,6 +364,27 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
         }
     }
 
+    /**
+     * Removes the item from the index by name. If another provider provides an item with the same name, this item is
+     * indexed instead, so that it can still be found.
+     *
+     * @param item
+     *            the item to remove from the index
+     */
+    private void removeFromIndex(Item item) {
+        String name = item.getName();
+        if (itemsByName.remove(name, item)) {
+            for (Collection<Item> items : elementMap.values()) {
+                for (Item otherItem : items) {
+                    if (otherItem != item && name.equals(otherItem.getName())) {
+                        itemsByName.putIfAbsent(name, otherItem);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
     protected void setEventPublisher(EventPublisher eventPublisher) {
         this.eventPublisher = eventPublisher;
         for (Item item : getItems()) {
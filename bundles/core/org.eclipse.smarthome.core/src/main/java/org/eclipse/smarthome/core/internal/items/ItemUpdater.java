@@ -13,6 +13,7 @@ import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemUtil;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.slf4j.Logger;
@@ -53,25 +54,7 @@ public class ItemUpdater extends AbstractEventSubscriber {
         if (itemRegistry != null) {
             try {
                 GenericItem item = (GenericItem) itemRegistry.getItem(itemName);
-                boolean isAccepted = false;
-                if (item.getAcceptedDataTypes().contains(newStatus.getClass())) {
-                    isAccepted = true;
-                } else {
-                    // Look for class hierarchy
-                    for (Class<? extends State> state : item.getAcceptedDataTypes()) {
-                        try {
-                            if (!state.isEnum()
-                                    && state.newInstance().getClass().isAssignableFrom(newStatus.getClass())) {
-                                isAccepted = true;
-                                break;
-                            }
-                        } catch (InstantiationException e) {
-                            logger.warn("InstantiationException on {}", e.getMessage()); // Should never happen
-                        } catch (IllegalAccessException e) {
-                            logger.warn("IllegalAccessException on {}", e.getMessage()); // Should never happen
-                        }
-                    }
-                }
+                boolean isAccepted = ItemUtil.isAcceptedState(item, newStatus);
                 if (isAccepted) {
                     item.setState(newStatus);
                 } else {
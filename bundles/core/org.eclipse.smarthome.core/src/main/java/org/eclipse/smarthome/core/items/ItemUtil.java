@@ -7,6 +7,12 @@
  */
 package org.eclipse.smarthome.core.items;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.smarthome.core.types.State;
+
 /**
  * The {@link ItemUtil} class contains utility methods for {@link Item} objects.
  * <p>
@@ -16,6 +22,15 @@ package org.eclipse.smarthome.core.items;
  */
 public class ItemUtil {
 
+    // the decisions whether a state class is accepted by an item type, a ClassValue does not pin the classloaders of
+    // uninstalled bundles
+    private static final ClassValue<Map<Class<?>, Boolean>> acceptedStates = new ClassValue<Map<Class<?>, Boolean>>() {
+        @Override
+        protected Map<Class<?>, Boolean> computeValue(Class<?> itemClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * The constructor is private.
      * This class cannot be instantiated.
@@ -71,4 +86,50 @@ public class ItemUtil {
         }
     }
 
+    /**
+     * Returns {@code true} if the given state is accepted by the given item, i.e. if the class of the state or one of
+     * its super classes is an accepted data type of the item. Enumerations must be accepted explicitly.
+     * <p>
+     * The accepted data types of an item only depend on its type, so the decision is computed only once for each item
+     * type and state class. The accepted data types of a group item without a base item depend on its members, so they
+     * are checked on each call.
+     *
+     * @param item the item (must not be null)
+     * @param state the state to be checked (must not be null)
+     *
+     * @return true if the state is accepted, otherwise false
+     */
+    public static boolean isAcceptedState(Item item, State state) {
+        Item typedItem = item;
+        if (item instanceof GroupItem) {
+            typedItem = ((GroupItem) item).getBaseItem();
+            if (typedItem == null) {
+                return computeAcceptedState(item.getAcceptedDataTypes(), state.getClass());
+            }
+        }
+
+        Map<Class<?>, Boolean> decisions = acceptedStates.get(typedItem.getClass());
+        Class<? extends State> stateClass = state.getClass();
+        Boolean accepted = decisions.get(stateClass);
+        if (accepted == null) {
+            accepted = computeAcceptedState(typedItem.getAcceptedDataTypes(), stateClass);
+            decisions.put(stateClass, accepted);
+        }
+        return accepted;
+    }
+
+    private static boolean computeAcceptedState(List<Class<? extends State>> acceptedDataTypes,
+            Class<? extends State> stateClass) {
+        if (acceptedDataTypes.contains(stateClass)) {
+            return true;
+        }
+        // look for class hierarchy
+        for (Class<? extends State> acceptedDataType : acceptedDataTypes) {
+            if (!acceptedDataType.isEnum() && acceptedDataType.isAssignableFrom(stateClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -7,25 +7,21 @@
  */
 package org.eclipse.smarthome.core.service;
 
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
-
-import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.text.MessageFormat;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Base class for watch queue readers
+ * Base class for watch queue readers. The readers do not take the events from the watch service themselves, the
+ * {@link SharedWatchService} takes them and dispatches them to the readers, which are subscribed for the directory.
  *
  * @author Fabio Marini
  *
  */
-public abstract class AbstractWatchQueueReader implements Runnable {
+public abstract class AbstractWatchQueueReader {
 
     /**
      * Default logger for ESH Watch Services
@@ -60,51 +56,6 @@ public abstract class AbstractWatchQueueReader implements Runnable {
         this.dir = dir;
     }
 
-    /*
-     * (non-Javadoc)
-     * 
-     * @see org.eclipse.smarthome.core.service.IWatchService#activate()
-     */
-    @Override
-    public void run() {
-        try {
-            for (;;) {
-                WatchKey key = null;
-                try {
-                    key = watchService.take();
-                } catch (InterruptedException exc) {
-                    logger.warn(MessageFormat.format("Catched InterruptedException : {0}", exc.getLocalizedMessage()));
-
-                    return;
-                }
-
-                for (WatchEvent<?> event : key.pollEvents()) {
-                    WatchEvent.Kind<?> kind = event.kind();
-
-                    if (kind == OVERFLOW) {
-                        logger.warn(MessageFormat.format("Found event with overflow kind : {0}", event));
-
-                        continue;
-                    }
-
-                    // Context for directory entry event is the file name of
-                    // entry
-                    WatchEvent<Path> ev = cast(event);
-                    Path path = ev.context();
-
-                    processWatchEvent(event, kind, path);
-                }
-
-                key.reset();
-            }
-        } catch (ClosedWatchServiceException ecx) {
-            logger.debug("ClosedWatchServiceException catched! {}. \n{} Stopping ", ecx.getLocalizedMessage(), Thread
-                    .currentThread().getName());
-
-            return;
-        }
-    }
-
     /**
      * Processes the given watch event
      * 
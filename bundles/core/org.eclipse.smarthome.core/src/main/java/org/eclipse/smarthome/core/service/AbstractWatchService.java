@@ -8,7 +8,6 @@
 package org.eclipse.smarthome.core.service;
 
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -16,6 +15,8 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -25,7 +26,8 @@ import org.slf4j.LoggerFactory;
  * Base class for OSGI services that access to file system by Java WatchService. <br />
  * See the WatchService <a href=
  * "http://docs.oracle.com/javase/7/docs/api/java/nio/file/WatchService.html"
- * >java docs</a> for more details
+ * >java docs</a> for more details. All watch services share the single Java WatchService of the
+ * {@link SharedWatchService}, which debounces the events and dispatches them to the queue readers.
  *
  * @author Fabio Marini
  *
@@ -62,54 +64,62 @@ public abstract class AbstractWatchService {
     }
 
     protected void initializeWatchService() {
-        if (watchService != null) {
-            try {
-                watchService.close();
-            } catch (IOException e) {
-                logger.warn("Cannot deactivate folder watcher", e);
-            }
-        }
+        stopWatchService();
 
         String pathToWatch = getSourcePath();
         if (StringUtils.isNotBlank(pathToWatch)) {
             Path toWatch = Paths.get(pathToWatch);
             try {
-                if (watchSubDirectories()) {
-                    watchService = FileSystems.getDefault().newWatchService();
-
-                    Files.walkFileTree(toWatch, new SimpleFileVisitor<Path>() {
-                        @Override
-                        public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs)
-                                throws IOException {
-                            registerDirectory(subDir);
-                            return FileVisitResult.CONTINUE;
-                        }
-                    });
-                } else {
-                    watchService = toWatch.getFileSystem().newWatchService();
-                    registerDirectory(toWatch);
-                }
+                SharedWatchService sharedWatchService = SharedWatchService.getInstance();
+                watchService = sharedWatchService.getWatchService();
 
-                AbstractWatchQueueReader reader = buildWatchQueueReader(watchService, toWatch);
+                // the keys of the directories must not be cancelled until the reader is subscribed
+                synchronized (sharedWatchService) {
+                    List<Path> directories = registerDirectories(toWatch);
 
-                Thread qr = new Thread(reader, "Dir Watcher");
-                qr.start();
+                    watchQueueReader = buildWatchQueueReader(watchService, toWatch);
+                    sharedWatchService.subscribe(directories, watchQueueReader, watchSubDirectories() ? this : null);
+                }
             } catch (IOException e) {
                 logger.error("Cannot activate folder watcher for folder '{}': {}", toWatch, e.getMessage());
             }
         }
     }
 
+    /**
+     * Registers the given directory and, if sub directories are watched, all of its sub directories at the watch
+     * service. This is also called by the {@link SharedWatchService} for directories, which are created after the
+     * watch service has been initialized.
+     *
+     * @param directory the directory to register
+     * @return the registered directory and its sub directories
+     * @throws IOException if a directory cannot be registered
+     */
+    List<Path> registerDirectories(Path directory) throws IOException {
+        final List<Path> directories = new ArrayList<>();
+        if (watchSubDirectories()) {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) throws IOException {
+                    registerDirectory(subDir);
+                    directories.add(subDir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } else {
+            registerDirectory(directory);
+            directories.add(directory);
+        }
+        return directories;
+    }
+
     protected void stopWatchService() {
-    	if(watchService != null) {
-	    	try {
-	            watchService.close();
-	        } catch (IOException e) {
-	            logger.warn("Cannot deactivate folder watcher", e);
-	        }
-	
-	        watchService = null;
-    	}
+        if (watchQueueReader != null) {
+            // the watch service is shared and therefore not closed here
+            SharedWatchService.getInstance().unsubscribe(watchQueueReader);
+            watchQueueReader = null;
+        }
+        watchService = null;
     }
 
     /**
@@ -0,0 +1,529 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.service;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SharedWatchService} is the single Java {@link WatchService} of the system, which is shared by all
+ * {@link AbstractWatchService}s. The directories are registered at the shared watch service and the
+ * {@link AbstractWatchQueueReader}s are subscribed for the directories they are interested in.
+ * <p>
+ * Events are not dispatched immediately: all events of a file are coalesced until no further event has been received
+ * for the debounce window, which can be configured by the system property {@value #DEBOUNCE_PROPERTY} (in
+ * milliseconds). Like this a file that is saved by an editor, which produces several events, is processed only once.
+ * A created or modified file is not dispatched at all, if its content has not changed since it has been dispatched
+ * the last time. The events are dispatched one after another by a single dispatcher thread.
+ * <p>
+ * If a directory is created in a directory, which is watched by an {@link AbstractWatchService} with sub directories,
+ * the new directory is registered and the reader of the service is subscribed for it. The files, which have been
+ * created in the new directory before it has been registered, are dispatched as created. The watch key of a directory
+ * is cancelled as soon as no reader is subscribed for the directory anymore.
+ * <p>
+ * Directories must be registered at the {@link #getWatchService()} and subscribed while holding the lock of the shared
+ * watch service, so that the key of a directory is not cancelled in between.
+ *
+ * @author agent - Initial contribution
+ */
+public final class SharedWatchService {
+
+    /** the system property that contains the debounce window in milliseconds */
+    public static final String DEBOUNCE_PROPERTY = "smarthome.watch.debounce";
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    private static final int MAX_PENDING_EVENTS = 10000;
+
+    private static final SharedWatchService INSTANCE = new SharedWatchService();
+
+    private final Logger logger = LoggerFactory.getLogger(SharedWatchService.class);
+
+    private final long debounceMillis = Long.getLong(DEBOUNCE_PROPERTY, DEFAULT_DEBOUNCE_MILLIS);
+
+    // the readers which are subscribed for a directory
+    private final Map<Path, List<AbstractWatchQueueReader>> readers = new HashMap<>();
+
+    // the watch services, which watch the sub directories of the directories their reader is subscribed for
+    private final Map<AbstractWatchQueueReader, AbstractWatchService> subDirectoryServices = new HashMap<>();
+
+    // the events which have not been dispatched yet by the absolute path of the file, guarded by itself
+    private final Map<Path, PendingEvent> pendingEvents = new LinkedHashMap<>();
+
+    // the content hashes of the dispatched files
+    private final Map<Path, String> contentHashes = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+
+    private ScheduledExecutorService dispatcher;
+
+    private boolean flushScheduled = false;
+
+    private SharedWatchService() {
+    }
+
+    /**
+     * Returns the shared watch service.
+     *
+     * @return the shared watch service (not null)
+     */
+    public static SharedWatchService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the Java {@link WatchService}, at which the directories to watch must be registered. The watch service
+     * is opened on the first call.
+     *
+     * @return the Java watch service (not null)
+     * @throws IOException if the watch service cannot be opened
+     */
+    public synchronized WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            dispatcher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "Dir Watch Dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            Thread watchThread = new Thread(new WatchQueueTaker(watchService), "Dir Watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+        return watchService;
+    }
+
+    /**
+     * Subscribes the given reader for the events of the given directories. The directories must have been registered
+     * at the {@link #getWatchService()}.
+     *
+     * @param directories the directories
+     * @param reader the reader, whose {@link AbstractWatchQueueReader#processWatchEvent(WatchEvent, WatchEvent.Kind,
+     *            Path)} method is called for the events of the directories
+     */
+    public void subscribe(Collection<Path> directories, AbstractWatchQueueReader reader) {
+        subscribe(directories, reader, null);
+    }
+
+    /**
+     * Subscribes the given reader for the events of the given directories and of the directories, which are created
+     * in them later on.
+     *
+     * @param directories the directories
+     * @param reader the reader
+     * @param subDirectoryService the watch service, which registers the created directories, or null if they are not
+     *            watched
+     */
+    synchronized void subscribe(Collection<Path> directories, AbstractWatchQueueReader reader,
+            AbstractWatchService subDirectoryService) {
+        for (Path directory : directories) {
+            Path key = directory.toAbsolutePath();
+            List<AbstractWatchQueueReader> directoryReaders = readers.get(key);
+            if (directoryReaders == null) {
+                directoryReaders = new CopyOnWriteArrayList<>();
+                readers.put(key, directoryReaders);
+            }
+            if (!directoryReaders.contains(reader)) {
+                directoryReaders.add(reader);
+            }
+        }
+        if (subDirectoryService != null) {
+            subDirectoryServices.put(reader, subDirectoryService);
+        }
+    }
+
+    /**
+     * Removes all subscriptions of the given reader.
+     *
+     * @param reader the reader
+     */
+    public synchronized void unsubscribe(AbstractWatchQueueReader reader) {
+        subDirectoryServices.remove(reader);
+        Iterator<Entry<Path, List<AbstractWatchQueueReader>>> iterator = readers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<Path, List<AbstractWatchQueueReader>> entry = iterator.next();
+            List<AbstractWatchQueueReader> directoryReaders = entry.getValue();
+            directoryReaders.remove(reader);
+            if (directoryReaders.isEmpty()) {
+                iterator.remove();
+                cancel(entry.getKey());
+                removeContentHashes(entry.getKey(), false);
+            }
+        }
+    }
+
+    // must be called while holding the lock of the shared watch service
+    private void cancel(Path directory) {
+        if (watchService != null && Files.isDirectory(directory)) {
+            try {
+                // the key of a directory, which is already registered, is returned on a new registration
+                directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY).cancel();
+            } catch (IOException e) {
+                logger.debug("Cannot cancel the watch key of directory '{}': {}", directory, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes the content hashes of the files in the given directory.
+     *
+     * @param directory the directory
+     * @param recursive true, if the content hashes of the files in the sub directories are removed as well
+     */
+    private void removeContentHashes(Path directory, boolean recursive) {
+        Iterator<Path> iterator = contentHashes.keySet().iterator();
+        while (iterator.hasNext()) {
+            Path file = iterator.next();
+            if (recursive ? file.startsWith(directory) : directory.equals(file.getParent())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // the sub directories of a deleted directory cannot be watched anymore
+    private synchronized void removeDeletedDirectory(Path directory) {
+        Iterator<Path> iterator = readers.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().startsWith(directory)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes the Java watch service and stops the dispatcher. Pending events are dropped.
+     */
+    public synchronized void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close the watch service", e);
+            }
+            watchService = null;
+            dispatcher.shutdownNow();
+            dispatcher = null;
+        }
+        synchronized (pendingEvents) {
+            pendingEvents.clear();
+            flushScheduled = false;
+        }
+    }
+
+    private synchronized List<AbstractWatchQueueReader> getReaders(Path directory) {
+        return readers.get(directory);
+    }
+
+    private synchronized AbstractWatchService getSubDirectoryService(AbstractWatchQueueReader reader) {
+        return subDirectoryServices.get(reader);
+    }
+
+    private void addPendingEvent(Path directory, WatchEvent.Kind<Path> kind, Path context) {
+        Path file = directory.resolve(context);
+        synchronized (pendingEvents) {
+            PendingEvent pendingEvent = pendingEvents.get(file);
+            if (pendingEvent == null) {
+                if (pendingEvents.size() >= MAX_PENDING_EVENTS) {
+                    logger.warn("Too many pending file events, the event for '{}' is dropped.", file);
+                    return;
+                }
+                pendingEvent = new PendingEvent(directory, context, kind);
+                pendingEvents.put(file, pendingEvent);
+            } else {
+                pendingEvent.coalesce(kind);
+            }
+            pendingEvent.dueTime = System.currentTimeMillis() + debounceMillis;
+            if (!flushScheduled) {
+                scheduleFlush(debounceMillis);
+            }
+        }
+    }
+
+    // must be called while holding the lock of the pending events
+    private void scheduleFlush(long delay) {
+        ScheduledExecutorService currentDispatcher;
+        synchronized (this) {
+            currentDispatcher = dispatcher;
+        }
+        if (currentDispatcher != null) {
+            currentDispatcher.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            flushScheduled = true;
+        }
+    }
+
+    private void flush() {
+        List<PendingEvent> dueEvents = new ArrayList<>();
+        synchronized (pendingEvents) {
+            long now = System.currentTimeMillis();
+            long nextDueTime = Long.MAX_VALUE;
+            Iterator<PendingEvent> iterator = pendingEvents.values().iterator();
+            while (iterator.hasNext()) {
+                PendingEvent pendingEvent = iterator.next();
+                if (pendingEvent.dueTime <= now) {
+                    dueEvents.add(pendingEvent);
+                    iterator.remove();
+                } else {
+                    nextDueTime = Math.min(nextDueTime, pendingEvent.dueTime);
+                }
+            }
+            flushScheduled = false;
+            if (nextDueTime != Long.MAX_VALUE) {
+                scheduleFlush(nextDueTime - now);
+            }
+        }
+
+        for (PendingEvent pendingEvent : dueEvents) {
+            dispatch(pendingEvent);
+        }
+    }
+
+    private void dispatch(PendingEvent pendingEvent) {
+        WatchEvent.Kind<Path> kind = pendingEvent.getKind();
+        Path file = pendingEvent.directory.resolve(pendingEvent.context);
+        if (kind == ENTRY_DELETE) {
+            // the deleted file might have been a directory
+            removeContentHashes(file, true);
+            removeDeletedDirectory(file);
+        }
+
+        List<AbstractWatchQueueReader> directoryReaders = getReaders(pendingEvent.directory);
+        if (directoryReaders == null || directoryReaders.isEmpty()) {
+            return;
+        }
+
+        if (kind == ENTRY_CREATE && Files.isDirectory(file)) {
+            for (AbstractWatchQueueReader reader : directoryReaders) {
+                AbstractWatchService subDirectoryService = getSubDirectoryService(reader);
+                if (subDirectoryService != null) {
+                    watchSubDirectory(file, reader, subDirectoryService);
+                }
+            }
+        } else if (kind != ENTRY_DELETE && Files.isRegularFile(file)) {
+            String contentHash = getContentHash(file);
+            if (contentHash != null && contentHash.equals(contentHashes.get(file))) {
+                logger.debug("Content of file '{}' has not changed, the event is skipped.", file);
+                return;
+            }
+            contentHashes.put(file, contentHash);
+        }
+
+        WatchEvent<Path> event = new CoalescedWatchEvent(kind, pendingEvent.context, pendingEvent.count);
+        for (AbstractWatchQueueReader reader : directoryReaders) {
+            try {
+                reader.processWatchEvent(event, kind, pendingEvent.context);
+            } catch (Exception e) {
+                logger.error("Error while processing the event for file '{}': {}", file, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void watchSubDirectory(Path directory, AbstractWatchQueueReader reader,
+            AbstractWatchService subDirectoryService) {
+        try {
+            List<Path> directories;
+            synchronized (this) {
+                if (!subDirectoryServices.containsKey(reader)) {
+                    // the reader has been unsubscribed in the meantime
+                    return;
+                }
+                directories = subDirectoryService.registerDirectories(directory);
+                subscribe(directories, reader, subDirectoryService);
+            }
+
+            // the events of these files have been missed, as the directories were not registered yet
+            for (Path subDirectory : directories) {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(subDirectory)) {
+                    for (Path entry : entries) {
+                        if (Files.isRegularFile(entry)) {
+                            addPendingEvent(subDirectory.toAbsolutePath(), ENTRY_CREATE, entry.getFileName());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot watch the created directory '{}': {}", directory, e.getMessage());
+        }
+    }
+
+    private String getContentHash(Path file) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file));
+            return Arrays.toString(digest);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.debug("Cannot compute the content hash of file '{}': {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The {@link WatchQueueTaker} takes the keys from the Java watch service and adds their events to the pending
+     * events.
+     */
+    private class WatchQueueTaker implements Runnable {
+
+        private final WatchService watchService;
+
+        private WatchQueueTaker(WatchService watchService) {
+            this.watchService = watchService;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (;;) {
+                    WatchKey key;
+                    try {
+                        key = watchService.take();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    Path directory = ((Path) key.watchable()).toAbsolutePath();
+                    if (getReaders(directory) == null) {
+                        // nobody is interested in this directory anymore
+                        key.cancel();
+                        continue;
+                    }
+
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            logger.warn("Found event with overflow kind: {}", event);
+                            continue;
+                        }
+                        WatchEvent<Path> pathEvent = AbstractWatchQueueReader.cast(event);
+                        addPendingEvent(directory, pathEvent.kind(), pathEvent.context());
+                    }
+
+                    key.reset();
+                }
+            } catch (ClosedWatchServiceException e) {
+                logger.debug("The watch service has been closed, stopping '{}'.", Thread.currentThread().getName());
+            }
+        }
+
+    }
+
+    /**
+     * The {@link PendingEvent} holds the coalesced events of a file during the debounce window.
+     */
+    private static class PendingEvent {
+
+        private final Path directory;
+        private final Path context;
+        private final WatchEvent.Kind<Path> firstKind;
+        private WatchEvent.Kind<Path> lastKind;
+        private int count = 1;
+        private long dueTime;
+
+        private PendingEvent(Path directory, Path context, WatchEvent.Kind<Path> kind) {
+            this.directory = directory;
+            this.context = context;
+            this.firstKind = kind;
+            this.lastKind = kind;
+        }
+
+        private void coalesce(WatchEvent.Kind<Path> kind) {
+            lastKind = kind;
+            count++;
+        }
+
+        private WatchEvent.Kind<Path> getKind() {
+            if (lastKind == ENTRY_DELETE) {
+                return ENTRY_DELETE;
+            }
+            if (firstKind == ENTRY_CREATE) {
+                // created and modified afterwards
+                return ENTRY_CREATE;
+            }
+            if (firstKind == ENTRY_DELETE) {
+                // deleted and created again, e.g. by an editor that saves to a temporary file
+                return ENTRY_MODIFY;
+            }
+            return lastKind;
+        }
+
+    }
+
+    /**
+     * The {@link CoalescedWatchEvent} is the {@link WatchEvent} which is passed to the readers.
+     */
+    private static class CoalescedWatchEvent implements WatchEvent<Path> {
+
+        private final WatchEvent.Kind<Path> kind;
+        private final Path context;
+        private final int count;
+
+        private CoalescedWatchEvent(WatchEvent.Kind<Path> kind, Path context, int count) {
+            this.kind = kind;
+            this.context = context;
+            this.count = count;
+        }
+
+        @Override
+        public WatchEvent.Kind<Path> kind() {
+            return kind;
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public Path context() {
+            return context;
+        }
+
+        @Override
+        public String toString() {
+            return kind.name() + ": " + context;
+        }
+
+    }
+
+}
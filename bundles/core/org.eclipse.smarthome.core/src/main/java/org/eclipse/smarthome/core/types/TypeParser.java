@@ -9,16 +9,56 @@ package org.eclipse.smarthome.core.types;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This is a helper class that helps parsing a string into an openHAB type (state or command).
+ * <p>
+ * The strings are parsed by {@link TypeValueParser}s, which are looked up once per type. Enumeration types are parsed
+ * by a lookup of the constant name. Other types can register a parser with
+ * {@link #registerParser(Class, TypeValueParser)}; for types without a registered parser the static
+ * <code>valueOf(String)</code> method of the type is used. The parsers of a list of types, e.g. the accepted data
+ * types of an item, are cached as well.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
 public class TypeParser {
 
+    private static final TypeValueParser<?>[] EMPTY_CHAIN = new TypeValueParser<?>[0];
+
+    private static final ConcurrentMap<Class<? extends Type>, TypeValueParser<?>> parsers = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<List<?>, TypeValueParser<?>[]> parserChains = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the parser for the given type. A registered parser replaces the default parser, which uses the static
+     * <code>valueOf(String)</code> method of the type.
+     *
+     * @param type the type, which is created by the parser (must not be null)
+     * @param parser the parser (must not be null)
+     */
+    public static <T extends Type> void registerParser(Class<T> type, TypeValueParser<T> parser) {
+        parsers.put(type, parser);
+        parserChains.clear();
+    }
+
+    /**
+     * Removes the registered parser of the given type, so that the default parser is used again.
+     *
+     * @param type the type
+     */
+    public static void unregisterParser(Class<? extends Type> type) {
+        parsers.remove(type);
+        parserChains.clear();
+    }
+
     /**
      * <p>
      * Determines a state from a string. Possible state types are passed as a parameter. Note that the order matters
@@ -34,16 +74,10 @@ public class TypeParser {
      * @return the corresponding State instance or <code>null</code>
      */
     public static State parseState(List<Class<? extends State>> types, String s) {
-        for (Class<? extends Type> type : types) {
-            try {
-                Method valueOf = type.getMethod("valueOf", String.class);
-                State state = (State) valueOf.invoke(type, s);
-                if (state != null)
-                    return state;
-            } catch (NoSuchMethodException e) {
-            } catch (IllegalArgumentException e) {
-            } catch (IllegalAccessException e) {
-            } catch (InvocationTargetException e) {
+        for (TypeValueParser<?> parser : getParserChain(types)) {
+            Type value = parser.parse(s);
+            if (value instanceof State) {
+                return (State) value;
             }
         }
         return null;
@@ -64,18 +98,108 @@ public class TypeParser {
      * @return the corresponding Command instance or <code>null</code>
      */
     public static Command parseCommand(List<Class<? extends Command>> types, String s) {
-        for (Class<? extends Command> type : types) {
+        for (TypeValueParser<?> parser : getParserChain(types)) {
+            Type value = parser.parse(s);
+            if (value instanceof Command) {
+                return (Command) value;
+            }
+        }
+        return null;
+    }
+
+    private static TypeValueParser<?>[] getParserChain(List<? extends Class<? extends Type>> types) {
+        if (types == null || types.isEmpty()) {
+            return EMPTY_CHAIN;
+        }
+        TypeValueParser<?>[] chain = parserChains.get(types);
+        if (chain == null) {
+            List<TypeValueParser<?>> chainParsers = new ArrayList<>(types.size());
+            for (Class<? extends Type> type : types) {
+                TypeValueParser<?> parser = getParser(type);
+                if (parser != null) {
+                    chainParsers.add(parser);
+                }
+            }
+            chain = chainParsers.toArray(new TypeValueParser<?>[chainParsers.size()]);
+            // the list of types might be modified later on, so we use a copy as key
+            parserChains.putIfAbsent(new ArrayList<>(types), chain);
+        }
+        return chain;
+    }
+
+    private static TypeValueParser<?> getParser(Class<? extends Type> type) {
+        TypeValueParser<?> parser = parsers.get(type);
+        if (parser == null) {
+            parser = createDefaultParser(type);
+            if (parser == null) {
+                return null;
+            }
+            TypeValueParser<?> existingParser = parsers.putIfAbsent(type, parser);
+            if (existingParser != null) {
+                parser = existingParser;
+            }
+        }
+        return parser;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static TypeValueParser<?> createDefaultParser(Class<? extends Type> type) {
+        if (type.isEnum()) {
+            return new EnumParser(type);
+        }
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && Type.class.isAssignableFrom(valueOf.getReturnType())) {
+                return new ValueOfParser(valueOf);
+            }
+        } catch (NoSuchMethodException e) {
+        }
+        return null;
+    }
+
+    /**
+     * The {@link EnumParser} looks up the constant of an enumeration type by its name.
+     */
+    private static class EnumParser<T extends Type> implements TypeValueParser<T> {
+
+        private final Map<String, T> constants = new HashMap<>();
+
+        private EnumParser(Class<T> type) {
+            for (T constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        @Override
+        public T parse(String value) {
+            return value != null ? constants.get(value) : null;
+        }
+
+    }
+
+    /**
+     * The {@link ValueOfParser} invokes the static <code>valueOf(String)</code> method of a type.
+     */
+    private static class ValueOfParser<T extends Type> implements TypeValueParser<T> {
+
+        private final Method valueOf;
+
+        private ValueOfParser(Method valueOf) {
+            this.valueOf = valueOf;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T parse(String value) {
             try {
-                Method valueOf = type.getMethod("valueOf", String.class);
-                Command value = (Command) valueOf.invoke(type, s);
-                if (value != null)
-                    return value;
-            } catch (NoSuchMethodException e) {
+                return (T) valueOf.invoke(null, value);
             } catch (IllegalArgumentException e) {
             } catch (IllegalAccessException e) {
             } catch (InvocationTargetException e) {
             }
+            return null;
         }
-        return null;
+
     }
+
 }
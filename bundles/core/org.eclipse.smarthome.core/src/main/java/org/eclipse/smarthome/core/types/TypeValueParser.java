@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.types;
+
+/**
+ * A {@link TypeValueParser} converts a string into an instance of a specific {@link Type}. It is the counterpart of the
+ * static <code>valueOf(String)</code> method of the type, but signals an invalid string by returning <code>null</code>
+ * instead of throwing an exception. Parsers are registered at the {@link TypeParser}.
+ *
+ * @param <T> the type which is created by this parser
+ *
+ * @author agent - Initial contribution
+ */
+public interface TypeValueParser<T extends Type> {
+
+    /**
+     * Parses the given string. Implementations should check the syntax of the string before creating the value and
+     * must not throw an exception for invalid strings.
+     *
+     * @param value the string to parse
+     * @return the parsed value or <code>null</code>, if the string is not a valid value of the type
+     */
+    T parse(String value);
+
+}
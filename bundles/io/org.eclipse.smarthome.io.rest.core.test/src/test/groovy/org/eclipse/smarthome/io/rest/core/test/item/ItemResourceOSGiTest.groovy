@@ -11,20 +11,26 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import javax.ws.rs.core.EntityTag
+import javax.ws.rs.core.Request
 import javax.ws.rs.core.Response
 import javax.ws.rs.core.UriInfo
 import javax.ws.rs.core.Response.Status
 
 import org.eclipse.smarthome.core.items.ItemProvider
+import org.eclipse.smarthome.core.items.ItemRegistry
 import org.eclipse.smarthome.core.items.ManagedItemProvider
 import org.eclipse.smarthome.core.library.items.DimmerItem
 import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.OnOffType
 import org.eclipse.smarthome.io.rest.core.item.ItemResource
+import org.eclipse.smarthome.io.rest.core.item.beans.ItemBean
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
 
+import com.google.gson.Gson
 
 /**
  * ItemResourceOSGiTest tests the ItemResource REST resource on the OSGi level. 
@@ -35,6 +41,12 @@ class ItemResourceOSGiTest extends OSGiTest {
 
     ItemResource itemResource
     ManagedItemProvider managedItemProvider
+    EntityTag knownEntityTag
+    Request request = [
+        evaluatePreconditions: { EntityTag entityTag ->
+            entityTag == knownEntityTag ? Response.notModified(entityTag) : null
+        }
+    ] as Request
 
     @Before
     void setUp() {
@@ -43,7 +55,8 @@ class ItemResourceOSGiTest extends OSGiTest {
         itemResource = getService ItemResource
         itemResource.uriInfo = [
             getPath: { return "path" },
-            getBaseUri: { return new URI("uri")}
+            getBaseUri: { return new URI("uri")},
+            getRequestUri: { return new URI("uri")}
         ] as UriInfo
     }
 
@@ -76,9 +89,9 @@ class ItemResourceOSGiTest extends OSGiTest {
         ] as ItemProvider
         registerService itemProvider
 
-        assertThat containsItems(itemResource.getItems(null, "Tag1", false).getEntity(), ["Item1", "Item2"]), is(true)
-        assertThat containsItems(itemResource.getItems(null, "Tag2", false).getEntity(), ["Item2", "Item3"]), is(true)
-        assertThat itemResource.getItems(null, "NotExistingTag", false).getEntity().size(), is(0)
+        assertThat containsItems(getItems(null, "Tag1"), ["Item1", "Item2"]), is(true)
+        assertThat containsItems(getItems(null, "Tag2"), ["Item2", "Item3"]), is(true)
+        assertThat getItems(null, "NotExistingTag").size(), is(0)
     }
     
     @Test
@@ -97,19 +110,19 @@ class ItemResourceOSGiTest extends OSGiTest {
         ] as ItemProvider
         registerService itemProvider
         
-        assertThat containsItems(itemResource.getItems("Switch", null, false).getEntity(), ["Item1", "Item2"]), is(true)
-        assertThat containsItems(itemResource.getItems("Dimmer", null, false).getEntity(), ["Item3"]), is(true)
-        assertThat itemResource.getItems(null, "Color", false).getEntity().size(), is(0)
+        assertThat containsItems(getItems("Switch", null), ["Item1", "Item2"]), is(true)
+        assertThat containsItems(getItems("Dimmer", null), ["Item3"]), is(true)
+        assertThat getItems(null, "Color").size(), is(0)
     }
     
     @Test
     void 'assert addTag and removeTag works'() {
         managedItemProvider.add(new SwitchItem("Switch"))
-        assertThat itemResource.getItems(null, "MyTag", false).getEntity().size(), is(0)
+        assertThat getItems(null, "MyTag").size(), is(0)
         itemResource.addTag("Switch", "MyTag")
-        assertThat itemResource.getItems(null, "MyTag", false).getEntity().size(), is(1)
+        assertThat getItems(null, "MyTag").size(), is(1)
         itemResource.removeTag("Switch", "MyTag")
-        assertThat itemResource.getItems(null, "MyTag", false).getEntity().size(), is(0)
+        assertThat getItems(null, "MyTag").size(), is(0)
     }
     
     @Test
@@ -133,6 +146,64 @@ class ItemResourceOSGiTest extends OSGiTest {
         assertThat response.status, is(Status.METHOD_NOT_ALLOWED.code)
     }
     
+    @Test
+    void 'assert getItems only returns the requested fields'() {
+        def item = new SwitchItem("Switch")
+        item.setLabel("Label")
+        managedItemProvider.add(item)
+
+        def beans = getItems(null, null, "label")
+        assertThat beans.size(), is(1)
+        assertThat beans[0].name, is("Switch")
+        assertThat beans[0].label, is("Label")
+        assertThat beans[0].state, is(nullValue())
+        assertThat beans[0].type, is(nullValue())
+        assertThat beans[0].stateDescription, is(nullValue())
+    }
+
+    @Test
+    void 'assert getItems returns not modified for unchanged items'() {
+        def item = new SwitchItem("Switch")
+        managedItemProvider.add(item)
+
+        Response response = itemResource.getItems(null, null, false, "state", request)
+        assertThat response.status, is(Status.OK.code)
+        knownEntityTag = response.entityTag
+        assertThat knownEntityTag, is(notNullValue())
+
+        response = itemResource.getItems(null, null, false, "state", request)
+        assertThat response.status, is(Status.NOT_MODIFIED.code)
+
+        getService(ItemRegistry).getItem("Switch").setState(OnOffType.ON)
+        response = itemResource.getItems(null, null, false, "state", request)
+        assertThat response.status, is(Status.OK.code)
+        knownEntityTag = response.entityTag
+
+        managedItemProvider.add(new SwitchItem("AnotherSwitch"))
+        response = itemResource.getItems(null, null, false, "state", request)
+        assertThat response.status, is(Status.OK.code)
+    }
+
+    @Test
+    void 'assert getItems returns no entity tag if state descriptions are included'() {
+        managedItemProvider.add(new SwitchItem("Switch"))
+
+        Response response = itemResource.getItems(null, null, false, null, request)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.entityTag, is(nullValue())
+
+        response = itemResource.getItems(null, null, false, "state,stateDescription", request)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.entityTag, is(nullValue())
+    }
+
+    private List<ItemBean> getItems(String type, String tags, String fields = null) {
+        Response response = itemResource.getItems(type, tags, false, fields, request)
+        def output = new ByteArrayOutputStream()
+        response.entity.write(output)
+        return new Gson().fromJson(output.toString("UTF-8"), ItemBean[].class) as List
+    }
+
     private containsItems(Object entity, List<String> itemNames) {
         def allFound = true
         itemNames.each { itemName ->
@@ -8,10 +8,10 @@
 package org.eclipse.smarthome.io.rest.core.item;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -25,8 +25,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
@@ -38,6 +41,7 @@ import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemFactory;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.items.ManagedItemProvider;
 import org.eclipse.smarthome.core.library.items.RollershutterItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
@@ -49,9 +53,12 @@ import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.core.item.beans.ItemBean;
 import org.eclipse.smarthome.io.rest.core.util.BeanMapper;
+import org.eclipse.smarthome.io.rest.core.util.JsonStreamingOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
  * <p>
  * This class acts as a REST resource for items and provides different methods to interact with them, like retrieving
@@ -66,6 +73,14 @@ import org.slf4j.LoggerFactory;
  * This resource is registered with the Jersey servlet.
  * </p>
  *
+ * <p>
+ * The list of items is streamed as JSON. The {@code fields} query parameter restricts the returned bean properties, so
+ * that expensive ones like the state description can be skipped. If the state description is skipped, the list carries
+ * an entity tag, which is derived from a version counter of the item registry and the current item states. Requests
+ * with a matching {@code If-None-Match} header are then answered with {@code 304 Not Modified} without mapping any
+ * item.
+ * </p>
+ *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Dennis Nobel - Added methods for item management
  * @author Andre Fuechsel - Added tag support
@@ -84,11 +99,41 @@ public class ItemResource implements RESTResource {
     private ManagedItemProvider managedItemProvider;
     private Set<ItemFactory> itemFactories = new HashSet<>();
 
+    private final AtomicLong itemRegistryVersion = new AtomicLong();
+
+    private final Gson gson = new Gson();
+
+    private final ItemRegistryChangeListener itemRegistryVersionListener = new ItemRegistryChangeListener() {
+
+        @Override
+        public void added(Item element) {
+            itemRegistryVersion.incrementAndGet();
+        }
+
+        @Override
+        public void removed(Item element) {
+            itemRegistryVersion.incrementAndGet();
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            itemRegistryVersion.incrementAndGet();
+        }
+
+        @Override
+        public void allItemsChanged(Collection<String> oldItemNames) {
+            itemRegistryVersion.incrementAndGet();
+        }
+    };
+
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        this.itemRegistryVersion.incrementAndGet();
+        itemRegistry.addRegistryChangeListener(itemRegistryVersionListener);
     }
 
     protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(itemRegistryVersionListener);
         this.itemRegistry = null;
     }
 
@@ -122,11 +167,24 @@ public class ItemResource implements RESTResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public Response getItems(@QueryParam("type") String type, @QueryParam("tags") String tags,
-            @DefaultValue("false") @QueryParam("recursive") boolean recursive) {
+            @DefaultValue("false") @QueryParam("recursive") boolean recursive, @QueryParam("fields") String fields,
+            @Context Request request) {
         logger.debug("Received HTTP GET request at '{}'", uriInfo.getPath());
 
-        Object responseObject = getItemBeans(type, tags, recursive);
-        return Response.ok(responseObject).build();
+        Collection<Item> items = getItems(type, tags);
+        Set<String> fieldSet = parseFields(fields);
+
+        // state descriptions depend on links, thing types and the locale, which are not covered by the entity tag
+        if (fieldSet != null && !fieldSet.contains("stateDescription")) {
+            EntityTag entityTag = getEntityTag(items, recursive, uriInfo.getRequestUri().getRawQuery());
+            ResponseBuilder responseBuilder = request.evaluatePreconditions(entityTag);
+            if (responseBuilder != null) {
+                return responseBuilder.build();
+            }
+            return Response.ok(getItemBeans(items, recursive, fieldSet)).tag(entityTag).build();
+        }
+
+        return Response.ok(getItemBeans(items, recursive, fieldSet)).build();
     }
 
     @GET
@@ -398,8 +456,7 @@ public class ItemResource implements RESTResource {
         return null;
     }
 
-    private List<ItemBean> getItemBeans(String type, String tags, boolean recursive) {
-        List<ItemBean> beans = new LinkedList<ItemBean>();
+    private Collection<Item> getItems(String type, String tags) {
         Collection<Item> items;
         if (tags == null) {
             if (type == null) {
@@ -415,12 +472,47 @@ public class ItemResource implements RESTResource {
                 items = itemRegistry.getItemsByTagAndType(type, tagList);
             }
         }
-        if (items != null) {
-            for (Item item : items) {
-                beans.add(BeanMapper.mapItemToBean(item, recursive, uriInfo.getBaseUri().toASCIIString()));
+        return items != null ? items : Collections.<Item> emptyList();
+    }
+
+    private JsonStreamingOutput<Item> getItemBeans(Collection<Item> items, final boolean recursive,
+            final Set<String> fields) {
+        final String uriPath = uriInfo.getBaseUri().toASCIIString();
+        return new JsonStreamingOutput<Item>(items, gson) {
+            @Override
+            protected Object mapToBean(Item item) {
+                return BeanMapper.mapItemToBean(item, recursive, uriPath, fields);
+            }
+        };
+    }
+
+    private Set<String> parseFields(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+        Set<String> fieldSet = new HashSet<>();
+        for (String field : fields.split(",")) {
+            fieldSet.add(field.trim());
+        }
+        return fieldSet;
+    }
+
+    private EntityTag getEntityTag(Collection<Item> items, boolean recursive, String query) {
+        int hash = query != null ? query.hashCode() : 0;
+        for (Item item : items) {
+            hash = 31 * hash + getStateHash(item, recursive);
+        }
+        return new EntityTag(Long.toHexString(itemRegistryVersion.get()) + "-" + Integer.toHexString(hash));
+    }
+
+    private int getStateHash(Item item, boolean recursive) {
+        int hash = item.getState().hashCode();
+        if (recursive && item instanceof GroupItem) {
+            for (Item member : ((GroupItem) item).getMembers()) {
+                hash = 31 * hash + getStateHash(member, recursive);
             }
         }
-        return beans;
+        return hash;
     }
 
     private ItemBean getItemDataBean(String itemname) {
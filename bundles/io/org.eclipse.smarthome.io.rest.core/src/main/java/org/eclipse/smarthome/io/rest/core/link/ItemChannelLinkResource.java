@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.io.rest.core.link;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
 import javax.ws.rs.DELETE;
@@ -26,6 +25,9 @@ import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.link.ManagedItemChannelLinkProvider;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.core.link.beans.ItemChannelLinkBean;
+import org.eclipse.smarthome.io.rest.core.util.JsonStreamingOutput;
+
+import com.google.gson.Gson;
 
 /**
  * This class acts as a REST resource for links.
@@ -38,11 +40,18 @@ public class ItemChannelLinkResource implements RESTResource {
     private ItemChannelLinkRegistry itemChannelLinkRegistry;
     private ManagedItemChannelLinkProvider managedItemChannelLinkProvider;
 
+    private final Gson gson = new Gson();
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public Response getAll() {
         Collection<ItemChannelLink> links = itemChannelLinkRegistry.getAll();
-        return Response.ok(toBeans(links)).build();
+        return Response.ok(new JsonStreamingOutput<ItemChannelLink>(links, gson) {
+            @Override
+            protected Object mapToBean(ItemChannelLink link) {
+                return new ItemChannelLinkBean(link.getItemName(), link.getUID().toString());
+            }
+        }).build();
     }
 
     @PUT
@@ -75,13 +84,4 @@ public class ItemChannelLinkResource implements RESTResource {
         this.managedItemChannelLinkProvider = null;
     }
 
-    private Collection<ItemChannelLinkBean> toBeans(Collection<ItemChannelLink> links) {
-        Collection<ItemChannelLinkBean> beans = new ArrayList<>();
-        for (ItemChannelLink link : links) {
-            ItemChannelLinkBean bean = new ItemChannelLinkBean(link.getItemName(), link.getUID().toString());
-            beans.add(bean);
-        }
-        return beans;
-    }
-
 }
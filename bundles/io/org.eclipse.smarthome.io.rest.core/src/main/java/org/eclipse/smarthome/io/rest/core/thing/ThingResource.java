@@ -9,9 +9,7 @@ package org.eclipse.smarthome.io.rest.core.thing;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedHashSet;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -45,9 +43,12 @@ import org.eclipse.smarthome.core.thing.link.ManagedItemChannelLinkProvider;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.eclipse.smarthome.io.rest.core.thing.beans.ThingBean;
 import org.eclipse.smarthome.io.rest.core.util.BeanMapper;
+import org.eclipse.smarthome.io.rest.core.util.JsonStreamingOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
  * This class acts as a REST resource for things and is registered with the
  * Jersey servlet.
@@ -68,6 +69,8 @@ public class ThingResource implements RESTResource {
     private ManagedThingProvider managedThingProvider;
     private ThingRegistry thingRegistry;
 
+    private final Gson gson = new Gson();
+
     @Context
     private UriInfo uriInfo;
 
@@ -94,9 +97,13 @@ public class ThingResource implements RESTResource {
     public Response getAll() {
 
         Collection<Thing> things = thingRegistry.getAll();
-        Set<ThingBean> thingBeans = convertToListBean(things);
 
-        return Response.ok(thingBeans).build();
+        return Response.ok(new JsonStreamingOutput<Thing>(things, gson) {
+            @Override
+            protected Object mapToBean(Thing thing) {
+                return BeanMapper.mapThingToBean(thing);
+            }
+        }).build();
     }
 
     @GET
@@ -256,15 +263,6 @@ public class ThingResource implements RESTResource {
         this.thingRegistry = null;
     }
 
-    private Set<ThingBean> convertToListBean(Collection<Thing> things) {
-        Set<ThingBean> thingBeans = new LinkedHashSet<>();
-        for (Thing thing : things) {
-            ThingBean thingBean = BeanMapper.mapThingToBean(thing);
-            thingBeans.add(thingBean);
-        }
-        return thingBeans;
-    }
-
     private Channel findChannel(String channelId, Thing thing) {
         for (Channel channel : thing.getChannels()) {
             if (channel.getUID().getId().equals(channelId)) {
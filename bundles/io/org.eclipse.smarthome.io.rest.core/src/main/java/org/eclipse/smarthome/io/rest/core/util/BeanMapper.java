@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.ws.rs.core.UriBuilder;
 
@@ -30,8 +31,21 @@ import org.eclipse.smarthome.io.rest.core.thing.beans.ThingBean;
 public class BeanMapper {
 
     public static ItemBean mapItemToBean(Item item, boolean drillDown, String uriPath) {
+        return mapItemToBean(item, drillDown, uriPath, null);
+    }
+
+    /**
+     * Maps the given item to an {@link ItemBean}, which only contains the given fields.
+     *
+     * @param item the item to be mapped
+     * @param drillDown true, if the members of groups should be mapped as well
+     * @param uriPath the base URI or null, if no link should be added
+     * @param fields the names of the bean fields to be filled or null for all fields (the name is always filled)
+     * @return the item bean
+     */
+    public static ItemBean mapItemToBean(Item item, boolean drillDown, String uriPath, Set<String> fields) {
         ItemBean bean = item instanceof GroupItem ? new GroupItemBean() : new ItemBean();
-        fillProperties(bean, item, drillDown, uriPath);
+        fillProperties(bean, item, drillDown, uriPath, fields);
         return bean;
     }
 
@@ -74,26 +88,45 @@ public class BeanMapper {
                 discoveryResult.getRepresentationProperty());
     }
 
-    private static void fillProperties(ItemBean bean, Item item, boolean drillDown, String uriPath) {
-        if (item instanceof GroupItem && drillDown) {
+    private static void fillProperties(ItemBean bean, Item item, boolean drillDown, String uriPath,
+            Set<String> fields) {
+        if (item instanceof GroupItem && drillDown && isRequested("members", fields)) {
             GroupItem groupItem = (GroupItem) item;
             Collection<ItemBean> members = new LinkedHashSet<ItemBean>();
             for (Item member : groupItem.getMembers()) {
-                members.add(mapItemToBean(member, drillDown, uriPath));
+                members.add(mapItemToBean(member, drillDown, uriPath, fields));
             }
             ((GroupItemBean) bean).members = members.toArray(new ItemBean[members.size()]);
         }
         bean.name = item.getName();
-        bean.state = item.getState().toString();
-        bean.type = item.getClass().getSimpleName();
-        if (uriPath != null) {
+        if (isRequested("state", fields)) {
+            bean.state = item.getState().toString();
+        }
+        if (isRequested("type", fields)) {
+            bean.type = item.getClass().getSimpleName();
+        }
+        if (uriPath != null && isRequested("link", fields)) {
             bean.link = UriBuilder.fromUri(uriPath).path(ItemResource.PATH_ITEMS).path(bean.name).build()
                     .toASCIIString();
         }
-        bean.label = item.getLabel();
-        bean.tags = item.getTags();
-        bean.category = item.getCategory();
-        bean.stateDescription = item.getStateDescription();
-        bean.groupNames = item.getGroupNames();
+        if (isRequested("label", fields)) {
+            bean.label = item.getLabel();
+        }
+        if (isRequested("tags", fields)) {
+            bean.tags = item.getTags();
+        }
+        if (isRequested("category", fields)) {
+            bean.category = item.getCategory();
+        }
+        if (isRequested("stateDescription", fields)) {
+            bean.stateDescription = item.getStateDescription();
+        }
+        if (isRequested("groupNames", fields)) {
+            bean.groupNames = item.getGroupNames();
+        }
+    }
+
+    private static boolean isRequested(String field, Set<String> fields) {
+        return fields == null || fields.contains(field);
     }
 }
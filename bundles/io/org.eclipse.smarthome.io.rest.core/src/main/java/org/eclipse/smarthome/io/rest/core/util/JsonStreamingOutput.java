@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.core.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * The {@link JsonStreamingOutput} writes a collection of elements as JSON array directly to the response stream.
+ * Each element is mapped to its bean and serialized right away, so that the list of beans is never built up in memory
+ * as a whole.
+ *
+ * @param <E> type of the elements
+ *
+ * @author agent - Initial contribution
+ */
+public abstract class JsonStreamingOutput<E> implements StreamingOutput {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Iterable<E> elements;
+
+    private final Gson gson;
+
+    /**
+     * Creates a new {@link JsonStreamingOutput} for the given elements.
+     *
+     * @param elements the elements to be written (must not be null)
+     * @param gson the instance of the resource, which serializes the beans (must not be null)
+     */
+    public JsonStreamingOutput(Iterable<E> elements, Gson gson) {
+        this.elements = elements;
+        this.gson = gson;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, UTF_8)));
+        writer.beginArray();
+        for (E element : elements) {
+            Object bean = mapToBean(element);
+            if (bean != null) {
+                gson.toJson(bean, bean.getClass(), writer);
+            }
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Maps the given element to the bean that is serialized.
+     *
+     * @param element the element (not null)
+     * @return the bean to be serialized or null if the element should be skipped
+     */
+    protected abstract Object mapToBean(E element);
+
+}
@@ -60,6 +60,13 @@ public interface ModelRepository {
 
     public void reloadAllModelsOfType(final String modelType);
 
+    /**
+     * Reloads the models of the given names, so that their references are linked again.
+     * 
+     * @param names the names of the models to reload
+     */
+    public void reloadModels(Iterable<String> names);
+
     /**
      * Adds a change listener
      * 
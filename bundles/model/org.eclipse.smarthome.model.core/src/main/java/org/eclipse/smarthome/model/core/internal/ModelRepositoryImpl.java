@@ -7,6 +7,7 @@
  */
 package org.eclipse.smarthome.model.core.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.apache.commons.io.IOUtils;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -35,6 +37,11 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 /**
+ * The {@link ModelRepositoryImpl} keeps the models in a single {@link XtextResourceSet}.
+ * <p>
+ * The models are parsed within this resource set, so that they are set up like all other models, e.g. with the JVM
+ * types of rules and scripts.
+ *
  * @author Oliver Libutzki - Added reloadAllModelsOfType method
  *
  */
@@ -74,51 +81,82 @@ public class ModelRepositoryImpl implements ModelRepository {
 
     @Override
     public boolean addOrRefreshModel(String name, InputStream inputStream) {
-        Resource resource = getResource(name);
-        if (resource == null) {
-            synchronized (resourceSet) {
-                // try again to retrieve the resource as it might have been created by now
-                resource = getResource(name);
+        if (inputStream == null) {
+            return refreshModel(name);
+        }
+        byte[] content = readContent(name, inputStream);
+        return content != null ? loadModel(name, content) : false;
+    }
+
+    /**
+     * Reads the content of a model.
+     *
+     * @param name the name of the model
+     * @param inputStream the content of the model, which is closed afterwards
+     * @return the content or <code>null</code>, if it could not be read
+     */
+    private byte[] readContent(String name, InputStream inputStream) {
+        try {
+            return IOUtils.toByteArray(inputStream);
+        } catch (IOException e) {
+            logger.warn("Configuration model '" + name + "' cannot be read!", e);
+            return null;
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    /**
+     * Loads a model from the given content.
+     *
+     * @param name the name of the model
+     * @param content the content of the model
+     * @return true, if the model has been loaded, false otherwise
+     */
+    private boolean loadModel(String name, byte[] content) {
+        synchronized (resourceSet) {
+            Resource resource = getResource(name);
+            EventType eventType = resource != null ? EventType.MODIFIED : EventType.ADDED;
+            if (resource == null) {
+                resource = resourceSet.createResource(URI.createURI(name));
                 if (resource == null) {
-                    // seems to be a new file
-                    resource = resourceSet.createResource(URI.createURI(name));
-                    if (resource != null) {
-                        logger.info("Loading model '{}'", name);
-                        try {
-                            Map<String, String> options = new HashMap<String, String>();
-                            options.put(XtextResource.OPTION_ENCODING, "UTF-8");
-                            if (inputStream == null) {
-                                logger.warn(
-                                        "Resource '{}' not found. You have to pass an inputStream to create the resource.",
-                                        name);
-                                return false;
-                            }
-                            resource.load(inputStream, options);
-                            notifyListeners(name, EventType.ADDED);
-                            return true;
-                        } catch (IOException e) {
-                            logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
-                            resourceSet.getResources().remove(resource);
-                        }
-                    }
+                    return false;
                 }
-            }
-        } else {
-            synchronized (resourceSet) {
+                logger.info("Loading model '{}'", name);
+            } else {
+                logger.info("Refreshing model '{}'", name);
                 resource.unload();
-                try {
-                    logger.info("Refreshing model '{}'", name);
-                    if (inputStream != null) {
-                        resource.load(inputStream, Collections.EMPTY_MAP);
-                    } else {
-                        resource.load(Collections.EMPTY_MAP);
-                    }
-                    notifyListeners(name, EventType.MODIFIED);
-                    return true;
-                } catch (IOException e) {
-                    logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
-                    resourceSet.getResources().remove(resource);
-                }
+            }
+            try {
+                Map<String, String> options = new HashMap<String, String>();
+                options.put(XtextResource.OPTION_ENCODING, "UTF-8");
+                resource.load(new ByteArrayInputStream(content), options);
+                notifyListeners(name, eventType);
+                return true;
+            } catch (IOException e) {
+                logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
+                resourceSet.getResources().remove(resource);
+            }
+        }
+        return false;
+    }
+
+    private boolean refreshModel(String name) {
+        synchronized (resourceSet) {
+            Resource resource = getResource(name);
+            if (resource == null) {
+                logger.warn("Resource '{}' not found. You have to pass an inputStream to create the resource.", name);
+                return false;
+            }
+            resource.unload();
+            try {
+                logger.info("Refreshing model '{}'", name);
+                resource.load(Collections.EMPTY_MAP);
+                notifyListeners(name, EventType.MODIFIED);
+                return true;
+            } catch (IOException e) {
+                logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
+                resourceSet.getResources().remove(resource);
             }
         }
         return false;
@@ -170,17 +208,32 @@ public class ModelRepositoryImpl implements ModelRepository {
             for (Resource resource : resourceListCopy) {
                 if (resource != null && resource.getURI().lastSegment().contains(".") && resource.isLoaded()) {
                     if (modelType.equalsIgnoreCase(resource.getURI().fileExtension())) {
-                        XtextResource xtextResource = (XtextResource) resource;
-                        // It's not sufficient to discard the derived state.
-                        // The quick & dirts solution is to reparse the whole resource.
-                        // We trigger this by dummy updating the resource.
-                        xtextResource.update(1, 0, "");
+                        reloadResource((XtextResource) resource);
                     }
                 }
             }
         }
     }
 
+    @Override
+    public void reloadModels(Iterable<String> names) {
+        synchronized (resourceSet) {
+            for (String name : names) {
+                Resource resource = getResource(name);
+                if (resource instanceof XtextResource && resource.isLoaded()) {
+                    reloadResource((XtextResource) resource);
+                }
+            }
+        }
+    }
+
+    private void reloadResource(XtextResource xtextResource) {
+        // It's not sufficient to discard the derived state.
+        // The quick & dirts solution is to reparse the whole resource.
+        // We trigger this by dummy updating the resource.
+        xtextResource.update(1, 0, "");
+    }
+
     @Override
     public void addModelRepositoryChangeListener(ModelRepositoryChangeListener listener) {
         listeners.add(listener);
@@ -18,8 +18,10 @@ import java.nio.file.Path;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchService;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -41,6 +43,7 @@ import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 /**
@@ -59,6 +62,9 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
     /* map that stores a list of valid file extensions for each folder */
     private final Map<String, String[]> folderFileExtMap = new ConcurrentHashMap<String, String[]>();
 
+    /* map that stores the last modification time of each loaded model file by the model name */
+    private final Map<String, Long> lastModifiedMap = new ConcurrentHashMap<String, Long>();
+
     public void setModelRepository(ModelRepository modelRepo) {
         this.modelRepo = modelRepo;
     }
@@ -73,7 +79,7 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
 
     @Override
     protected AbstractWatchQueueReader buildWatchQueueReader(WatchService watchService, Path toWatch) {
-        return new WatchQueueReader(watchService, toWatch, folderFileExtMap, modelRepo);
+        return new WatchQueueReader(watchService, toWatch, folderFileExtMap, lastModifiedMap, modelRepo);
     }
 
     @Override
@@ -100,13 +106,16 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
 
         private Map<String, String[]> folderFileExtMap = new ConcurrentHashMap<String, String[]>();
 
+        private Map<String, Long> lastModifiedMap = new ConcurrentHashMap<String, Long>();
+
         private ModelRepository modelRepo = null;
 
         public WatchQueueReader(WatchService watchService, Path dirToWatch, Map<String, String[]> folderFileExtMap,
-                ModelRepository modelRepo) {
+                Map<String, Long> lastModifiedMap, ModelRepository modelRepo) {
             super(watchService, dirToWatch);
 
             this.folderFileExtMap = folderFileExtMap;
+            this.lastModifiedMap = lastModifiedMap;
             this.modelRepo = modelRepo;
         }
 
@@ -114,7 +123,7 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
         protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
             File toCheck = getFileByFileExtMap(folderFileExtMap, path.toString());
             if (toCheck != null) {
-                checkFile(modelRepo, toCheck, kind);
+                checkFile(modelRepo, lastModifiedMap, toCheck, kind);
             }
         }
     }
@@ -155,6 +164,8 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
     private void notifyUpdateToModelRepo(Map<String, String[]> previousFolderFileExtMap) {
         checkDeletedModels(previousFolderFileExtMap);
         if (MapUtils.isNotEmpty(folderFileExtMap)) {
+            List<File> modelFiles = new LinkedList<File>();
+            Set<String> loadedModels = new HashSet<String>();
             Iterator<String> iterator = folderFileExtMap.keySet().iterator();
             while (iterator.hasNext()) {
                 String folderName = iterator.next();
@@ -162,15 +173,19 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
                 final String[] validExtension = folderFileExtMap.get(folderName);
                 if (validExtension != null && validExtension.length > 0) {
                     File folder = getFile(folderName);
+                    if (modelRepo != null) {
+                        for (String extension : validExtension) {
+                            Iterables.addAll(loadedModels, modelRepo.getAllModelNamesOfType(extension));
+                        }
+                    }
 
                     File[] files = folder.listFiles(new FileExtensionsFilter(validExtension));
                     if (files != null && files.length > 0) {
-                        for (File file : files) {
-                            checkFile(modelRepo, file, ENTRY_CREATE);
-                        }
+                        modelFiles.addAll(Arrays.asList(files));
                     }
                 }
             }
+            checkFiles(modelRepo, lastModifiedMap, modelFiles, loadedModels);
         }
     }
 
@@ -202,6 +217,7 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
             if (CollectionUtils.isNotEmpty(modelsToRemove)) {
                 for (String modelToRemove : modelsToRemove) {
                     synchronized (FolderObserver.class) {
+                        lastModifiedMap.remove(modelToRemove);
                         modelRepo.removeModel(modelToRemove);
                     }
                 }
@@ -232,13 +248,21 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
     }
 
     @SuppressWarnings("rawtypes")
-    private static void checkFile(ModelRepository modelRepo, final File file, Kind kind) {
+    private static void checkFile(ModelRepository modelRepo, Map<String, Long> lastModifiedMap, final File file,
+            Kind kind) {
         if (modelRepo != null && file != null) {
             try {
                 synchronized (FolderObserver.class) {
                     if ((kind == ENTRY_CREATE || kind == ENTRY_MODIFY) && file != null) {
-                        modelRepo.addOrRefreshModel(file.getName(), FileUtils.openInputStream(file));
+                        // the modification time is taken before the file is read, so that a later change is not missed
+                        long lastModified = file.lastModified();
+                        if (modelRepo.addOrRefreshModel(file.getName(), FileUtils.openInputStream(file))) {
+                            lastModifiedMap.put(file.getName(), lastModified);
+                        } else {
+                            lastModifiedMap.remove(file.getName());
+                        }
                     } else if (kind == ENTRY_DELETE && file != null) {
+                        lastModifiedMap.remove(file.getName());
                         modelRepo.removeModel(file.getName());
                     }
                 }
@@ -249,6 +273,34 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
         }
     }
 
+    /**
+     * Adds or refreshes the models of all given files, which is done whenever the folders are scanned. The model of a
+     * file, which has not been modified since it has been loaded, is skipped, so that the scan does not parse all
+     * models again. A change of a file, which is reported by the watch service, always reloads the model.
+     *
+     * @param modelRepo the model repository
+     * @param lastModifiedMap the last modification times of the loaded model files
+     * @param files the model files
+     * @param loadedModels the names of the models, which are loaded in the model repository
+     */
+    private static void checkFiles(ModelRepository modelRepo, Map<String, Long> lastModifiedMap, List<File> files,
+            Set<String> loadedModels) {
+        if (modelRepo != null) {
+            for (File file : files) {
+                synchronized (FolderObserver.class) {
+                    Long lastModified = lastModifiedMap.get(file.getName());
+                    if (lastModified != null && lastModified == file.lastModified()
+                            && loadedModels.contains(file.getName())) {
+                        LoggerFactory.getLogger(FolderObserver.class).debug(
+                                "Model file '{}' has not been modified since it has been loaded.", file.getName());
+                    } else {
+                        checkFile(modelRepo, lastModifiedMap, file, ENTRY_CREATE);
+                    }
+                }
+            }
+        }
+    }
+
     private static File getFileByFileExtMap(Map<String, String[]> folderFileExtMap, String filename) {
         if (StringUtils.isNotBlank(filename) && MapUtils.isNotEmpty(folderFileExtMap)) {
 
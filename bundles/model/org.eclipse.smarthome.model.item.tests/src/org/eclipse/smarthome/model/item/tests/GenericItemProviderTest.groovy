@@ -11,7 +11,10 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import org.eclipse.smarthome.core.items.Item
 import org.eclipse.smarthome.core.items.ItemRegistry
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener
+import org.eclipse.smarthome.core.library.types.DecimalType
 import org.eclipse.smarthome.model.core.ModelRepository
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.After
@@ -79,5 +82,67 @@ class GenericItemProviderTest extends OSGiTest {
         def lastItem = actualItems.last()
         assertThat lastItem.getTags().sort().join(", "), is(equalTo("TAG1, TAG2, TAG3, TAG4-WITH-DASHES, TAG5 String Tag"))
     }
-        
+
+    @Test
+    void 'assert that only changed items are replaced if the model is modified'() {
+        String model =
+            '''
+            Group Weather
+            Number Weather_Temperature      "Outside Temperature [%.1f °C]" (Weather)
+            Number Weather_Temp_Max         "Todays Maximum [%.1f °C]"  (Weather) { channel="yahooweather:weather:berlin:max" }
+            Number Weather_Temp_Min         "Todays Minimum [%.1f °C]"  (Weather)
+            '''
+        modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+        assertThat itemRegistry.getAll().size(), is(4)
+
+        def temperatureItem = itemRegistry.getItem("Weather_Temperature")
+        temperatureItem.setState(new DecimalType(21))
+
+        def added = []
+        def updated = []
+        def removed = []
+        def allItemsChangedCalled = false
+        def listener = [
+            added: { Item item -> added << item.name },
+            removed: { Item item -> removed << item.name },
+            updated: { Item oldItem, Item item -> updated << item.name },
+            allItemsChanged: { Collection<String> oldItemNames -> allItemsChangedCalled = true }
+        ] as ItemRegistryChangeListener
+        itemRegistry.addRegistryChangeListener(listener)
+        try {
+            model =
+                '''
+                Group Weather
+                Number Weather_Temperature      "Outside Temperature [%.1f °C]" (Weather)
+                Number Weather_Temp_Max         "Todays Maximum [%.1f °C]"  (Weather) { channel="yahooweather:weather:berlin:maximum" }
+                Number Weather_Temp_Min         "Todays Min [%.1f °C]"  (Weather)
+                Number Weather_Humidity         "Humidity [%d %%]" (Weather)
+                '''
+            modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+
+            assertThat allItemsChangedCalled, is(false)
+            assertThat added, is(equalTo(["Weather_Humidity"]))
+            assertThat updated.sort(), is(equalTo(["Weather_Temp_Max", "Weather_Temp_Min"]))
+            assertThat removed.isEmpty(), is(true)
+
+            assertThat itemRegistry.getItem("Weather_Temperature"), is(sameInstance(temperatureItem))
+            assertThat itemRegistry.getItem("Weather_Temperature").state, is(equalTo(new DecimalType(21)))
+            assertThat itemRegistry.getItem("Weather_Temp_Min").label, is(equalTo("Todays Min [%.1f °C]"))
+            assertThat itemRegistry.getItem("Weather").members.size(), is(4)
+
+            model =
+                '''
+                Group Weather
+                Number Weather_Temperature      "Outside Temperature [%.1f °C]" (Weather)
+                '''
+            modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+
+            assertThat removed.sort(), is(equalTo(["Weather_Humidity", "Weather_Temp_Max", "Weather_Temp_Min"]))
+            assertThat itemRegistry.getAll().size(), is(2)
+            assertThat itemRegistry.getItem("Weather").members.size(), is(1)
+        } finally {
+            itemRegistry.removeRegistryChangeListener(listener)
+        }
+    }
+
 }
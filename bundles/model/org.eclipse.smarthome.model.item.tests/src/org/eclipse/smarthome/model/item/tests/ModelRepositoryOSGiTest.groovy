@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.item.tests
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.items.ItemRegistry
+import org.eclipse.smarthome.model.core.EventType
+import org.eclipse.smarthome.model.core.ModelRepository
+import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The {@link ModelRepositoryOSGiTest} checks how the {@link ModelRepository} loads and refreshes models.
+ *
+ * @author agent - Initial contribution
+ */
+class ModelRepositoryOSGiTest extends OSGiTest {
+
+    private final static String TESTMODEL_NAME = "repositoryTestModel.items"
+
+    ModelRepository modelRepository
+    ItemRegistry itemRegistry
+    def events = []
+    def listener = { String modelName, EventType type ->
+        events << "${type} ${modelName}".toString()
+    } as ModelRepositoryChangeListener
+
+    @Before
+    void setUp() {
+        itemRegistry = getService ItemRegistry
+        assertThat itemRegistry, is(notNullValue())
+        modelRepository = getService ModelRepository
+        assertThat modelRepository, is(notNullValue())
+        modelRepository.removeModel(TESTMODEL_NAME)
+        modelRepository.addModelRepositoryChangeListener(listener)
+    }
+
+    @After
+    void tearDown() {
+        modelRepository.removeModelRepositoryChangeListener(listener)
+        modelRepository.removeModel(TESTMODEL_NAME)
+    }
+
+    @Test
+    void 'assert that a model is reloaded, even if its content has not changed'() {
+        String model = 'Switch Light "Light"'
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes)), is(true)
+        def loadedModel = modelRepository.getModel(TESTMODEL_NAME)
+
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes)), is(true)
+        assertThat modelRepository.getModel(TESTMODEL_NAME), is(not(sameInstance(loadedModel)))
+
+        model = 'Switch Light "Kitchen Light"'
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes)), is(true)
+        assertThat itemRegistry.getItem("Light").label, is(equalTo("Kitchen Light"))
+
+        assertThat events, is(equalTo([
+            "ADDED ${TESTMODEL_NAME}".toString(),
+            "MODIFIED ${TESTMODEL_NAME}".toString(),
+            "MODIFIED ${TESTMODEL_NAME}".toString()
+        ]))
+    }
+
+    @Test
+    void 'assert that an unchanged model is loaded again after it has been removed'() {
+        def model = 'Switch Light "Light"'
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes)), is(true)
+        assertThat modelRepository.removeModel(TESTMODEL_NAME), is(true)
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes)), is(true)
+        assertThat modelRepository.getModel(TESTMODEL_NAME), is(notNullValue())
+
+        assertThat events, is(equalTo([
+            "ADDED ${TESTMODEL_NAME}".toString(),
+            "REMOVED ${TESTMODEL_NAME}".toString(),
+            "ADDED ${TESTMODEL_NAME}".toString()
+        ]))
+    }
+
+}
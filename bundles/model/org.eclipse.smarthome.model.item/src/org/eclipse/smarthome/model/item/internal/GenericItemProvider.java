@@ -8,14 +8,15 @@
 package org.eclipse.smarthome.model.item.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.common.registry.AbstractProvider;
-import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupFunction;
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -42,6 +43,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * ItemProvider implementation which computes *.items file based item configurations.
+ * <p>
+ * The provider keeps the items it has handed out per model. If a model is modified, only the items whose definition
+ * has changed are replaced, so that the listeners are informed about single added, removed and updated items and the
+ * instances and states of the unchanged items are kept.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Thomas.Eichstaedt-Engelen
@@ -53,10 +58,13 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
     /** to keep track of all binding config readers */
     private Map<String, BindingConfigReader> bindingConfigReaders = new HashMap<String, BindingConfigReader>();
 
-    private ModelRepository modelRepository = null;
+    private volatile ModelRepository modelRepository = null;
 
     private Collection<ItemFactory> itemFactorys = new ArrayList<ItemFactory>();
 
+    /** the items which have been provided, by their name per model name, guarded by this */
+    private final Map<String, Map<String, ProvidedItem>> itemsMap = new HashMap<>();
+
     public GenericItemProvider() {
     }
 
@@ -68,6 +76,10 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
     public void unsetModelRepository(ModelRepository modelRepository) {
         modelRepository.removeModelRepositoryChangeListener(this);
         this.modelRepository = null;
+        // the items of another repository have to be read again
+        synchronized (this) {
+            itemsMap.clear();
+        }
     }
 
     /**
@@ -78,6 +90,14 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
     public void addItemFactory(ItemFactory factory) {
         itemFactorys.add(factory);
         dispatchBindingsPerItemType(null, factory.getSupportedItemTypes());
+        // items of the new types could not be created so far
+        Collection<String> modelNames;
+        synchronized (this) {
+            modelNames = new ArrayList<>(itemsMap.keySet());
+        }
+        for (String modelName : modelNames) {
+            updateItemsFromModel(modelName);
+        }
     }
 
     /**
@@ -109,18 +129,30 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
      * {@inheritDoc}
      */
     @Override
-    public Collection<Item> getAll() {
+    public synchronized Collection<Item> getAll() {
         List<Item> items = new ArrayList<Item>();
+        ModelRepository modelRepository = this.modelRepository;
+        if (modelRepository == null) {
+            return items;
+        }
         for (String name : modelRepository.getAllModelNamesOfType("items")) {
-            items.addAll(getItemsFromModel(name));
+            Map<String, ProvidedItem> providedItems = itemsMap.get(name);
+            if (providedItems == null) {
+                providedItems = readItemsFromModel(name);
+                itemsMap.put(name, providedItems);
+            }
+            for (ProvidedItem providedItem : providedItems.values()) {
+                items.add(providedItem.item);
+            }
         }
         return items;
     }
 
-    private Collection<Item> getItemsFromModel(String modelName) {
+    private Map<String, ProvidedItem> readItemsFromModel(String modelName) {
         logger.debug("Read items from model '{}'", modelName);
 
-        List<Item> items = new ArrayList<Item>();
+        Map<String, ProvidedItem> items = new LinkedHashMap<>();
+        ModelRepository modelRepository = this.modelRepository;
         if (modelRepository != null) {
             ItemModel model = (ItemModel) modelRepository.getModel(modelName);
             if (model != null) {
@@ -130,7 +162,7 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
                         for (String groupName : modelItem.getGroups()) {
                             ((GenericItem) item).addGroupName(groupName);
                         }
-                        items.add(item);
+                        items.put(item.getName(), new ProvidedItem(item, getDefinition(modelItem)));
                     }
                 }
             }
@@ -138,6 +170,80 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
         return items;
     }
 
+    /**
+     * Reads the items of the given model and replaces the provided items, whose definition has changed. The listeners
+     * are informed about the added, removed and updated items. Unchanged items are not touched.
+     *
+     * @param modelName the name of the model
+     */
+    private void updateItemsFromModel(String modelName) {
+        Map<String, ProvidedItem> newItems = readItemsFromModel(modelName);
+
+        List<Item> addedItems = new ArrayList<>();
+        List<Item[]> updatedItems = new ArrayList<>();
+        List<Item> removedItems = new ArrayList<>();
+        synchronized (this) {
+            Map<String, ProvidedItem> oldItems = itemsMap.get(modelName);
+            if (oldItems == null) {
+                oldItems = new HashMap<>();
+            }
+            for (Map.Entry<String, ProvidedItem> entry : newItems.entrySet()) {
+                ProvidedItem oldItem = oldItems.get(entry.getKey());
+                if (oldItem == null) {
+                    addedItems.add(entry.getValue().item);
+                } else if (oldItem.definition.equals(entry.getValue().definition)) {
+                    entry.setValue(oldItem);
+                } else {
+                    updatedItems.add(new Item[] { oldItem.item, entry.getValue().item });
+                }
+            }
+            for (Map.Entry<String, ProvidedItem> entry : oldItems.entrySet()) {
+                if (!newItems.containsKey(entry.getKey())) {
+                    removedItems.add(entry.getValue().item);
+                }
+            }
+            itemsMap.put(modelName, newItems);
+        }
+
+        logger.debug("Model '{}' has {} added, {} updated and {} removed items.", modelName, addedItems.size(),
+                updatedItems.size(), removedItems.size());
+        for (Item item : removedItems) {
+            notifyListenersAboutRemovedElement(item);
+        }
+        for (Item item : addedItems) {
+            notifyListenersAboutAddedElement(item);
+        }
+        for (Item[] items : updatedItems) {
+            notifyListenersAboutUpdatedElement(items[0], items[1]);
+        }
+    }
+
+    /**
+     * Returns the definition of the given model item, which contains everything the item and its binding
+     * configurations are created from. Two model items with equal definitions result in equal items.
+     *
+     * @param modelItem the model item
+     * @return the definition of the model item
+     */
+    private List<Object> getDefinition(ModelItem modelItem) {
+        List<Object> definition = new ArrayList<>();
+        definition.add(modelItem.getClass());
+        definition.add(modelItem.getType());
+        definition.add(modelItem.getLabel());
+        definition.add(modelItem.getIcon());
+        definition.add(new ArrayList<>(modelItem.getGroups()));
+        definition.add(new ArrayList<>(modelItem.getTags()));
+        if (modelItem instanceof ModelGroupItem) {
+            ModelGroupItem modelGroupItem = (ModelGroupItem) modelItem;
+            definition.add(modelGroupItem.getFunction());
+            definition.add(new ArrayList<>(modelGroupItem.getArgs()));
+        }
+        for (ModelBinding binding : modelItem.getBindings()) {
+            definition.add(Arrays.asList(binding.getType(), binding.getConfiguration()));
+        }
+        return definition;
+    }
+
     private void processBindingConfigsFromModel(String modelName) {
         logger.debug("Processing binding configs for items from model '{}'", modelName);
 
@@ -364,33 +470,27 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
     /**
      * {@inheritDoc}
      * <p>
-     * Dispatches all binding configs and fires all {@link ItemsChangeListener}s if {@code modelName} ends with "items".
+     * Dispatches all binding configs and informs all {@link ItemsChangeListener}s about the added, removed and updated
+     * items if {@code modelName} ends with "items".
      */
     @Override
     public void modelChanged(String modelName, EventType type) {
         if (modelName.endsWith("items")) {
             switch (type) {
                 case ADDED:
-                    processBindingConfigsFromModel(modelName);
-                    for (ProviderChangeListener<Item> listener : listeners) {
-                        if (listener instanceof ItemsChangeListener) {
-                            ((ItemsChangeListener) listener).allItemsChanged(this, null);
-                        }
-                    }
-                    break;
                 case MODIFIED:
-                    // TODO implement "diff & merge" for items in modified resources
                     processBindingConfigsFromModel(modelName);
-                    for (ProviderChangeListener<Item> listener : listeners) {
-                        if (listener instanceof ItemsChangeListener) {
-                            ((ItemsChangeListener) listener).allItemsChanged(this, null);
-                        }
-                    }
+                    updateItemsFromModel(modelName);
                     break;
                 case REMOVED:
-                    Collection<Item> itemsFromModel = getItemsFromModel(modelName);
-                    for (Item item : itemsFromModel) {
-                        notifyListenersAboutRemovedElement(item);
+                    Map<String, ProvidedItem> removedItems;
+                    synchronized (this) {
+                        removedItems = itemsMap.remove(modelName);
+                    }
+                    if (removedItems != null) {
+                        for (ProvidedItem removedItem : removedItems.values()) {
+                            notifyListenersAboutRemovedElement(removedItem.item);
+                        }
                     }
                     break;
             }
@@ -422,4 +522,19 @@ public class GenericItemProvider extends AbstractProvider<Item> implements Model
         return null;
     }
 
+    /**
+     * An item, which has been provided, together with the definition it has been created from.
+     */
+    private static class ProvidedItem {
+
+        private final Item item;
+        private final List<Object> definition;
+
+        private ProvidedItem(Item item, List<Object> definition) {
+            this.item = item;
+            this.definition = definition;
+        }
+
+    }
+
 }
@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.persistence.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.persistence.BulkPersistenceService;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.model.core.EventType;
+import org.eclipse.smarthome.model.core.ModelRepository;
+import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
+import org.eclipse.smarthome.model.persistence.persistence.AllConfig;
+import org.eclipse.smarthome.model.persistence.persistence.CronStrategy;
+import org.eclipse.smarthome.model.persistence.persistence.ItemConfig;
+import org.eclipse.smarthome.model.persistence.persistence.PersistenceConfiguration;
+import org.eclipse.smarthome.model.persistence.persistence.PersistenceFactory;
+import org.eclipse.smarthome.model.persistence.persistence.PersistenceModel;
+import org.eclipse.smarthome.model.persistence.tests.TestItemRegistry;
+import org.eclipse.smarthome.model.persistence.tests.TestPersistenceService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the items of the cron strategies, which the {@link PersistenceManager} determines once and reuses for every
+ * execution of a strategy, and the storing of these items.
+ *
+ * @author agent - Initial contribution
+ */
+public class PersistenceManagerTest {
+
+    private static final String MODEL_NAME = "test";
+    private static final String STRATEGY_NAME = "everyMinute";
+
+    private PersistenceManager persistenceManager;
+    private TestItemRegistry itemRegistry;
+    private TestModelRepository modelRepository;
+    private RecordingPersistenceService persistenceService;
+
+    @Before
+    public void setUp() {
+        itemRegistry = new TestItemRegistry();
+        itemRegistry.add(createItem("Item1"));
+        itemRegistry.add(createItem("Item2"));
+        itemRegistry.add(createItem("Item3"));
+
+        modelRepository = new TestModelRepository();
+        persistenceService = new RecordingPersistenceService();
+
+        persistenceManager = new PersistenceManager();
+        persistenceManager.setItemRegistry(itemRegistry);
+        persistenceManager.addPersistenceService(persistenceService);
+    }
+
+    @After
+    public void tearDown() {
+        // removes the scheduled jobs of the model
+        persistenceManager.modelChanged(MODEL_NAME + ".persist", EventType.REMOVED);
+        persistenceManager.unsetModelRepository(modelRepository);
+        persistenceManager.removePersistenceService(persistenceService);
+        persistenceManager.unsetItemRegistry(itemRegistry);
+    }
+
+    @Test
+    public void testCronItemsAreDeterminedOnce() {
+        setModel(createConfig(null, "Item1", "Item2"));
+
+        Map<String, Collection<Item>> items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertEquals(1, items.size());
+        assertEquals(Arrays.asList("Item1", "Item2"), getNames(items.get(null)));
+
+        int lookups = itemRegistry.getLookups();
+        assertSame(items, persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME));
+        assertEquals(lookups, itemRegistry.getLookups());
+    }
+
+    @Test
+    public void testCronItemsOfAnUnknownStrategyAreEmpty() {
+        setModel(createConfig(null, "Item1"));
+
+        assertTrue(persistenceManager.getCronItems(MODEL_NAME, "unknown").isEmpty());
+        assertTrue(persistenceManager.getCronItems("unknown", STRATEGY_NAME).isEmpty());
+    }
+
+    @Test
+    public void testCronItemsAreDeterminedAgainAfterAModelChange() {
+        setModel(createConfig(null, "Item1"));
+        Map<String, Collection<Item>> items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+
+        setModel(createConfig(null, "Item2"));
+        persistenceManager.modelChanged(MODEL_NAME + ".persist", EventType.MODIFIED);
+
+        Map<String, Collection<Item>> changedItems = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertNotSame(items, changedItems);
+        assertEquals(Arrays.asList("Item2"), getNames(changedItems.get(null)));
+
+        persistenceManager.modelChanged(MODEL_NAME + ".persist", EventType.REMOVED);
+        assertTrue(persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME).isEmpty());
+    }
+
+    @Test
+    public void testCronItemsAreDeterminedAgainAfterAnItemChange() {
+        setModel(createConfig(null, "Item1", "Item4"));
+        Map<String, Collection<Item>> items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertEquals(Arrays.asList("Item1"), getNames(items.get(null)));
+
+        itemRegistry.add(createItem("Item4"));
+        items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertEquals(Arrays.asList("Item1", "Item4"), getNames(items.get(null)));
+
+        // the snapshot must not keep the replaced instance of the item
+        Item updatedItem = createItem("Item1");
+        itemRegistry.update(updatedItem);
+        items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        for (Item item : items.get(null)) {
+            if (item.getName().equals("Item1")) {
+                assertSame(updatedItem, item);
+            }
+        }
+
+        itemRegistry.remove("Item4");
+        items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertEquals(Arrays.asList("Item1"), getNames(items.get(null)));
+    }
+
+    @Test
+    public void testCronItemsAreDeterminedAgainAfterAServiceChange() {
+        setModel(createConfig(null, "Item1"));
+        Map<String, Collection<Item>> items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+
+        persistenceManager.removePersistenceService(persistenceService);
+        assertTrue(persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME).isEmpty());
+
+        persistenceManager.addPersistenceService(persistenceService);
+        Map<String, Collection<Item>> changedItems = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertNotSame(items, changedItems);
+        assertEquals(Arrays.asList("Item1"), getNames(changedItems.get(null)));
+    }
+
+    @Test
+    public void testItemsOfTheSameAliasAreStoredOnce() {
+        setModel(createConfig("alias", "Item1", "Item2"), createConfig("alias", "Item2", "Item3"),
+                createConfig("other", "Item2"), createConfig(null, "*"));
+
+        Map<String, Collection<Item>> items = persistenceManager.getCronItems(MODEL_NAME, STRATEGY_NAME);
+        assertEquals(3, items.size());
+        assertEquals(Arrays.asList("Item1", "Item2", "Item3"), getNames(items.get("alias")));
+        assertEquals(Arrays.asList("Item2"), getNames(items.get("other")));
+        assertEquals(Arrays.asList("Item1", "Item2", "Item3"), getNames(items.get(null)));
+    }
+
+    @Test
+    public void testItemsAreStoredInBulk() {
+        RecordingBulkPersistenceService bulkService = new RecordingBulkPersistenceService();
+        Collection<Item> items = Arrays.asList(createItem("Item1"), createItem("Item2"));
+
+        persistenceManager.store(bulkService, items, "alias");
+
+        assertEquals(1, bulkService.bulkCalls.size());
+        assertSame(items, bulkService.bulkCalls.get(0));
+        assertEquals(Arrays.asList("alias"), bulkService.aliases);
+        assertTrue(bulkService.stored.isEmpty());
+    }
+
+    @Test
+    public void testItemsAreStoredOneByOneWithoutBulkSupport() {
+        Collection<Item> items = Arrays.asList(createItem("Item1"), createItem("Item2"));
+
+        persistenceManager.store(persistenceService, items, "alias");
+
+        assertEquals(Arrays.asList("Item1", "Item2"), persistenceService.stored);
+        assertEquals(Arrays.asList("alias", "alias"), persistenceService.aliases);
+    }
+
+    private void setModel(PersistenceConfiguration... configs) {
+        PersistenceFactory factory = PersistenceFactory.eINSTANCE;
+        PersistenceModel model = factory.createPersistenceModel();
+        CronStrategy strategy = factory.createCronStrategy();
+        strategy.setName(STRATEGY_NAME);
+        strategy.setCronExpression("0 * * * * ?");
+        model.getStrategies().add(strategy);
+        model.getDefaults().add(strategy);
+        model.getConfigs().addAll(Arrays.asList(configs));
+
+        // the name of the model is taken from the resource, when the strategy is scheduled
+        new ResourceImpl(URI.createURI(MODEL_NAME + ".persist")).getContents().add(model);
+
+        if (modelRepository.models.put(MODEL_NAME + ".persist", model) == null) {
+            persistenceManager.setModelRepository(modelRepository);
+        }
+    }
+
+    private PersistenceConfiguration createConfig(String alias, String... itemNames) {
+        PersistenceFactory factory = PersistenceFactory.eINSTANCE;
+        PersistenceConfiguration config = factory.createPersistenceConfiguration();
+        config.setAlias(alias);
+        for (String itemName : itemNames) {
+            if ("*".equals(itemName)) {
+                AllConfig allConfig = factory.createAllConfig();
+                config.getItems().add(allConfig);
+            } else {
+                ItemConfig itemConfig = factory.createItemConfig();
+                itemConfig.setItem(itemName);
+                config.getItems().add(itemConfig);
+            }
+        }
+        return config;
+    }
+
+    private List<String> getNames(Collection<Item> items) {
+        List<String> names = new ArrayList<>();
+        for (Item item : items) {
+            names.add(item.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static GenericItem createItem(String name) {
+        return new GenericItem("Test", name) {
+            @Override
+            public List<Class<? extends State>> getAcceptedDataTypes() {
+                return null;
+            }
+
+            @Override
+            public List<Class<? extends Command>> getAcceptedCommandTypes() {
+                return null;
+            }
+        };
+    }
+
+    private static class TestModelRepository implements ModelRepository {
+
+        private final Map<String, EObject> models = new HashMap<>();
+
+        @Override
+        public EObject getModel(String name) {
+            return models.get(name);
+        }
+
+        @Override
+        public boolean addOrRefreshModel(String name, InputStream inputStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeModel(String name) {
+            return models.remove(name) != null;
+        }
+
+        @Override
+        public Iterable<String> getAllModelNamesOfType(String modelType) {
+            List<String> names = new ArrayList<>();
+            for (String name : models.keySet()) {
+                if (name.endsWith("." + modelType)) {
+                    names.add(name);
+                }
+            }
+            return names;
+        }
+
+        @Override
+        public void reloadAllModelsOfType(String modelType) {
+        }
+
+        @Override
+        public void reloadModels(Iterable<String> names) {
+        }
+
+        @Override
+        public void addModelRepositoryChangeListener(ModelRepositoryChangeListener listener) {
+        }
+
+        @Override
+        public void removeModelRepositoryChangeListener(ModelRepositoryChangeListener listener) {
+        }
+    }
+
+    private static class RecordingPersistenceService extends TestPersistenceService {
+
+        final List<String> stored = new ArrayList<>();
+        final List<String> aliases = new ArrayList<>();
+
+        @Override
+        public void store(Item item, String alias) {
+            stored.add(item.getName());
+            aliases.add(alias);
+        }
+    }
+
+    private static class RecordingBulkPersistenceService extends RecordingPersistenceService implements
+            BulkPersistenceService {
+
+        final List<Collection<Item>> bulkCalls = new ArrayList<>();
+
+        @Override
+        public void store(Collection<Item> items, String alias) {
+            bulkCalls.add(items);
+            aliases.add(alias);
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.persistence.tests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+
+/**
+ * A simple item registry used for unit tests, which keeps the items in a map and informs its listeners about added,
+ * updated and removed items. It counts the lookups of single items.
+ *
+ * @author agent - Initial contribution
+ */
+public class TestItemRegistry implements ItemRegistry {
+
+    private final Map<String, Item> items = new LinkedHashMap<>();
+    private final List<RegistryChangeListener<Item>> listeners = new CopyOnWriteArrayList<>();
+
+    private int lookups;
+
+    /**
+     * Returns the number of calls of {@link #getItem(String)}.
+     *
+     * @return the number of lookups
+     */
+    public synchronized int getLookups() {
+        return lookups;
+    }
+
+    @Override
+    public void addRegistryChangeListener(RegistryChangeListener<Item> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeRegistryChangeListener(RegistryChangeListener<Item> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized Collection<Item> getAll() {
+        return new ArrayList<Item>(items.values());
+    }
+
+    @Override
+    public synchronized Item get(String key) {
+        return items.get(key);
+    }
+
+    @Override
+    public void add(Item element) {
+        synchronized (this) {
+            items.put(element.getName(), element);
+        }
+        for (RegistryChangeListener<Item> listener : listeners) {
+            listener.added(element);
+        }
+    }
+
+    @Override
+    public Item update(Item element) {
+        Item oldElement;
+        synchronized (this) {
+            oldElement = items.put(element.getName(), element);
+        }
+        for (RegistryChangeListener<Item> listener : listeners) {
+            listener.updated(oldElement, element);
+        }
+        return oldElement;
+    }
+
+    @Override
+    public Item remove(String key) {
+        Item element;
+        synchronized (this) {
+            element = items.remove(key);
+        }
+        if (element != null) {
+            for (RegistryChangeListener<Item> listener : listeners) {
+                listener.removed(element);
+            }
+        }
+        return element;
+    }
+
+    @Override
+    public synchronized Item getItem(String name) throws ItemNotFoundException {
+        lookups++;
+        Item item = items.get(name);
+        if (item == null) {
+            throw new ItemNotFoundException(name);
+        }
+        return item;
+    }
+
+    @Override
+    public Item getItemByPattern(String name) throws ItemNotFoundException {
+        return getItem(name);
+    }
+
+    @Override
+    public Collection<Item> getItems() {
+        return getAll();
+    }
+
+    @Override
+    public Collection<Item> getItemsOfType(String type) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Collection<Item> getItems(String pattern) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isValidItemName(String itemName) {
+        return itemName.matches("[a-zA-Z0-9_]*");
+    }
+
+    @Override
+    public Collection<Item> getItemsByTag(String... tags) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Collection<Item> getItemsByTagAndType(String type, String... tags) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T extends GenericItem> Collection<T> getItemsByTag(Class<T> typeFilter, String... tags) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void remove(String itemName, boolean recursive) {
+        remove(itemName);
+    }
+
+}
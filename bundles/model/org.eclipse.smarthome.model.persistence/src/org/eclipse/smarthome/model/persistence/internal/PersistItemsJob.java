@@ -7,13 +7,11 @@
  */
 package org.eclipse.smarthome.model.persistence.internal;
 
-import org.eclipse.emf.ecore.EObject;
+import java.util.Collection;
+import java.util.Map.Entry;
+
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
-import org.eclipse.smarthome.model.core.ModelRepository;
-import org.eclipse.smarthome.model.persistence.persistence.PersistenceConfiguration;
-import org.eclipse.smarthome.model.persistence.persistence.PersistenceModel;
-import org.eclipse.smarthome.model.persistence.persistence.Strategy;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -21,8 +19,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Implementation of Quartz {@link Job}-Interface. It takes a PersistenceModel and a CronStrategy,
- * scans through the relevant configurations and persists the concerned items.
+ * Implementation of Quartz {@link Job}-Interface. It takes a PersistenceModel and a CronStrategy
+ * and persists the concerned items, which are determined by the {@link PersistenceManager}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  */
@@ -40,25 +38,15 @@ public class PersistItemsJob implements Job {
 
         PersistenceManager persistenceManager = PersistenceManager.getInstance();
         if (persistenceManager != null) {
-            ModelRepository modelRepository = persistenceManager.modelRepository;
             PersistenceService persistenceService = persistenceManager.persistenceServices.get(modelName);
 
-            if (modelRepository != null && persistenceService != null) {
-                EObject model = modelRepository.getModel(modelName + ".persist");
-                if (model instanceof PersistenceModel) {
-                    PersistenceModel persistModel = (PersistenceModel) model;
-                    for (PersistenceConfiguration config : persistModel.getConfigs()) {
-                        if (hasStrategy(persistModel, config, strategyName)) {
-                            for (Item item : persistenceManager.getAllItems(config)) {
-                                long startTime = System.currentTimeMillis();
-                                persistenceService.store(item, config.getAlias());
-                                logger.trace("Storing item '{}' with persistence service '{}' took {}ms", new Object[] {
-                                        item.getName(), modelName, System.currentTimeMillis() - startTime });
-                            }
-                        }
-                    }
-                } else {
-                    logger.debug("Persistence file '{}' does not exist", modelName);
+            if (persistenceService != null) {
+                for (Entry<String, Collection<Item>> entry : persistenceManager.getCronItems(modelName, strategyName)
+                        .entrySet()) {
+                    long startTime = System.currentTimeMillis();
+                    persistenceManager.store(persistenceService, entry.getValue(), entry.getKey());
+                    logger.trace("Storing {} items with persistence service '{}' took {}ms", new Object[] {
+                            entry.getValue().size(), modelName, System.currentTimeMillis() - startTime });
                 }
             }
         } else {
@@ -66,26 +54,4 @@ public class PersistItemsJob implements Job {
         }
     }
 
-    private boolean hasStrategy(PersistenceModel persistModel, PersistenceConfiguration config, String strategyName) {
-        // check if the strategy is directly defined on the config
-        for (Strategy strategy : config.getStrategies()) {
-            if (strategy.getName().equals(strategyName))
-                return true;
-        }
-        // if no strategies are given, check the default strategies to use
-        if (config.getStrategies().isEmpty() && isDefault(persistModel, strategyName)) {
-            return true;
-        }
-        return false;
-    }
-
-    private boolean isDefault(PersistenceModel persistModel, String strategyName) {
-        for (Strategy strategy : persistModel.getDefaults()) {
-            if (strategy.getName().equals(strategyName)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,6 +32,7 @@ import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.persistence.BulkPersistenceService;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
@@ -90,6 +92,12 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
     protected Map<String, List<Strategy>> defaultStrategies = Collections
             .synchronizedMap(new HashMap<String, List<Strategy>>());
 
+    /**
+     * keeps the items to persist by alias for each cron strategy of each persistence service. The map is replaced,
+     * whenever the models or the items change, so that a snapshot, which is still being determined, is discarded.
+     */
+    private volatile Map<JobKey, Map<String, Collection<Item>>> cronItems = new ConcurrentHashMap<>();
+
     public PersistenceManager() {
         PersistenceManager.instance = this;
         try {
@@ -184,6 +192,7 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
                         }
                     }
                 }
+                invalidateCronItems();
                 createTimers(modelName);
             }
         }
@@ -197,6 +206,7 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
     private void stopEventHandling(String modelName) {
         persistenceConfigurations.remove(modelName);
         defaultStrategies.remove(modelName);
+        invalidateCronItems();
         removeTimers(modelName);
     }
 
@@ -334,8 +344,94 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
         return items;
     }
 
+    /**
+     * Returns the items, which are persisted by a cron strategy of a persistence service. The items are determined
+     * once and reused for every execution of the strategy, until the persistence models or the items change.
+     *
+     * @param modelName the name of the persistence model without file extension
+     * @param strategyName the name of the cron strategy
+     * @return the items by the alias under which they are persisted
+     */
+    /* default */Map<String, Collection<Item>> getCronItems(String modelName, String strategyName) {
+        Map<JobKey, Map<String, Collection<Item>>> cronItems = this.cronItems;
+        JobKey jobKey = new JobKey(strategyName, modelName);
+        Map<String, Collection<Item>> items = cronItems.get(jobKey);
+        if (items == null) {
+            items = determineCronItems(modelName, strategyName);
+            cronItems.put(jobKey, items);
+        }
+        return items;
+    }
+
+    private Map<String, Collection<Item>> determineCronItems(String modelName, String strategyName) {
+        Map<String, Collection<Item>> itemsByAlias = new HashMap<String, Collection<Item>>();
+        List<PersistenceConfiguration> configs = persistenceConfigurations.get(modelName);
+        List<Strategy> defaults = defaultStrategies.get(modelName);
+        if (configs == null || defaults == null) {
+            logger.debug("Persistence file '{}' does not exist", modelName);
+        } else if (itemRegistry != null) {
+            for (PersistenceConfiguration config : configs) {
+                if (hasStrategy(defaults, config, strategyName)) {
+                    Collection<Item> items = itemsByAlias.get(config.getAlias());
+                    if (items == null) {
+                        items = new LinkedHashSet<Item>();
+                        itemsByAlias.put(config.getAlias(), items);
+                    }
+                    for (Item item : getAllItems(config)) {
+                        items.add(item);
+                    }
+                }
+            }
+        }
+        for (Entry<String, Collection<Item>> entry : itemsByAlias.entrySet()) {
+            entry.setValue(Collections.unmodifiableCollection(entry.getValue()));
+        }
+        return itemsByAlias;
+    }
+
+    private boolean hasStrategy(List<Strategy> defaults, PersistenceConfiguration config, String strategyName) {
+        // check if the strategy is directly defined on the config
+        for (Strategy strategy : config.getStrategies()) {
+            if (strategy.getName().equals(strategyName)) {
+                return true;
+            }
+        }
+        // if no strategies are given, check the default strategies to use
+        if (config.getStrategies().isEmpty()) {
+            for (Strategy strategy : defaults) {
+                if (strategy.getName().equals(strategyName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void invalidateCronItems() {
+        cronItems = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Stores the given items with a persistence service. If the service is a {@link BulkPersistenceService}, all
+     * items are passed to it at once, otherwise they are stored one by one.
+     *
+     * @param persistenceService the persistence service to store the items with
+     * @param items the items to store
+     * @param alias the alias under which the items are persisted or null
+     */
+    /* default */void store(PersistenceService persistenceService, Collection<Item> items, String alias) {
+        if (persistenceService instanceof BulkPersistenceService) {
+            ((BulkPersistenceService) persistenceService).store(items, alias);
+        } else {
+            for (Item item : items) {
+                persistenceService.store(item, alias);
+            }
+        }
+    }
+
     @Override
     public void allItemsChanged(Collection<String> oldItemNames) {
+        invalidateCronItems();
         for (Item item : itemRegistry.getItems()) {
             added(item);
         }
@@ -343,6 +439,7 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 
     @Override
     public void added(Item item) {
+        invalidateCronItems();
         initialize(item);
         if (item instanceof GenericItem) {
             GenericItem genericItem = (GenericItem) item;
@@ -400,6 +497,7 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 
     @Override
     public void removed(Item item) {
+        invalidateCronItems();
         if (item instanceof GenericItem) {
             GenericItem genericItem = (GenericItem) item;
             genericItem.removeStateChangeListener(this);
@@ -472,7 +570,8 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 
     @Override
     public void updated(Item oldItem, Item item) {
-        // not needed here
+        // the cron items may still refer to the old item
+        invalidateCronItems();
     }
 
 }
@@ -0,0 +1,436 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.scriptengine.Script;
+import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.model.rule.jvmmodel.RulesJvmModelInferrer;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.rules.RuleModel;
+import org.eclipse.smarthome.model.rule.rules.VariableDeclaration;
+import org.eclipse.smarthome.model.script.scoping.ScriptImplicitlyImportedTypes;
+import org.eclipse.smarthome.model.script.scoping.StateAndCommandProvider;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+import org.eclipse.xtext.xbase.compiler.JvmModelGenerator;
+import org.eclipse.xtext.xbase.compiler.OnTheFlyJavaCompiler;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+import org.eclipse.xtext.xbase.interpreter.impl.DefaultEvaluationContext;
+import org.eclipse.xtext.xbase.scoping.batch.ImplicitlyImportedTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Injector;
+
+/**
+ * The {@link RuleCompiler} translates a rule file into Java bytecode instead of interpreting the rule expressions. The
+ * Java source is generated from the JVM model, which is inferred by the {@link RulesJvmModelInferrer}, and compiled
+ * and loaded with an {@link OnTheFlyJavaCompiler}. Each rule becomes a static method of the generated class, which is
+ * named by {@link RulesJvmModelInferrer#getRuleMethodName(Rule)}.
+ * <p>
+ * A rule file is compiled lazily on the first execution of one of its rules and the result is attached to the
+ * {@link RuleModel} as EMF adapter, so that it is dropped together with the model when the rule file is reloaded.
+ * If a rule file cannot be compiled, {@link #getScript(Rule, ItemRegistry)} returns <code>null</code> and the rules of
+ * this file are interpreted as before.
+ * <p>
+ * The variables of a compiled rule file are kept in the static fields of the generated class only.
+ * {@link RuleContextHelper} provides them through {@link #getContext(RuleModel)}, so that rules, which are interpreted
+ * nevertheless, share them with the compiled rules. The items are injected into the static fields again, after the
+ * item registry has changed (see {@link #itemsChanged()}).
+ * <p>
+ * Rule files whose variable initializers refer to items or states are not compiled, since the static initializer of
+ * the generated class runs before the items are injected into it. Neither are rule files, whose variables have
+ * already been initialized by the interpreter.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("restriction")
+public class RuleCompiler {
+
+    private final Logger logger = LoggerFactory.getLogger(RuleCompiler.class);
+
+    private final Injector injector;
+
+    private final AtomicLong itemsVersion = new AtomicLong();
+
+    public RuleCompiler(Injector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Returns the evaluation context, which provides the variables of a compiled rule file.
+     *
+     * @param ruleModel the rule file
+     * @return the context or <code>null</code>, if the rule file has not been compiled
+     */
+    public static IEvaluationContext getContext(RuleModel ruleModel) {
+        for (Adapter adapter : ruleModel.eAdapters()) {
+            if (adapter instanceof CompiledRuleModel) {
+                return ((CompiledRuleModel) adapter).context;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Has to be called, whenever the items of the item registry have changed. The items are injected into the
+     * compiled rule files again before their next execution.
+     */
+    public void itemsChanged() {
+        itemsVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns a script that executes the compiled code of the given rule.
+     *
+     * @param rule the rule to execute
+     * @param itemRegistry the item registry providing the items, which are referenced by the rule
+     * @return the script or <code>null</code>, if the rule could not be compiled
+     */
+    public Script getScript(Rule rule, ItemRegistry itemRegistry) {
+        CompiledRuleModel compiledRuleModel = getCompiledRuleModel((RuleModel) rule.eContainer(), itemRegistry);
+        return compiledRuleModel != null ? compiledRuleModel.getScript(rule) : null;
+    }
+
+    private synchronized CompiledRuleModel getCompiledRuleModel(RuleModel ruleModel, ItemRegistry itemRegistry) {
+        CompiledRuleModel compiledRuleModel = null;
+        for (Adapter adapter : ruleModel.eAdapters()) {
+            if (adapter instanceof CompiledRuleModel) {
+                compiledRuleModel = (CompiledRuleModel) adapter;
+            }
+        }
+        if (compiledRuleModel == null) {
+            compiledRuleModel = compile(ruleModel, itemRegistry);
+            ruleModel.eAdapters().add(compiledRuleModel);
+        } else if (!compiledRuleModel.ruleMethods.isEmpty()
+                && compiledRuleModel.injectedItemsVersion != itemsVersion.get()) {
+            refreshItems(ruleModel, compiledRuleModel, itemRegistry);
+        }
+        return !compiledRuleModel.ruleMethods.isEmpty() ? compiledRuleModel : null;
+    }
+
+    private CompiledRuleModel compile(RuleModel ruleModel, ItemRegistry itemRegistry) {
+        String modelName = ruleModel.eResource().getURI().lastSegment();
+        if (hasReferencingVariableInitializer(ruleModel)) {
+            logger.debug("Rule file '{}' is interpreted, because its variable initializers refer to items or states.",
+                    modelName);
+            return new CompiledRuleModel();
+        }
+        if (RuleContextHelper.hasContext(ruleModel)) {
+            logger.debug("Rule file '{}' is interpreted, because its variables have already been initialized.",
+                    modelName);
+            return new CompiledRuleModel();
+        }
+        try {
+            long start = System.currentTimeMillis();
+
+            InMemoryFileSystemAccess fsa = new InMemoryFileSystemAccess();
+            injector.getInstance(JvmModelGenerator.class).doGenerate(ruleModel.eResource(), fsa);
+
+            for (Entry<String, CharSequence> file : fsa.getFiles().entrySet()) {
+                String fileName = file.getKey().substring(IFileSystemAccess.DEFAULT_OUTPUT.length());
+                if (fileName.endsWith(".java")) {
+                    String className = fileName.substring(0, fileName.length() - ".java".length()).replace('/', '.');
+                    long version = itemsVersion.get();
+                    Class<?> ruleClass = createCompiler(itemRegistry).compileToClass(className,
+                            file.getValue().toString());
+                    Set<String> variableNames = getVariableNames(ruleModel);
+                    injectTypes(ruleClass);
+                    injectItems(ruleClass, variableNames, itemRegistry);
+
+                    Map<String, Method> ruleMethods = new HashMap<>();
+                    for (Method method : ruleClass.getDeclaredMethods()) {
+                        if (Modifier.isStatic(method.getModifiers()) && method.getName().startsWith("_")) {
+                            method.setAccessible(true);
+                            ruleMethods.put(method.getName(), method);
+                        }
+                    }
+
+                    logger.debug("Compiled rule file '{}' in {}ms.", modelName, System.currentTimeMillis() - start);
+                    return new CompiledRuleModel(ruleClass, variableNames, ruleMethods, version);
+                }
+            }
+            logger.warn("Rule file '{}' could not be compiled, its rules are interpreted instead: no class generated",
+                    modelName);
+        } catch (Exception | LinkageError e) {
+            logger.warn("Rule file '{}' could not be compiled, its rules are interpreted instead: {}", modelName,
+                    e.getMessage());
+        }
+        return new CompiledRuleModel();
+    }
+
+    private void refreshItems(RuleModel ruleModel, CompiledRuleModel compiledRuleModel, ItemRegistry itemRegistry) {
+        long version = itemsVersion.get();
+        try {
+            injectItems(compiledRuleModel.ruleClass, compiledRuleModel.variableNames, itemRegistry);
+            compiledRuleModel.injectedItemsVersion = version;
+        } catch (RuntimeException | IllegalAccessException e) {
+            // the variables stay in the static fields, so that the interpreted rules still share them
+            logger.warn("The rules of file '{}' are interpreted from now on, since the items could not be updated: {}",
+                    ruleModel.eResource().getURI().lastSegment(), e.getMessage());
+            compiledRuleModel.ruleMethods = Collections.emptyMap();
+        }
+    }
+
+    private OnTheFlyJavaCompiler createCompiler(ItemRegistry itemRegistry) {
+        OnTheFlyJavaCompiler compiler = injector.getInstance(OnTheFlyJavaCompiler.class);
+        compiler.setParentClassLoader(injector.getInstance(ClassLoader.class));
+
+        Set<Class<?>> classPath = new HashSet<>();
+        classPath.add(Item.class);
+        classPath.add(Type.class);
+        classPath.add(RulesJvmModelInferrer.class);
+        ImplicitlyImportedTypes implicitlyImportedTypes = injector.getInstance(ImplicitlyImportedTypes.class);
+        if (implicitlyImportedTypes instanceof ScriptImplicitlyImportedTypes) {
+            classPath.addAll(((ScriptImplicitlyImportedTypes) implicitlyImportedTypes).getImplicitlyImportedClasses());
+        }
+        for (Type type : injector.getInstance(StateAndCommandProvider.class).getAllTypes()) {
+            classPath.add(type.getClass());
+        }
+        for (Item item : itemRegistry.getItems()) {
+            classPath.add(item.getClass());
+        }
+        for (Class<?> clazz : classPath) {
+            compiler.addClassPathOfClass(clazz);
+        }
+        return compiler;
+    }
+
+    private void injectTypes(Class<?> ruleClass) throws IllegalAccessException {
+        for (Type type : injector.getInstance(StateAndCommandProvider.class).getAllTypes()) {
+            try {
+                setStaticField(ruleClass.getDeclaredField(type.toString()), type);
+            } catch (NoSuchFieldException e) {
+                // the field has been skipped by the inferrer as duplicate
+            }
+        }
+    }
+
+    /**
+     * Injects the current items into the item fields of the generated class. The fields of items, which have been
+     * removed from the registry, are set to <code>null</code>.
+     */
+    private void injectItems(Class<?> ruleClass, Set<String> variableNames, ItemRegistry itemRegistry)
+            throws IllegalAccessException {
+        for (Field field : ruleClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && Item.class.isAssignableFrom(field.getType())
+                    && !variableNames.contains(field.getName())) {
+                setStaticField(field, itemRegistry.get(field.getName()));
+            }
+        }
+    }
+
+    private void setStaticField(Field field, Object value) throws IllegalAccessException {
+        if (!Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalStateException("The field '" + field.getName() + "' is not static.");
+        }
+        if (value != null && !field.getType().isInstance(value)) {
+            throw new IllegalStateException("The field '" + field.getName() + "' has the type "
+                    + field.getType().getSimpleName() + ", which does not match the value of type "
+                    + value.getClass().getSimpleName() + ".");
+        }
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+
+    private Set<String> getVariableNames(RuleModel ruleModel) {
+        Set<String> variableNames = new HashSet<>();
+        for (VariableDeclaration variable : ruleModel.getVariables()) {
+            variableNames.add(variable.getName());
+        }
+        return variableNames;
+    }
+
+    private boolean hasReferencingVariableInitializer(RuleModel ruleModel) {
+        Set<String> variableNames = getVariableNames(ruleModel);
+        for (VariableDeclaration variable : ruleModel.getVariables()) {
+            if (variable.getRight() != null) {
+                for (EObject object : EcoreUtil.<EObject> getAllProperContents(variable.getRight(), true)) {
+                    if (isReferenceToInjectedField(object, variableNames)) {
+                        return true;
+                    }
+                }
+                if (isReferenceToInjectedField(variable.getRight(), variableNames)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isReferenceToInjectedField(EObject object, Set<String> variableNames) {
+        if (object instanceof XAbstractFeatureCall) {
+            Object feature = ((XAbstractFeatureCall) object).getFeature();
+            return feature instanceof JvmField && !variableNames.contains(((JvmField) feature).getSimpleName());
+        }
+        return false;
+    }
+
+    /**
+     * The {@link CompiledRuleModel} holds the generated class of a rule file and the compiled methods of its rules. If
+     * the rule file could not be compiled, there are no methods.
+     */
+    private static class CompiledRuleModel extends AdapterImpl {
+
+        private final Class<?> ruleClass;
+        private final Set<String> variableNames;
+        private final IEvaluationContext context;
+
+        private volatile Map<String, Method> ruleMethods;
+        private volatile long injectedItemsVersion;
+
+        private CompiledRuleModel() {
+            this.ruleClass = null;
+            this.variableNames = Collections.emptySet();
+            this.context = null;
+            this.ruleMethods = Collections.emptyMap();
+        }
+
+        private CompiledRuleModel(Class<?> ruleClass, Set<String> variableNames, Map<String, Method> ruleMethods,
+                long injectedItemsVersion) {
+            this.ruleClass = ruleClass;
+            this.variableNames = variableNames;
+            this.context = new StaticFieldEvaluationContext(ruleClass, variableNames);
+            this.ruleMethods = ruleMethods;
+            this.injectedItemsVersion = injectedItemsVersion;
+        }
+
+        private Script getScript(Rule rule) {
+            Method method = ruleMethods.get(RulesJvmModelInferrer.getRuleMethodName(rule));
+            return method != null ? new CompiledRuleScript(method) : null;
+        }
+
+    }
+
+    /**
+     * The {@link StaticFieldEvaluationContext} reads and writes the variables of a rule file from and to the static
+     * fields of its generated class. All other values are kept in the context itself.
+     */
+    private static class StaticFieldEvaluationContext extends DefaultEvaluationContext {
+
+        private final Map<String, Field> variableFields = new HashMap<>();
+
+        private StaticFieldEvaluationContext(Class<?> ruleClass, Set<String> variableNames) {
+            for (String variableName : variableNames) {
+                try {
+                    Field field = ruleClass.getDeclaredField(variableName);
+                    field.setAccessible(true);
+                    variableFields.put(variableName, field);
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException("The variable '" + variableName + "' has not been compiled.", e);
+                }
+            }
+        }
+
+        @Override
+        public Object getValue(QualifiedName qualifiedName) {
+            Field field = variableFields.get(qualifiedName.toString());
+            if (field == null) {
+                return super.getValue(qualifiedName);
+            }
+            try {
+                return field.get(null);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void newValue(QualifiedName qualifiedName, Object value) {
+            if (variableFields.containsKey(qualifiedName.toString())) {
+                assignValue(qualifiedName, value);
+            } else {
+                super.newValue(qualifiedName, value);
+            }
+        }
+
+        @Override
+        public void assignValue(QualifiedName qualifiedName, Object value) {
+            Field field = variableFields.get(qualifiedName.toString());
+            if (field == null) {
+                super.assignValue(qualifiedName, value);
+                return;
+            }
+            try {
+                field.set(null, value);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                throw new IllegalStateException("The variable '" + qualifiedName + "' cannot be assigned.", e);
+            }
+        }
+
+    }
+
+    /**
+     * The {@link CompiledRuleScript} is a {@link Script} that invokes the compiled method of a rule. The implicit rule
+     * variables are taken from the evaluation context.
+     */
+    private static class CompiledRuleScript implements Script {
+
+        private final Method method;
+
+        private CompiledRuleScript(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object execute() throws ScriptExecutionException {
+            return execute(null);
+        }
+
+        @Override
+        public Object execute(IEvaluationContext evaluationContext) throws ScriptExecutionException {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Object[] arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (evaluationContext == null) {
+                    continue;
+                }
+                if (Command.class.equals(parameterTypes[i])) {
+                    arguments[i] = evaluationContext.getValue(QualifiedName
+                            .create(RulesJvmModelInferrer.VAR_RECEIVED_COMMAND));
+                } else if (State.class.equals(parameterTypes[i])) {
+                    arguments[i] = evaluationContext.getValue(QualifiedName
+                            .create(RulesJvmModelInferrer.VAR_PREVIOUS_STATE));
+                }
+            }
+            try {
+                return method.invoke(null, arguments);
+            } catch (InvocationTargetException e) {
+                throw new ScriptExecutionException(e.getCause().getMessage(), e.getCause());
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                throw new ScriptExecutionException(e.getMessage(), e);
+            }
+        }
+
+    }
+
+}
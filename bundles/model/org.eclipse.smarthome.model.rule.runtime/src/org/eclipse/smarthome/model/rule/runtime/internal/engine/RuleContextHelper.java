@@ -34,7 +34,7 @@ public class RuleContextHelper {
 
     /**
      * Retrieves the evaluation context (= set of variables) for a rule. The context is shared with all rules in the
-     * same model (= rule file).
+     * same model (= rule file). If the model has been compiled, the variables are kept by the compiled class.
      * 
      * @param rule the rule to get the context for
      * @return the evaluation context
@@ -43,6 +43,11 @@ public class RuleContextHelper {
         Logger logger = LoggerFactory.getLogger(RuleContextHelper.class);
         RuleModel ruleModel = (RuleModel) rule.eContainer();
 
+        IEvaluationContext compiledContext = RuleCompiler.getContext(ruleModel);
+        if (compiledContext != null) {
+            return compiledContext;
+        }
+
         // check if a context already exists on the resource
         for (Adapter adapter : ruleModel.eAdapters()) {
             if (adapter instanceof RuleContextAdapter) {
@@ -74,6 +79,21 @@ public class RuleContextHelper {
         }
     }
 
+    /**
+     * Checks, whether the variables of the given model have already been initialized by the interpreter.
+     *
+     * @param ruleModel the model (= rule file)
+     * @return true, if an evaluation context exists for the model
+     */
+    static synchronized boolean hasContext(RuleModel ruleModel) {
+        for (Adapter adapter : ruleModel.eAdapters()) {
+            if (adapter instanceof RuleContextAdapter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Inner class that wraps an evaluation context into an EMF adapters
      */
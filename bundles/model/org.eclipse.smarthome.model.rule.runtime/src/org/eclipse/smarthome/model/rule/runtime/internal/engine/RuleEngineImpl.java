@@ -70,12 +70,19 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
 
     private RuleTriggerManager triggerManager;
 
+    private RuleCompiler ruleCompiler;
+
     private Injector injector;
 
     public void activate() {
         injector = RulesStandaloneSetup.getInjector();
         triggerManager = injector.getInstance(RuleTriggerManager.class);
 
+        if (isCompilationEnabled()) {
+            logger.info("Rules are compiled to bytecode.");
+            ruleCompiler = new RuleCompiler(injector);
+        }
+
         if (!isEnabled()) {
             logger.info("Rule engine is disabled.");
             return;
@@ -106,6 +113,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         executeRules(triggerManager.getRules(SHUTDOWN));
         triggerManager.clearAll();
         triggerManager = null;
+        ruleCompiler = null;
     }
 
     public void setItemRegistry(ItemRegistry itemRegistry) {
@@ -141,6 +149,9 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
      */
     @Override
     public void allItemsChanged(Collection<String> oldItemNames) {
+        if (ruleCompiler != null) {
+            ruleCompiler.itemsChanged();
+        }
         // add the current items again
         Collection<Item> items = itemRegistry.getItems();
         for (Item item : items) {
@@ -154,6 +165,9 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
      */
     @Override
     public void added(Item item) {
+        if (ruleCompiler != null) {
+            ruleCompiler.itemsChanged();
+        }
         internalItemAdded(item);
         runStartupRules();
     }
@@ -163,6 +177,9 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
      */
     @Override
     public void removed(Item item) {
+        if (ruleCompiler != null) {
+            ruleCompiler.itemsChanged();
+        }
         if (item instanceof GenericItem) {
             GenericItem genericItem = (GenericItem) item;
             genericItem.removeStateChangeListener(this);
@@ -264,7 +281,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
 
             for (Rule rule : startupRules) {
                 try {
-                    Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+                    Script script = getScript(rule);
                     logger.debug("Executing startup rule '{}'", rule.getName());
                     RuleEvaluationContext context = new RuleEvaluationContext();
                     context.setGlobalContext(RuleContextHelper.getContext(rule, injector));
@@ -287,7 +304,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
     }
 
     protected synchronized void executeRule(Rule rule, RuleEvaluationContext context) {
-        Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+        Script script = getScript(rule);
 
         logger.debug("Executing rule '{}'", rule.getName());
 
@@ -297,6 +314,16 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         thread.start();
     }
 
+    private Script getScript(Rule rule) {
+        if (ruleCompiler != null && itemRegistry != null) {
+            Script script = ruleCompiler.getScript(rule, itemRegistry);
+            if (script != null) {
+                return script;
+            }
+        }
+        return scriptEngine.newScriptFromXExpression(rule.getScript());
+    }
+
     protected synchronized void executeRules(Iterable<Rule> rules) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
@@ -330,8 +357,19 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         return !"true".equalsIgnoreCase(System.getProperty("noRules"));
     }
 
+    /**
+     * rules are interpreted by default, the compilation to bytecode has to be switched on explicitly.
+     *
+     * @return true, if rules should be compiled, false otherwise
+     */
+    private boolean isCompilationEnabled() {
+        return "true".equalsIgnoreCase(System.getProperty("compileRules"));
+    }
+
     @Override
     public void updated(Item oldItem, Item item) {
-        // nothing to do
+        if (ruleCompiler != null) {
+            ruleCompiler.itemsChanged();
+        }
     }
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.items.ItemRegistry
+import org.eclipse.smarthome.core.items.ManagedItemProvider
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.model.core.ModelRepository
+import org.eclipse.smarthome.model.rule.RulesStandaloneSetup
+import org.eclipse.smarthome.model.rule.jvmmodel.RulesJvmModelInferrer
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.eclipse.smarthome.model.rule.rules.RuleModel
+import org.eclipse.smarthome.test.OSGiTest
+import org.eclipse.xtext.naming.QualifiedName
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The {@link RuleCompilerOSGiTest} compiles a rule file and executes its rules.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleCompilerOSGiTest extends OSGiTest {
+
+    private final static String TESTMODEL_NAME = "compilerTest.rules"
+
+    private final static String TESTMODEL = '''
+        var Number counter = 0
+        var Object lastSwitch = null
+
+        rule "count the commands"
+        when
+            Item CompilerSwitch received command
+        then
+            counter = counter + 1
+            lastSwitch = CompilerSwitch
+        end
+        '''
+
+    ModelRepository modelRepository
+    ItemRegistry itemRegistry
+    ManagedItemProvider managedItemProvider
+    RuleCompiler ruleCompiler
+
+    @Before
+    void setUp() {
+        registerVolatileStorageService()
+        itemRegistry = getService ItemRegistry
+        assertThat itemRegistry, is(notNullValue())
+        managedItemProvider = getService ManagedItemProvider
+        assertThat managedItemProvider, is(notNullValue())
+        modelRepository = getService ModelRepository
+        assertThat modelRepository, is(notNullValue())
+
+        managedItemProvider.add(new SwitchItem("CompilerSwitch"))
+
+        RulesStandaloneSetup.doSetup()
+        ruleCompiler = new RuleCompiler(RulesStandaloneSetup.getInjector())
+    }
+
+    @After
+    void tearDown() {
+        modelRepository.removeModel(TESTMODEL_NAME)
+        managedItemProvider.getAll().each {
+            managedItemProvider.remove(it.name)
+        }
+    }
+
+    @Test
+    void 'assert that a rule with spaces in its name is compiled'() {
+        Rule rule = loadRule()
+
+        assertThat RulesJvmModelInferrer.getRuleMethodName(rule), is(equalTo("_count_the_commands_0"))
+        assertThat ruleCompiler.getScript(rule, itemRegistry), is(notNullValue())
+    }
+
+    @Test
+    void 'assert that compiled and interpreted rules share the variables'() {
+        Rule rule = loadRule()
+        def script = ruleCompiler.getScript(rule, itemRegistry)
+        assertThat script, is(notNullValue())
+
+        script.execute(createContext(rule))
+        script.execute(createContext(rule))
+
+        def globalContext = RuleContextHelper.getContext(rule, RulesStandaloneSetup.getInjector())
+        assertThat globalContext, is(sameInstance(RuleCompiler.getContext(rule.eContainer() as RuleModel)))
+        assertThat globalContext.getValue(QualifiedName.create("counter")).intValue(), is(2)
+
+        // an assignment by the interpreter is seen by the compiled rule
+        globalContext.assignValue(QualifiedName.create("counter"), 10)
+        script.execute(createContext(rule))
+        assertThat globalContext.getValue(QualifiedName.create("counter")).intValue(), is(11)
+    }
+
+    @Test
+    void 'assert that the items are injected again after the items have changed'() {
+        Rule rule = loadRule()
+        def script = ruleCompiler.getScript(rule, itemRegistry)
+        assertThat script, is(notNullValue())
+
+        script.execute(createContext(rule))
+        def globalContext = RuleContextHelper.getContext(rule, RulesStandaloneSetup.getInjector())
+        assertThat globalContext.getValue(QualifiedName.create("lastSwitch")).label, is(nullValue())
+
+        def updatedSwitch = new SwitchItem("CompilerSwitch")
+        updatedSwitch.label = "Updated"
+        managedItemProvider.update(updatedSwitch)
+        ruleCompiler.itemsChanged()
+
+        script = ruleCompiler.getScript(rule, itemRegistry)
+        script.execute(createContext(rule))
+        assertThat globalContext.getValue(QualifiedName.create("lastSwitch")).label, is(equalTo("Updated"))
+    }
+
+    private Rule loadRule() {
+        assertThat modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(TESTMODEL.bytes)),
+                is(true)
+        RuleModel ruleModel = modelRepository.getModel(TESTMODEL_NAME)
+        assertThat ruleModel, is(notNullValue())
+        return ruleModel.rules[0]
+    }
+
+    private RuleEvaluationContext createContext(Rule rule) {
+        def context = new RuleEvaluationContext()
+        context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_RECEIVED_COMMAND), OnOffType.ON)
+        context.setGlobalContext(RuleContextHelper.getContext(rule, RulesStandaloneSetup.getInjector()))
+        return context
+    }
+}
@@ -7,21 +7,30 @@
  */
 package org.eclipse.smarthome.model.rule.jvmmodel;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.model.core.ModelRepository;
+import org.eclipse.smarthome.model.script.jvmmodel.ReferencedNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link RulesItemRefresher} is responsible for reloading rules resources every time an item is added or removed.
+ * <p>
+ * Only the resources, which refer to one of the changed items, are reloaded (see {@link ReferencedNames}). If all
+ * items have changed, all rules resources are reloaded.
  *
  * @author Oliver Libutzki - Initial contribution
  * @author Kai Kreuzer - added delayed execution
@@ -36,6 +45,9 @@ public class RulesItemRefresher implements ItemRegistryChangeListener {
     private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private ScheduledFuture<?> job;
 
+    private Set<String> changedItemNames = new HashSet<>();
+    private boolean allItemsChanged = false;
+
     public void setModelRepository(ModelRepository modelRepository) {
         this.modelRepository = modelRepository;
     }
@@ -56,25 +68,38 @@ public class RulesItemRefresher implements ItemRegistryChangeListener {
 
     @Override
     public void added(Item element) {
-        scheduleRuleRefresh();
+        scheduleRuleRefresh(element.getName());
     }
 
     @Override
     public void removed(Item element) {
-        scheduleRuleRefresh();
+        scheduleRuleRefresh(element.getName());
     }
 
     @Override
     public void updated(Item oldElement, Item element) {
-
+        // the inferred field has the type of the item, the interpreter looks up the item by its name
+        if (!oldElement.getClass().equals(element.getClass())) {
+            scheduleRuleRefresh(element.getName());
+        }
     }
 
     @Override
     public void allItemsChanged(Collection<String> oldItemNames) {
-        scheduleRuleRefresh();
+        scheduleRuleRefresh(null);
     }
 
-    private synchronized void scheduleRuleRefresh() {
+    /**
+     * Schedules the reload of the resources, which refer to the given item.
+     *
+     * @param itemName the name of the changed item or <code>null</code>, if all items have changed
+     */
+    private synchronized void scheduleRuleRefresh(String itemName) {
+        if (itemName != null) {
+            changedItemNames.add(itemName);
+        } else {
+            allItemsChanged = true;
+        }
         if (job != null && !job.isDone()) {
             job.cancel(false);
         }
@@ -84,8 +109,29 @@ public class RulesItemRefresher implements ItemRegistryChangeListener {
     Runnable runnable = new Runnable() {
         @Override
         public void run() {
+            Set<String> itemNames;
+            boolean reloadAll;
+            synchronized (RulesItemRefresher.this) {
+                itemNames = changedItemNames;
+                reloadAll = allItemsChanged;
+                changedItemNames = new HashSet<>();
+                allItemsChanged = false;
+            }
             try {
-                modelRepository.reloadAllModelsOfType("rules");
+                if (reloadAll) {
+                    modelRepository.reloadAllModelsOfType("rules");
+                } else {
+                    List<String> modelNames = new ArrayList<>();
+                    for (String modelName : modelRepository.getAllModelNamesOfType("rules")) {
+                        EObject model = modelRepository.getModel(modelName);
+                        if (model != null && ReferencedNames.isReferencingAny(model, itemNames)) {
+                            modelNames.add(modelName);
+                        }
+                    }
+                    logger.debug("Reloading {} rules resources, which refer to the items {}.", modelNames.size(),
+                            itemNames);
+                    modelRepository.reloadModels(modelNames);
+                }
             } catch (Exception e) {
                 logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
             }
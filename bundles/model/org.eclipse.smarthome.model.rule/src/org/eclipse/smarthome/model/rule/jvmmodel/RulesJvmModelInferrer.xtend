@@ -100,7 +100,7 @@ class RulesJvmModelInferrer extends ScriptJvmModelInferrer {
 			 ]
 			 
 			members += ruleModel.rules.map[ rule |
-				rule.toMethod("_" + rule.name, ruleModel.newTypeRef(Void.TYPE)) [
+				rule.toMethod(getRuleMethodName(rule), ruleModel.newTypeRef(Void.TYPE)) [
 					static = true
 					if(containsCommandTrigger(rule)) {
 						val commandTypeRef = ruleModel.newTypeRef(Command)
@@ -118,6 +118,15 @@ class RulesJvmModelInferrer extends ScriptJvmModelInferrer {
 	 }
 
 
+	/**
+	 * Returns the name of the method, which is inferred for the given rule. As rule names may contain any character,
+	 * the name is reduced to a valid Java identifier, which is made unique by the index of the rule in its file.
+	 */
+	def static String getRuleMethodName(Rule rule) {
+		val index = (rule.eContainer as RuleModel).rules.indexOf(rule)
+		"_" + (rule.name ?: "").replaceAll("[^A-Za-z0-9_]", "_") + "_" + index
+	}
+
 	def private boolean containsCommandTrigger(Rule rule) {
 		for(EventTrigger trigger : rule.getEventtrigger()) {
 			if(trigger instanceof CommandEventTrigger) {
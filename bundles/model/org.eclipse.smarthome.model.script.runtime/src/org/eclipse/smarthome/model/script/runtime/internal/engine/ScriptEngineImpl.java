@@ -10,7 +10,11 @@ package org.eclipse.smarthome.model.script.runtime.internal.engine;
 import static com.google.common.collect.Iterables.filter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -18,6 +22,9 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.scriptengine.Script;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
@@ -37,16 +44,43 @@ import com.google.common.base.Predicate;
 
 /**
  * This is the implementation of a {@link ScriptEngine} which is made available as an OSGi service.
+ * <p>
+ * Parsed and validated scripts are kept in a bounded LRU cache, which is keyed by the script text. When a script is
+ * evicted from the cache, its synthetic resource is removed from the resource set again, so that scripts which are
+ * executed repeatedly are neither parsed again nor leak resources. The resource is not unloaded, as the script might
+ * still be referenced and executed by its caller; it is reclaimed by the garbage collector instead. As item references
+ * are resolved while a script is parsed, the cache is cleared whenever the items of the {@link ItemRegistry} change.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Oliver Libutzki - Reorganization of Guice injection
  *
  */
 @SuppressWarnings("restriction")
-public class ScriptEngineImpl implements ScriptEngine {
+public class ScriptEngineImpl implements ScriptEngine, ItemRegistryChangeListener {
+
+    /** the maximum number of parsed scripts that are kept in the cache */
+    private static final int MAX_CACHED_SCRIPTS = 100;
 
     protected XtextResourceSet resourceSet;
 
+    private final Map<String, XExpression> parsedScripts = new LinkedHashMap<String, XExpression>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Entry<String, XExpression> eldest) {
+            if (size() > MAX_CACHED_SCRIPTS) {
+                if (eldest.getValue() != null) {
+                    detachResource(eldest.getValue().eResource());
+                }
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private long syntheticUriCounter = 0;
+
     public ScriptEngineImpl() {
     }
 
@@ -63,7 +97,58 @@ public class ScriptEngineImpl implements ScriptEngine {
     }
 
     public void deactivate() {
-        this.resourceSet = null;
+        synchronized (parsedScripts) {
+            parsedScripts.clear();
+            this.resourceSet = null;
+        }
+    }
+
+    public void setItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.addRegistryChangeListener(this);
+        clearParsedScripts();
+    }
+
+    public void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(this);
+        clearParsedScripts();
+    }
+
+    @Override
+    public void added(Item element) {
+        clearParsedScripts();
+    }
+
+    @Override
+    public void removed(Item element) {
+        clearParsedScripts();
+    }
+
+    @Override
+    public void updated(Item oldElement, Item element) {
+        // the type of an item reference is resolved while parsing, the state is looked up on execution
+        if (!oldElement.getClass().equals(element.getClass())) {
+            clearParsedScripts();
+        }
+    }
+
+    @Override
+    public void allItemsChanged(Collection<String> oldItemNames) {
+        clearParsedScripts();
+    }
+
+    /**
+     * Removes all parsed scripts from the cache and detaches their resources, so that the scripts are parsed again
+     * against the current items.
+     */
+    private void clearParsedScripts() {
+        synchronized (parsedScripts) {
+            for (XExpression expression : parsedScripts.values()) {
+                if (expression != null) {
+                    detachResource(expression.eResource());
+                }
+            }
+            parsedScripts.clear();
+        }
     }
 
     /**
@@ -93,11 +178,23 @@ public class ScriptEngineImpl implements ScriptEngine {
     }
 
     private XExpression parseScriptIntoXTextEObject(String scriptAsString) throws ScriptParsingException {
+        synchronized (parsedScripts) {
+            if (parsedScripts.containsKey(scriptAsString)) {
+                return parsedScripts.get(scriptAsString);
+            }
+            XExpression expression = parseAndValidateScript(scriptAsString);
+            parsedScripts.put(scriptAsString, expression);
+            return expression;
+        }
+    }
+
+    private XExpression parseAndValidateScript(String scriptAsString) throws ScriptParsingException {
         XtextResourceSet resourceSet = getResourceSet();
         Resource resource = resourceSet.createResource(computeUnusedUri(resourceSet)); // IS-A XtextResource
         try {
             resource.load(new StringInputStream(scriptAsString), resourceSet.getLoadOptions());
         } catch (IOException e) {
+            releaseResource(resource);
             throw new ScriptParsingException(
                     "Unexpected IOException; from close() of a String-based ByteArrayInputStream, no real I/O; how is that possible???",
                     scriptAsString, e);
@@ -105,8 +202,11 @@ public class ScriptEngineImpl implements ScriptEngine {
 
         List<Diagnostic> errors = resource.getErrors();
         if (errors.size() != 0) {
-            throw new ScriptParsingException("Failed to parse expression (due to managed SyntaxError/s)",
-                    scriptAsString).addDiagnosticErrors(errors);
+            ScriptParsingException exception = new ScriptParsingException(
+                    "Failed to parse expression (due to managed SyntaxError/s)", scriptAsString)
+                    .addDiagnosticErrors(errors);
+            releaseResource(resource);
+            throw exception;
         }
 
         EList<EObject> contents = resource.getContents();
@@ -116,20 +216,41 @@ public class ScriptEngineImpl implements ScriptEngine {
             if (!validationErrors.iterator().hasNext()) {
                 return (XExpression) contents.get(0);
             } else {
-                throw new ScriptParsingException("Failed to parse expression (due to managed ValidationError/s)",
-                        scriptAsString).addValidationIssues(validationErrors);
+                ScriptParsingException exception = new ScriptParsingException(
+                        "Failed to parse expression (due to managed ValidationError/s)", scriptAsString)
+                        .addValidationIssues(validationErrors);
+                releaseResource(resource);
+                throw exception;
             }
         } else {
+            releaseResource(resource);
             return null;
         }
     }
 
+    private void releaseResource(Resource resource) {
+        if (resource != null) {
+            resource.unload();
+            detachResource(resource);
+        }
+    }
+
+    /**
+     * Removes the resource of a script, which has been handed out, from the resource set without unloading it, as
+     * unloading would turn the objects of a script that is still executed into proxies.
+     */
+    private void detachResource(Resource resource) {
+        if ((resource != null) && (resource.getResourceSet() != null)) {
+            resource.getResourceSet().getResources().remove(resource);
+        }
+    }
+
     protected URI computeUnusedUri(ResourceSet resourceSet) {
         String name = "__synthetic";
         final int MAX_TRIES = 1000;
         for (int i = 0; i < MAX_TRIES; i++) {
             // NOTE: The "filename extension" (".script") must match the file.extensions in the *.mwe2
-            URI syntheticUri = URI.createURI(name + Math.random() + "." + Script.SCRIPT_FILEEXT);
+            URI syntheticUri = URI.createURI(name + (syntheticUriCounter++) + "." + Script.SCRIPT_FILEEXT);
             if (resourceSet.getResource(syntheticUri, false) == null)
                 return syntheticUri;
         }
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.tests
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.items.ManagedItemProvider
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.scriptengine.ScriptEngine
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The ScriptEngineOSGiTest tests, that the script engine reuses parsed scripts and parses them again after the items
+ * have changed, while the scripts handed out before can still be executed.
+ *
+ * @author agent - Initial contribution
+ */
+class ScriptEngineOSGiTest extends OSGiTest {
+
+    ScriptEngine scriptEngine
+    ManagedItemProvider managedItemProvider
+
+    @Before
+    void setUp() {
+        registerVolatileStorageService()
+        managedItemProvider = getService ManagedItemProvider
+        assertThat managedItemProvider, is(notNullValue())
+        scriptEngine = getService ScriptEngine
+        assertThat scriptEngine, is(notNullValue())
+    }
+
+    @After
+    void tearDown() {
+        managedItemProvider.getAll().each {
+            managedItemProvider.remove(it.name)
+        }
+    }
+
+    @Test
+    void 'assert that a script is parsed only once'() {
+        def script = scriptEngine.newScriptFromString("1 + 1")
+        def cachedScript = scriptEngine.newScriptFromString("1 + 1")
+
+        assertThat cachedScript.xExpression, is(sameInstance(script.xExpression))
+    }
+
+    @Test
+    void 'assert that parsed scripts are invalidated if the items change'() {
+        def script = scriptEngine.newScriptFromString("1 + 1")
+
+        managedItemProvider.add(new SwitchItem("ScriptEngineSwitch"))
+
+        def parsedScript = scriptEngine.newScriptFromString("1 + 1")
+        assertThat parsedScript.xExpression, is(not(sameInstance(script.xExpression)))
+
+        managedItemProvider.remove("ScriptEngineSwitch")
+
+        def reparsedScript = scriptEngine.newScriptFromString("1 + 1")
+        assertThat reparsedScript.xExpression, is(not(sameInstance(parsedScript.xExpression)))
+    }
+
+    @Test
+    void 'assert that a cached script can be executed after it has been evicted'() {
+        def script = scriptEngine.newScriptFromString("1 + 1")
+
+        // fill the cache with other scripts, so that the first one is evicted
+        (1..150).each {
+            scriptEngine.newScriptFromString("1 + " + it)
+        }
+
+        def parsedScript = scriptEngine.newScriptFromString("1 + 1")
+        assertThat parsedScript.xExpression, is(not(sameInstance(script.xExpression)))
+        assertThat script.execute(), is(2)
+    }
+
+    @Test
+    void 'assert that a cached script can be executed after the items have changed'() {
+        def script = scriptEngine.newScriptFromString("1 + 1")
+        assertThat script.execute(), is(2)
+
+        managedItemProvider.add(new SwitchItem("ScriptEngineSwitch"))
+
+        assertThat script.execute(), is(2)
+        assertThat scriptEngine.newScriptFromString("1 + 1").execute(), is(2)
+    }
+}
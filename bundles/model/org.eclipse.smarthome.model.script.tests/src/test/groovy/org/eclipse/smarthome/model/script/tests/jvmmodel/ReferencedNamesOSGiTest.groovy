@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.tests.jvmmodel
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.scriptengine.ScriptEngine
+import org.eclipse.smarthome.model.core.ModelRepository
+import org.eclipse.smarthome.model.script.jvmmodel.ReferencedNames
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The {@link ReferencedNamesOSGiTest} checks, which item names are found to be referenced by a script model.
+ *
+ * @author agent - Initial contribution
+ */
+class ReferencedNamesOSGiTest extends OSGiTest {
+
+    private final static String MODEL_NAME = "referencedNames.script"
+
+    ModelRepository modelRepository
+
+    @Before
+    void setUp() {
+        // the script engine registers the script language
+        assertThat getService(ScriptEngine), is(notNullValue())
+        modelRepository = getService ModelRepository
+        assertThat modelRepository, is(notNullValue())
+    }
+
+    @After
+    void tearDown() {
+        modelRepository.removeModel(MODEL_NAME)
+    }
+
+    @Test
+    void 'assert that resolved and unresolved item references are found'() {
+        String script =
+            '''
+            Switch1.state = ON
+            if (UnknownItem.state == OFF) {
+                sendCommand(Switch1, OFF)
+            }
+            '''
+        modelRepository.addOrRefreshModel(MODEL_NAME, new ByteArrayInputStream(script.bytes))
+        def model = modelRepository.getModel(MODEL_NAME)
+
+        def names = ReferencedNames.getReferencedNames(model)
+        assertThat names.contains("Switch1"), is(true)
+        assertThat names.contains("UnknownItem"), is(true)
+        assertThat ReferencedNames.getReferencedNames(model), is(sameInstance(names))
+
+        assertThat ReferencedNames.isReferencingAny(model, ["Switch2", "UnknownItem"]), is(true)
+        assertThat ReferencedNames.isReferencingAny(model, ["Switch2"]), is(false)
+    }
+
+}
@@ -7,25 +7,17 @@
  */
 package org.eclipse.smarthome.model.script.actions;
 
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
-
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.eclipse.smarthome.core.scriptengine.Script;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.script.internal.ScriptActivator;
-import org.eclipse.smarthome.model.script.internal.actions.TimerExecutionJob;
 import org.eclipse.smarthome.model.script.internal.actions.TimerImpl;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,18 +75,16 @@ public class ScriptExecution {
      */
     public static Timer createTimer(AbstractInstant instant, Procedure0 closure) {
         Logger logger = LoggerFactory.getLogger(ScriptExecution.class);
-        JobKey jobKey = new JobKey(instant.toString() + ": " + closure.toString());
-        Trigger trigger = newTrigger().startAt(instant.toDate()).build();
-        Timer timer = new TimerImpl(jobKey, trigger.getKey(), instant);
+        TimerScheduler scheduler = ScriptActivator.timerSchedulerTracker.getService();
+        if (scheduler == null) {
+            logger.error("Failed to schedule code for execution, the timer scheduler is not available.");
+            return null;
+        }
         try {
-            JobDataMap dataMap = new JobDataMap();
-            dataMap.put("procedure", closure);
-            dataMap.put("timer", timer);
-            JobDetail job = newJob(TimerExecutionJob.class).withIdentity(jobKey).usingJobData(dataMap).build();
-            TimerImpl.scheduler.scheduleJob(job, trigger);
+            Timer timer = new TimerImpl(scheduler, instant, closure);
             logger.debug("Scheduled code for execution at {}", instant.toString());
             return timer;
-        } catch (SchedulerException e) {
+        } catch (IllegalStateException e) {
             logger.error("Failed to schedule code for execution.", e);
             return null;
         }
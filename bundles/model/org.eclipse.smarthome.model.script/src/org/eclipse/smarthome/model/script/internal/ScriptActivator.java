@@ -9,6 +9,7 @@ package org.eclipse.smarthome.model.script.internal;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.action.ActionService;
 import org.eclipse.smarthome.model.core.ModelRepository;
@@ -28,6 +29,7 @@ public class ScriptActivator implements BundleActivator {
     public static ServiceTracker<ModelRepository, ModelRepository> modelRepositoryTracker;
     public static ServiceTracker<ScriptEngine, ScriptEngine> scriptEngineTracker;
     public static ServiceTracker<ActionService, ActionService> actionServiceTracker;
+    public static ServiceTracker<TimerScheduler, TimerScheduler> timerSchedulerTracker;
 
     /**
      * Called whenever the OSGi framework starts our bundle
@@ -48,6 +50,9 @@ public class ScriptActivator implements BundleActivator {
 
         scriptEngineTracker = new ServiceTracker<ScriptEngine, ScriptEngine>(bc, ScriptEngine.class, null);
         scriptEngineTracker.open();
+
+        timerSchedulerTracker = new ServiceTracker<TimerScheduler, TimerScheduler>(bc, TimerScheduler.class, null);
+        timerSchedulerTracker.open();
     }
 
     /**
@@ -60,6 +65,7 @@ public class ScriptActivator implements BundleActivator {
         modelRepositoryTracker.close();
         scriptEngineTracker.close();
         actionServiceTracker.close();
+        timerSchedulerTracker.close();
     }
 
 }
@@ -7,24 +7,18 @@
  */
 package org.eclipse.smarthome.model.script.internal.actions;
 
-import static org.quartz.TriggerBuilder.newTrigger;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.scheduler.ScheduledTimer;
+import org.eclipse.smarthome.core.scheduler.TimerScheduler;
 import org.eclipse.smarthome.model.script.actions.Timer;
-import org.joda.time.DateTime;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerKey;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This is an implementation of the {@link Timer} interface using the Quartz
- * library for scheduling.
+ * This is an implementation of the {@link Timer} interface using the {@link TimerScheduler} for scheduling.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -33,82 +27,48 @@ public class TimerImpl implements Timer {
 
     private final Logger logger = LoggerFactory.getLogger(TimerImpl.class);
 
-    // the scheduler used for timer events
-    public static Scheduler scheduler;
+    private final ScheduledTimer scheduledTimer;
 
-    static {
-        try {
-            scheduler = StdSchedulerFactory.getDefaultScheduler();
-        } catch (SchedulerException e) {
-            LoggerFactory.getLogger(TimerImpl.class).error("initializing scheduler throws exception", e);
-        }
-    }
-
-    private JobKey jobKey;
-    private TriggerKey triggerKey;
-    private AbstractInstant startTime;
-
-    private boolean cancelled = false;
-    private boolean terminated = false;
-
-    public TimerImpl(JobKey jobKey, TriggerKey triggerKey, AbstractInstant startTime) {
-        this.jobKey = jobKey;
-        this.triggerKey = triggerKey;
-        this.startTime = startTime;
+    /**
+     * Schedules the given closure for execution at the given time.
+     *
+     * @param scheduler the scheduler to use
+     * @param startTime the point in time when the closure should be executed
+     * @param closure the code block to execute
+     * @throws IllegalStateException if the scheduler has already been shut down
+     */
+    public TimerImpl(TimerScheduler scheduler, AbstractInstant startTime, final Procedure0 closure)
+            throws IllegalStateException {
+        this.scheduledTimer = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                logger.debug("Executing timer '{}'", closure.toString());
+                closure.apply();
+            }
+        }, getDelay(startTime), TimeUnit.MILLISECONDS);
     }
 
     @Override
     public boolean cancel() {
-        try {
-            boolean result = scheduler.deleteJob(jobKey);
-            if (result) {
-                cancelled = true;
-            }
-        } catch (SchedulerException e) {
-            logger.warn("An error occured while cancelling the job '{}': {}",
-                    new String[] { jobKey.toString(), e.getMessage() });
-        }
-        return cancelled;
+        return scheduledTimer.cancel();
     }
 
     @Override
     public boolean reschedule(AbstractInstant newTime) {
-        try {
-            Trigger trigger = newTrigger().startAt(newTime.toDate()).build();
-            scheduler.rescheduleJob(triggerKey, trigger);
-            this.triggerKey = trigger.getKey();
-            this.cancelled = false;
-            this.terminated = false;
-            return true;
-        } catch (SchedulerException e) {
-            logger.warn("An error occured while rescheduling the job '{}': {}",
-                    new String[] { jobKey.toString(), e.getMessage() });
-            return false;
-        }
+        return scheduledTimer.reschedule(getDelay(newTime), TimeUnit.MILLISECONDS);
     }
 
     @Override
     public boolean isRunning() {
-        try {
-            for (JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
-                if (context.getJobDetail().getKey().equals(jobKey)) {
-                    return true;
-                }
-            }
-            return false;
-        } catch (SchedulerException e) {
-            // fallback implementation
-            logger.debug("An error occured getting currently running jobs: {}", e.getMessage());
-            return DateTime.now().isAfter(startTime) && !terminated;
-        }
+        return scheduledTimer.isRunning();
     }
 
     @Override
     public boolean hasTerminated() {
-        return terminated;
+        return scheduledTimer.hasTerminated();
     }
 
-    public void setTerminated(boolean terminated) {
-        this.terminated = terminated;
+    private static long getDelay(AbstractInstant instant) {
+        return instant.getMillis() - System.currentTimeMillis();
     }
 }
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.jvmmodel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+
+/**
+ * The {@link ReferencedNames} hold the names of all features, which are referenced by the expressions of a model.
+ * Since the items are inferred as fields of the model's class, a model only needs to be linked again if one of the
+ * items it refers to is added, removed or changed.
+ * <p>
+ * The names are taken from the concrete syntax of the feature calls, so that references, which could not be resolved
+ * because the item does not exist (yet), are found as well. The names are collected once and attached to the model as
+ * EMF adapter, so that they are dropped together with the model when the resource is parsed again.
+ *
+ * @author agent - Initial contribution
+ */
+public class ReferencedNames extends AdapterImpl {
+
+    private final Set<String> names;
+
+    private ReferencedNames(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Checks whether the given model refers to at least one of the given names.
+     *
+     * @param model the root of the model
+     * @param names the names to look for
+     * @return true, if at least one of the names is referenced by the model
+     */
+    public static boolean isReferencingAny(EObject model, Collection<String> names) {
+        return !Collections.disjoint(getReferencedNames(model), names);
+    }
+
+    /**
+     * Returns the names of all features, which are referenced by the given model.
+     *
+     * @param model the root of the model
+     * @return the referenced names
+     */
+    public static Set<String> getReferencedNames(EObject model) {
+        synchronized (model) {
+            for (Adapter adapter : model.eAdapters()) {
+                if (adapter instanceof ReferencedNames) {
+                    return ((ReferencedNames) adapter).names;
+                }
+            }
+            ReferencedNames referencedNames = new ReferencedNames(collectNames(model));
+            model.eAdapters().add(referencedNames);
+            return referencedNames.names;
+        }
+    }
+
+    private static Set<String> collectNames(EObject model) {
+        Set<String> names = new HashSet<>();
+        for (Iterator<EObject> iterator = model.eAllContents(); iterator.hasNext();) {
+            EObject object = iterator.next();
+            if (object instanceof XAbstractFeatureCall) {
+                String name = ((XAbstractFeatureCall) object).getConcreteSyntaxFeatureName();
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+}
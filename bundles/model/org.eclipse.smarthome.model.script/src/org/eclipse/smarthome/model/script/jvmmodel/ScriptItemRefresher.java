@@ -7,12 +7,17 @@
  */
 package org.eclipse.smarthome.model.script.jvmmodel;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
@@ -22,6 +27,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link ScriptItemRefresher} is responsible for reloading script resources every time an item is added or removed.
+ * <p>
+ * Only the resources, which refer to one of the changed items, are reloaded (see {@link ReferencedNames}). If all
+ * items have changed, all script resources are reloaded.
  *
  * @author Oliver Libutzki - Initial contribution
  * @author Kai Kreuzer - added delayed execution
@@ -36,6 +44,9 @@ public class ScriptItemRefresher implements ItemRegistryChangeListener {
     private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private ScheduledFuture<?> job;
 
+    private Set<String> changedItemNames = new HashSet<>();
+    private boolean allItemsChanged = false;
+
     public void setModelRepository(ModelRepository modelRepository) {
         this.modelRepository = modelRepository;
     }
@@ -56,36 +67,70 @@ public class ScriptItemRefresher implements ItemRegistryChangeListener {
 
     @Override
     public void added(Item element) {
-        scheduleScriptRefresh();
+        scheduleScriptRefresh(element.getName());
     }
 
     @Override
     public void removed(Item element) {
-        scheduleScriptRefresh();
+        scheduleScriptRefresh(element.getName());
     }
 
     @Override
     public void updated(Item oldElement, Item element) {
-
+        // the inferred field has the type of the item, the interpreter looks up the item by its name
+        if (!oldElement.getClass().equals(element.getClass())) {
+            scheduleScriptRefresh(element.getName());
+        }
     }
 
     @Override
     public void allItemsChanged(Collection<String> oldItemNames) {
-        scheduleScriptRefresh();
+        scheduleScriptRefresh(null);
     }
 
-    private synchronized void scheduleScriptRefresh() {
+    /**
+     * Schedules the reload of the resources, which refer to the given item.
+     *
+     * @param itemName the name of the changed item or <code>null</code>, if all items have changed
+     */
+    private synchronized void scheduleScriptRefresh(String itemName) {
+        if (itemName != null) {
+            changedItemNames.add(itemName);
+        } else {
+            allItemsChanged = true;
+        }
         if (job != null && !job.isDone()) {
             job.cancel(false);
         }
-        job = scheduler.schedule(runnable, 1000, TimeUnit.SECONDS);
+        job = scheduler.schedule(runnable, 1000, TimeUnit.MILLISECONDS);
     }
 
     Runnable runnable = new Runnable() {
         @Override
         public void run() {
+            Set<String> itemNames;
+            boolean reloadAll;
+            synchronized (ScriptItemRefresher.this) {
+                itemNames = changedItemNames;
+                reloadAll = allItemsChanged;
+                changedItemNames = new HashSet<>();
+                allItemsChanged = false;
+            }
             try {
-                modelRepository.reloadAllModelsOfType("script");
+                if (reloadAll) {
+                    modelRepository.reloadAllModelsOfType("script");
+                } else {
+                    List<String> modelNames = new ArrayList<>();
+                    for (String modelName : modelRepository.getAllModelNamesOfType("script")) {
+                        EObject model = modelRepository.getModel(modelName);
+                        if (model != null && ReferencedNames.isReferencingAny(model, itemNames)) {
+                            modelNames.add(modelName);
+                        }
+                    }
+                    logger.debug("Reloading {} script resources, which refer to the items {}.", modelNames.size(),
+                            itemNames);
+                    modelRepository.reloadModels(modelNames);
+                }
             } catch (Exception e) {
                 logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
             }
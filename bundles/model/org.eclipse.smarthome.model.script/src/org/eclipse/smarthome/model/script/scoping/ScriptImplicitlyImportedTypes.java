@@ -77,6 +77,18 @@ public class ScriptImplicitlyImportedTypes extends ImplicitlyImportedTypes {
         return result;
     }
 
+    /**
+     * Returns all classes whose members are implicitly available in scripts, i.e. the extension classes and the
+     * classes whose static methods are imported.
+     *
+     * @return the implicitly imported classes
+     */
+    public List<Class<?>> getImplicitlyImportedClasses() {
+        List<Class<?>> result = new ArrayList<Class<?>>(getExtensionClasses());
+        result.addAll(getStaticImportClasses());
+        return result;
+    }
+
     protected List<Class<?>> getActionClasses() {
 
         List<ActionService> services = actionServiceProvider.get();
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.render;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+
+/**
+ * Tests the insertion of the children of a widget by the {@link PageRenderer} against the splitting of the rendered
+ * snippet, which has been used before.
+ *
+ * @author agent - Initial contribution
+ */
+public class PageRendererTest {
+
+    private static final String CHILDREN = "<li>child 1</li><li>child 2</li>";
+
+    private final PageRenderer pageRenderer = new PageRenderer();
+
+    @Test
+    public void testChildrenAreInsertedLikeBeforeForAllSnippets() throws IOException {
+        Map<String, String> snippets = SnippetTemplateTest.loadSnippets();
+        assertFalse(snippets.isEmpty());
+
+        for (Entry<String, String> snippet : snippets.entrySet()) {
+            String html = SnippetTemplateTest.replace(snippet.getValue(),
+                    SnippetTemplateTest.getValues(snippet.getValue()));
+
+            assertEquals("snippet " + snippet.getKey(), split(html), insertChildren(html, snippet.getKey()));
+        }
+    }
+
+    @Test
+    public void testChildrenAreAppendedWithoutPlaceholder() {
+        assertEquals("<div></div>" + CHILDREN, insertChildren("<div></div>", "test"));
+        assertEquals(split("<div></div>"), insertChildren("<div></div>", "test"));
+    }
+
+    @Test
+    public void testCodeAfterASecondPlaceholderIsIgnored() {
+        String html = "<ul>%children%</ul>%children%<p></p>";
+
+        assertEquals("<ul>" + CHILDREN + "</ul>", insertChildren(html, "test"));
+        assertEquals(split(html), insertChildren(html, "test"));
+    }
+
+    @Test
+    public void testOnlyTheCodeOfTheCurrentWidgetIsCut() {
+        StringBuilder sb = new StringBuilder("<p>%children%</p>");
+        int start = sb.length();
+        sb.append("<ul>%children%</ul>");
+
+        assertEquals("</ul>", pageRenderer.cutChildrenSection(sb, start, "test"));
+        assertEquals("<p>%children%</p><ul>", sb.toString());
+    }
+
+    private String insertChildren(String html, String snippetName) {
+        StringBuilder sb = new StringBuilder("<body>");
+        int start = sb.length();
+        sb.append(html);
+        String postChildren = pageRenderer.cutChildrenSection(sb, start, snippetName);
+        sb.append(CHILDREN);
+        if (postChildren != null) {
+            sb.append(postChildren);
+        }
+        return sb.substring(start);
+    }
+
+    /**
+     * Inserts the children the way the page renderer did before, by splitting the rendered snippet.
+     */
+    private String split(String html) {
+        String[] parts = html.split("%children%");
+        if (parts.length == 1) {
+            return html + CHILDREN;
+        }
+        return parts[0] + CHILDREN + parts[1];
+    }
+
+}
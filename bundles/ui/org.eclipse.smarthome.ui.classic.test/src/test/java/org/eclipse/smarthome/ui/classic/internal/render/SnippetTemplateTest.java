@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.render;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Tests the {@link SnippetTemplate} against the replacement of each placeholder in the whole snippet, which has been
+ * used to render the snippets before.
+ *
+ * @author agent - Initial contribution
+ */
+public class SnippetTemplateTest {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("%(\\w+)%");
+
+    @Test
+    public void testSnippetsAreRenderedLikeReplacedSnippets() throws IOException {
+        Map<String, String> snippets = loadSnippets();
+        assertFalse(snippets.isEmpty());
+
+        for (Entry<String, String> snippet : snippets.entrySet()) {
+            Map<String, String> values = getValues(snippet.getValue());
+            StringBuilder sb = new StringBuilder();
+            SnippetTemplate.compile(snippet.getValue()).render(sb, values);
+
+            assertEquals("snippet " + snippet.getKey(), replace(snippet.getValue(), values), sb.toString());
+        }
+    }
+
+    @Test
+    public void testButtonsHaveTheLabelStyle() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("item", "Light");
+        values.put("cmd", "ON");
+        values.put("label", "On");
+        values.put("type", "Action");
+        values.put("labelstyle", "color:red");
+        StringBuilder sb = new StringBuilder();
+        SnippetTemplate.compile(loadSnippets().get("button")).render(sb, values);
+
+        assertTrue(sb.toString().contains("style=\"color:red\""));
+        assertFalse(sb.toString().contains("%"));
+    }
+
+    @Test
+    public void testPlaceholdersWithoutValueAreKept() {
+        StringBuilder sb = new StringBuilder("<ul>");
+        SnippetTemplate.compile("<li>%label%</li>%children%<li>%icon%</li>").render(sb,
+                Collections.singletonMap("label", "Kitchen"));
+
+        assertEquals("<ul><li>Kitchen</li>%children%<li>%icon%</li>", sb.toString());
+    }
+
+    @Test
+    public void testPercentSignsOutsideOfPlaceholdersAreText() {
+        String snippet = "width:100%;%% %label%% 50% %no placeholder% %%id%";
+        Map<String, String> values = new HashMap<>();
+        values.put("label", "Kitchen");
+        values.put("id", "0100");
+        StringBuilder sb = new StringBuilder();
+        SnippetTemplate.compile(snippet).render(sb, values);
+
+        assertEquals("width:100%;%% Kitchen% 50% %no placeholder% %0100", sb.toString());
+        assertEquals(replace(snippet, values), sb.toString());
+    }
+
+    /**
+     * Loads the snippets of the classic UI bundle.
+     *
+     * @return the snippets by their names without the file extension
+     */
+    static Map<String, String> loadSnippets() throws IOException {
+        Map<String, String> snippets = new TreeMap<>();
+        Enumeration<URL> entries = FrameworkUtil.getBundle(SnippetTemplate.class).findEntries("snippets", "*.html",
+                false);
+        while (entries != null && entries.hasMoreElements()) {
+            URL entry = entries.nextElement();
+            String name = StringUtils.substringAfterLast(entry.getPath(), "/");
+            snippets.put(StringUtils.removeEnd(name, ".html"), IOUtils.toString(entry.openStream()));
+        }
+        return snippets;
+    }
+
+    /**
+     * Returns a distinct value for each placeholder of the given snippet, except for %children%.
+     */
+    static Map<String, String> getValues(String snippet) {
+        Map<String, String> values = new HashMap<>();
+        Matcher matcher = PLACEHOLDER.matcher(snippet);
+        while (matcher.find()) {
+            values.put(matcher.group(1), "<" + matcher.group(1) + " value>");
+        }
+        values.remove("children");
+        return values;
+    }
+
+    /**
+     * Renders the snippet the way the widget renderers did before the snippets were compiled.
+     */
+    static String replace(String snippet, Map<String, String> values) {
+        for (Entry<String, String> value : values.entrySet()) {
+            snippet = StringUtils.replace(snippet, "%" + value.getKey() + "%", value.getValue());
+        }
+        return snippet;
+    }
+
+}
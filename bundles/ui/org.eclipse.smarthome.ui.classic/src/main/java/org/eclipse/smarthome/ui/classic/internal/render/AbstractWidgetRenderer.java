@@ -11,11 +11,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.internal.WebAppActivator;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
@@ -48,8 +48,8 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
     /* the snippet location inside this bundle */
     protected static final String SNIPPET_LOCATION = "snippets/";
 
-    /* a local cache so we do not have to read the snippets over and over again from the bundle */
-    protected static final Map<String, String> snippetCache = new HashMap<String, String>();
+    /* a local cache so we do not have to read and compile the snippets over and over again from the bundle */
+    protected static final ConcurrentMap<String, SnippetTemplate> snippetCache = new ConcurrentHashMap<>();
 
     public void setItemUIRegistry(ItemUIRegistry itemUIRegistry) {
         this.itemUIRegistry = itemUIRegistry;
@@ -70,21 +70,22 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
     }
 
     /**
-     * This method provides the html snippet for a given elementType of the sitemap model.
+     * This method provides the compiled html snippet for a given elementType of the sitemap model.
      * 
      * @param elementType the name of the model type (e.g. "Group" or "Switch")
      * @return the html snippet to be used in the UI (including placeholders for variables)
      * @throws RenderException if snippet could not be read
      */
-    protected synchronized String getSnippet(String elementType) throws RenderException {
+    protected SnippetTemplate getSnippet(String elementType) throws RenderException {
         elementType = elementType.toLowerCase();
-        String snippet = snippetCache.get(elementType);
+        SnippetTemplate snippet = snippetCache.get(elementType);
         if (snippet == null) {
             String snippetLocation = SNIPPET_LOCATION + elementType + SNIPPET_EXT;
             URL entry = WebAppActivator.getContext().getBundle().getEntry(snippetLocation);
             if (entry != null) {
                 try {
-                    snippet = IOUtils.toString(entry.openStream());
+                    // concurrent requests might load the same snippet, which does no harm
+                    snippet = SnippetTemplate.compile(IOUtils.toString(entry.openStream()));
                     snippetCache.put(elementType, snippet);
                 } catch (IOException e) {
                     logger.warn("Cannot load snippet for element type '{}'", elementType, e);
@@ -107,9 +108,23 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
         String label = itemUIRegistry.getLabel(w);
 
         // insert the span between the left and right side of the label, if state section exists
-        label = label.replaceAll("\\[", "<span style=\"%valuestyle%\">").replaceAll("\\]", "</span>");
+        if (label.indexOf('[') < 0 && label.indexOf(']') < 0) {
+            return label;
+        }
+        String valueStyle = getStyle(itemUIRegistry.getValueColor(w));
+        StringBuilder sb = new StringBuilder(label.length() + valueStyle.length() + 24);
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c == '[') {
+                sb.append("<span style=\"").append(valueStyle).append("\">");
+            } else if (c == ']') {
+                sb.append("</span>");
+            } else {
+                sb.append(c);
+            }
+        }
 
-        return label;
+        return sb.toString();
     }
 
     /**
@@ -133,23 +148,15 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      * 
      * @param w
      *            The widget to process
-     * @param snippet
-     *            The snippet to translate
-     * @return The updated snippet
+     * @param values
+     *            The values of the snippet placeholders to add the color tags to
      */
-    protected String processColor(Widget w, String snippet) {
-        String style = "";
-        String color = itemUIRegistry.getLabelColor(w);
-        if (color != null)
-            style = "color:" + color;
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
-
-        style = "";
-        color = itemUIRegistry.getValueColor(w);
-        if (color != null)
-            style = "color:" + color;
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+    protected void processColor(Widget w, Map<String, String> values) {
+        values.put("labelstyle", getStyle(itemUIRegistry.getLabelColor(w)));
+        values.put("valuestyle", getStyle(itemUIRegistry.getValueColor(w)));
+    }
 
-        return snippet;
+    private String getStyle(String color) {
+        return (color != null) ? "color:" + color : "";
     }
 }
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.types.State;
@@ -50,7 +52,7 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
 
         String snippetName = "colorpicker";
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate snippet = getSnippet(snippetName);
 
         // set the default send-update frequency to 200ms
         String frequency = cp.getFrequency() == 0 ? "200" : Integer.toString(cp.getFrequency());
@@ -68,30 +70,20 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
             purelabel = purelabel.substring(0, label.indexOf("<span>"));
         }
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(cp));
-        snippet = StringUtils.replace(snippet, "%icon%", escapeURLPath(itemUIRegistry.getIcon(cp)));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%purelabel%", purelabel);
-        snippet = StringUtils.replace(snippet, "%state%", hexValue);
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-
-        String style = "";
-        String color = itemUIRegistry.getLabelColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
+        Map<String, String> values = new HashMap<>();
+        values.put("id", itemUIRegistry.getWidgetId(cp));
+        values.put("icon", escapeURLPath(itemUIRegistry.getIcon(cp)));
+        values.put("item", w.getItem());
+        values.put("label", label);
+        values.put("purelabel", purelabel);
+        values.put("state", hexValue);
+        values.put("frequency", frequency);
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
 
-        style = "";
-        color = itemUIRegistry.getValueColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+        // Process the color tags
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
@@ -7,8 +7,10 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Frame;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -37,14 +39,15 @@ public class FrameRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("frame");
+        SnippetTemplate snippet = getSnippet("frame");
 
-        snippet = StringUtils.replace(snippet, "%label%", StringEscapeUtils.escapeHtml(getLabel(w)));
+        Map<String, String> values = new HashMap<>();
+        values.put("label", StringEscapeUtils.escapeHtml(getLabel(w)));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return ((Frame) w).getChildren();
     }
 }
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Group;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -36,16 +38,17 @@ public class GroupRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("group");
+        SnippetTemplate snippet = getSnippet("group");
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%icon%", escapeURLPath(itemUIRegistry.getIcon(w)));
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
+        Map<String, String> values = new HashMap<>();
+        values.put("id", itemUIRegistry.getWidgetId(w));
+        values.put("icon", escapeURLPath(itemUIRegistry.getIcon(w)));
+        values.put("label", getLabel(w));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.List;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -36,22 +38,26 @@ public class ListRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("list");
-        snippet = snippet.replaceAll("%label%", getLabel(w));
+        SnippetTemplate snippet = getSnippet("list");
+
+        Map<String, String> values = new HashMap<>();
+        values.put("label", getLabel(w));
 
-        String rowSnippet = getSnippet("list_row");
+        SnippetTemplate rowSnippet = getSnippet("list_row");
         String state = itemUIRegistry.getState(w).toString();
         String[] rowContents = state.split(((List) w).getSeparator());
         StringBuilder rowSB = new StringBuilder();
+        Map<String, String> rowValues = new HashMap<>();
         for (String row : rowContents) {
-            rowSB.append(StringUtils.replace(rowSnippet, "%title%", row));
+            rowValues.put("title", row);
+            rowSnippet.render(rowSB, rowValues);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        values.put("rows", rowSB.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
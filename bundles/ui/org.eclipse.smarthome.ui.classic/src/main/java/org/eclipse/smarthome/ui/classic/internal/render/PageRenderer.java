@@ -8,7 +8,10 @@
 package org.eclipse.smarthome.ui.classic.internal.render;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
@@ -36,6 +39,8 @@ public class PageRenderer extends AbstractWidgetRenderer {
 
     private final Logger logger = LoggerFactory.getLogger(PageRenderer.class);
 
+    private static final String CHILDREN_PLACEHOLDER = "%children%";
+
     List<WidgetRenderer> widgetRenderers = new ArrayList<WidgetRenderer>();
 
     public void addWidgetRenderer(WidgetRenderer widgetRenderer) {
@@ -60,8 +65,8 @@ public class PageRenderer extends AbstractWidgetRenderer {
     public StringBuilder processPage(String id, String sitemap, String label, EList<Widget> children, boolean async)
             throws RenderException {
 
-        String snippet = getSnippet(async ? "layer" : "main");
-        snippet = snippet.replaceAll("%id%", id);
+        String snippetName = async ? "layer" : "main";
+        SnippetTemplate snippet = getSnippet(snippetName);
 
         // if the label contains a value span, we remove this span as
         // the title of a page/layer cannot deal with this
@@ -69,85 +74,87 @@ public class PageRenderer extends AbstractWidgetRenderer {
         // with some value defined (e.g. "Windows [%d]"), which getLabel()
         // will convert into a "Windows <span>5</span>".
         if (label.contains("[") && label.endsWith("]")) {
-            label = label.replace("[", "").replace("]", "");
+            label = StringUtils.remove(StringUtils.remove(label, '['), ']');
         }
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%sitemap%", sitemap);
 
-        String[] parts = snippet.split("%children%");
+        Map<String, String> values = new HashMap<>();
+        values.put("id", id);
+        values.put("label", label);
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
+        values.put("sitemap", sitemap);
 
-        StringBuilder pre_children = new StringBuilder(parts[0]);
-        StringBuilder post_children = new StringBuilder(parts[1]);
+        StringBuilder sb = new StringBuilder(8192);
+        snippet.render(sb, values);
 
-        if (parts.length == 2) {
-            processChildren(pre_children, post_children, children);
-        } else if (parts.length > 2) {
-            logger.error("Snippet '{}' contains multiple %children% sections, but only one is allowed!",
-                    async ? "layer" : "main");
+        String postChildren = cutChildrenSection(sb, 0, snippetName);
+        if (postChildren != null) {
+            processChildren(sb, children);
+            sb.append(postChildren);
         }
-        return pre_children.append(post_children);
+        return sb;
     }
 
-    private void processChildren(StringBuilder sb_pre, StringBuilder sb_post, EList<Widget> children)
-            throws RenderException {
+    private void processChildren(StringBuilder sb, EList<Widget> children) throws RenderException {
 
         // put a single frame around all children widgets, if there are no explicit frames
         if (!children.isEmpty()) {
             EObject firstChild = children.get(0);
             EObject parent = firstChild.eContainer();
             if (!(firstChild instanceof Frame || parent instanceof Frame || parent instanceof Sitemap || parent instanceof List)) {
-                String frameSnippet = getSnippet("frame");
-                frameSnippet = StringUtils.replace(frameSnippet, "%label%", "");
+                int frameStart = sb.length();
+                getSnippet("frame").render(sb, Collections.singletonMap("label", ""));
 
-                String[] parts = frameSnippet.split("%children%");
-                if (parts.length > 1) {
-                    sb_pre.append(parts[0]);
-                }
-                if (parts.length > 2) {
-                    sb_post.insert(0, parts[1]);
-                }
-                if (parts.length > 2) {
-                    logger.error("Snippet 'frame' contains multiple %children% sections, but only one is allowed!");
+                // only the part of the frame, which precedes the children, is written
+                if (cutChildrenSection(sb, frameStart, "frame") == null) {
+                    sb.setLength(frameStart);
                 }
             }
         }
 
         for (Widget w : children) {
-            StringBuilder new_pre = new StringBuilder();
-            StringBuilder new_post = new StringBuilder();
-            StringBuilder widgetSB = new StringBuilder();
-            EList<Widget> nextChildren = renderWidget(w, widgetSB);
+            int widgetStart = sb.length();
+            EList<Widget> nextChildren = renderWidget(w, sb);
             if (nextChildren != null) {
-                String[] parts = widgetSB.toString().split("%children%");
-                // no %children% placeholder found or at the end
-                if (parts.length == 1) {
-                    new_pre.append(widgetSB);
+                // the children are inserted at the %children% placeholder or appended, if there is none
+                String postChildren = cutChildrenSection(sb, widgetStart, w.eClass().getName());
+                processChildren(sb, nextChildren);
+                if (postChildren != null) {
+                    sb.append(postChildren);
                 }
-                // %children% section found
-                if (parts.length > 1) {
-                    new_pre.append(parts[0]);
-                    new_post.insert(0, parts[1]);
-                }
-                // multiple %children% sections found -> log an error and ignore all code starting from the second
-                // occurance
-                if (parts.length > 2) {
-                    String widgetType = w.eClass().getInstanceTypeName()
-                            .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
-                    logger.error(
-                            "Snippet for widget '{}' contains multiple %children% sections, but only one is allowed!",
-                            widgetType);
-                }
-                processChildren(new_pre, new_post, nextChildren);
-                sb_pre.append(new_pre);
-                sb_pre.append(new_post);
-            } else {
-                sb_pre.append(widgetSB);
             }
         }
 
     }
 
+    /**
+     * Removes the %children% placeholder and all code following it from the string builder.
+     *
+     * @param sb the string builder, which contains the rendered snippet
+     * @param start the position of the rendered snippet within the string builder
+     * @param snippetName the name of the snippet, which is used for logging
+     * @return the code following the placeholder or null, if the snippet does not contain the placeholder
+     */
+    String cutChildrenSection(StringBuilder sb, int start, String snippetName) {
+        int placeholderStart = sb.indexOf(CHILDREN_PLACEHOLDER, start);
+        if (placeholderStart < 0) {
+            return null;
+        }
+
+        int postChildrenStart = placeholderStart + CHILDREN_PLACEHOLDER.length();
+        int postChildrenEnd = sb.indexOf(CHILDREN_PLACEHOLDER, postChildrenStart);
+        if (postChildrenEnd < 0) {
+            postChildrenEnd = sb.length();
+        } else {
+            // multiple %children% sections found -> log an error and ignore all code starting from the second
+            // occurrence
+            logger.error("Snippet '{}' contains multiple %children% sections, but only one is allowed!", snippetName);
+        }
+
+        String postChildren = sb.substring(postChildrenStart, postChildrenEnd);
+        sb.setLength(placeholderStart);
+        return postChildren;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Mapping;
 import org.eclipse.smarthome.model.sitemap.Selection;
@@ -37,34 +39,35 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("selection");
+        SnippetTemplate snippet = getSnippet("selection");
 
-        snippet = StringUtils.replace(snippet, "%icon%", escapeURLPath(itemUIRegistry.getIcon(w)));
-        snippet = StringUtils.replace(snippet, "%label_header%", getLabel(w));
+        Map<String, String> values = new HashMap<>();
+        values.put("icon", escapeURLPath(itemUIRegistry.getIcon(w)));
+        values.put("label_header", getLabel(w));
 
         String state = itemUIRegistry.getState(w).toString();
         Selection selection = (Selection) w;
 
+        SnippetTemplate rowSnippet = getSnippet("selection_row");
         StringBuilder rowSB = new StringBuilder();
+        Map<String, String> rowValues = new HashMap<>();
+        rowValues.put("item", w.getItem() != null ? w.getItem() : "");
         for (Mapping mapping : selection.getMappings()) {
-            String rowSnippet = getSnippet("selection_row");
-            rowSnippet = StringUtils.replace(rowSnippet, "%item%", w.getItem() != null ? w.getItem() : "");
-            rowSnippet = StringUtils.replace(rowSnippet, "%cmd%", mapping.getCmd() != null ? mapping.getCmd() : "");
-            rowSnippet = StringUtils.replace(rowSnippet, "%label%", mapping.getLabel() != null ? mapping.getLabel()
-                    : "");
+            rowValues.put("cmd", mapping.getCmd() != null ? mapping.getCmd() : "");
+            rowValues.put("label", mapping.getLabel() != null ? mapping.getLabel() : "");
             if (state.equals(mapping.getCmd())) {
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "checked=\"true\"");
+                rowValues.put("checked", "checked=\"true\"");
             } else {
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "");
+                rowValues.put("checked", "");
             }
-            rowSB.append(rowSnippet);
+            rowSnippet.render(rowSB, rowValues);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        values.put("rows", rowSB.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
@@ -8,8 +8,9 @@
 package org.eclipse.smarthome.ui.classic.internal.render;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.types.State;
@@ -77,24 +78,25 @@ public class SetpointRenderer extends AbstractWidgetRenderer {
         }
 
         String snippetName = "setpoint";
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate snippet = getSnippet(snippetName);
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%icon%", escapeURLPath(itemUIRegistry.getIcon(w)));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%state%", state.toString());
-        snippet = StringUtils.replace(snippet, "%newlowerstate%", newLowerState);
-        snippet = StringUtils.replace(snippet, "%newhigherstate%", newHigherState);
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%minValue%", minValue.toString());
-        snippet = StringUtils.replace(snippet, "%maxValue%", maxValue.toString());
-        snippet = StringUtils.replace(snippet, "%step%", step.toString());
+        Map<String, String> values = new HashMap<>();
+        values.put("id", itemUIRegistry.getWidgetId(w));
+        values.put("icon", escapeURLPath(itemUIRegistry.getIcon(w)));
+        values.put("item", w.getItem());
+        values.put("state", state.toString());
+        values.put("newlowerstate", newLowerState);
+        values.put("newhigherstate", newHigherState);
+        values.put("label", getLabel(w));
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
+        values.put("minValue", minValue.toString());
+        values.put("maxValue", maxValue.toString());
+        values.put("step", step.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
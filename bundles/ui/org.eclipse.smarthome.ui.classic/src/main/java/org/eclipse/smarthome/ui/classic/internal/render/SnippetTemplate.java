@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link SnippetTemplate} is an html snippet, which has been split once into its static text parts and its
+ * placeholders (e.g. "%label%"). This way a snippet can be rendered without searching the whole snippet for each
+ * placeholder and without creating intermediate strings.
+ * <p>
+ * A placeholder, for which no value is given, is written unchanged, so that it can be processed later on (e.g.
+ * "%children%").
+ *
+ * @author agent - Initial contribution
+ */
+public class SnippetTemplate {
+
+    private final String snippet;
+
+    /* the static texts, texts[i] precedes placeholders[i] and the last text follows the last placeholder */
+    private final String[] texts;
+
+    /* the names of the placeholders without the enclosing '%' */
+    private final String[] placeholders;
+
+    private SnippetTemplate(String snippet, String[] texts, String[] placeholders) {
+        this.snippet = snippet;
+        this.texts = texts;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Splits the given snippet into its static text parts and its placeholders. A placeholder consists of letters,
+     * digits and underscores, which are enclosed by '%'. Any other '%' is part of the static text.
+     *
+     * @param snippet the snippet to compile (must not be null)
+     * @return the compiled snippet
+     */
+    public static SnippetTemplate compile(String snippet) {
+        List<String> texts = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int textStart = 0;
+        int index = snippet.indexOf('%');
+        while (index >= 0) {
+            int nameEnd = index + 1;
+            while (nameEnd < snippet.length() && isPlaceholderChar(snippet.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd > index + 1 && nameEnd < snippet.length() && snippet.charAt(nameEnd) == '%') {
+                texts.add(snippet.substring(textStart, index));
+                placeholders.add(snippet.substring(index + 1, nameEnd));
+                textStart = nameEnd + 1;
+                index = snippet.indexOf('%', textStart);
+            } else {
+                // not a placeholder, the '%' might be the start of the next one though
+                index = snippet.indexOf('%', index + 1);
+            }
+        }
+        texts.add(snippet.substring(textStart));
+
+        return new SnippetTemplate(snippet, texts.toArray(new String[texts.size()]),
+                placeholders.toArray(new String[placeholders.size()]));
+    }
+
+    private static boolean isPlaceholderChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Returns the snippet this template has been compiled from.
+     *
+     * @return the snippet including its placeholders
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * Appends the snippet to the given string builder, while the placeholders are replaced by the given values.
+     * Placeholders without a value (or with a null value) are appended unchanged.
+     *
+     * @param sb the string builder to append the snippet to
+     * @param values the values by placeholder name without the enclosing '%' (e.g. "label")
+     */
+    public void render(StringBuilder sb, Map<String, String> values) {
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(texts[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                sb.append(value);
+            } else {
+                sb.append('%').append(placeholders[i]).append('%');
+            }
+        }
+        sb.append(texts[placeholders.length]);
+    }
+
+    @Override
+    public String toString() {
+        return snippet;
+    }
+}
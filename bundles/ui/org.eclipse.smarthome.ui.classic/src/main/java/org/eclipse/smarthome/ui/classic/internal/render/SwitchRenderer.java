@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -71,13 +73,14 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
             snippetName = "switch";
         }
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate snippet = getSnippet(snippetName);
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%icon%", escapeURLPath(itemUIRegistry.getIcon(w)));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        Map<String, String> values = new HashMap<>();
+        values.put("id", itemUIRegistry.getWidgetId(w));
+        values.put("icon", escapeURLPath(itemUIRegistry.getIcon(w)));
+        values.put("item", w.getItem());
+        values.put("label", getLabel(w));
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
 
         State state = itemUIRegistry.getState(w);
 
@@ -86,31 +89,36 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
                 state = ((PercentType) state).intValue() > 0 ? OnOffType.ON : OnOffType.OFF;
             }
             if (state.equals(OnOffType.ON)) {
-                snippet = snippet.replaceAll("%checked%", "checked=true");
+                values.put("checked", "checked=true");
             } else {
-                snippet = snippet.replaceAll("%checked%", "");
+                values.put("checked", "");
             }
         } else {
+            SnippetTemplate buttonSnippet = getSnippet("button");
             StringBuilder buttons = new StringBuilder();
-            for (Mapping mapping : s.getMappings()) {
-                String button = getSnippet("button");
-                button = StringUtils.replace(button, "%item%", w.getItem());
-                button = StringUtils.replace(button, "%cmd%", mapping.getCmd());
-                button = StringUtils.replace(button, "%label%", mapping.getLabel());
+            Map<String, String> buttonValues = new HashMap<>();
+            buttonValues.put("item", w.getItem());
+            // the buttons have the label color of the widget
+            processColor(w, buttonValues);
+            // the buttons are shown in reverse order of their mappings
+            for (int i = s.getMappings().size() - 1; i >= 0; i--) {
+                Mapping mapping = s.getMappings().get(i);
+                buttonValues.put("cmd", mapping.getCmd());
+                buttonValues.put("label", mapping.getLabel());
                 if (s.getMappings().size() > 1 && state.toString().equals(mapping.getCmd())) {
-                    button = StringUtils.replace(button, "%type%", "Warn"); // button with red color
+                    buttonValues.put("type", "Warn"); // button with red color
                 } else {
-                    button = StringUtils.replace(button, "%type%", "Action"); // button with blue color
+                    buttonValues.put("type", "Action"); // button with blue color
                 }
-                buttons.insert(0, button);
+                buttonSnippet.render(buttons, buttonValues);
             }
-            snippet = StringUtils.replace(snippet, "%buttons%", buttons.toString());
+            values.put("buttons", buttons.toString());
         }
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 }
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Video;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -36,15 +38,17 @@ public class VideoRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("video");
+        SnippetTemplate snippet = getSnippet("video");
 
         String widgetId = itemUIRegistry.getWidgetId(w);
         String sitemap = w.eResource().getURI().path();
 
         String url = "proxy?sitemap=" + sitemap + "&widgetId=" + widgetId;
-        snippet = StringUtils.replace(snippet, "%url%", url);
 
-        sb.append(snippet);
+        Map<String, String> values = new HashMap<>();
+        values.put("url", url);
+
+        snippet.render(sb, values);
         return null;
     }
 }
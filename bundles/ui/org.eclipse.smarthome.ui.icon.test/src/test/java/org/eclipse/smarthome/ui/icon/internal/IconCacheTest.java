@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.icon.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.eclipse.smarthome.ui.icon.internal.IconCache.CachedIcon;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IconCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class IconCacheTest {
+
+    @Test
+    public void testIconLoadedBeforeTheCacheWasClearedIsNotAdded() throws IOException {
+        IconCache cache = new IconCache(1024, 60000);
+
+        long generation = cache.getGeneration();
+        cache.clear();
+        cache.put("icon", CachedIcon.notFound(), generation);
+        assertNull(cache.get("icon"));
+
+        cache.put("icon", CachedIcon.notFound(), cache.getGeneration());
+        assertNotNull(cache.get("icon"));
+        assertFalse(cache.get("icon").exists());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIconIsEvicted() throws IOException {
+        // each icon takes its content and 64 bytes of overhead, random content is not compressed
+        IconCache cache = new IconCache(3 * (100 + 64), 60000);
+        long generation = cache.getGeneration();
+
+        cache.put("first", CachedIcon.of(randomContent(100), 0), generation);
+        cache.put("second", CachedIcon.of(randomContent(100), 0), generation);
+        cache.put("third", CachedIcon.of(randomContent(100), 0), generation);
+        assertNotNull(cache.get("first"));
+
+        cache.put("fourth", CachedIcon.of(randomContent(100), 0), generation);
+        assertNotNull(cache.get("first"));
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+        assertNotNull(cache.get("fourth"));
+    }
+
+    @Test
+    public void testLastModifiedIsTruncatedToSeconds() throws IOException {
+        CachedIcon icon = CachedIcon.of(new byte[] { 1, 2, 3 }, 1234567);
+
+        assertEquals(1234000, icon.getLastModified());
+        assertEquals(0, CachedIcon.of(new byte[] { 1, 2, 3 }, 0).getLastModified());
+    }
+
+    private static byte[] randomContent(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+
+}
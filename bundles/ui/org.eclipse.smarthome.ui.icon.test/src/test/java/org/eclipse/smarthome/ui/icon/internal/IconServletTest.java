@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.icon.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.ui.icon.IconProvider;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the loading and caching of the icons by the {@link IconServlet}.
+ *
+ * @author agent - Initial contribution
+ */
+public class IconServletTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final IconServlet servlet = new IconServlet();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ConfigConstants.CONFIG_DIR_PROG_ARGUMENT);
+    }
+
+    @Test
+    public void testGzipIsOnlyAcceptedWithAPositiveQuality() {
+        assertTrue(IconServlet.acceptsGzip("gzip"));
+        assertTrue(IconServlet.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(IconServlet.acceptsGzip("x-gzip"));
+        assertFalse(IconServlet.acceptsGzip(null));
+        assertFalse(IconServlet.acceptsGzip("identity"));
+        assertFalse(IconServlet.acceptsGzip("gzip;q=0"));
+        assertFalse(IconServlet.acceptsGzip("deflate, gzip; q=0.0"));
+        assertFalse(IconServlet.acceptsGzip("gzipped"));
+    }
+
+    @Test
+    public void testIconOfAProviderAddedDuringTheLoadingIsNotCachedAsNotFound() throws IOException {
+        final IconProvider addedProvider = new TestIconProvider("icon");
+        servlet.addIconProvider(new TestIconProvider(null) {
+            private boolean added = false;
+
+            @Override
+            public boolean hasIcon(String iconName) {
+                // the provider is added after the providers have been looked up for the icon
+                if (!added) {
+                    added = true;
+                    servlet.addIconProvider(addedProvider);
+                }
+                return false;
+            }
+        });
+
+        assertFalse(servlet.getIcon("icon").exists());
+        assertTrue(servlet.getIcon("icon").exists());
+    }
+
+    @Test
+    public void testIconHasTheModificationTimeOfItsFile() throws IOException {
+        System.setProperty(ConfigConstants.CONFIG_DIR_PROG_ARGUMENT, folder.getRoot().getAbsolutePath());
+        File iconFolder = folder.newFolder("icons");
+        File iconFile = new File(iconFolder, "file.png");
+        try (OutputStream os = new FileOutputStream(iconFile)) {
+            os.write(new byte[] { 1, 2, 3 });
+        }
+        assertTrue(iconFile.setLastModified(1400000000000L));
+        servlet.addIconProvider(new DefaultIconProvider());
+        servlet.addIconProvider(new TestIconProvider("other"));
+
+        assertEquals(1400000000000L, servlet.getIcon("file").getLastModified());
+        // the modification time of icons of other providers is not known
+        assertEquals(0, servlet.getIcon("other").getLastModified());
+    }
+
+    private static class TestIconProvider implements IconProvider {
+
+        private final String iconName;
+
+        private TestIconProvider(String iconName) {
+            this.iconName = iconName;
+        }
+
+        @Override
+        public boolean hasIcon(String iconName) {
+            return iconName.equals(this.iconName);
+        }
+
+        @Override
+        public InputStream getIcon(String iconName) {
+            return new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+        }
+
+    }
+
+}
@@ -45,6 +45,17 @@ public class DefaultIconProvider implements IconProvider {
         return null;
     }
 
+    /**
+     * Returns the last modification time of the icon file.
+     *
+     * @param iconName the icon name
+     * @return the last modification time of the icon file, or 0 if there is no such icon
+     */
+    long getLastModified(String iconName) {
+        File file = getIconFile(iconName);
+        return file != null ? file.lastModified() : 0;
+    }
+
     private File getIconFile(String iconName) {
         File folder = new File(ConfigConstants.getConfigFolder() + File.separator + "icons");
         File file = new File(folder, iconName + ".png");
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.icon.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@link IconCache} keeps the content of the served icons in memory, together with their validators and a
+ * pre-compressed copy. It is limited by the total size of the cached icons: if the limit is exceeded, the least
+ * recently used icons are evicted. Icons which are not found are cached as well, so that unknown icon names do not
+ * cause a scan of all providers on every request.
+ * <p>
+ * An icon, which has been loaded before the cache was cleared, is not added anymore, as the providers might have
+ * changed in the meantime. Therefore the {@link #getGeneration() generation} has to be read before loading an icon.
+ *
+ * @author agent - Initial contribution
+ */
+class IconCache {
+
+    private final long maxSize;
+
+    private final long timeToLive;
+
+    private long size = 0;
+
+    private long generation = 0;
+
+    private final LinkedHashMap<String, CachedIcon> icons = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Creates an icon cache.
+     *
+     * @param maxSize the maximum total size of the cached icons in bytes
+     * @param timeToLive the time in milliseconds after which an icon is read again from its provider
+     */
+    IconCache(long maxSize, long timeToLive) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the cached icon with the given name.
+     *
+     * @param iconName the name of the icon
+     * @return the cached icon or <code>null</code>, if the icon is not cached or has expired
+     */
+    synchronized CachedIcon get(String iconName) {
+        CachedIcon icon = icons.get(iconName);
+        if (icon != null && System.currentTimeMillis() - icon.created > timeToLive) {
+            remove(iconName);
+            return null;
+        }
+        return icon;
+    }
+
+    /**
+     * Returns the generation of the cache, which is incremented each time the cache is cleared.
+     *
+     * @return the generation of the cache
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Adds the given icon to the cache and evicts the least recently used icons, if the cache is full. The icon is
+     * not added, if the cache has been cleared since the icon has been loaded.
+     *
+     * @param iconName the name of the icon
+     * @param icon the icon
+     * @param generation the generation of the cache before the icon has been loaded
+     */
+    synchronized void put(String iconName, CachedIcon icon, long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+        remove(iconName);
+        if (icon.getSize() > maxSize) {
+            return;
+        }
+        icons.put(iconName, icon);
+        size += icon.getSize();
+        Iterator<CachedIcon> iterator = icons.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    synchronized void clear() {
+        icons.clear();
+        size = 0;
+        generation++;
+    }
+
+    private void remove(String iconName) {
+        CachedIcon icon = icons.remove(iconName);
+        if (icon != null) {
+            size -= icon.getSize();
+        }
+    }
+
+    /**
+     * The {@link CachedIcon} holds the content of an icon. An icon without content represents an icon, which has not
+     * been found.
+     */
+    static class CachedIcon {
+
+        private static final int MIN_COMPRESSION_GAIN = 64;
+
+        private final byte[] content;
+        private final byte[] gzippedContent;
+        private final String eTag;
+        private final long lastModified;
+        private final long created;
+
+        private CachedIcon(byte[] content, long lastModified) throws IOException {
+            this.content = content;
+            // the HTTP date headers have a precision of seconds
+            this.lastModified = lastModified / 1000 * 1000;
+            this.created = System.currentTimeMillis();
+            if (content != null) {
+                byte[] gzipped = gzip(content);
+                this.gzippedContent = gzipped.length + MIN_COMPRESSION_GAIN < content.length ? gzipped : null;
+                this.eTag = "\"" + md5(content) + "\"";
+            } else {
+                this.gzippedContent = null;
+                this.eTag = null;
+            }
+        }
+
+        /**
+         * Creates a cached icon.
+         *
+         * @param content the content of the icon
+         * @param lastModified the last modification time of the icon, or 0 if it is not known
+         * @return the cached icon
+         * @throws IOException if the content cannot be compressed
+         */
+        static CachedIcon of(byte[] content, long lastModified) throws IOException {
+            return new CachedIcon(content, lastModified);
+        }
+
+        static CachedIcon notFound() throws IOException {
+            return new CachedIcon(null, 0);
+        }
+
+        boolean exists() {
+            return content != null;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * Returns the gzip compressed content of the icon.
+         *
+         * @return the compressed content or <code>null</code>, if the compression does not pay off
+         */
+        byte[] getGzippedContent() {
+            return gzippedContent;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Returns the last modification time of the icon, truncated to seconds like the HTTP date headers.
+         *
+         * @return the last modification time of the icon, or 0 if it is not known
+         */
+        long getLastModified() {
+            return lastModified;
+        }
+
+        private long getSize() {
+            return (content != null ? content.length : 0) + (gzippedContent != null ? gzippedContent.length : 0)
+                    + 64;
+        }
+
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(content);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static String md5(byte[] content) {
+            try {
+                StringBuilder hash = new StringBuilder(32);
+                for (byte b : MessageDigest.getInstance("MD5").digest(content)) {
+                    hash.append(String.format("%02x", b));
+                }
+                return hash.toString();
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform supports MD5
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
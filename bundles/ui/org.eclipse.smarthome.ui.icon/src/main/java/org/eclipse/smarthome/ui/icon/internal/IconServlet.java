@@ -9,10 +9,9 @@ package org.eclipse.smarthome.ui.icon.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
@@ -22,6 +21,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.ui.icon.internal.IconCache.CachedIcon;
 import org.eclipse.smarthome.ui.icon.IconProvider;
 import org.osgi.service.http.HttpContext;
 import org.osgi.service.http.HttpService;
@@ -30,7 +30,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Registers a servlet that serves icons through {@link IconProvider}s.
+ * Registers a servlet that serves icons through {@link IconProvider}s. The icons are kept in an {@link IconCache},
+ * whose size in bytes can be configured by the system property {@value #CACHE_SIZE_PROPERTY}. The responses carry an
+ * ETag, so that clients can revalidate their copy of an icon without transferring it again. The Last-Modified header
+ * is only sent for icons with a known modification time.
  *
  * @author Kai Kreuzer - Initial contribution
  *
@@ -43,11 +46,23 @@ public class IconServlet extends HttpServlet {
 
     private static final String SERVLET_NAME = "/images";
 
-    private long startupTime;
+    /** the system property that contains the maximum size of the icon cache in bytes */
+    public static final String CACHE_SIZE_PROPERTY = "smarthome.iconcache.size";
+
+    private static final long DEFAULT_CACHE_SIZE = 4 * 1024 * 1024;
+
+    // custom icons might be replaced on disk, so they are read again from time to time
+    private static final long CACHE_TIME_TO_LIVE = 5 * 60 * 1000;
+
+    // clients revalidate their copy at the latest when the servlet reads the icon again
+    private static final String CACHE_CONTROL = "public, max-age=" + CACHE_TIME_TO_LIVE / 1000;
 
     protected HttpService httpService;
 
-    private List<IconProvider> iconProvider = new ArrayList<>();
+    private List<IconProvider> iconProvider = new CopyOnWriteArrayList<>();
+
+    private final IconCache iconCache = new IconCache(Long.getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+            CACHE_TIME_TO_LIVE);
 
     public void setHttpService(HttpService httpService) {
         this.httpService = httpService;
@@ -59,10 +74,12 @@ public class IconServlet extends HttpServlet {
 
     public void addIconProvider(IconProvider iconProvider) {
         this.iconProvider.add(iconProvider);
+        iconCache.clear();
     }
 
     public void removeIconProvider(IconProvider iconProvider) {
         this.iconProvider.remove(iconProvider);
+        iconCache.clear();
     }
 
     protected void activate() {
@@ -76,7 +93,6 @@ public class IconServlet extends HttpServlet {
         } catch (ServletException e) {
             logger.error("Error during servlet startup", e);
         }
-        startupTime = System.currentTimeMillis();
     }
 
     /**
@@ -92,26 +108,117 @@ public class IconServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
-        if (req.getDateHeader("If-Modified-Since") > startupTime) {
-            resp.setStatus(304);
+        String filename = StringUtils.substringAfterLast(req.getRequestURI(), "/");
+
+        String iconName = StringUtils.substringBeforeLast(filename, ".");
+
+        CachedIcon icon = getIcon(iconName);
+        if (!icon.exists()) {
+            resp.sendError(404);
             return;
         }
 
-        String filename = StringUtils.substringAfterLast(req.getRequestURI(), "/");
+        resp.setHeader("ETag", icon.getETag());
+        resp.setHeader("Cache-Control", CACHE_CONTROL);
+        if (icon.getLastModified() > 0) {
+            resp.setDateHeader("Last-Modified", icon.getLastModified());
+        }
+        if (isNotModified(req, icon)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
 
-        String iconName = StringUtils.substringBeforeLast(filename, ".");
+        resp.setContentType("image/png");
+        byte[] content = icon.getContent();
+        if (icon.getGzippedContent() != null) {
+            resp.setHeader("Vary", "Accept-Encoding");
+            if (acceptsGzip(req.getHeader("Accept-Encoding"))) {
+                resp.setHeader("Content-Encoding", "gzip");
+                content = icon.getGzippedContent();
+            }
+        }
+        resp.setContentLength(content.length);
+        ServletOutputStream os = resp.getOutputStream();
+        os.write(content);
+        resp.flushBuffer();
+    }
+
+    private boolean isNotModified(HttpServletRequest req, CachedIcon icon) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.contains(icon.getETag()) || ifNoneMatch.trim().equals("*");
+        }
+        return icon.getLastModified() > 0 && req.getDateHeader("If-Modified-Since") >= icon.getLastModified();
+    }
+
+    /**
+     * Checks whether the given Accept-Encoding header accepts the gzip content coding, i.e. it contains the coding
+     * with a quality greater than 0.
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header, may be null
+     * @return true if gzip is accepted, false otherwise
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase();
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return getQuality(parameters) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static float getQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim().toLowerCase();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 
+    CachedIcon getIcon(String iconName) throws IOException {
+        CachedIcon icon = iconCache.get(iconName);
+        if (icon == null) {
+            // read before the providers, so that a provider added in the meantime is not missed
+            long generation = iconCache.getGeneration();
+            icon = loadIcon(iconName);
+            iconCache.put(iconName, icon, generation);
+        }
+        return icon;
+    }
+
+    private CachedIcon loadIcon(String iconName) throws IOException {
         for (IconProvider provider : iconProvider) {
             if (provider.hasIcon(iconName)) {
-                resp.setContentType("image/png");
-                resp.setDateHeader("Last-Modified", new Date().getTime());
-                ServletOutputStream os = resp.getOutputStream();
                 InputStream is = provider.getIcon(iconName);
-                IOUtils.copy(is, os);
-                resp.flushBuffer();
-                return;
+                if (is != null) {
+                    try {
+                        return CachedIcon.of(IOUtils.toByteArray(is), getLastModified(provider, iconName));
+                    } finally {
+                        IOUtils.closeQuietly(is);
+                    }
+                }
             }
         }
-        resp.sendError(404);
+        return CachedIcon.notFound();
+    }
+
+    private long getLastModified(IconProvider provider, String iconName) {
+        // the icon provider interface does not expose the modification time, only the files of the default provider
+        // have a known one
+        if (provider instanceof DefaultIconProvider) {
+            return ((DefaultIconProvider) provider).getLastModified(iconName);
+        }
+        return 0;
     }
 }
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.proxy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SharedStreams} and the {@link ImageCache}, which request a local test server.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedStreamsTest {
+
+    private static final String BOUNDARY = "frame";
+
+    private TestServer server;
+    private MultiThreadedHttpConnectionManager connectionManager;
+    private HttpClient httpClient;
+    private ExecutorService executor;
+    private SharedStreams sharedStreams;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new TestServer();
+        connectionManager = new MultiThreadedHttpConnectionManager();
+        connectionManager.getParams().setDefaultMaxConnectionsPerHost(10);
+        httpClient = new HttpClient(connectionManager);
+        executor = Executors.newCachedThreadPool();
+        sharedStreams = new SharedStreams(httpClient, executor);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        sharedStreams.closeAll();
+        executor.shutdownNow();
+        connectionManager.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void clientsOfAStreamShareOneUpstreamConnection() throws Exception {
+        SharedStream.Client client1 = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        SharedStream.Client client2 = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        assertTrue(client1.awaitConnection(5000));
+        assertTrue(client2.awaitConnection(5000));
+        assertEquals(200, client1.getStatusCode());
+
+        for (int i = 0; i < 5; i++) {
+            assertFrame(client1.take());
+            assertFrame(client2.take());
+        }
+        assertEquals(1, server.getConnectionCount());
+
+        // a client can join a running stream
+        SharedStream.Client client3 = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        assertTrue(client3.awaitConnection(5000));
+        assertFrame(client3.take());
+        assertEquals(1, server.getConnectionCount());
+
+        // the stream is closed with its last client and reopened for the next one
+        client1.close();
+        client2.close();
+        client3.close();
+        SharedStream.Client client4 = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        assertTrue(client4.awaitConnection(5000));
+        assertFrame(client4.take());
+        assertEquals(2, server.getConnectionCount());
+        client4.close();
+    }
+
+    @Test
+    public void slowClientDropsWholeFrames() throws Exception {
+        SharedStream.Client slowClient = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        SharedStream.Client fastClient = sharedStreams.subscribe(server.getUrl("/stream"), null);
+        assertTrue(fastClient.awaitConnection(5000));
+
+        for (int i = 0; i < SharedStream.CLIENT_QUEUE_SIZE * 3; i++) {
+            assertFrame(fastClient.take());
+        }
+        assertTrue(slowClient.getDroppedParts() > 0);
+        assertEquals(0, fastClient.getDroppedParts());
+
+        // the slow client continues with whole frames
+        for (int i = 0; i < SharedStream.CLIENT_QUEUE_SIZE; i++) {
+            assertFrame(slowClient.take());
+        }
+        assertEquals(1, server.getConnectionCount());
+
+        slowClient.close();
+        fastClient.close();
+    }
+
+    @Test
+    public void contentWithoutPartsIsPassedOnUnchanged() throws Exception {
+        SharedStream.Client client = sharedStreams.subscribe(server.getUrl("/image"), null);
+        assertTrue(client.awaitConnection(5000));
+
+        StringBuilder content = new StringBuilder();
+        byte[] chunk;
+        while ((chunk = client.take()) != null) {
+            content.append(new String(chunk, StandardCharsets.ISO_8859_1));
+        }
+        assertEquals(TestServer.IMAGE, content.toString());
+        client.close();
+    }
+
+    @Test
+    public void imagesAreCachedForAShortTime() throws Exception {
+        ImageCache imageCache = new ImageCache(httpClient, 200);
+
+        ImageCache.Image image1 = imageCache.get(server.getUrl("/image"), null);
+        ImageCache.Image image2 = imageCache.get(server.getUrl("/image"), null);
+        assertNotNull(image1);
+        assertEquals(200, image1.getStatusCode());
+        assertArrayEquals(TestServer.IMAGE.getBytes(StandardCharsets.ISO_8859_1), image1.getBody());
+        assertArrayEquals(image1.getBody(), image2.getBody());
+        assertEquals(1, server.getConnectionCount());
+
+        Thread.sleep(300);
+        imageCache.get(server.getUrl("/image"), null);
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    @Test
+    public void failedImagesAreNotCached() throws Exception {
+        ImageCache imageCache = new ImageCache(httpClient, 10000);
+
+        ImageCache.Image image = imageCache.get(server.getUrl("/missing"), null);
+        assertEquals(404, image.getStatusCode());
+        assertEquals(0, imageCache.size());
+
+        imageCache.get(server.getUrl("/missing"), null);
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    @Test
+    public void expiredImagesAreRemoved() throws Exception {
+        ImageCache imageCache = new ImageCache(httpClient, 100);
+
+        imageCache.get(server.getUrl("/image"), null);
+        assertEquals(1, imageCache.size());
+
+        Thread.sleep(200);
+        imageCache.get(server.getUrl("/image2"), null);
+        assertEquals(1, imageCache.size());
+    }
+
+    private void assertFrame(byte[] part) {
+        assertNotNull(part);
+        String frame = new String(part, StandardCharsets.ISO_8859_1);
+        assertTrue(frame, frame.matches("(?s)--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n"
+                + "Content-Length: 9\r\n\r\nframe\\d{4}\r\n"));
+    }
+
+    /**
+     * A minimal http server, which counts the connections it has accepted. It serves an endless multipart stream at
+     * "/stream", nothing at "/missing" and a still image at any other path.
+     */
+    private static class TestServer implements Runnable {
+
+        static final String IMAGE = "still image";
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connectionCount = new AtomicInteger();
+
+        TestServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            startThread(this);
+        }
+
+        String getUrl(String path) {
+            return "http://localhost:" + serverSocket.getLocalPort() + path;
+        }
+
+        int getConnectionCount() {
+            return connectionCount.get();
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final Socket socket = serverSocket.accept();
+                    connectionCount.incrementAndGet();
+                    startThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            serve(socket);
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                // the server has been closed
+            }
+        }
+
+        private void serve(Socket socket) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                        StandardCharsets.ISO_8859_1));
+                String path = reader.readLine().split(" ")[1];
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                    // the request headers are not needed
+                }
+
+                OutputStream outputStream = socket.getOutputStream();
+                if (path.equals("/stream")) {
+                    write(outputStream, "HTTP/1.1 200 OK\r\nConnection: close\r\n"
+                            + "Content-Type: multipart/x-mixed-replace; boundary=" + BOUNDARY + "\r\n\r\n");
+                    for (int i = 0; true; i++) {
+                        write(outputStream, "--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n"
+                                + "Content-Length: 9\r\n\r\n" + String.format("frame%04d", i % 10000) + "\r\n");
+                        Thread.sleep(5);
+                    }
+                } else if (path.equals("/missing")) {
+                    write(outputStream, "HTTP/1.1 404 Not Found\r\nConnection: close\r\nContent-Length: 0\r\n\r\n");
+                } else {
+                    write(outputStream, "HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Type: image/jpeg\r\n"
+                            + "Content-Length: " + IMAGE.length() + "\r\n\r\n" + IMAGE);
+                }
+            } catch (IOException | InterruptedException e) {
+                // the client has closed the connection
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+
+        private void write(OutputStream outputStream, String content) throws IOException {
+            outputStream.write(content.getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.flush();
+        }
+
+        private static void startThread(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpState;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * The {@link ImageCache} keeps the responses of image urls for a short time. This way an image, which is shown by
+ * several clients at the same time (e.g. a webcam snapshot that is refreshed periodically), is only fetched once.
+ * Concurrent requests for an image, which is not cached yet, wait for the same upstream request. Only successful
+ * responses are kept and the expired responses are removed whenever an image is requested from its url.
+ *
+ * @author agent - Initial contribution
+ */
+class ImageCache {
+
+    private final HttpClient httpClient;
+    private final long cacheTime;
+
+    private final ConcurrentMap<String, FutureTask<Image>> images = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param httpClient the client used for the upstream requests, it must support concurrent connections
+     * @param cacheTime the time in milliseconds, for which a response is reused
+     */
+    ImageCache(HttpClient httpClient, long cacheTime) {
+        this.httpClient = httpClient;
+        this.cacheTime = cacheTime;
+    }
+
+    /**
+     * Returns the response of the given url, which is either taken from the cache or requested from the url.
+     *
+     * @param url the url of the image
+     * @param state the http state containing the credentials for the url or null
+     * @return the response
+     * @throws IOException if the image could not be requested
+     */
+    Image get(final String url, final HttpState state) throws IOException {
+        FutureTask<Image> future = images.get(url);
+        if (future != null && future.isDone() && isExpired(future)) {
+            images.remove(url, future);
+            future = null;
+        }
+        if (future == null) {
+            removeExpired();
+            FutureTask<Image> newFuture = new FutureTask<>(new Callable<Image>() {
+                @Override
+                public Image call() throws IOException {
+                    return request(url, state);
+                }
+            });
+            future = images.putIfAbsent(url, newFuture);
+            if (future == null) {
+                future = newFuture;
+                newFuture.run();
+            }
+        }
+
+        try {
+            Image image = future.get();
+            if (!image.isSuccessful()) {
+                // the image is passed to the clients waiting for the request, but it is not reused
+                images.remove(url, future);
+            }
+            return image;
+        } catch (ExecutionException e) {
+            // failed requests are not cached
+            images.remove(url, future);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + url, e);
+        }
+    }
+
+    private boolean isExpired(FutureTask<Image> future) {
+        try {
+            return System.currentTimeMillis() - future.get().time > cacheTime;
+        } catch (InterruptedException | ExecutionException e) {
+            return true;
+        }
+    }
+
+    private void removeExpired() {
+        for (Entry<String, FutureTask<Image>> entry : images.entrySet()) {
+            FutureTask<Image> future = entry.getValue();
+            if (future.isDone() && isExpired(future)) {
+                images.remove(entry.getKey(), future);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached responses, including the expired ones, which have not been removed yet.
+     *
+     * @return the number of cached responses
+     */
+    int size() {
+        return images.size();
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    void clear() {
+        images.clear();
+    }
+
+    private Image request(String url, HttpState state) throws IOException {
+        GetMethod method = new GetMethod(url);
+        try {
+            if (state != null) {
+                // send the credentials with the first request instead of waiting for a challenge
+                method.getHostAuthState().setPreemptive();
+            }
+            int statusCode = httpClient.executeMethod(null, method, state);
+            InputStream inputStream = method.getResponseBodyAsStream();
+            byte[] body = (inputStream != null) ? IOUtils.toByteArray(inputStream) : new byte[0];
+            return new Image(statusCode, method.getResponseHeaders(), body);
+        } finally {
+            method.releaseConnection();
+        }
+    }
+
+    /**
+     * A cached response of an image url.
+     */
+    static class Image {
+
+        private final int statusCode;
+        private final Header[] headers;
+        private final byte[] body;
+        private final long time = System.currentTimeMillis();
+
+        private Image(int statusCode, Header[] headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        boolean isSuccessful() {
+            return statusCode >= 200 && statusCode < 300;
+        }
+
+        Header[] getHeaders() {
+            return headers;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -8,8 +8,13 @@
 package org.eclipse.smarthome.ui.internal.proxy;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.Hashtable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -19,10 +24,11 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.httpclient.Credentials;
 import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpState;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
 import org.apache.commons.httpclient.UsernamePasswordCredentials;
 import org.apache.commons.httpclient.auth.AuthScope;
-import org.apache.commons.httpclient.methods.GetMethod;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.sitemap.Image;
 import org.eclipse.smarthome.model.sitemap.Sitemap;
@@ -48,7 +54,9 @@ import org.slf4j.LoggerFactory;
  * the proxy servlet will be able to access the content and provide it to the openHAB UIs through the
  * standard openHAB authentication mechanism (if enabled).
  *
- * This servlet also supports data streams, such as a webcam video stream etc.
+ * This servlet also supports data streams, such as a webcam video stream etc. All clients of a stream share a single
+ * connection to the server of the stream (see {@link SharedStream}) and the responses of images are reused for a
+ * short time (see {@link ImageCache}), so that the server is not queried once per client.
  *
  * @author Kai Kreuzer - Initial contribution and API
  */
@@ -61,6 +69,22 @@ public class ProxyServlet extends HttpServlet {
 
     private static final long serialVersionUID = -4716754591953017793L;
 
+    /** the time in milliseconds, for which the response of an image is reused */
+    private static final long IMAGE_CACHE_TIME = 1000;
+
+    /** the maximum time in milliseconds to wait for the upstream connection */
+    private static final int CONNECTION_TIMEOUT = 10000;
+
+    /** the maximum number of concurrent upstream connections to a single host */
+    private static final int MAX_CONNECTIONS_PER_HOST = 20;
+
+    private static final int MAX_CONNECTIONS = 100;
+
+    private MultiThreadedHttpConnectionManager connectionManager;
+    private ExecutorService streamExecutor;
+    private SharedStreams sharedStreams;
+    private ImageCache imageCache;
+
     protected HttpService httpService;
     protected ItemUIRegistry itemUIRegistry;
     protected ModelRepository modelRepository;
@@ -90,6 +114,26 @@ public class ProxyServlet extends HttpServlet {
     }
 
     protected void activate() {
+        connectionManager = new MultiThreadedHttpConnectionManager();
+        HttpConnectionManagerParams params = connectionManager.getParams();
+        params.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+        params.setMaxTotalConnections(MAX_CONNECTIONS);
+        params.setConnectionTimeout(CONNECTION_TIMEOUT);
+        HttpClient httpClient = new HttpClient(connectionManager);
+
+        streamExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ESH-proxy-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        sharedStreams = new SharedStreams(httpClient, streamExecutor);
+        imageCache = new ImageCache(httpClient, IMAGE_CACHE_TIME);
+
         try {
             logger.debug("Starting up proxy servlet at /" + PROXY_ALIAS);
 
@@ -104,6 +148,11 @@ public class ProxyServlet extends HttpServlet {
 
     protected void deactivate() {
         httpService.unregister("/" + PROXY_ALIAS);
+
+        sharedStreams.closeAll();
+        streamExecutor.shutdownNow();
+        imageCache.clear();
+        connectionManager.shutdown();
     }
 
     /**
@@ -134,6 +183,7 @@ public class ProxyServlet extends HttpServlet {
         }
 
         String uriString = null;
+        boolean stream = false;
 
         Sitemap sitemap = (Sitemap) modelRepository.getModel(sitemapName);
         if (sitemap != null) {
@@ -144,6 +194,7 @@ public class ProxyServlet extends HttpServlet {
             } else if (widget instanceof Video) {
                 Video video = (Video) widget;
                 uriString = video.getUrl();
+                stream = true;
             } else {
                 if (widget == null) {
                     throw new ServletException("Widget '" + widgetId + "' could not be found!");
@@ -155,34 +206,80 @@ public class ProxyServlet extends HttpServlet {
             throw new ServletException("Sitemap '" + sitemapName + "' could not be found!");
         }
 
-        HttpClient httpClient = new HttpClient();
+        HttpState state = createState(uriString);
+        if (stream) {
+            sendStream(uriString, state, response);
+        } else {
+            sendImage(uriString, state, response);
+        }
+    }
 
+    /**
+     * Creates the http state for the given uri, which contains the credentials, if the uri uses any.
+     *
+     * @param uriString the uri
+     * @return the http state or null, if the uri does not use credentials
+     * @throws ServletException if the uri is not valid
+     */
+    private HttpState createState(String uriString) throws ServletException {
         try {
-            // check if the uri uses credentials and configure the http client accordingly
+            // check if the uri uses credentials and configure the http state accordingly
             URI uri = URI.create(uriString);
 
             if (uri.getUserInfo() != null) {
                 String[] userInfo = uri.getUserInfo().split(":");
-                httpClient.getParams().setAuthenticationPreemptive(true);
                 Credentials creds = new UsernamePasswordCredentials(userInfo[0], userInfo[1]);
-                httpClient.getState().setCredentials(new AuthScope(uri.getHost(), uri.getPort(), AuthScope.ANY_REALM),
-                        creds);
+                HttpState state = new HttpState();
+                state.setCredentials(new AuthScope(uri.getHost(), uri.getPort(), AuthScope.ANY_REALM), creds);
+                return state;
             }
+            return null;
         } catch (IllegalArgumentException e) {
             throw new ServletException("URI '" + uriString + "' is not valid: " + e.getMessage());
         }
+    }
 
-        // do the client request
-        GetMethod method = new GetMethod(uriString);
-        httpClient.executeMethod(method);
+    private void sendImage(String uriString, HttpState state, HttpServletResponse response) throws IOException {
+        ImageCache.Image image = imageCache.get(uriString, state);
+        response.setStatus(image.getStatusCode());
+        copyHeaders(image.getHeaders(), response);
+        response.getOutputStream().write(image.getBody());
+    }
+
+    private void sendStream(String uriString, HttpState state, HttpServletResponse response) throws ServletException,
+            IOException {
+        SharedStream.Client client = sharedStreams.subscribe(uriString, state);
+        try {
+            if (!client.awaitConnection(CONNECTION_TIMEOUT)) {
+                throw new ServletException("Stream '" + uriString + "' could not be opened in time!");
+            }
+            if (client.getStatusCode() == 0) {
+                throw new ServletException("Stream '" + uriString + "' could not be opened!");
+            }
+            response.setStatus(client.getStatusCode());
+            copyHeaders(client.getHeaders(), response);
 
-        // copy all headers
-        for (Header header : method.getResponseHeaders()) {
-            response.setHeader(header.getName(), header.getValue());
+            // now stream the body content, which is shared with the other clients of the stream
+            OutputStream outputStream = response.getOutputStream();
+            byte[] part;
+            while ((part = client.take()) != null) {
+                outputStream.write(part);
+                outputStream.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            client.close();
         }
+    }
 
-        // now copy/stream the body content
-        IOUtils.copy(method.getResponseBodyAsStream(), response.getOutputStream());
-        method.releaseConnection();
+    private void copyHeaders(Header[] headers, HttpServletResponse response) {
+        for (Header header : headers) {
+            // the content is not passed on with the encoding of the upstream connection
+            if (!"Transfer-Encoding".equalsIgnoreCase(header.getName())
+                    && !"Connection".equalsIgnoreCase(header.getName())) {
+                response.setHeader(header.getName(), header.getValue());
+            }
+        }
     }
 }
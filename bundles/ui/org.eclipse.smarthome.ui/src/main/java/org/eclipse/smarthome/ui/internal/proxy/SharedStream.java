@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HeaderElement;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpState;
+import org.apache.commons.httpclient.NameValuePair;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SharedStream} reads the content of an upstream url once and passes it on to all clients, which are
+ * subscribed to it.
+ * <p>
+ * If the upstream content is a multipart stream (e.g. a MJPEG stream of a webcam), it is split into its parts and
+ * every client receives whole parts. A client, which does not keep up with the stream, skips the oldest parts in its
+ * queue, so that it always continues with a complete and recent frame. Clients can join such a stream at any time and
+ * start with the next part.
+ * <p>
+ * Any other content cannot be split without corrupting it. It is only passed on to the clients, which subscribed
+ * before the upstream connection has been established, and a client, which does not keep up, is disconnected.
+ * <p>
+ * The upstream connection is closed as soon as the last client has unsubscribed.
+ *
+ * @author agent - Initial contribution
+ */
+class SharedStream implements Runnable {
+
+    /** the maximum number of parts, which are queued for a client */
+    static final int CLIENT_QUEUE_SIZE = 16;
+
+    /** the maximum size of a single part of a multipart stream */
+    private static final int MAX_PART_SIZE = 8 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** the number of dashes, which are kept in front of a delimiter that has not been read completely */
+    private static final int MAX_DASHES = 4;
+
+    /** marks the end of the stream in the queue of a client */
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final Logger logger = LoggerFactory.getLogger(SharedStream.class);
+
+    private final SharedStreams owner;
+    private final HttpClient httpClient;
+    private final String url;
+    private final HttpState state;
+
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final CountDownLatch connected = new CountDownLatch(1);
+
+    private volatile GetMethod method;
+    private volatile boolean closed;
+
+    /* set before connected is counted down and not changed afterwards */
+    private volatile int statusCode;
+    private volatile Header[] headers = new Header[0];
+    private volatile boolean multipart;
+
+    SharedStream(SharedStreams owner, HttpClient httpClient, String url, HttpState state) {
+        this.owner = owner;
+        this.httpClient = httpClient;
+        this.url = url;
+        this.state = state;
+    }
+
+    /**
+     * Subscribes a new client to this stream.
+     *
+     * @return the client or null, if this stream cannot be joined anymore
+     */
+    synchronized Client subscribe() {
+        if (closed || (connected.getCount() == 0 && !multipart)) {
+            return null;
+        }
+        Client client = new Client();
+        clients.add(client);
+        return client;
+    }
+
+    private synchronized void unsubscribe(Client client) {
+        clients.remove(client);
+        if (clients.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the upstream connection and ends the stream for all clients.
+     */
+    synchronized void close() {
+        if (!closed) {
+            closed = true;
+            owner.remove(url, this);
+            GetMethod method = this.method;
+            if (method != null) {
+                // unblocks the reading thread
+                method.abort();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        GetMethod method = new GetMethod(url);
+        try {
+            this.method = method;
+            if (closed) {
+                return;
+            }
+            if (state != null) {
+                // send the credentials with the first request instead of waiting for a challenge
+                method.getHostAuthState().setPreemptive();
+            }
+            statusCode = httpClient.executeMethod(null, method, state);
+            headers = method.getResponseHeaders();
+
+            byte[] boundary = getBoundary(method);
+            multipart = (boundary != null);
+            if (!multipart) {
+                // only the clients, which are already subscribed, can receive the content
+                owner.remove(url, this);
+            }
+            connected.countDown();
+
+            InputStream inputStream = method.getResponseBodyAsStream();
+            if (inputStream != null) {
+                if (multipart) {
+                    readParts(inputStream, boundary);
+                } else {
+                    readChunks(inputStream);
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                logger.debug("Reading the stream '{}' failed: {}", url, e.getMessage());
+            }
+        } finally {
+            synchronized (this) {
+                closed = true;
+                owner.remove(url, this);
+            }
+            connected.countDown();
+            method.releaseConnection();
+            for (Client client : clients) {
+                client.end();
+            }
+        }
+    }
+
+    private byte[] getBoundary(GetMethod method) {
+        Header contentType = method.getResponseHeader("Content-Type");
+        if (contentType != null && contentType.getValue().toLowerCase().startsWith("multipart/")) {
+            for (HeaderElement element : contentType.getElements()) {
+                NameValuePair boundary = element.getParameterByName("boundary");
+                if (boundary != null && boundary.getValue() != null) {
+                    // some cameras already prefix the boundary with the dashes of the delimiter, so only two dashes
+                    // are part of the search pattern
+                    String value = boundary.getValue().replaceFirst("^-+", "");
+                    if (!value.isEmpty()) {
+                        return ("--" + value).getBytes(StandardCharsets.ISO_8859_1);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void readChunks(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while (!closed && (length = inputStream.read(buffer)) >= 0) {
+            if (length > 0) {
+                publish(Arrays.copyOf(buffer, length));
+            }
+        }
+    }
+
+    private void readParts(InputStream inputStream, byte[] boundary) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        // the start of the current part or -1, as long as the first delimiter has not been found
+        int partStart = -1;
+        int searchStart = 0;
+
+        while (!closed) {
+            if (length == buffer.length) {
+                if (buffer.length >= MAX_PART_SIZE) {
+                    throw new IOException("Part exceeds the maximum size of " + MAX_PART_SIZE + " bytes.");
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = inputStream.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+
+            int index;
+            while ((index = indexOf(buffer, length, boundary, searchStart)) >= 0) {
+                // the delimiter starts with any further dashes preceding the search pattern
+                int delimiterStart = index;
+                while (delimiterStart > Math.max(partStart + 1, 0) && buffer[delimiterStart - 1] == '-') {
+                    delimiterStart--;
+                }
+                if (partStart >= 0) {
+                    publish(Arrays.copyOfRange(buffer, partStart, delimiterStart));
+                }
+                partStart = delimiterStart;
+                searchStart = index + boundary.length;
+            }
+            // a delimiter, which has not been read completely, cannot start before this position
+            searchStart = Math.max(searchStart, length - boundary.length + 1);
+
+            // drop everything, which has already been passed on
+            int keep = (partStart >= 0) ? partStart : Math.max(0, searchStart - MAX_DASHES);
+            if (keep > 0) {
+                System.arraycopy(buffer, keep, buffer, 0, length - keep);
+                length -= keep;
+                searchStart -= keep;
+                if (partStart >= 0) {
+                    partStart = 0;
+                }
+            }
+        }
+
+        if (partStart >= 0 && length > partStart) {
+            publish(Arrays.copyOfRange(buffer, partStart, length));
+        }
+    }
+
+    private static int indexOf(byte[] buffer, int length, byte[] pattern, int start) {
+        int last = length - pattern.length;
+        for (int i = Math.max(start, 0); i <= last; i++) {
+            if (buffer[i] == pattern[0]) {
+                int j = 1;
+                while (j < pattern.length && buffer[i + j] == pattern[j]) {
+                    j++;
+                }
+                if (j == pattern.length) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void publish(byte[] part) {
+        for (Client client : clients) {
+            client.offer(part);
+        }
+    }
+
+    /**
+     * A {@link Client} receives the content of the shared stream.
+     */
+    class Client {
+
+        private final BlockingQueue<byte[]> parts = new ArrayBlockingQueue<>(CLIENT_QUEUE_SIZE + 1);
+
+        private volatile int droppedParts;
+
+        /**
+         * Waits until the upstream connection has been established.
+         *
+         * @param timeout the maximum time to wait in milliseconds
+         * @return true, if the connection has been established or the stream has ended, false on timeout
+         * @throws InterruptedException if the thread has been interrupted
+         */
+        boolean awaitConnection(long timeout) throws InterruptedException {
+            return connected.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        Header[] getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Returns the next part of the stream, the client has to keep up with the stream, as parts are dropped
+         * otherwise.
+         *
+         * @return the next part or null, if the stream has ended
+         * @throws InterruptedException if the thread has been interrupted
+         */
+        byte[] take() throws InterruptedException {
+            byte[] part = parts.take();
+            if (part == END_OF_STREAM) {
+                // keep the marker for further calls
+                parts.offer(END_OF_STREAM);
+                return null;
+            }
+            return part;
+        }
+
+        /**
+         * Returns the number of parts, which have been dropped because the client did not keep up with the stream.
+         *
+         * @return the number of dropped parts
+         */
+        int getDroppedParts() {
+            return droppedParts;
+        }
+
+        /**
+         * Unsubscribes this client from the stream.
+         */
+        void close() {
+            unsubscribe(this);
+        }
+
+        private void offer(byte[] part) {
+            // the queue has room for one more element than the parts, so the end can always be signaled
+            if (parts.size() >= CLIENT_QUEUE_SIZE) {
+                if (!multipart) {
+                    // the content cannot be skipped, so the client is disconnected
+                    logger.debug("Client of stream '{}' does not keep up and is disconnected.", url);
+                    clients.remove(this);
+                    parts.clear();
+                    end();
+                    return;
+                }
+                parts.poll();
+                droppedParts++;
+            }
+            parts.offer(part);
+        }
+
+        private void end() {
+            parts.offer(END_OF_STREAM);
+        }
+    }
+}
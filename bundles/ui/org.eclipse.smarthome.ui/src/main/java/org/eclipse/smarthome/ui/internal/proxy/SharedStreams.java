@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.proxy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpState;
+
+/**
+ * {@link SharedStreams} keeps track of the {@link SharedStream}s, which are currently open, so that all clients of
+ * the same url share a single upstream connection.
+ *
+ * @author agent - Initial contribution
+ */
+class SharedStreams {
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+
+    private final ConcurrentMap<String, SharedStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param httpClient the client used for the upstream connections, it must support concurrent connections
+     * @param executor the executor, which reads the upstream connections, it needs one thread per open stream
+     */
+    SharedStreams(HttpClient httpClient, Executor executor) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to the stream of the given url. If there is no stream for the url, which can be joined, a new
+     * upstream connection is opened.
+     *
+     * @param url the url of the stream
+     * @param state the http state containing the credentials for the url or null
+     * @return the new client, it has to be closed when it is not needed anymore
+     */
+    SharedStream.Client subscribe(String url, HttpState state) {
+        while (true) {
+            SharedStream stream = streams.get(url);
+            if (stream == null) {
+                SharedStream newStream = new SharedStream(this, httpClient, url, state);
+                stream = streams.putIfAbsent(url, newStream);
+                if (stream == null) {
+                    // the client has to be subscribed before the stream starts, so it receives all of its content
+                    SharedStream.Client client = newStream.subscribe();
+                    executor.execute(newStream);
+                    return client;
+                }
+            }
+            SharedStream.Client client = stream.subscribe();
+            if (client != null) {
+                return client;
+            }
+            // the stream cannot be joined anymore
+            streams.remove(url, stream);
+        }
+    }
+
+    void remove(String url, SharedStream stream) {
+        streams.remove(url, stream);
+    }
+
+    /**
+     * Closes all streams.
+     */
+    void closeAll() {
+        for (SharedStream stream : streams.values()) {
+            stream.close();
+        }
+    }
+}